@@ -19,7 +19,6 @@ package org.apache.zeppelin.shell;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -103,14 +102,11 @@ public class ShellInterpreter extends Interpreter {
   }
 
   private Job getRunningJob(String paragraphId) {
-    Job foundJob = null;
-    Collection<Job> jobsRunning = getScheduler().getJobsRunning();
-    for (Job job : jobsRunning) {
-      if (job.getId().equals(paragraphId)) {
-        foundJob = job;
-      }
+    Job job = getScheduler().getJob(paragraphId);
+    if (job != null && job.isRunning()) {
+      return job;
     }
-    return foundJob;
+    return null;
   }
 
   @Override
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.zeppelin.scheduler.ExecutorFactory;
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -170,7 +171,11 @@ public class AngularObject<T> {
       ws.addAll(watchers);
     }
 
-    ExecutorService executor = ExecutorFactory.singleton().createOrGet("angularObjectWatcher", 50);
+    // run watchers in the caller thread when too many callbacks are queued,
+    // instead of growing threads and memory
+    ExecutorService executor = ExecutorFactory.singleton().createOrGetWorkStealing(
+        "angularObjectWatcher", 50, ExecutorFactory.DEFAULT_QUEUE_CAPACITY,
+        RejectionPolicy.CALLER_RUNS);
     for (final AngularObjectWatcher w : ws) {
       executor.submit(new Runnable() {
         @Override
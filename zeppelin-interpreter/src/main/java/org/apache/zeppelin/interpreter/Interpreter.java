@@ -25,8 +25,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import org.apache.zeppelin.scheduler.AbstractScheduler;
+import org.apache.zeppelin.scheduler.QueueLimit;
 import org.apache.zeppelin.scheduler.Scheduler;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
+import org.apache.zeppelin.scheduler.SchedulerProperties;
+import org.apache.zeppelin.scheduler.WeightedFairQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,7 +118,36 @@ public abstract class Interpreter {
    *         Can not return null.
    */
   public Scheduler getScheduler() {
-    return SchedulerFactory.singleton().createOrGetFIFOScheduler("interpreter_" + this.hashCode());
+    String name = "interpreter_" + this.hashCode();
+    Scheduler scheduler = SchedulerFactory.singleton().getScheduler(name);
+    if (scheduler != null) {
+      return scheduler;
+    }
+
+    WeightedFairQueue fairQueue = WeightedFairQueue.fromProperties(property);
+    if (fairQueue != null) {
+      // keep running one paragraph at a time unless configured otherwise
+      return configureScheduler(SchedulerFactory.singleton().createOrGetFairShareScheduler(
+          name,
+          SchedulerProperties.getInt(property, WeightedFairQueue.MAX_CONCURRENCY_PROPERTY, 1),
+          fairQueue));
+    }
+    return configureScheduler(SchedulerFactory.singleton().createOrGetFIFOScheduler(name));
+  }
+
+  /**
+   * Configure queue limit and coalescing of the scheduler from the interpreter properties.
+   * See QueueLimit and AbstractScheduler.ATTACH_TO_RUNNING_PROPERTY.
+   * Called once, when getScheduler creates the scheduler.
+   */
+  protected Scheduler configureScheduler(Scheduler scheduler) {
+    if (scheduler instanceof AbstractScheduler) {
+      AbstractScheduler s = (AbstractScheduler) scheduler;
+      s.setQueueLimit(QueueLimit.fromProperties(property));
+      s.setAttachToRunning(property != null && Boolean.parseBoolean(
+          property.getProperty(AbstractScheduler.ATTACH_TO_RUNNING_PROPERTY)));
+    }
+    return scheduler;
   }
 
   /**
@@ -23,37 +23,90 @@ import java.util.Map;
 import org.apache.commons.pool2.BasePooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
-import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.protocol.TProtocol;
 import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.zeppelin.interpreter.InterpreterException;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  *
  */
 public class ClientFactory extends BasePooledObjectFactory<Client>{
+  private static final Logger logger = LoggerFactory.getLogger(ClientFactory.class);
   private String host;
   private int port;
-  Map<Client, TSocket> clientSocketMap = new HashMap<Client, TSocket>();
+  private final RemoteInterpreterTransport transportType;
+  private final RemoteInterpreterProtocol protocolType;
+  private final boolean compression;
+  private final int socketTimeout;
+  private final String socketPath;
+  Map<Client, TTransport> clientSocketMap = new HashMap<Client, TTransport>();
 
   public ClientFactory(String host, int port) {
+    this(host, port, RemoteInterpreterTransport.THREAD_POOL);
+  }
+
+  public ClientFactory(String host, int port, RemoteInterpreterTransport transportType) {
+    this(host, port, transportType, RemoteInterpreterProtocol.BINARY, false);
+  }
+
+  public ClientFactory(String host, int port, RemoteInterpreterTransport transportType,
+      RemoteInterpreterProtocol protocolType, boolean compression) {
+    this(host, port, transportType, protocolType, compression, 0);
+  }
+
+  /**
+   * @param socketTimeout connect and read timeout of the connections in ms. 0 waits forever
+   */
+  public ClientFactory(String host, int port, RemoteInterpreterTransport transportType,
+      RemoteInterpreterProtocol protocolType, boolean compression, int socketTimeout) {
+    this(host, port, transportType, protocolType, compression, socketTimeout, null);
+  }
+
+  /**
+   * @param socketPath unix domain socket of the interpreter process, connected instead of
+   *                   host:port when not null. Ignored with socketTimeout, which unix domain
+   *                   socket channels don't support
+   */
+  public ClientFactory(String host, int port, RemoteInterpreterTransport transportType,
+      RemoteInterpreterProtocol protocolType, boolean compression, int socketTimeout,
+      String socketPath) {
     this.host = host;
     this.port = port;
+    this.transportType = transportType;
+    this.protocolType = protocolType;
+    this.compression = compression;
+    this.socketTimeout = socketTimeout;
+    this.socketPath = socketTimeout == 0 ? socketPath : null;
   }
 
   @Override
   public Client create() throws Exception {
-    TSocket transport = new TSocket(host, port);
-    try {
-      transport.open();
-    } catch (TTransportException e) {
-      throw new InterpreterException(e);
+    TTransport transport = null;
+    if (socketPath != null) {
+      transport = transportType.wrap(new UnixSocketTransport(socketPath), compression);
+      try {
+        transport.open();
+      } catch (TTransportException e) {
+        logger.warn("Can't connect to " + socketPath + ". Use port " + port, e);
+        transport = null;
+      }
+    }
+    if (transport == null) {
+      transport = transportType.wrap(new TSocket(host, port, socketTimeout), compression);
+      try {
+        transport.open();
+      } catch (TTransportException e) {
+        throw new InterpreterException(e);
+      }
     }
 
-    TProtocol protocol = new  TBinaryProtocol(transport);
+    TProtocol protocol = protocolType.getFactory().getProtocol(transport);
     Client client = new RemoteInterpreterService.Client(protocol);
 
     synchronized (clientSocketMap) {
@@ -70,9 +123,9 @@ public class ClientFactory extends BasePooledObjectFactory<Client>{
   @Override
   public void destroyObject(PooledObject<Client> p) {
     synchronized (clientSocketMap) {
-      if (clientSocketMap.containsKey(p)) {
-        clientSocketMap.get(p).close();
-        clientSocketMap.remove(p);
+      TTransport transport = clientSocketMap.remove(p.getObject());
+      if (transport != null) {
+        transport.close();
       }
     }
   }
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.zeppelin.interpreter.remote;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.thrift.TByteArrayOutputStream;
+import org.apache.thrift.transport.TMemoryInputTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.apache.thrift.transport.TTransportFactory;
+
+/**
+ * Framed transport that deflates large frames.
+ *
+ * Each message is sent as a frame of
+ * [payload length (4 bytes)][compressed flag (1 byte)][message length (4 bytes)][payload].
+ * Messages smaller than MIN_COMPRESS_SIZE, and messages that don't get smaller, are sent as
+ * they are, so small control calls don't pay for compression.
+ *
+ * Set system property zeppelin.interpreter.compression or environment variable
+ * ZEPPELIN_INTERPRETER_COMPRESSION to true to enable it. The same property in an interpreter
+ * setting overrides it for the processes of the setting.
+ */
+public class CompressedFramedTransport extends TTransport {
+  public static final String COMPRESSION_PROPERTY = "zeppelin.interpreter.compression";
+  public static final String COMPRESSION_ENV = "ZEPPELIN_INTERPRETER_COMPRESSION";
+  static final int MIN_COMPRESS_SIZE = 1024;
+
+  private static final int HEADER_SIZE = 9;
+  private static final byte RAW = 0;
+  private static final byte DEFLATED = 1;
+
+  private final TTransport transport;
+  private final TByteArrayOutputStream writeBuffer = new TByteArrayOutputStream(1024);
+  private final TMemoryInputTransport readBuffer = new TMemoryInputTransport(new byte[0]);
+  private final byte[] header = new byte[HEADER_SIZE];
+  // created on first large message. small messages don't need them
+  private Deflater deflater;
+  private Inflater inflater;
+
+  public CompressedFramedTransport(TTransport transport) {
+    this.transport = transport;
+  }
+
+  /**
+   * @return true if compression is requested by system property or environment variable
+   */
+  public static boolean isEnabled() {
+    String value = System.getProperty(COMPRESSION_PROPERTY);
+    if (value == null) {
+      value = System.getenv(COMPRESSION_ENV);
+    }
+    return value != null && Boolean.parseBoolean(value.trim());
+  }
+
+  @Override
+  public boolean isOpen() {
+    return transport.isOpen();
+  }
+
+  @Override
+  public void open() throws TTransportException {
+    transport.open();
+  }
+
+  @Override
+  public void close() {
+    transport.close();
+    if (deflater != null) {
+      deflater.end();
+      deflater = null;
+    }
+    if (inflater != null) {
+      inflater.end();
+      inflater = null;
+    }
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws TTransportException {
+    int got = readBuffer.read(buf, off, len);
+    if (got > 0) {
+      return got;
+    }
+    readFrame();
+    return readBuffer.read(buf, off, len);
+  }
+
+  @Override
+  public byte[] getBuffer() {
+    return readBuffer.getBuffer();
+  }
+
+  @Override
+  public int getBufferPosition() {
+    return readBuffer.getBufferPosition();
+  }
+
+  @Override
+  public int getBytesRemainingInBuffer() {
+    return readBuffer.getBytesRemainingInBuffer();
+  }
+
+  @Override
+  public void consumeBuffer(int len) {
+    readBuffer.consumeBuffer(len);
+  }
+
+  private void readFrame() throws TTransportException {
+    transport.readAll(header, 0, HEADER_SIZE);
+    int size = decodeInt(header, 0);
+    byte flag = header[4];
+    int messageSize = decodeInt(header, 5);
+    if (size < 0 || messageSize < 0) {
+      throw new TTransportException("Read a negative frame size");
+    }
+
+    byte[] payload = new byte[size];
+    transport.readAll(payload, 0, size);
+    if (flag == RAW) {
+      readBuffer.reset(payload);
+      return;
+    }
+
+    byte[] message = new byte[messageSize];
+    if (inflater == null) {
+      inflater = new Inflater();
+    }
+    inflater.reset();
+    inflater.setInput(payload);
+    try {
+      int inflated = 0;
+      while (inflated < messageSize) {
+        int n = inflater.inflate(message, inflated, messageSize - inflated);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          break;
+        }
+        inflated += n;
+      }
+      if (inflated != messageSize) {
+        throw new TTransportException(
+            "Frame inflated to " + inflated + " bytes, expected " + messageSize);
+      }
+    } catch (DataFormatException e) {
+      throw new TTransportException(e);
+    }
+    readBuffer.reset(message);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) throws TTransportException {
+    writeBuffer.write(buf, off, len);
+  }
+
+  @Override
+  public void flush() throws TTransportException {
+    byte[] message = writeBuffer.get();
+    int messageSize = writeBuffer.len();
+    writeBuffer.reset();
+
+    if (messageSize >= MIN_COMPRESS_SIZE) {
+      ByteArrayOutputStream compressed = deflate(message, messageSize);
+      if (compressed.size() < messageSize) {
+        writeHeader(compressed.size(), DEFLATED, messageSize);
+        transport.write(compressed.toByteArray(), 0, compressed.size());
+        transport.flush();
+        return;
+      }
+    }
+
+    writeHeader(messageSize, RAW, messageSize);
+    transport.write(message, 0, messageSize);
+    transport.flush();
+  }
+
+  private ByteArrayOutputStream deflate(byte[] message, int messageSize) {
+    if (deflater == null) {
+      deflater = new Deflater(Deflater.BEST_SPEED);
+    }
+    deflater.reset();
+    deflater.setInput(message, 0, messageSize);
+    deflater.finish();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(messageSize / 4 + 64);
+    byte[] chunk = new byte[8192];
+    while (!deflater.finished()) {
+      int n = deflater.deflate(chunk);
+      out.write(chunk, 0, n);
+    }
+    return out;
+  }
+
+  private void writeHeader(int size, byte flag, int messageSize) throws TTransportException {
+    encodeInt(size, header, 0);
+    header[4] = flag;
+    encodeInt(messageSize, header, 5);
+    transport.write(header, 0, HEADER_SIZE);
+  }
+
+  private static void encodeInt(int value, byte[] buf, int off) {
+    buf[off] = (byte) (0xff & (value >> 24));
+    buf[off + 1] = (byte) (0xff & (value >> 16));
+    buf[off + 2] = (byte) (0xff & (value >> 8));
+    buf[off + 3] = (byte) (0xff & value);
+  }
+
+  private static int decodeInt(byte[] buf, int off) {
+    return ((buf[off] & 0xff) << 24)
+        | ((buf[off + 1] & 0xff) << 16)
+        | ((buf[off + 2] & 0xff) << 8)
+        | (buf[off + 3] & 0xff);
+  }
+
+  /**
+   * Wraps server side connections.
+   */
+  public static class Factory extends TTransportFactory {
+    @Override
+    public TTransport getTransport(TTransport base) {
+      return new CompressedFramedTransport(base);
+    }
+  }
+}
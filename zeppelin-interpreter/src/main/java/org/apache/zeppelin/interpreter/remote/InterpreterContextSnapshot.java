@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.zeppelin.display.GUI;
+import org.apache.zeppelin.display.Input;
+
+/**
+ * Config and gui of an interpret call as they were before the interpreter ran, to tell whether
+ * the interpreter changed them without serializing them.
+ *
+ * Config and gui params are copied down to nested maps and lists. Forms are compared by
+ * instance, because GUI replaces a form with a new Input whenever the interpreter defines it
+ * and Input equals by name only.
+ */
+class InterpreterContextSnapshot {
+  private final Map<String, Object> config;
+  private final Object params;
+  private final Map<String, Input> forms;
+
+  InterpreterContextSnapshot(Map<String, Object> config, GUI gui) {
+    this.config = (Map<String, Object>) copy(config);
+    this.params = copy(gui.getParams());
+    this.forms = new HashMap<String, Input>(gui.getForms());
+  }
+
+  boolean isConfigChanged(Map<String, Object> config) {
+    return !this.config.equals(config);
+  }
+
+  boolean isGuiChanged(GUI gui) {
+    Map<String, Input> forms = gui.getForms();
+    if (forms.size() != this.forms.size()) {
+      return true;
+    }
+    for (Map.Entry<String, Input> e : forms.entrySet()) {
+      if (this.forms.get(e.getKey()) != e.getValue()) {
+        return true;
+      }
+    }
+    return params == null ? gui.getParams() != null : !params.equals(gui.getParams());
+  }
+
+  private static Object copy(Object value) {
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new HashMap<Object, Object>();
+      for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+        copy.put(e.getKey(), copy(e.getValue()));
+      }
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<Object>();
+      for (Object o : (List<?>) value) {
+        copy.add(copy(o));
+      }
+      return copy;
+    }
+    return value;
+  }
+}
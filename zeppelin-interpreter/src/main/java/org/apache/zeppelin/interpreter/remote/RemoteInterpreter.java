@@ -17,10 +17,16 @@
 
 package org.apache.zeppelin.interpreter.remote;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.thrift.TException;
 import org.apache.zeppelin.display.GUI;
@@ -36,6 +42,7 @@ import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterResult;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.scheduler.Scheduler;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
+import org.apache.zeppelin.scheduler.WeightedFairQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,9 +53,30 @@ import com.google.gson.reflect.TypeToken;
  *
  */
 public class RemoteInterpreter extends Interpreter {
+  // longest String a JVM can allocate
+  static final long MAX_RESULT_LENGTH = Integer.MAX_VALUE - 8;
+  // paragraphs whose config and gui are remembered. same as the interpreter process caches
+  static final int MAX_SENT_CONTEXTS = RemoteInterpreterServer.MAX_CACHED_CONTEXTS;
+  // versions are unique across restarts of this process, not only within it
+  private static final String CONTEXT_VERSION_PREFIX =
+      Long.toString(System.currentTimeMillis(), 36) + "-";
+  private static final AtomicLong contextVersionSeq = new AtomicLong();
   private final RemoteInterpreterProcessListener remoteInterpreterProcessListener;
   Logger logger = LoggerFactory.getLogger(RemoteInterpreter.class);
   Gson gson = new Gson();
+  // contexts of running interpret calls by paragraph id.
+  // cancel and getProgress of a running paragraph don't send config, gui and runners again
+  private final Map<String, RemoteInterpreterContext> runningContexts =
+      new ConcurrentHashMap<String, RemoteInterpreterContext>();
+  // config and gui last sent by paragraph id, with the version the interpreter process caches
+  // them under. interpret of an unchanged paragraph sends only the version
+  private final Map<String, SentContext> sentContexts = Collections.synchronizedMap(
+      new LinkedHashMap<String, SentContext>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SentContext> eldest) {
+          return size() > MAX_SENT_CONTEXTS;
+        }
+      });
   private String interpreterRunner;
   private String interpreterPath;
   private String localRepoPath;
@@ -113,7 +141,7 @@ public class RemoteInterpreter extends Interpreter {
       if (intpGroup.getRemoteInterpreterProcess() == null) {
         // create new remote process
         RemoteInterpreterProcess remoteProcess = new RemoteInterpreterProcess(
-            interpreterRunner, interpreterPath, localRepoPath, env, connectTimeout,
+            interpreterRunner, interpreterPath, localRepoPath, getProcessEnv(), connectTimeout,
             remoteInterpreterProcessListener);
 
         intpGroup.setRemoteInterpreterProcess(remoteProcess);
@@ -123,6 +151,38 @@ public class RemoteInterpreter extends Interpreter {
     }
   }
 
+  /**
+   * Environment of interpreter process.
+   * Transport, protocol, compression, control timeout and unix domain socket of the interpreter
+   * setting override the global ones.
+   */
+  private Map<String, String> getProcessEnv() {
+    Map<String, String> processEnv = new HashMap<String, String>();
+    if (env != null) {
+      processEnv.putAll(env);
+    }
+    putSettingToEnv(processEnv, RemoteInterpreterTransport.TRANSPORT_PROPERTY,
+        RemoteInterpreterTransport.TRANSPORT_ENV);
+    putSettingToEnv(processEnv, RemoteInterpreterProtocol.PROTOCOL_PROPERTY,
+        RemoteInterpreterProtocol.PROTOCOL_ENV);
+    putSettingToEnv(processEnv, CompressedFramedTransport.COMPRESSION_PROPERTY,
+        CompressedFramedTransport.COMPRESSION_ENV);
+    putSettingToEnv(processEnv, RemoteInterpreterProcess.CONTROL_TIMEOUT_PROPERTY,
+        RemoteInterpreterProcess.CONTROL_TIMEOUT_ENV);
+    putSettingToEnv(processEnv, UnixSocketTransport.ENABLED_PROPERTY,
+        UnixSocketTransport.ENABLED_ENV);
+    putSettingToEnv(processEnv, RemoteInterpreterOutputBuffer.SIZE_PROPERTY,
+        RemoteInterpreterOutputBuffer.SIZE_ENV);
+    return processEnv;
+  }
+
+  private void putSettingToEnv(Map<String, String> processEnv, String key, String envName) {
+    String value = property.getProperty(key);
+    if (value != null && !value.trim().isEmpty()) {
+      processEnv.put(envName, value.trim());
+    }
+  }
+
   private synchronized void init() {
     if (initialized == true) {
       return;
@@ -189,6 +249,7 @@ public class RemoteInterpreter extends Interpreter {
         interpreterProcess.releaseClient(client, broken);
       }
       getInterpreterProcess().dereference();
+      sentContexts.clear();
     }
   }
 
@@ -217,17 +278,39 @@ public class RemoteInterpreter extends Interpreter {
     }
 
     boolean broken = false;
+    RemoteInterpreterContext remoteContext = convertForInterpret(context);
+    String paragraphId = context.getParagraphId();
+    if (paragraphId != null) {
+      runningContexts.put(paragraphId, remoteContext);
+    }
     try {
-      GUI settings = context.getGui();
-      RemoteInterpreterResult remoteResult = client.interpret(className, st, convert(context));
+      RemoteInterpreterResult remoteResult = client.interpret(className, st, remoteContext);
+      if (remoteContext.getConfig() == null && remoteResult.getContextVersion() == null) {
+        // interpreter process doesn't have the config and gui (restarted or evicted them).
+        // paragraph didn't run. send them again
+        sentContexts.remove(paragraphId);
+        remoteContext = convertForInterpret(context);
+        runningContexts.put(paragraphId, remoteContext);
+        remoteResult = client.interpret(className, st, remoteContext);
+      }
+      if (remoteResult.getConfig() != null || remoteResult.getGui() != null) {
+        // interpreter changed them. the version no longer matches the paragraph
+        sentContexts.remove(paragraphId);
+      }
+      if (remoteResult.getResultId() != null) {
+        remoteResult.setMsg(fetchRemainingChunks(client, remoteResult));
+      }
 
-      Map<String, Object> remoteConfig = (Map<String, Object>) gson.fromJson(
-          remoteResult.getConfig(), new TypeToken<Map<String, Object>>() {
-          }.getType());
-      context.getConfig().clear();
-      context.getConfig().putAll(remoteConfig);
+      // null config and gui are not changed by the interpreter
+      if (remoteResult.getConfig() != null) {
+        Map<String, Object> remoteConfig = (Map<String, Object>) gson.fromJson(
+            remoteResult.getConfig(), new TypeToken<Map<String, Object>>() {
+            }.getType());
+        context.getConfig().clear();
+        context.getConfig().putAll(remoteConfig);
+      }
 
-      if (form == FormType.NATIVE) {
+      if (form == FormType.NATIVE && remoteResult.getGui() != null) {
         GUI remoteGui = gson.fromJson(remoteResult.getGui(), GUI.class);
         context.getGui().clear();
         context.getGui().setParams(remoteGui.getParams());
@@ -238,30 +321,68 @@ public class RemoteInterpreter extends Interpreter {
       return result;
     } catch (TException e) {
       broken = true;
+      if (paragraphId != null) {
+        sentContexts.remove(paragraphId);
+      }
       throw new InterpreterException(e);
     } finally {
+      if (paragraphId != null) {
+        runningContexts.remove(paragraphId);
+      }
       interpreterProcess.releaseClient(client, broken);
     }
   }
 
+  /**
+   * Fetch a large result sent in chunks. Each call returns at most one chunk, so no thrift
+   * message holds the whole result and neither side needs a buffer for the whole message.
+   * InterpreterResult holds the message as a String, so the chunks are joined once at the end,
+   * in a buffer of the exact size. The server still holds the whole result, twice while joining.
+   */
+  private String fetchRemainingChunks(Client client, RemoteInterpreterResult remoteResult)
+      throws TException {
+    List<String> chunks = new LinkedList<String>();
+    long length = 0;
+    String chunk = remoteResult.getMsg();
+    remoteResult.setMsg(null);
+    while (chunk != null && !chunk.isEmpty()) {
+      chunks.add(chunk);
+      length += chunk.length();
+      if (length > MAX_RESULT_LENGTH) {
+        throw new InterpreterException("Result of " + className + " is longer than "
+            + MAX_RESULT_LENGTH + " characters");
+      }
+      chunk = client.getResultChunk(remoteResult.getResultId());
+    }
+
+    StringBuilder msg = new StringBuilder((int) length);
+    Iterator<String> it = chunks.iterator();
+    while (it.hasNext()) {
+      msg.append(it.next());
+      // release each chunk once it is copied
+      it.remove();
+    }
+    return msg.toString();
+  }
+
   @Override
   public void cancel(InterpreterContext context) {
     RemoteInterpreterProcess interpreterProcess = getInterpreterProcess();
     Client client = null;
     try {
-      client = interpreterProcess.getClient();
+      client = interpreterProcess.getControlClient();
     } catch (Exception e1) {
       throw new InterpreterException(e1);
     }
 
     boolean broken = false;
     try {
-      client.cancel(className, convert(context));
+      client.cancel(className, convertForRunning(context));
     } catch (TException e) {
       broken = true;
       throw new InterpreterException(e);
     } finally {
-      interpreterProcess.releaseClient(client, broken);
+      interpreterProcess.releaseControlClient(client, broken);
     }
   }
 
@@ -303,19 +424,19 @@ public class RemoteInterpreter extends Interpreter {
 
     Client client = null;
     try {
-      client = interpreterProcess.getClient();
+      client = interpreterProcess.getControlClient();
     } catch (Exception e1) {
       throw new InterpreterException(e1);
     }
 
     boolean broken = false;
     try {
-      return client.getProgress(className, convert(context));
+      return client.getProgress(className, convertForRunning(context));
     } catch (TException e) {
       broken = true;
       throw new InterpreterException(e);
     } finally {
-      interpreterProcess.releaseClient(client, broken);
+      interpreterProcess.releaseControlClient(client, broken);
     }
   }
 
@@ -325,7 +446,7 @@ public class RemoteInterpreter extends Interpreter {
     RemoteInterpreterProcess interpreterProcess = getInterpreterProcess();
     Client client = null;
     try {
-      client = interpreterProcess.getClient();
+      client = interpreterProcess.getControlClient();
     } catch (Exception e1) {
       throw new InterpreterException(e1);
     }
@@ -337,7 +458,7 @@ public class RemoteInterpreter extends Interpreter {
       broken = true;
       throw new InterpreterException(e);
     } finally {
-      interpreterProcess.releaseClient(client, broken);
+      interpreterProcess.releaseControlClient(client, broken);
     }
   }
 
@@ -347,11 +468,15 @@ public class RemoteInterpreter extends Interpreter {
     RemoteInterpreterProcess interpreterProcess = getInterpreterProcess();
     if (interpreterProcess == null) {
       return null;
-    } else {
-      return SchedulerFactory.singleton().createOrGetRemoteScheduler(
-          "remoteinterpreter_" + interpreterProcess.hashCode(), interpreterProcess,
-          maxConcurrency);
     }
+
+    String name = "remoteinterpreter_" + interpreterProcess.hashCode();
+    Scheduler scheduler = SchedulerFactory.singleton().getScheduler(name);
+    if (scheduler != null) {
+      return scheduler;
+    }
+    return configureScheduler(SchedulerFactory.singleton().createOrGetRemoteScheduler(
+        name, interpreterProcess, maxConcurrency, WeightedFairQueue.fromProperties(property)));
   }
 
   private String getInterpreterGroupKey(InterpreterGroup interpreterGroup) {
@@ -366,7 +491,61 @@ public class RemoteInterpreter extends Interpreter {
         ic.getParagraphText(),
         gson.toJson(ic.getConfig()),
         gson.toJson(ic.getGui()),
-        gson.toJson(ic.getRunners()));
+        gson.toJson(ic.getRunners()),
+        null);
+  }
+
+  /**
+   * Context for an interpret call. Config and gui are serialized and sent only when they
+   * changed since the last call for the paragraph, compared with a snapshot of what was sent.
+   * Otherwise only the version is sent, and the interpreter process uses its cached copy.
+   */
+  RemoteInterpreterContext convertForInterpret(InterpreterContext ic) {
+    String paragraphId = ic.getParagraphId();
+    if (paragraphId == null) {
+      return convert(ic);
+    }
+
+    SentContext sent = sentContexts.get(paragraphId);
+    if (sent != null && !sent.snapshot.isConfigChanged(ic.getConfig())
+        && !sent.snapshot.isGuiChanged(ic.getGui())) {
+      return new RemoteInterpreterContext(
+          ic.getNoteId(),
+          paragraphId,
+          ic.getParagraphTitle(),
+          ic.getParagraphText(),
+          null,
+          null,
+          gson.toJson(ic.getRunners()),
+          sent.version);
+    }
+
+    String version = CONTEXT_VERSION_PREFIX + contextVersionSeq.incrementAndGet();
+    sentContexts.put(paragraphId, new SentContext(version,
+        new InterpreterContextSnapshot(ic.getConfig(), ic.getGui())));
+    RemoteInterpreterContext remoteContext = convert(ic);
+    remoteContext.setContextVersion(version);
+    return remoteContext;
+  }
+
+  /**
+   * Context for a call about a paragraph that may be running.
+   * When the paragraph is running, config, gui and runners are left out. Interpreter process
+   * uses the ones of the running interpret call.
+   */
+  private RemoteInterpreterContext convertForRunning(InterpreterContext ic) {
+    if (ic.getParagraphId() == null || !runningContexts.containsKey(ic.getParagraphId())) {
+      return convert(ic);
+    }
+    return new RemoteInterpreterContext(
+        ic.getNoteId(),
+        ic.getParagraphId(),
+        ic.getParagraphTitle(),
+        ic.getParagraphText(),
+        null,
+        null,
+        null,
+        null);
   }
 
   private InterpreterResult convert(RemoteInterpreterResult result) {
@@ -375,4 +554,14 @@ public class RemoteInterpreter extends Interpreter {
         Type.valueOf(result.getType()),
         result.getMsg());
   }
+
+  private static class SentContext {
+    final String version;
+    final InterpreterContextSnapshot snapshot;
+
+    SentContext(String version, InterpreterContextSnapshot snapshot) {
+      this.version = version;
+      this.snapshot = snapshot;
+    }
+  }
 }
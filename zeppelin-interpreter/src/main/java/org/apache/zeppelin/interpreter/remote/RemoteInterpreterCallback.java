@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Readiness handshake between Zeppelin server and an interpreter process it launches.
+ *
+ * Zeppelin server listens on an ephemeral loopback port and passes it to the process in
+ * environment variable ZEPPELIN_INTERPRETER_CALLBACK_PORT. Once its thrift server is bound, the
+ * process connects back and sends the port it serves on, and the path of its unix domain socket
+ * when it listens on one. Zeppelin server can connect right away, and the process can pick its
+ * own port.
+ */
+public class RemoteInterpreterCallback {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterCallback.class);
+  public static final String CALLBACK_PORT_ENV = "ZEPPELIN_INTERPRETER_CALLBACK_PORT";
+  private static final int CONNECT_TIMEOUT = 10 * 1000;
+
+  private final ServerSocket serverSocket;
+  private volatile String socketPath;
+
+  public RemoteInterpreterCallback() throws IOException {
+    serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+  }
+
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Wait for the process to report its port.
+   * @return port of the process. -1 when it didn't report in time or the callback is closed
+   */
+  public int awaitPort(int timeout) {
+    try {
+      serverSocket.setSoTimeout(timeout);
+      try (Socket socket = serverSocket.accept()) {
+        socket.setSoTimeout(timeout);
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(socket.getInputStream(), "UTF-8"));
+        String line = reader.readLine();
+        if (line == null) {
+          return -1;
+        }
+        int port = Integer.parseInt(line.trim());
+        String path = reader.readLine();
+        if (path != null && !path.trim().isEmpty()) {
+          socketPath = path.trim();
+        }
+        return port;
+      }
+    } catch (SocketTimeoutException e) {
+      logger.warn("Interpreter process didn't report its port in {} ms", timeout);
+      return -1;
+    } catch (IOException | NumberFormatException e) {
+      // closed when the process exits
+      logger.debug(e.getMessage(), e);
+      return -1;
+    } finally {
+      close();
+    }
+  }
+
+  /**
+   * @return unix domain socket path reported by the process. null when it reported none
+   */
+  public String getSocketPath() {
+    return socketPath;
+  }
+
+  public void close() {
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      logger.debug(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Called by interpreter process. Report the port to Zeppelin server, when it asked for it.
+   */
+  public static void notifyReady(int port, String socketPath) {
+    String callbackPort = System.getenv(CALLBACK_PORT_ENV);
+    if (callbackPort == null || callbackPort.trim().isEmpty()) {
+      return;
+    }
+
+    try {
+      notifyReady(Integer.parseInt(callbackPort.trim()), port, socketPath);
+    } catch (NumberFormatException | IOException e) {
+      logger.error("Can't report port to Zeppelin server", e);
+    }
+  }
+
+  static void notifyReady(int callbackPort, int port, String socketPath) throws IOException {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), callbackPort),
+          CONNECT_TIMEOUT);
+      OutputStream out = socket.getOutputStream();
+      out.write((port + "\n").getBytes("UTF-8"));
+      if (socketPath != null) {
+        out.write((socketPath + "\n").getBytes("UTF-8"));
+      }
+      out.flush();
+    }
+  }
+}
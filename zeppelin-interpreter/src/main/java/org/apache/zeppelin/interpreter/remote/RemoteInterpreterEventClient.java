@@ -17,20 +17,26 @@
 package org.apache.zeppelin.interpreter.remote;
 
 import com.google.gson.Gson;
+import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.zeppelin.display.AngularObject;
 import org.apache.zeppelin.interpreter.InterpreterContextRunner;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEvent;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEventType;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.resource.*;
+import org.apache.zeppelin.scheduler.Job.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Thread connection ZeppelinServer -> RemoteInterpreterServer does not provide
@@ -46,7 +52,31 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
   private final List<RemoteInterpreterEvent> eventQueue = new LinkedList<RemoteInterpreterEvent>();
   private final List<ResourceSet> getAllResourceResponse = new LinkedList<ResourceSet>();
   private final Map<ResourceId, Object> getResourceResponse = new HashMap<ResourceId, Object>();
+  private final Map<ResourceId, ResourceLocation> resourceLocations =
+      new ConcurrentHashMap<ResourceId, ResourceLocation>();
+  // connections to the interpreter processes resources are read from, by location
+  static final int PEER_POOL_SIZE = 2;
+  private final Map<String, GenericObjectPool<Client>> peerClientPools =
+      new ConcurrentHashMap<String, GenericObjectPool<Client>>();
   private final Gson gson = new Gson();
+  private volatile boolean closed = false;
+  private final int outputBufferSize;
+  private final long outputWaitTimeout;
+  // output rings of running paragraphs by note and paragraph. null until the paragraph prints
+  private final Map<String, OutputRing> outputRings = new HashMap<String, OutputRing>();
+  // last watermark event of each ring by path
+  private final Map<String, RemoteInterpreterEvent> outputBufferEvents =
+      new HashMap<String, RemoteInterpreterEvent>();
+
+  public RemoteInterpreterEventClient() {
+    this(RemoteInterpreterOutputBuffer.getConfiguredSize(),
+        RemoteInterpreterOutputBuffer.WRITE_TIMEOUT);
+  }
+
+  RemoteInterpreterEventClient(int outputBufferSize, long outputWaitTimeout) {
+    this.outputBufferSize = outputBufferSize;
+    this.outputWaitTimeout = outputWaitTimeout;
+  }
 
   /**
    * Run paragraph
@@ -113,6 +143,17 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
 
   @Override
   public Object readResource(ResourceId resourceId) {
+    ResourceLocation location = resourceLocations.get(resourceId);
+    if (location != null) {
+      try {
+        return readResourceFrom(location, resourceId);
+      } catch (Exception e) {
+        // owning process may have restarted. read through ZeppelinServer instead
+        logger.warn("Can't read resource " + resourceId.getName() + " from " + location, e);
+        resourceLocations.remove(resourceId);
+      }
+    }
+
     logger.debug("Request Read Resource {} from ZeppelinServer", resourceId.getName());
     synchronized (getResourceResponse) {
       // wait for previous response consumed
@@ -125,7 +166,6 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
       }
 
       // send request
-      Gson gson = new Gson();
       sendEvent(new RemoteInterpreterEvent(
           RemoteInterpreterEventType.RESOURCE_GET,
           gson.toJson(resourceId)));
@@ -144,6 +184,60 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     }
   }
 
+  /**
+   * Read resource directly from the interpreter process holding it
+   */
+  private Object readResourceFrom(ResourceLocation location, ResourceId resourceId)
+      throws Exception {
+    logger.debug("Request Read Resource {} from {}", resourceId.getName(), location);
+    GenericObjectPool<Client> pool = getPeerClientPool(location);
+    Client client = pool.borrowObject();
+    boolean broken = false;
+    try {
+      ByteBuffer res = client.resourceGet(resourceId.getName());
+      if (!res.hasRemaining()) {
+        // not found or not serializable
+        return null;
+      }
+      return Resource.deserializeObject(res);
+    } catch (Exception e) {
+      broken = true;
+      throw e;
+    } finally {
+      if (broken) {
+        pool.invalidateObject(client);
+      } else {
+        pool.returnObject(client);
+      }
+    }
+  }
+
+  /**
+   * Connections to the interpreter process at the location. Connect and read time out after
+   * the control timeout, so a process that went away doesn't hold the paragraph.
+   */
+  private GenericObjectPool<Client> getPeerClientPool(ResourceLocation location) {
+    String key = location.getHost() + ":" + location.getPort() + ":" + location.getTransport()
+        + ":" + location.getProtocol() + ":" + location.isCompression();
+    synchronized (peerClientPools) {
+      GenericObjectPool<Client> pool = peerClientPools.get(key);
+      if (pool == null) {
+        int timeout = RemoteInterpreterProcess.getConfiguredControlTimeout();
+        pool = new GenericObjectPool<Client>(new ClientFactory(
+            location.getHost(),
+            location.getPort(),
+            RemoteInterpreterTransport.fromString(location.getTransport()),
+            RemoteInterpreterProtocol.fromString(location.getProtocol()),
+            location.isCompression(),
+            timeout));
+        pool.setMaxTotal(PEER_POOL_SIZE);
+        pool.setMaxWaitMillis(timeout > 0 ? timeout : -1);
+        peerClientPools.put(key, pool);
+      }
+      return pool;
+    }
+  }
+
   /**
    * Supposed to call from RemoteInterpreterEventPoller
    */
@@ -154,6 +248,9 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     for (String res : resources) {
       RemoteResource resource = gson.fromJson(res, RemoteResource.class);
       resource.setResourcePoolConnector(this);
+      if (resource.getLocation() != null) {
+        resourceLocations.put(resource.getResourceId(), resource.getLocation());
+      }
       resourceSet.add(resource);
     }
 
@@ -212,6 +309,57 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     }
   }
 
+  /**
+   * Supposed to call from RemoteInterpreterEventPoller
+   * @param maxCount maximum number of events to return
+   * @param maxWaitMs maximum time to wait for an event when there's no event
+   * @return available events in order. empty when no event arrived within maxWaitMs
+   */
+  public List<RemoteInterpreterEvent> pollEvents(int maxCount, long maxWaitMs) {
+    synchronized (eventQueue) {
+      // hold the call until an event arrives, so an idle process doesn't answer empty polls
+      long deadline = System.currentTimeMillis() + maxWaitMs;
+      while (eventQueue.isEmpty() && !closed) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          break;
+        }
+        try {
+          eventQueue.wait(remaining);
+        } catch (InterruptedException e) {
+          break;
+        }
+      }
+
+      int count = Math.min(Math.max(maxCount, 1), eventQueue.size());
+      List<RemoteInterpreterEvent> events = new ArrayList<RemoteInterpreterEvent>(count);
+      for (int i = 0; i < count; i++) {
+        events.add(eventQueue.remove(0));
+      }
+      if (!events.isEmpty()) {
+        logger.debug("Send {} events", events.size());
+      }
+      return events;
+    }
+  }
+
+  /**
+   * Release held pollEvents calls and close connections to other interpreter processes,
+   * so the process can shutdown without waiting for them.
+   */
+  public void close() {
+    synchronized (eventQueue) {
+      closed = true;
+      eventQueue.notifyAll();
+    }
+    synchronized (peerClientPools) {
+      for (GenericObjectPool<Client> pool : peerClientPools.values()) {
+        pool.close();
+      }
+      peerClientPools.clear();
+    }
+  }
+
   public void onInterpreterOutputAppend(String noteId, String paragraphId, String output) {
     Map<String, String> appendOutput = new HashMap<String, String>();
     appendOutput.put("noteId", noteId);
@@ -223,6 +371,152 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
         gson.toJson(appendOutput)));
   }
 
+  /**
+   * Append output of a paragraph. Written to the output ring of the paragraph while it runs,
+   * otherwise sent in an event.
+   */
+  public void onInterpreterOutputAppend(String noteId, String paragraphId, byte[] output) {
+    OutputRing ring = getOutputRing(noteId, paragraphId);
+    if (ring == null) {
+      onInterpreterOutputAppend(noteId, paragraphId, new String(output));
+      return;
+    }
+
+    // ring keeps UTF-8, so Zeppelin server decodes it regardless of the platform charset
+    byte[] utf8 = new String(output).getBytes(StandardCharsets.UTF_8);
+    int written = appendToOutputRing(ring, noteId, paragraphId, utf8);
+    if (written < utf8.length) {
+      onInterpreterOutputAppend(noteId, paragraphId,
+          new String(utf8, written, utf8.length - written, StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * Stream output of the paragraph through a ring buffer, until closeOutputBuffer is called.
+   */
+  public void openOutputBuffer(String noteId, String paragraphId) {
+    if (outputBufferSize <= 0) {
+      return;
+    }
+    closeOutputBuffer(noteId, paragraphId);
+    synchronized (outputRings) {
+      outputRings.put(noteId + ":" + paragraphId, null);
+    }
+  }
+
+  /**
+   * Stop streaming output of the paragraph through a ring buffer.
+   * Zeppelin server removes the ring after reading the rest of it.
+   */
+  public void closeOutputBuffer(String noteId, String paragraphId) {
+    OutputRing ring;
+    synchronized (outputRings) {
+      ring = outputRings.remove(noteId + ":" + paragraphId);
+    }
+    if (ring != null) {
+      synchronized (ring.buffer) {
+        ring.buffer.close();
+        signalOutputBuffer(ring.buffer, noteId, paragraphId, true);
+      }
+    }
+  }
+
+  private OutputRing getOutputRing(String noteId, String paragraphId) {
+    String key = noteId + ":" + paragraphId;
+    synchronized (outputRings) {
+      if (!outputRings.containsKey(key)) {
+        return null;
+      }
+      OutputRing ring = outputRings.get(key);
+      if (ring == null) {
+        try {
+          ring = new OutputRing(RemoteInterpreterOutputBuffer.create(outputBufferSize));
+          outputRings.put(key, ring);
+        } catch (IOException e) {
+          logger.warn("Can't create output ring buffer. Send output in events", e);
+          outputRings.remove(key);
+        }
+      }
+      return ring;
+    }
+  }
+
+  /**
+   * Write output to the ring. When the ring is full, wait for Zeppelin server to read it, up to
+   * outputWaitTimeout. After that the ring is closed, and the rest of the output goes in events.
+   * @return number of bytes written to the ring
+   */
+  private int appendToOutputRing(OutputRing ring, String noteId, String paragraphId,
+      byte[] output) {
+    synchronized (ring.appendLock) {
+      long deadline = System.currentTimeMillis() + outputWaitTimeout;
+      int off = 0;
+      while (off < output.length) {
+        synchronized (ring.buffer) {
+          if (ring.buffer.isClosed()) {
+            break;
+          }
+          int n = ring.buffer.write(output, off, output.length - off);
+          if (n > 0) {
+            off += n;
+            signalOutputBuffer(ring.buffer, noteId, paragraphId, false);
+            continue;
+          }
+          if (closed || System.currentTimeMillis() > deadline) {
+            logger.warn("Zeppelin server didn't read output ring of {} in {} ms. " +
+                "Send output in events", paragraphId, outputWaitTimeout);
+            ring.buffer.close();
+            break;
+          }
+        }
+
+        // ring is full. closeOutputBuffer can proceed while waiting
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+      return off;
+    }
+  }
+
+  /**
+   * Send watermark of the ring. Instead of sending another event, move the watermark of
+   * the last event of the ring when it's not polled yet and no other event follows it.
+   */
+  private void signalOutputBuffer(RemoteInterpreterOutputBuffer ring, String noteId,
+      String paragraphId, boolean close) {
+    Map<String, String> appendOutput = new HashMap<String, String>();
+    appendOutput.put("noteId", noteId);
+    appendOutput.put("paragraphId", paragraphId);
+    appendOutput.put("path", ring.getPath());
+    appendOutput.put("watermark", Long.toString(ring.getWritePosition()));
+    if (close) {
+      appendOutput.put("close", "true");
+    }
+    String data = gson.toJson(appendOutput);
+
+    synchronized (eventQueue) {
+      RemoteInterpreterEvent last = close ?
+          outputBufferEvents.remove(ring.getPath()) : outputBufferEvents.get(ring.getPath());
+      if (last != null && !eventQueue.isEmpty() &&
+          eventQueue.get(eventQueue.size() - 1) == last) {
+        last.setData(data);
+        return;
+      }
+
+      RemoteInterpreterEvent event = new RemoteInterpreterEvent(
+          RemoteInterpreterEventType.OUTPUT_APPEND, data);
+      if (!close) {
+        outputBufferEvents.put(ring.getPath(), event);
+      }
+      eventQueue.add(event);
+      eventQueue.notifyAll();
+    }
+  }
+
   public void onInterpreterOutputUpdate(String noteId, String paragraphId, String output) {
     Map<String, String> appendOutput = new HashMap<String, String>();
     appendOutput.put("noteId", noteId);
@@ -235,6 +529,19 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
   }
 
 
+  /**
+   * notify status change of a job in a scheduler of this process
+   */
+  public void onJobStatusChange(String jobId, Status status) {
+    Map<String, String> jobStatus = new HashMap<String, String>();
+    jobStatus.put("jobId", jobId);
+    jobStatus.put("status", status.name());
+
+    sendEvent(new RemoteInterpreterEvent(
+        RemoteInterpreterEventType.JOB_STATUS,
+        gson.toJson(jobStatus)));
+  }
+
   private void sendEvent(RemoteInterpreterEvent event) {
     synchronized (eventQueue) {
       eventQueue.add(event);
@@ -242,4 +549,13 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     }
   }
 
+  private static class OutputRing {
+    final RemoteInterpreterOutputBuffer buffer;
+    // appends wait for space in the ring one at a time, so their output doesn't interleave
+    final Object appendLock = new Object();
+
+    OutputRing(RemoteInterpreterOutputBuffer buffer) {
+      this.buffer = buffer;
+    }
+  }
 }
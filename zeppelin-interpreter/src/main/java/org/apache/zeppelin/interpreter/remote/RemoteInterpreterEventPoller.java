@@ -28,27 +28,49 @@ import org.apache.zeppelin.interpreter.InterpreterOutputListener;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEvent;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEventType;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+import org.apache.zeppelin.resource.RemoteResource;
 import org.apache.zeppelin.resource.Resource;
 import org.apache.zeppelin.resource.ResourceId;
+import org.apache.zeppelin.resource.ResourceLocation;
 import org.apache.zeppelin.resource.ResourcePool;
 import org.apache.zeppelin.resource.ResourceSet;
+import org.apache.zeppelin.scheduler.Job.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Processes message from RemoteInterpreter process
  */
 public class RemoteInterpreterEventPoller extends Thread {
   private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterEventPoller.class);
+  // events fetched by a single getEvents call
+  static final int MAX_EVENTS_PER_POLL = 1000;
+  // time interpreter process holds getEvents call when there's no event.
+  // idle interpreter processes don't wake up the poller more often than this
+  static final int POLL_WAIT_MS = 30 * 1000;
+  private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
   private final RemoteInterpreterProcessListener listener;
 
   private volatile boolean shutdown;
+  private final Gson gson = new Gson();
+  private final Map<RemoteInterpreterEventType, AtomicLong> eventCounts =
+      new EnumMap<RemoteInterpreterEventType, AtomicLong>(RemoteInterpreterEventType.class);
+  private final AtomicLong pollCount = new AtomicLong();
+  // output rings of interpreter process by path. accessed by the poller thread only
+  private final Map<String, RemoteInterpreterOutputBuffer> outputBuffers =
+      new HashMap<String, RemoteInterpreterOutputBuffer>();
 
   private RemoteInterpreterProcess interpreterProcess;
   private InterpreterGroup interpreterGroup;
@@ -56,6 +78,9 @@ public class RemoteInterpreterEventPoller extends Thread {
   public RemoteInterpreterEventPoller(RemoteInterpreterProcessListener listener) {
     this.listener = listener;
     shutdown = false;
+    for (RemoteInterpreterEventType type : RemoteInterpreterEventType.values()) {
+      eventCounts.put(type, new AtomicLong());
+    }
   }
 
   public void setInterpreterProcess(RemoteInterpreterProcess interpreterProcess) {
@@ -79,85 +104,151 @@ public class RemoteInterpreterEventPoller extends Thread {
         continue;
       }
 
-      RemoteInterpreterEvent event = null;
+      List<RemoteInterpreterEvent> events = null;
       boolean broken = false;
       try {
-        event = client.getEvent();
+        events = client.getEvents(MAX_EVENTS_PER_POLL, POLL_WAIT_MS);
       } catch (TException e) {
         broken = true;
-        logger.error("Can't get RemoteInterpreterEvent", e);
-        waitQuietly();
+        // held call breaks when interpreter process terminates on shutdown
+        if (!shutdown) {
+          logger.error("Can't get RemoteInterpreterEvent", e);
+          waitQuietly();
+        }
         continue;
       } finally {
         interpreterProcess.releaseClient(client, broken);
       }
 
-      Gson gson = new Gson();
+      pollCount.incrementAndGet();
+      for (RemoteInterpreterEvent event : events) {
+        handleEvent(event);
+      }
+    }
+    logger.info("Event poller stopped after {} polls. events {}", pollCount.get(),
+        getEventCounts());
+
+    // rings of paragraphs running when the process stopped
+    for (RemoteInterpreterOutputBuffer ring : outputBuffers.values()) {
+      ring.delete();
+    }
+    outputBuffers.clear();
+  }
+
+  void handleEvent(RemoteInterpreterEvent event) {
+    eventCounts.get(event.getType()).incrementAndGet();
 
-      AngularObjectRegistry angularObjectRegistry = interpreterGroup.getAngularObjectRegistry();
+    try {
+      if (event.getType() == RemoteInterpreterEventType.NO_OP) {
+        return;
+      } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_ADD) {
+        AngularObjectRegistry angularObjectRegistry = interpreterGroup.getAngularObjectRegistry();
+        AngularObject angularObject = gson.fromJson(event.getData(), AngularObject.class);
+        angularObjectRegistry.add(angularObject.getName(),
+            angularObject.get(), angularObject.getNoteId(), angularObject.getParagraphId());
+      } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE) {
+        AngularObjectRegistry angularObjectRegistry = interpreterGroup.getAngularObjectRegistry();
+        AngularObject angularObject = gson.fromJson(event.getData(),
+            AngularObject.class);
+        AngularObject localAngularObject = angularObjectRegistry.get(
+            angularObject.getName(), angularObject.getNoteId(), angularObject.getParagraphId());
+        if (localAngularObject instanceof RemoteAngularObject) {
+          // to avoid ping-pong loop
+          ((RemoteAngularObject) localAngularObject).set(
+              angularObject.get(), true, false);
+        } else {
+          localAngularObject.set(angularObject.get());
+        }
+      } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_REMOVE) {
+        AngularObjectRegistry angularObjectRegistry = interpreterGroup.getAngularObjectRegistry();
+        AngularObject angularObject = gson.fromJson(event.getData(), AngularObject.class);
+        angularObjectRegistry.remove(angularObject.getName(), angularObject.getNoteId(),
+                angularObject.getParagraphId());
+      } else if (event.getType() == RemoteInterpreterEventType.RUN_INTERPRETER_CONTEXT_RUNNER) {
+        InterpreterContextRunner runnerFromRemote = gson.fromJson(
+            event.getData(), RemoteInterpreterContextRunner.class);
 
-      try {
-        if (event.getType() == RemoteInterpreterEventType.NO_OP) {
-          continue;
-        } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_ADD) {
-          AngularObject angularObject = gson.fromJson(event.getData(), AngularObject.class);
-          angularObjectRegistry.add(angularObject.getName(),
-              angularObject.get(), angularObject.getNoteId(), angularObject.getParagraphId());
-        } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE) {
-          AngularObject angularObject = gson.fromJson(event.getData(),
-              AngularObject.class);
-          AngularObject localAngularObject = angularObjectRegistry.get(
-              angularObject.getName(), angularObject.getNoteId(), angularObject.getParagraphId());
-          if (localAngularObject instanceof RemoteAngularObject) {
-            // to avoid ping-pong loop
-            ((RemoteAngularObject) localAngularObject).set(
-                angularObject.get(), true, false);
-          } else {
-            localAngularObject.set(angularObject.get());
+        interpreterProcess.getInterpreterContextRunnerPool().run(
+            runnerFromRemote.getNoteId(), runnerFromRemote.getParagraphId());
+      } else if (event.getType() == RemoteInterpreterEventType.RESOURCE_POOL_GET_ALL) {
+        ResourceSet resourceSet = getAllResourcePoolExcept();
+        sendResourcePoolResponseGetAll(resourceSet);
+      } else if (event.getType() == RemoteInterpreterEventType.RESOURCE_GET) {
+        String resourceIdString = event.getData();
+        ResourceId resourceId = gson.fromJson(resourceIdString, ResourceId.class);
+        logger.debug("RESOURCE_GET {} {}", resourceId.getResourcePoolId(), resourceId.getName());
+        Object o = getResource(resourceId);
+        sendResourceResponseGet(resourceId, o);
+      } else if (event.getType() == RemoteInterpreterEventType.OUTPUT_APPEND) {
+        // on output append
+        Map<String, String> outputAppend = gson.fromJson(event.getData(), STRING_MAP_TYPE);
+        String noteId = outputAppend.get("noteId");
+        String paragraphId = outputAppend.get("paragraphId");
+        if (outputAppend.containsKey("path")) {
+          // output is in ring buffer. event has the watermark only
+          String outputToAppend = readOutputBuffer(outputAppend);
+          if (!outputToAppend.isEmpty()) {
+            listener.onOutputAppend(noteId, paragraphId, outputToAppend);
           }
-        } else if (event.getType() == RemoteInterpreterEventType.ANGULAR_OBJECT_REMOVE) {
-          AngularObject angularObject = gson.fromJson(event.getData(), AngularObject.class);
-          angularObjectRegistry.remove(angularObject.getName(), angularObject.getNoteId(),
-                  angularObject.getParagraphId());
-        } else if (event.getType() == RemoteInterpreterEventType.RUN_INTERPRETER_CONTEXT_RUNNER) {
-          InterpreterContextRunner runnerFromRemote = gson.fromJson(
-              event.getData(), RemoteInterpreterContextRunner.class);
-
-          interpreterProcess.getInterpreterContextRunnerPool().run(
-              runnerFromRemote.getNoteId(), runnerFromRemote.getParagraphId());
-        } else if (event.getType() == RemoteInterpreterEventType.RESOURCE_POOL_GET_ALL) {
-          ResourceSet resourceSet = getAllResourcePoolExcept();
-          sendResourcePoolResponseGetAll(resourceSet);
-        } else if (event.getType() == RemoteInterpreterEventType.RESOURCE_GET) {
-          String resourceIdString = event.getData();
-          ResourceId resourceId = gson.fromJson(resourceIdString, ResourceId.class);
-          logger.debug("RESOURCE_GET {} {}", resourceId.getResourcePoolId(), resourceId.getName());
-          Object o = getResource(resourceId);
-          sendResourceResponseGet(resourceId, o);
-        } else if (event.getType() == RemoteInterpreterEventType.OUTPUT_APPEND) {
-          // on output append
-          Map<String, String> outputAppend = gson.fromJson(
-                  event.getData(), new TypeToken<Map<String, String>>() {}.getType());
-          String noteId = outputAppend.get("noteId");
-          String paragraphId = outputAppend.get("paragraphId");
+        } else {
           String outputToAppend = outputAppend.get("data");
-
           listener.onOutputAppend(noteId, paragraphId, outputToAppend);
-        } else if (event.getType() == RemoteInterpreterEventType.OUTPUT_UPDATE) {
-          // on output update
-          Map<String, String> outputAppend = gson.fromJson(
-                  event.getData(), new TypeToken<Map<String, String>>() {}.getType());
-          String noteId = outputAppend.get("noteId");
-          String paragraphId = outputAppend.get("paragraphId");
-          String outputToUpdate = outputAppend.get("data");
-
-          listener.onOutputUpdated(noteId, paragraphId, outputToUpdate);
         }
-        logger.debug("Event from remoteproceess {}", event.getType());
-      } catch (Exception e) {
-        logger.error("Can't handle event " + event, e);
+      } else if (event.getType() == RemoteInterpreterEventType.OUTPUT_UPDATE) {
+        // on output update
+        Map<String, String> outputAppend = gson.fromJson(event.getData(), STRING_MAP_TYPE);
+        String noteId = outputAppend.get("noteId");
+        String paragraphId = outputAppend.get("paragraphId");
+        String outputToUpdate = outputAppend.get("data");
+
+        listener.onOutputUpdated(noteId, paragraphId, outputToUpdate);
+      } else if (event.getType() == RemoteInterpreterEventType.JOB_STATUS) {
+        Map<String, String> jobStatus = gson.fromJson(event.getData(), STRING_MAP_TYPE);
+        interpreterProcess.onJobStatusChange(jobStatus.get("jobId"),
+            Status.valueOf(jobStatus.get("status")));
       }
+      logger.debug("Event from remoteproceess {}", event.getType());
+    } catch (Exception e) {
+      logger.error("Can't handle event " + event, e);
+    }
+  }
+
+  /**
+   * Read output ring of interpreter process up to the watermark of the event.
+   * Ring is removed once interpreter process closed it.
+   */
+  private String readOutputBuffer(Map<String, String> outputAppend) throws IOException {
+    String path = outputAppend.get("path");
+    RemoteInterpreterOutputBuffer ring = outputBuffers.get(path);
+    if (ring == null) {
+      ring = RemoteInterpreterOutputBuffer.open(path);
+      outputBuffers.put(path, ring);
     }
+    byte[] output = ring.read(Long.parseLong(outputAppend.get("watermark")));
+    if ("true".equals(outputAppend.get("close"))) {
+      outputBuffers.remove(path);
+      ring.delete();
+    }
+    return new String(output, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return number of events received from interpreter process, by event type
+   */
+  public Map<RemoteInterpreterEventType, Long> getEventCounts() {
+    Map<RemoteInterpreterEventType, Long> counts =
+        new EnumMap<RemoteInterpreterEventType, Long>(RemoteInterpreterEventType.class);
+    for (Map.Entry<RemoteInterpreterEventType, AtomicLong> e : eventCounts.entrySet()) {
+      counts.put(e.getKey(), e.getValue().get());
+    }
+    return counts;
+  }
+
+  /**
+   * @return number of getEvents calls answered by interpreter process
+   */
+  public long getPollCount() {
+    return pollCount.get();
   }
 
   private void sendResourcePoolResponseGetAll(ResourceSet resourceSet) {
@@ -166,7 +257,6 @@ public class RemoteInterpreterEventPoller extends Thread {
     try {
       client = interpreterProcess.getClient();
       List<String> resourceList = new LinkedList<String>();
-      Gson gson = new Gson();
       for (Resource r : resourceSet) {
         resourceList.add(gson.toJson(r));
       }
@@ -200,9 +290,17 @@ public class RemoteInterpreterEventPoller extends Thread {
         try {
           client = remoteInterpreterProcess.getClient();
           List<String> resourceList = client.resoucePoolGetAll();
-          Gson gson = new Gson();
+          // let the requesting process read the data from the owning process directly
+          ResourceLocation location = new ResourceLocation(
+              "localhost",
+              remoteInterpreterProcess.getPort(),
+              remoteInterpreterProcess.getTransport().toString(),
+              remoteInterpreterProcess.getProtocol().toString(),
+              remoteInterpreterProcess.isCompression());
           for (String res : resourceList) {
-            resourceSet.add(gson.fromJson(res, Resource.class));
+            RemoteResource resource = gson.fromJson(res, RemoteResource.class);
+            resource.setLocation(location);
+            resourceSet.add(resource);
           }
         } catch (Exception e) {
           logger.error(e.getMessage(), e);
@@ -224,7 +322,6 @@ public class RemoteInterpreterEventPoller extends Thread {
     boolean broken = false;
     try {
       client = interpreterProcess.getClient();
-      Gson gson = new Gson();
       String rid = gson.toJson(resourceId);
       ByteBuffer obj;
       if (o == null) {
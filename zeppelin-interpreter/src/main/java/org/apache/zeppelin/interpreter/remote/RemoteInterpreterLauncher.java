@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.commons.exec.CommandLine;
+import org.apache.commons.exec.DefaultExecutor;
+import org.apache.commons.exec.ExecuteException;
+import org.apache.commons.exec.ExecuteResultHandler;
+import org.apache.commons.exec.ExecuteWatchdog;
+import org.apache.commons.exec.environment.EnvironmentUtils;
+import org.apache.zeppelin.interpreter.InterpreterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Launches interpreter processes with bin/interpreter.sh.
+ *
+ * Launchers are equal when they launch the same process, so a process launched ahead of time
+ * (see RemoteInterpreterWarmPool) can serve any RemoteInterpreterProcess of an equal launcher.
+ */
+public class RemoteInterpreterLauncher {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterLauncher.class);
+
+  private final String interpreterRunner;
+  private final String interpreterDir;
+  private final String localRepoDir;
+  private final Map<String, String> env;
+  private final int connectTimeout;
+
+  public RemoteInterpreterLauncher(String interpreterRunner,
+      String interpreterDir,
+      String localRepoDir,
+      Map<String, String> env,
+      int connectTimeout) {
+    this.interpreterRunner = interpreterRunner;
+    this.interpreterDir = interpreterDir;
+    this.localRepoDir = localRepoDir;
+    this.env = new HashMap<String, String>();
+    if (env != null) {
+      this.env.putAll(env);
+    }
+    this.connectTimeout = connectTimeout;
+  }
+
+  /**
+   * Start a new interpreter process and wait until it reports its port, up to connectTimeout.
+   * The process picks its port itself.
+   */
+  public LaunchedProcess launch() {
+    final RemoteInterpreterCallback callback;
+    try {
+      callback = new RemoteInterpreterCallback();
+    } catch (IOException e1) {
+      throw new InterpreterException(e1);
+    }
+
+    CommandLine cmdLine = CommandLine.parse(interpreterRunner);
+    cmdLine.addArgument("-d", false);
+    cmdLine.addArgument(interpreterDir, false);
+    cmdLine.addArgument("-p", false);
+    cmdLine.addArgument("0", false);
+    cmdLine.addArgument("-l", false);
+    cmdLine.addArgument(localRepoDir, false);
+
+    DefaultExecutor executor = new DefaultExecutor();
+    ExecuteWatchdog watchdog = new ExecuteWatchdog(ExecuteWatchdog.INFINITE_TIMEOUT);
+    executor.setWatchdog(watchdog);
+
+    LaunchedProcess process = new LaunchedProcess(watchdog);
+    // stop waiting for the port when the process exits
+    process.setResultHandler(new ExecuteResultHandler() {
+      @Override
+      public void onProcessComplete(int exitValue) {
+        callback.close();
+      }
+
+      @Override
+      public void onProcessFailed(ExecuteException e) {
+        callback.close();
+      }
+    });
+    try {
+      Map procEnv = EnvironmentUtils.getProcEnvironment();
+      procEnv.putAll(env);
+      procEnv.put(RemoteInterpreterCallback.CALLBACK_PORT_ENV,
+          Integer.toString(callback.getPort()));
+
+      logger.info("Run interpreter process {}", cmdLine);
+      executor.execute(cmdLine, procEnv, process);
+    } catch (IOException e) {
+      callback.close();
+      process.onProcessFailed(new ExecuteException(e.getMessage(), -1, e));
+      throw new InterpreterException(e);
+    }
+
+    int port = callback.awaitPort(connectTimeout);
+    if (port < 0) {
+      if (process.isRunning()) {
+        process.destroy();
+      }
+      throw new InterpreterException("Interpreter process of " + interpreterDir +
+          " didn't start in " + connectTimeout + " ms");
+    }
+    process.setPort(port);
+    process.setSocketPath(callback.getSocketPath());
+    return process;
+  }
+
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof RemoteInterpreterLauncher)) {
+      return false;
+    }
+    RemoteInterpreterLauncher that = (RemoteInterpreterLauncher) o;
+    return equals(interpreterRunner, that.interpreterRunner) &&
+        equals(interpreterDir, that.interpreterDir) &&
+        equals(localRepoDir, that.localRepoDir) &&
+        env.equals(that.env);
+  }
+
+  private static boolean equals(String a, String b) {
+    return a == null ? b == null : a.equals(b);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = interpreterRunner == null ? 0 : interpreterRunner.hashCode();
+    result = 31 * result + (interpreterDir == null ? 0 : interpreterDir.hashCode());
+    result = 31 * result + (localRepoDir == null ? 0 : localRepoDir.hashCode());
+    result = 31 * result + env.hashCode();
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return interpreterDir;
+  }
+
+  /**
+   * Interpreter process started by a launcher.
+   * Tells the handler set by its owner when the process exits.
+   */
+  public static class LaunchedProcess implements ExecuteResultHandler {
+    private volatile int port = -1;
+    private volatile String socketPath;
+    private final ExecuteWatchdog watchdog;
+    private boolean running = true;
+    private ExecuteResultHandler handler;
+    private volatile Integer exitValue;
+    private volatile ExecuteException failure;
+
+    LaunchedProcess(ExecuteWatchdog watchdog) {
+      this.watchdog = watchdog;
+    }
+
+    public int getPort() {
+      return port;
+    }
+
+    void setPort(int port) {
+      this.port = port;
+    }
+
+    /**
+     * @return unix domain socket path of the process. null when it listens on TCP only
+     */
+    public String getSocketPath() {
+      return socketPath;
+    }
+
+    void setSocketPath(String socketPath) {
+      this.socketPath = socketPath;
+    }
+
+    public synchronized boolean isRunning() {
+      return running;
+    }
+
+    /**
+     * Handler of the process exit. Called at once when the process exited already.
+     */
+    public void setResultHandler(ExecuteResultHandler handler) {
+      synchronized (this) {
+        this.handler = handler;
+        if (running) {
+          return;
+        }
+      }
+      notifyHandler(handler);
+    }
+
+    /**
+     * Wait for the process to exit, up to timeout milliseconds.
+     * @return true when the process exited
+     */
+    public synchronized boolean waitFor(long timeout) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeout;
+      while (running) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          return false;
+        }
+        wait(remaining);
+      }
+      return true;
+    }
+
+    /**
+     * Kill the process.
+     */
+    public void destroy() {
+      watchdog.destroyProcess();
+    }
+
+    @Override
+    public void onProcessComplete(int exitValue) {
+      ExecuteResultHandler h;
+      synchronized (this) {
+        running = false;
+        this.exitValue = exitValue;
+        h = handler;
+        notifyAll();
+      }
+      notifyHandler(h);
+    }
+
+    @Override
+    public void onProcessFailed(ExecuteException e) {
+      ExecuteResultHandler h;
+      synchronized (this) {
+        running = false;
+        failure = e;
+        h = handler;
+        notifyAll();
+      }
+      notifyHandler(h);
+    }
+
+    private void notifyHandler(ExecuteResultHandler h) {
+      if (h == null) {
+        return;
+      }
+      if (failure != null) {
+        h.onProcessFailed(failure);
+      } else if (exitValue != null) {
+        h.onProcessComplete(exitValue);
+      }
+    }
+  }
+}
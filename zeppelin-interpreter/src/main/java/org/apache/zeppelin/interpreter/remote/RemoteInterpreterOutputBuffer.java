@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+
+/**
+ * Memory mapped ring buffer streaming output of a paragraph from interpreter process to
+ * Zeppelin server on the same host.
+ *
+ * Interpreter process writes output bytes into the ring and sends only the total number of
+ * bytes written (watermark) in OUTPUT_APPEND events. Zeppelin server maps the same file, reads
+ * the bytes up to the watermark and stores how far it read in the header, so the writer can reuse
+ * the space. A paragraph printing many lines then costs a memory copy per line and a few events,
+ * instead of an event per line. Output is kept in UTF-8, and the writer writes whole characters
+ * only, so any watermark can be decoded on its own.
+ *
+ * Zeppelin server opens rings in its temp directory only, so interpreter process needs to use the
+ * same java.io.tmpdir. Ring files are readable and writable by the owner only.
+ *
+ * The writer locks the file until it closes the ring. A ring nobody locks is left behind by a
+ * process that died, and is removed when the next interpreter process starts.
+ *
+ * Set system property zeppelin.interpreter.output.ringBufferSize or environment variable
+ * ZEPPELIN_INTERPRETER_OUTPUT_RING_BUFFER_SIZE to change the size of a ring, in bytes.
+ * 0 sends output in events.
+ */
+public class RemoteInterpreterOutputBuffer {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterOutputBuffer.class);
+  public static final String SIZE_PROPERTY = "zeppelin.interpreter.output.ringBufferSize";
+  public static final String SIZE_ENV = "ZEPPELIN_INTERPRETER_OUTPUT_RING_BUFFER_SIZE";
+  public static final int DEFAULT_SIZE = 1024 * 1024;
+  // how long the writer waits for Zeppelin server to free space in a full ring
+  public static final long WRITE_TIMEOUT = 10 * 1000;
+  private static final String FILE_PREFIX = "zeppelin-output-";
+  private static final String FILE_SUFFIX = ".ring";
+  // read position, written by the reader
+  private static final int HEADER_SIZE = 8;
+  // unlocked rings younger than this may be still read by Zeppelin server
+  static final long STALE_AGE = 60 * 1000;
+
+  private final File file;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  // open while the writer holds the lock. null on the reader side
+  private RandomAccessFile writerFile;
+  // total bytes written. writer side only
+  private long writePosition = 0;
+  // total bytes read. reader side only
+  private long readPosition = 0;
+  private boolean closed = false;
+
+  private RemoteInterpreterOutputBuffer(File file, int capacity) throws IOException {
+    this.file = file;
+    boolean writer = capacity > 0;
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      if (writer) {
+        raf.setLength(HEADER_SIZE + capacity);
+        // released when the file is closed, also when the process dies
+        raf.getChannel().lock();
+      }
+      this.capacity = (int) raf.length() - HEADER_SIZE;
+      // mapping stays valid after the file is closed
+      buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+    } catch (IOException e) {
+      writer = false;
+      throw e;
+    } finally {
+      if (writer) {
+        writerFile = raf;
+      } else {
+        raf.close();
+      }
+    }
+  }
+
+  /**
+   * Create a ring in the temp directory. Called by interpreter process.
+   */
+  public static RemoteInterpreterOutputBuffer create(int capacity) throws IOException {
+    // removed by Zeppelin server once it read the ring. owner-only on posix file systems
+    File file = Files.createTempFile(getTempDir().toPath(), FILE_PREFIX, FILE_SUFFIX).toFile();
+    try {
+      return new RemoteInterpreterOutputBuffer(file, capacity);
+    } catch (IOException e) {
+      file.delete();
+      throw e;
+    }
+  }
+
+  private static File getTempDir() {
+    return new File(System.getProperty("java.io.tmpdir"));
+  }
+
+  /**
+   * Remove rings in the temp directory no writer locks, which Zeppelin server didn't remove
+   * because it or the writer died. Called when interpreter process starts.
+   */
+  public static void removeStaleRings() {
+    removeStaleRings(getTempDir(), STALE_AGE);
+  }
+
+  static void removeStaleRings(File dir, long minAge) {
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    for (File file : files) {
+      String name = file.getName();
+      if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX) || !file.isFile() ||
+          now - file.lastModified() < minAge) {
+        continue;
+      }
+      if (!isLocked(file) && file.delete()) {
+        logger.info("Removed stale output ring {}", file);
+      }
+    }
+  }
+
+  /**
+   * @return true if a writer holds the ring, or it can't be checked
+   */
+  private static boolean isLocked(File file) {
+    RandomAccessFile raf = null;
+    try {
+      raf = new RandomAccessFile(file, "rw");
+      FileLock lock = raf.getChannel().tryLock();
+      if (lock == null) {
+        return true;
+      }
+      lock.release();
+      return false;
+    } catch (OverlappingFileLockException e) {
+      // locked by a writer in this process
+      return true;
+    } catch (IOException e) {
+      logger.debug("Can't check " + file, e);
+      return true;
+    } finally {
+      if (raf != null) {
+        try {
+          raf.close();
+        } catch (IOException e) {
+          logger.debug(e.getMessage(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Map a ring created by interpreter process. Called by Zeppelin server.
+   * @throws IOException when the path is not a ring in the temp directory
+   */
+  public static RemoteInterpreterOutputBuffer open(String path) throws IOException {
+    File file = new File(path).getCanonicalFile();
+    File tmpDir = getTempDir().getCanonicalFile();
+    String name = file.getName();
+    if (!tmpDir.equals(file.getParentFile()) || !name.startsWith(FILE_PREFIX) ||
+        !name.endsWith(FILE_SUFFIX) || !file.isFile()) {
+      throw new IOException("Not an output ring buffer " + path);
+    }
+    return new RemoteInterpreterOutputBuffer(file, 0);
+  }
+
+  /**
+   * Ring size configured by system property, otherwise by environment variable.
+   */
+  public static int getConfiguredSize() {
+    String value = System.getProperty(SIZE_PROPERTY);
+    if (value == null) {
+      value = System.getenv(SIZE_ENV);
+    }
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_SIZE;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid output ring buffer size {}. Use {}", value, DEFAULT_SIZE);
+      return DEFAULT_SIZE;
+    }
+  }
+
+  public String getPath() {
+    return file.getAbsolutePath();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Write as many whole UTF-8 characters as there's space for.
+   * @return number of bytes written. 0 when the reader didn't free enough space yet
+   */
+  public synchronized int write(byte[] b, int off, int len) {
+    long read = buffer.getLong(0);
+    int free = (int) (capacity - (writePosition - read));
+    int n = Math.min(free, len);
+    // don't split a character. continuation bytes are 10xxxxxx
+    while (n > 0 && n < len && (b[off + n] & 0xC0) == 0x80) {
+      n--;
+    }
+    if (n > 0) {
+      copy(writePosition, b, off, n, true);
+      writePosition += n;
+    }
+    return n;
+  }
+
+  /**
+   * @return total number of bytes written. Sent to the reader as a watermark
+   */
+  public synchronized long getWritePosition() {
+    return writePosition;
+  }
+
+  /**
+   * Read bytes up to the watermark and free their space.
+   */
+  public byte[] read(long watermark) {
+    int n = (int) (watermark - readPosition);
+    if (n <= 0) {
+      return new byte[0];
+    }
+    byte[] b = new byte[n];
+    copy(readPosition, b, 0, n, false);
+    readPosition = watermark;
+    buffer.putLong(0, readPosition);
+    return b;
+  }
+
+  private void copy(long position, byte[] b, int off, int len, boolean write) {
+    ByteBuffer data = buffer.duplicate();
+    int start = (int) (position % capacity);
+    int first = Math.min(len, capacity - start);
+    data.position(HEADER_SIZE + start);
+    if (write) {
+      data.put(b, off, first);
+    } else {
+      data.get(b, off, first);
+    }
+    if (len > first) {
+      data.position(HEADER_SIZE);
+      if (write) {
+        data.put(b, off + first, len - first);
+      } else {
+        data.get(b, off + first, len - first);
+      }
+    }
+  }
+
+  /**
+   * Writer stops writing to a closed ring.
+   */
+  public synchronized void close() {
+    closed = true;
+    if (writerFile != null) {
+      try {
+        // releases the lock
+        writerFile.close();
+      } catch (IOException e) {
+        logger.debug(e.getMessage(), e);
+      }
+      writerFile = null;
+    }
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Remove the file. Called by the reader once it read everything.
+   */
+  public void delete() {
+    if (!file.delete()) {
+      logger.debug("Can't delete {}", file);
+    }
+  }
+}
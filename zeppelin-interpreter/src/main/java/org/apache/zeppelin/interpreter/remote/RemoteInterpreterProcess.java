@@ -18,18 +18,21 @@
 package org.apache.zeppelin.interpreter.remote;
 
 import com.google.gson.Gson;
-import org.apache.commons.exec.*;
-import org.apache.commons.exec.environment.EnvironmentUtils;
+import org.apache.commons.exec.ExecuteException;
+import org.apache.commons.exec.ExecuteResultHandler;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.thrift.TException;
 import org.apache.zeppelin.interpreter.InterpreterException;
 import org.apache.zeppelin.interpreter.InterpreterGroup;
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterLauncher.LaunchedProcess;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+import org.apache.zeppelin.scheduler.Job.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -37,21 +40,38 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class RemoteInterpreterProcess implements ExecuteResultHandler {
   private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterProcess.class);
+  public static final String CONTROL_TIMEOUT_PROPERTY = "zeppelin.interpreter.control.timeout";
+  public static final String CONTROL_TIMEOUT_ENV = "ZEPPELIN_INTERPRETER_CONTROL_TIMEOUT";
+  public static final int DEFAULT_CONTROL_TIMEOUT = 10 * 1000;
+  public static final String MAX_CONNECTIONS_PROPERTY =
+      "zeppelin.interpreter.nonblocking.maxConnections";
+  public static final String MAX_CONNECTIONS_ENV =
+      "ZEPPELIN_INTERPRETER_NONBLOCKING_MAX_CONNECTIONS";
+  public static final int DEFAULT_MAX_CONNECTIONS = 64;
+  // connections for cancel, progress and completion calls
+  static final int CONTROL_POOL_SIZE = 4;
+  // connections the event poller holds in getEvents, besides the ones of interpret calls
+  static final int EVENT_POLL_CONNECTIONS = 1;
 
   private final AtomicInteger referenceCount;
-  private DefaultExecutor executor;
-  private ExecuteWatchdog watchdog;
+  private LaunchedProcess process;
   boolean running = false;
   private int port = -1;
-  private final String interpreterRunner;
-  private final String interpreterDir;
-  private final String localRepoDir;
+  private final RemoteInterpreterLauncher launcher;
 
   private GenericObjectPool<Client> clientPool;
+  private GenericObjectPool<Client> controlClientPool;
+  private final int controlTimeout;
+  private final int maxConnections;
   private Map<String, String> env;
   private final RemoteInterpreterEventPoller remoteInterpreterEventPoller;
   private final InterpreterContextRunnerPool interpreterContextRunnerPool;
   private int connectTimeout;
+  private final RemoteInterpreterTransport transport;
+  private final RemoteInterpreterProtocol protocol;
+  private final boolean compression;
+  private final Map<String, RemoteJobStatusListener> jobStatusListeners =
+      new ConcurrentHashMap<String, RemoteJobStatusListener>();
 
   public RemoteInterpreterProcess(String intpRunner,
       String intpDir,
@@ -73,14 +93,107 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
       Map<String, String> env,
       RemoteInterpreterEventPoller remoteInterpreterEventPoller,
       int connectTimeout) {
-    this.interpreterRunner = intpRunner;
-    this.interpreterDir = intpDir;
-    this.localRepoDir = localRepoDir;
     this.env = env;
     this.interpreterContextRunnerPool = new InterpreterContextRunnerPool();
     referenceCount = new AtomicInteger(0);
     this.remoteInterpreterEventPoller = remoteInterpreterEventPoller;
     this.connectTimeout = connectTimeout;
+    if (env != null && env.containsKey(RemoteInterpreterTransport.TRANSPORT_ENV)) {
+      this.transport = RemoteInterpreterTransport.fromString(
+          env.get(RemoteInterpreterTransport.TRANSPORT_ENV));
+    } else {
+      this.transport = RemoteInterpreterTransport.get();
+    }
+    if (env != null && env.containsKey(RemoteInterpreterProtocol.PROTOCOL_ENV)) {
+      this.protocol = RemoteInterpreterProtocol.fromString(
+          env.get(RemoteInterpreterProtocol.PROTOCOL_ENV));
+    } else {
+      this.protocol = RemoteInterpreterProtocol.get();
+    }
+    if (env != null && env.containsKey(CompressedFramedTransport.COMPRESSION_ENV)) {
+      this.compression = Boolean.parseBoolean(
+          env.get(CompressedFramedTransport.COMPRESSION_ENV).trim());
+    } else {
+      this.compression = CompressedFramedTransport.isEnabled();
+    }
+    if (env != null && env.containsKey(CONTROL_TIMEOUT_ENV)) {
+      this.controlTimeout = parseControlTimeout(env.get(CONTROL_TIMEOUT_ENV));
+    } else {
+      this.controlTimeout = getConfiguredControlTimeout();
+    }
+    if (env != null && env.containsKey(MAX_CONNECTIONS_ENV)) {
+      this.maxConnections = parseMaxConnections(env.get(MAX_CONNECTIONS_ENV));
+    } else {
+      this.maxConnections = getConfiguredMaxConnections();
+    }
+
+    Map<String, String> procEnv = new HashMap<String, String>();
+    if (env != null) {
+      procEnv.putAll(env);
+    }
+    // interpreter process must frame and encode messages the same way
+    procEnv.put(RemoteInterpreterTransport.TRANSPORT_ENV, transport.toString());
+    procEnv.put(RemoteInterpreterProtocol.PROTOCOL_ENV, protocol.toString());
+    procEnv.put(CompressedFramedTransport.COMPRESSION_ENV, Boolean.toString(compression));
+    // interpreter process sizes its worker pool by the connections it can get
+    procEnv.put(MAX_CONNECTIONS_ENV, Integer.toString(maxConnections));
+    if (!procEnv.containsKey(UnixSocketTransport.ENABLED_ENV)) {
+      procEnv.put(UnixSocketTransport.ENABLED_ENV,
+          Boolean.toString(UnixSocketTransport.isRequested()));
+    }
+    if (!procEnv.containsKey(RemoteInterpreterOutputBuffer.SIZE_ENV)) {
+      procEnv.put(RemoteInterpreterOutputBuffer.SIZE_ENV,
+          Integer.toString(RemoteInterpreterOutputBuffer.getConfiguredSize()));
+    }
+    this.launcher = new RemoteInterpreterLauncher(
+        intpRunner, intpDir, localRepoDir, procEnv, connectTimeout);
+  }
+
+  /**
+   * Timeout of control calls configured by system property, otherwise by environment variable.
+   */
+  static int getConfiguredControlTimeout() {
+    String value = System.getProperty(CONTROL_TIMEOUT_PROPERTY);
+    if (value == null) {
+      value = System.getenv(CONTROL_TIMEOUT_ENV);
+    }
+    return parseControlTimeout(value);
+  }
+
+  private static int parseControlTimeout(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_CONTROL_TIMEOUT;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid control timeout {}. Use {}", value, DEFAULT_CONTROL_TIMEOUT);
+      return DEFAULT_CONTROL_TIMEOUT;
+    }
+  }
+
+  /**
+   * Max connections to an interpreter process with NON_BLOCKING transport, besides control
+   * connections. Configured by system property, otherwise by environment variable.
+   */
+  static int getConfiguredMaxConnections() {
+    String value = System.getProperty(MAX_CONNECTIONS_PROPERTY);
+    if (value == null) {
+      value = System.getenv(MAX_CONNECTIONS_ENV);
+    }
+    return parseMaxConnections(value);
+  }
+
+  private static int parseMaxConnections(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_MAX_CONNECTIONS;
+    }
+    try {
+      return Math.max(1, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid max connections {}. Use {}", value, DEFAULT_MAX_CONNECTIONS);
+      return DEFAULT_MAX_CONNECTIONS;
+    }
   }
 
 
@@ -88,57 +201,39 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
     return port;
   }
 
+  public RemoteInterpreterLauncher getLauncher() {
+    return launcher;
+  }
+
   public int reference(InterpreterGroup interpreterGroup) {
     synchronized (referenceCount) {
-      if (executor == null) {
-        // start server process
-        try {
-          port = RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces();
-        } catch (IOException e1) {
-          throw new InterpreterException(e1);
+      if (process == null) {
+        // take a process launched ahead of time, otherwise start server process
+        process = RemoteInterpreterWarmPool.singleton().take(launcher,
+            interpreterGroup.getId());
+        if (process == null) {
+          process = launcher.launch();
+        } else {
+          logger.info("Use idle interpreter process on port {}", process.getPort());
         }
-
-        CommandLine cmdLine = CommandLine.parse(interpreterRunner);
-        cmdLine.addArgument("-d", false);
-        cmdLine.addArgument(interpreterDir, false);
-        cmdLine.addArgument("-p", false);
-        cmdLine.addArgument(Integer.toString(port), false);
-        cmdLine.addArgument("-l", false);
-        cmdLine.addArgument(localRepoDir, false);
-
-        executor = new DefaultExecutor();
-
-        watchdog = new ExecuteWatchdog(ExecuteWatchdog.INFINITE_TIMEOUT);
-        executor.setWatchdog(watchdog);
-
+        port = process.getPort();
         running = true;
-        try {
-          Map procEnv = EnvironmentUtils.getProcEnvironment();
-          procEnv.putAll(env);
-
-          logger.info("Run interpreter process {}", cmdLine);
-          executor.execute(cmdLine, procEnv, this);
-        } catch (IOException e) {
-          running = false;
-          throw new InterpreterException(e);
+        process.setResultHandler(this);
+
+        // connect through unix domain socket when the process listens on one
+        clientPool = new GenericObjectPool<Client>(new ClientFactory(
+            "localhost", port, transport, protocol, compression, 0, process.getSocketPath()));
+        if (transport == RemoteInterpreterTransport.NON_BLOCKING) {
+          // connections waiting on interpret calls don't hold threads of interpreter process,
+          // so allow more of them than the default. Calls beyond the limit wait for a connection.
+          clientPool.setMaxTotal(maxConnections + EVENT_POLL_CONNECTIONS);
         }
 
-
-        long startTime = System.currentTimeMillis();
-        while (System.currentTimeMillis() - startTime < connectTimeout) {
-          if (RemoteInterpreterUtils.checkIfRemoteEndpointAccessible("localhost", port)) {
-            break;
-          } else {
-            try {
-              Thread.sleep(500);
-            } catch (InterruptedException e) {
-              logger.error("Exception in RemoteInterpreterProcess while synchronized reference " +
-                  "Thread.sleep", e);
-            }
-          }
-        }
-
-        clientPool = new GenericObjectPool<Client>(new ClientFactory("localhost", port));
+        // cancel, progress and completion don't wait for connections held by running paragraphs
+        controlClientPool = new GenericObjectPool<Client>(new ClientFactory(
+            "localhost", port, transport, protocol, compression, controlTimeout));
+        controlClientPool.setMaxTotal(CONTROL_POOL_SIZE);
+        controlClientPool.setMaxWaitMillis(controlTimeout > 0 ? controlTimeout : -1);
 
         remoteInterpreterEventPoller.setInterpreterGroup(interpreterGroup);
         remoteInterpreterEventPoller.setInterpreterProcess(this);
@@ -179,6 +274,30 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
     }
   }
 
+  /**
+   * Client for cancel, getProgress and completion calls.
+   * Connections of this pool are not used by interpret calls, and calls on them time out after
+   * the control timeout.
+   */
+  public Client getControlClient() throws Exception {
+    if (controlClientPool == null || controlClientPool.isClosed()) {
+      return null;
+    }
+    return controlClientPool.borrowObject();
+  }
+
+  public void releaseControlClient(Client client, boolean broken) {
+    try {
+      if (broken) {
+        controlClientPool.invalidateObject(client);
+      } else {
+        controlClientPool.returnObject(client);
+      }
+    } catch (Exception e) {
+      logger.warn("exception occurred during releasing thrift control client", e);
+    }
+  }
+
   public int dereference() {
     synchronized (referenceCount) {
       int r = referenceCount.decrementAndGet();
@@ -205,30 +324,24 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
 
         clientPool.clear();
         clientPool.close();
+        controlClientPool.clear();
+        controlClientPool.close();
 
-        // wait for some time (connectTimeout) and force kill
+        // wait for the process to exit up to connectTimeout and force kill
         // remote process server.serve() loop is not always finishing gracefully
-        long startTime = System.currentTimeMillis();
-        while (System.currentTimeMillis() - startTime < connectTimeout) {
-          if (this.isRunning()) {
-            try {
-              Thread.sleep(500);
-            } catch (InterruptedException e) {
-              logger.error("Exception in RemoteInterpreterProcess while synchronized dereference " +
-                  "Thread.sleep", e);
-            }
-          } else {
-            break;
-          }
+        try {
+          process.waitFor(connectTimeout);
+        } catch (InterruptedException e) {
+          logger.error("Exception in RemoteInterpreterProcess while synchronized dereference " +
+              "waitFor", e);
         }
 
-        if (isRunning()) {
+        if (process.isRunning()) {
           logger.info("kill interpreter process");
-          watchdog.destroyProcess();
+          process.destroy();
         }
 
-        executor = null;
-        watchdog = null;
+        process = null;
         running = false;
         logger.info("Remote process terminated");
       }
@@ -275,12 +388,38 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
     }
   }
 
+  public int getNumActiveControlClient() {
+    if (controlClientPool == null) {
+      return 0;
+    } else {
+      return controlClientPool.getNumActive();
+    }
+  }
+
   public void setMaxPoolSize(int size) {
     if (clientPool != null) {
+      if (transport == RemoteInterpreterTransport.NON_BLOCKING) {
+        // total is bounded by maxConnections, which interpreter process sizes its workers for.
+        // only limit idle ones
+        clientPool.setMaxIdle(size + 2);
+        return;
+      }
       //Size + 2 for progress poller , cancel operation
       clientPool.setMaxTotal(size + 2);
     }
   }
+
+  public RemoteInterpreterTransport getTransport() {
+    return transport;
+  }
+
+  public RemoteInterpreterProtocol getProtocol() {
+    return protocol;
+  }
+
+  public boolean isCompression() {
+    return compression;
+  }
   /**
    * Called when angular object is updated in client side to propagate
    * change to the remote process
@@ -320,4 +459,25 @@ public class RemoteInterpreterProcess implements ExecuteResultHandler {
   public InterpreterContextRunnerPool getInterpreterContextRunnerPool() {
     return interpreterContextRunnerPool;
   }
+
+  /**
+   * Listen status change of the job pushed by the process, until removed
+   */
+  public void addJobStatusListener(String jobId, RemoteJobStatusListener listener) {
+    jobStatusListeners.put(jobId, listener);
+  }
+
+  public void removeJobStatusListener(String jobId, RemoteJobStatusListener listener) {
+    jobStatusListeners.remove(jobId, listener);
+  }
+
+  /**
+   * Called by RemoteInterpreterEventPoller
+   */
+  public void onJobStatusChange(String jobId, Status status) {
+    RemoteJobStatusListener listener = jobStatusListeners.get(jobId);
+    if (listener != null) {
+      listener.onJobStatusChange(jobId, status);
+    }
+  }
 }
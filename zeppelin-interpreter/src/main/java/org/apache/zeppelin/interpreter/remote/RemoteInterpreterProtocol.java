@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thrift protocol between Zeppelin server and interpreter processes.
+ *
+ * BINARY (default) writes fixed size integers. COMPACT writes variable length integers and
+ * field deltas, which makes messages with many small fields smaller.
+ *
+ * Set system property zeppelin.interpreter.protocol or environment variable
+ * ZEPPELIN_INTERPRETER_PROTOCOL to 'compact' to enable it. The same property in
+ * an interpreter setting overrides it for the processes of the setting.
+ * Zeppelin server passes the protocol to the interpreter processes it launches.
+ */
+public enum RemoteInterpreterProtocol {
+  BINARY("binary"),
+  COMPACT("compact");
+
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterProtocol.class);
+  public static final String PROTOCOL_PROPERTY = "zeppelin.interpreter.protocol";
+  public static final String PROTOCOL_ENV = "ZEPPELIN_INTERPRETER_PROTOCOL";
+
+  private final String value;
+
+  RemoteInterpreterProtocol(String value) {
+    this.value = value;
+  }
+
+  public TProtocolFactory getFactory() {
+    if (this == COMPACT) {
+      return new TCompactProtocol.Factory();
+    }
+    return new TBinaryProtocol.Factory();
+  }
+
+  public static RemoteInterpreterProtocol fromString(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return BINARY;
+    }
+    for (RemoteInterpreterProtocol protocol : values()) {
+      if (protocol.value.equalsIgnoreCase(value.trim())) {
+        return protocol;
+      }
+    }
+    logger.warn("Unknown interpreter protocol {}. Use {}", value, BINARY);
+    return BINARY;
+  }
+
+  /**
+   * Protocol configured by system property, otherwise by environment variable.
+   */
+  public static RemoteInterpreterProtocol get() {
+    String value = System.getProperty(PROTOCOL_PROPERTY);
+    if (value == null) {
+      value = System.getenv(PROTOCOL_ENV);
+    }
+    return fromString(value);
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Large interpret results kept in the interpreter process until Zeppelin server fetched them.
+ *
+ * A result message larger than the chunk size is sent in chunks. The interpret call returns the
+ * first chunk with a result id, and Zeppelin server fetches the rest with getResultChunk. No
+ * single thrift message is larger than a chunk, so neither side buffers a whole large result in a
+ * frame.
+ *
+ * A result Zeppelin server stops fetching, for example after the connection broke, is dropped
+ * after a minute.
+ *
+ * Set system property zeppelin.interpreter.result.chunkSize or environment variable
+ * ZEPPELIN_INTERPRETER_RESULT_CHUNK_SIZE to change the chunk size, in characters. 0 sends results
+ * at once.
+ */
+public class RemoteInterpreterResultStore {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterResultStore.class);
+  public static final String CHUNK_SIZE_PROPERTY = "zeppelin.interpreter.result.chunkSize";
+  public static final String CHUNK_SIZE_ENV = "ZEPPELIN_INTERPRETER_RESULT_CHUNK_SIZE";
+  public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+  // Zeppelin server fetches chunks one after another. results it stopped fetching for this long
+  // are dropped, for example when the connection broke or Zeppelin server restarted
+  static final long EXPIRE_MS = 60 * 1000;
+
+  private final int chunkSize;
+  private final long expireMs;
+  private final HashedWheelTimer timer;
+  private final Map<String, StoredResult> results = new ConcurrentHashMap<String, StoredResult>();
+
+  public RemoteInterpreterResultStore() {
+    this(getConfiguredChunkSize());
+  }
+
+  RemoteInterpreterResultStore(int chunkSize) {
+    this(chunkSize, EXPIRE_MS, HashedWheelTimer.singleton());
+  }
+
+  RemoteInterpreterResultStore(int chunkSize, long expireMs, HashedWheelTimer timer) {
+    this.chunkSize = chunkSize;
+    this.expireMs = expireMs;
+    this.timer = timer;
+  }
+
+  /**
+   * Chunk size configured by system property, otherwise by environment variable.
+   */
+  static int getConfiguredChunkSize() {
+    String value = System.getProperty(CHUNK_SIZE_PROPERTY);
+    if (value == null) {
+      value = System.getenv(CHUNK_SIZE_ENV);
+    }
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_CHUNK_SIZE;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid result chunk size {}. Use {}", value, DEFAULT_CHUNK_SIZE);
+      return DEFAULT_CHUNK_SIZE;
+    }
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Whether the message needs to be sent in chunks.
+   */
+  public boolean isLarge(String msg) {
+    return chunkSize > 0 && msg != null && msg.length() > chunkSize;
+  }
+
+  /**
+   * Keep a large message.
+   * @return id to fetch its chunks with
+   */
+  public String put(String msg) {
+    String id = UUID.randomUUID().toString();
+    results.put(id, new StoredResult(msg));
+    scheduleExpire(id, expireMs);
+    return id;
+  }
+
+  /**
+   * Next chunk of the message. The message is dropped once all chunks are fetched.
+   * @return empty string when all chunks are fetched, or the id is unknown
+   */
+  public String nextChunk(String id) {
+    StoredResult result = results.get(id);
+    if (result == null) {
+      logger.warn("Unknown result {}", id);
+      return "";
+    }
+
+    String chunk;
+    synchronized (result) {
+      int start = result.offset;
+      if (start == result.msg.length()) {
+        results.remove(id);
+        return "";
+      }
+      int end = Math.min(start + chunkSize, result.msg.length());
+      // don't split a surrogate pair between chunks
+      if (end < result.msg.length() && end > start + 1 &&
+          Character.isHighSurrogate(result.msg.charAt(end - 1))) {
+        end--;
+      }
+      chunk = result.msg.substring(start, end);
+      result.offset = end;
+      result.lastAccess = System.currentTimeMillis();
+    }
+    return chunk;
+  }
+
+  /**
+   * Number of results not fetched completely.
+   */
+  public int size() {
+    return results.size();
+  }
+
+  /**
+   * Drop the result when it's not fetched in expireMs. Checked again later while it's fetched.
+   */
+  private void scheduleExpire(final String id, long delayMs) {
+    timer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        StoredResult result = results.get(id);
+        if (result == null) {
+          return;
+        }
+        long idle = System.currentTimeMillis() - result.lastAccess;
+        if (idle >= expireMs) {
+          logger.info("Drop result {} not fetched in {} ms", id, expireMs);
+          results.remove(id);
+        } else {
+          scheduleExpire(id, expireMs - idle);
+        }
+      }
+    }, delayMs, null);
+  }
+
+  private static class StoredResult {
+    final String msg;
+    int offset = 0;
+    volatile long lastAccess = System.currentTimeMillis();
+
+    StoredResult(String msg) {
+      this.msg = msg;
+    }
+  }
+}
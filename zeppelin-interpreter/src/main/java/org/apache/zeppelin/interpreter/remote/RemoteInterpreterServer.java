@@ -23,15 +23,27 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.thrift.TException;
+import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadPoolServer;
+import org.apache.thrift.server.TThreadedSelectorServer;
+import org.apache.thrift.transport.TNonblockingServerSocket;
 import org.apache.thrift.transport.TServerSocket;
+import org.apache.thrift.transport.TServerTransport;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.zeppelin.display.AngularObject;
 import org.apache.zeppelin.display.AngularObjectRegistry;
@@ -48,7 +60,10 @@ import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.apache.zeppelin.scheduler.JobListener;
 import org.apache.zeppelin.scheduler.JobProgressPoller;
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
 import org.apache.zeppelin.scheduler.Scheduler;
+import org.apache.zeppelin.scheduler.VirtualThreadExecutor;
+import org.apache.zeppelin.scheduler.VirtualThreads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,21 +87,130 @@ public class RemoteInterpreterServer
   RemoteInterpreterService.Processor<RemoteInterpreterServer> processor;
   RemoteInterpreterServer handler;
   private int port;
-  private TThreadPoolServer server;
+  private TServer server;
+  // serves the same calls on a unix domain socket, when supported
+  private TServer unixServer;
+  private String socketPath;
+  private static final int NON_BLOCKING_SELECTOR_THREADS = 2;
+  // workers for resource reads of other interpreter processes. more of them wait in the queue
+  static final int PEER_READ_WORKERS = 2 * RemoteInterpreterEventClient.PEER_POOL_SIZE;
 
   RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+  // contexts of running interpret calls by paragraph id
+  private final Map<String, InterpreterContext> runningContexts =
+      new ConcurrentHashMap<String, InterpreterContext>();
+  private final RemoteInterpreterResultStore resultStore = new RemoteInterpreterResultStore();
+  // paragraphs whose config and gui are cached
+  static final int MAX_CACHED_CONTEXTS = 1000;
+  // config and gui json of the last interpret call by paragraph id, with their version.
+  // interpret of an unchanged paragraph sends only the version
+  private final Map<String, CachedContext> cachedContexts = Collections.synchronizedMap(
+      new LinkedHashMap<String, CachedContext>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedContext> eldest) {
+          return size() > MAX_CACHED_CONTEXTS;
+        }
+      });
 
   public RemoteInterpreterServer(int port) throws TTransportException {
     this.port = port;
 
     processor = new RemoteInterpreterService.Processor<RemoteInterpreterServer>(this);
-    TServerSocket serverTransport = new TServerSocket(port);
-    server = new TThreadPoolServer(
-        new TThreadPoolServer.Args(serverTransport).processor(processor));
+    RemoteInterpreterTransport transport = RemoteInterpreterTransport.get();
+    RemoteInterpreterProtocol protocol = RemoteInterpreterProtocol.get();
+    boolean compression = CompressedFramedTransport.isEnabled();
+    logger.info("Use {} transport, {} protocol, compression {}",
+        transport, protocol, compression && transport.supportsCompression());
+    if (transport == RemoteInterpreterTransport.NON_BLOCKING) {
+      server = createNonBlockingServer(port, protocol);
+    } else {
+      TServerSocket serverTransport = new TServerSocket(port);
+      this.port = serverTransport.getServerSocket().getLocalPort();
+      server = createThreadPoolServer(serverTransport, transport, protocol, compression);
+      if (UnixSocketTransport.isEnabled()) {
+        unixServer = createUnixSocketServer(transport, protocol, compression);
+      }
+    }
+  }
+
+  /**
+   * Serve the same calls on a unix domain socket, for Zeppelin server on the same host.
+   * @return null when the socket can't be created
+   */
+  private TServer createUnixSocketServer(RemoteInterpreterTransport transport,
+      RemoteInterpreterProtocol protocol, boolean compression) {
+    try {
+      String path = UnixSocketTransport.newSocketPath();
+      TServer unixSocketServer = createThreadPoolServer(new UnixServerSocketTransport(path),
+          transport, protocol, compression);
+      socketPath = path;
+      return unixSocketServer;
+    } catch (IOException | TTransportException e) {
+      logger.warn("Can't listen on unix domain socket. Use TCP only", e);
+      return null;
+    }
+  }
+
+  private TServer createThreadPoolServer(TServerTransport serverTransport,
+      RemoteInterpreterTransport transport, RemoteInterpreterProtocol protocol,
+      boolean compression) throws TTransportException {
+    TThreadPoolServer.Args args = new TThreadPoolServer.Args(serverTransport)
+        .processor(processor)
+        .transportFactory(transport.getServerTransportFactory(compression))
+        .protocolFactory(protocol.getFactory());
+    if (VirtualThreads.isEnabled()) {
+      // a thread per connection, like the default pool of TThreadPoolServer
+      args.executorService(new VirtualThreadExecutor("remoteInterpreterServer",
+          VirtualThreads.newVirtualThreadFactory("remoteInterpreterServer"),
+          Integer.MAX_VALUE, 0, RejectionPolicy.ABORT));
+    }
+    return new TThreadPoolServer(args);
+  }
+
+  private TServer createNonBlockingServer(int port, RemoteInterpreterProtocol protocol)
+      throws TTransportException {
+    TNonblockingServerSocket serverTransport = new TNonblockingServerSocket(port);
+    this.port = serverTransport.getPort();
+    TThreadedSelectorServer.Args args = new TThreadedSelectorServer.Args(serverTransport)
+        .processor(processor)
+        .protocolFactory(protocol.getFactory())
+        .selectorThreads(NON_BLOCKING_SELECTOR_THREADS);
+    // interpret calls block for the whole run of a paragraph, getEvents for the poll wait.
+    // Zeppelin server opens at most maxConnections + event poll + control connections, so each
+    // of its calls gets a worker. Resource reads of other interpreter processes get the rest.
+    final int workers = RemoteInterpreterProcess.getConfiguredMaxConnections()
+        + RemoteInterpreterProcess.EVENT_POLL_CONNECTIONS
+        + RemoteInterpreterProcess.CONTROL_POOL_SIZE + PEER_READ_WORKERS;
+    // calls beyond the queue are rejected, and the selector closes their connection
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(workers),
+        VirtualThreads.newThreadFactory("remoteInterpreterServer"),
+        new RejectedExecutionHandler() {
+          @Override
+          public void rejectedExecution(Runnable r, ThreadPoolExecutor pool) {
+            logger.error("All {} workers are busy and {} calls wait. Reject the call", workers,
+                pool.getQueue().size());
+            throw new RejectedExecutionException("Interpreter process workers are busy");
+          }
+        });
+    executor.allowCoreThreadTimeOut(true);
+    args.executorService(executor);
+    return new TThreadedSelectorServer(args);
   }
 
   @Override
   public void run() {
+    if (unixServer != null) {
+      logger.info("Starting remote interpreter server on {}", socketPath);
+      Thread unixServerThread = new Thread("remoteInterpreterServer-unixSocket") {
+        @Override
+        public void run() {
+          unixServer.serve();
+        }
+      };
+      unixServerThread.setDaemon(true);
+      unixServerThread.start();
+    }
     logger.info("Starting remote interpreter server on port {}", port);
     server.serve();
   }
@@ -98,19 +222,19 @@ public class RemoteInterpreterServer
       interpreterGroup.destroy();
     }
 
+    eventClient.close();
+    if (unixServer != null) {
+      unixServer.stop();
+    }
     server.stop();
 
     // server.stop() does not always finish server.serve() loop
     // sometimes server.serve() is hanging even after server.stop() call.
     // this case, need to force kill the process
-
-    long startTime = System.currentTimeMillis();
-    while (System.currentTimeMillis() - startTime < 2000 && server.isServing()) {
-      try {
-        Thread.sleep(300);
-      } catch (InterruptedException e) {
-        logger.info("Exception in RemoteInterpreterServer while shutdown, Thread.sleep", e);
-      }
+    try {
+      join(2000);
+    } catch (InterruptedException e) {
+      logger.info("Exception in RemoteInterpreterServer while shutdown, join", e);
     }
 
     if (server.isServing()) {
@@ -122,6 +246,14 @@ public class RemoteInterpreterServer
     return port;
   }
 
+  /**
+   * @return path of the unix domain socket the server listens on. null when it listens on TCP
+   * only
+   */
+  public String getSocketPath() {
+    return socketPath;
+  }
+
   public boolean isRunning() {
     if (server == null) {
       return false;
@@ -134,8 +266,12 @@ public class RemoteInterpreterServer
   public static void main(String[] args)
       throws TTransportException, InterruptedException {
     int port = Integer.parseInt(args[0]);
+    RemoteInterpreterOutputBuffer.removeStaleRings();
+    // port 0 picks an ephemeral port. it's reported to Zeppelin server when it asked for it
     RemoteInterpreterServer remoteInterpreterServer = new RemoteInterpreterServer(port);
     remoteInterpreterServer.start();
+    RemoteInterpreterCallback.notifyReady(remoteInterpreterServer.getPort(),
+        remoteInterpreterServer.getSocketPath());
     remoteInterpreterServer.join();
     System.exit(0);
   }
@@ -211,8 +347,56 @@ public class RemoteInterpreterServer
       RemoteInterpreterContext interpreterContext) throws TException {
     logger.debug("st: {}", st);
     Interpreter intp = getInterpreter(className);
+    String paragraphId = interpreterContext.getParagraphId();
+    String contextVersion = interpreterContext.getContextVersion();
+    if (!resolveCachedContext(interpreterContext)) {
+      // caller sends config and gui again. contextVersion null tells it the cache missed
+      logger.debug("Config and gui of paragraph {} are not cached", paragraphId);
+      return new RemoteInterpreterResult(Code.ERROR.name(), InterpreterResult.Type.TEXT.name(),
+          "", null, null, null, null);
+    }
     InterpreterContext context = convert(interpreterContext);
+    if (paragraphId != null) {
+      runningContexts.put(paragraphId, context);
+      eventClient.openOutputBuffer(interpreterContext.getNoteId(), paragraphId);
+    }
+    try {
+      InterpreterContextSnapshot before =
+          new InterpreterContextSnapshot(context.getConfig(), context.getGui());
+      InterpreterResult result = interpret(intp, st, interpreterContext, context);
+      // send config and gui back only when the interpreter changed them
+      String config = before.isConfigChanged(context.getConfig()) ?
+          gson.toJson(context.getConfig()) : null;
+      String gui = before.isGuiChanged(context.getGui()) ? gson.toJson(context.getGui()) : null;
+      if ((config != null || gui != null) && paragraphId != null) {
+        // caller sends them again on the next call
+        cachedContexts.remove(paragraphId);
+      }
+      // large message is sent in chunks
+      String msg = result.message();
+      String resultId = null;
+      if (resultStore.isLarge(msg)) {
+        resultId = resultStore.put(msg);
+        msg = resultStore.nextChunk(resultId);
+      }
+      return new RemoteInterpreterResult(
+          result.code().name(),
+          result.type().name(),
+          msg,
+          config,
+          gui,
+          resultId,
+          contextVersion);
+    } finally {
+      if (paragraphId != null) {
+        eventClient.closeOutputBuffer(interpreterContext.getNoteId(), paragraphId);
+        runningContexts.remove(paragraphId);
+      }
+    }
+  }
 
+  private InterpreterResult interpret(Interpreter intp, String st,
+      RemoteInterpreterContext interpreterContext, InterpreterContext context) {
     Scheduler scheduler = intp.getScheduler();
     InterpretJobListener jobListener = new InterpretJobListener();
     InterpretJob job = new InterpretJob(
@@ -247,9 +431,7 @@ public class RemoteInterpreterServer
         result = new InterpreterResult(Code.KEEP_PREVIOUS_RESULT);
       }
     }
-    return convert(result,
-        context.getConfig(),
-        context.getGui());
+    return result;
   }
 
 
@@ -265,6 +447,10 @@ public class RemoteInterpreterServer
 
     @Override
     public void afterStatusChange(Job job, Status before, Status after) {
+      if (after != null) {
+        // push to RemoteScheduler, instead of being polled by getStatus()
+        eventClient.onJobStatusChange(job.getId(), after);
+      }
       synchronized (this) {
         notifyAll();
       }
@@ -377,24 +563,63 @@ public class RemoteInterpreterServer
     return intp.completion(buf, cursor);
   }
 
+  /**
+   * Fill in config and gui left out of an interpret call from the cache, or cache the ones sent.
+   * @return false when they are left out and the cached ones are missing or of another version
+   */
+  private boolean resolveCachedContext(RemoteInterpreterContext ric) {
+    String paragraphId = ric.getParagraphId();
+    String version = ric.getContextVersion();
+    if (paragraphId == null || version == null) {
+      return true;
+    }
+    if (ric.getConfig() != null && ric.getGui() != null) {
+      cachedContexts.put(paragraphId, new CachedContext(version, ric.getConfig(), ric.getGui()));
+      return true;
+    }
+    CachedContext cached = cachedContexts.get(paragraphId);
+    if (cached == null || !cached.version.equals(version)) {
+      return false;
+    }
+    ric.setConfig(cached.config);
+    ric.setGui(cached.gui);
+    return true;
+  }
+
   private InterpreterContext convert(RemoteInterpreterContext ric) {
+    if (ric.getConfig() == null || ric.getGui() == null || ric.getRunners() == null) {
+      // left out for a running paragraph. use the context of the running interpret call
+      InterpreterContext running = ric.getParagraphId() == null ?
+          null : runningContexts.get(ric.getParagraphId());
+      if (running != null) {
+        return running;
+      }
+    }
+
     List<InterpreterContextRunner> contextRunners = new LinkedList<InterpreterContextRunner>();
-    List<InterpreterContextRunner> runners = gson.fromJson(ric.getRunners(),
-            new TypeToken<List<RemoteInterpreterContextRunner>>() {
-        }.getType());
+    if (ric.getRunners() != null) {
+      List<InterpreterContextRunner> runners = gson.fromJson(ric.getRunners(),
+              new TypeToken<List<RemoteInterpreterContextRunner>>() {
+          }.getType());
 
-    for (InterpreterContextRunner r : runners) {
-      contextRunners.add(new ParagraphRunner(this, r.getNoteId(), r.getParagraphId()));
+      for (InterpreterContextRunner r : runners) {
+        contextRunners.add(new ParagraphRunner(this, r.getNoteId(), r.getParagraphId()));
+      }
     }
 
+    Map<String, Object> config = ric.getConfig() == null ?
+        new HashMap<String, Object>() :
+        (Map<String, Object>) gson.fromJson(ric.getConfig(),
+            new TypeToken<Map<String, Object>>() {}.getType());
+    GUI gui = ric.getGui() == null ? new GUI() : gson.fromJson(ric.getGui(), GUI.class);
+
     return new InterpreterContext(
         ric.getNoteId(),
         ric.getParagraphId(),
         ric.getParagraphTitle(),
         ric.getParagraphText(),
-        (Map<String, Object>) gson.fromJson(ric.getConfig(),
-            new TypeToken<Map<String, Object>>() {}.getType()),
-        gson.fromJson(ric.getGui(), GUI.class),
+        config,
+        gui,
         interpreterGroup.getAngularObjectRegistry(),
         interpreterGroup.getResourcePool(),
         contextRunners, createInterpreterOutput(ric.getNoteId(), ric.getParagraphId()));
@@ -405,7 +630,7 @@ public class RemoteInterpreterServer
     return new InterpreterOutput(new InterpreterOutputListener() {
       @Override
       public void onAppend(InterpreterOutput out, byte[] line) {
-        eventClient.onInterpreterOutputAppend(noteId, paragraphId, new String(line));
+        eventClient.onInterpreterOutputAppend(noteId, paragraphId, line);
       }
 
       @Override
@@ -431,16 +656,6 @@ public class RemoteInterpreterServer
     }
   }
 
-  private RemoteInterpreterResult convert(InterpreterResult result,
-      Map<String, Object> config, GUI gui) {
-    return new RemoteInterpreterResult(
-        result.code().name(),
-        result.type().name(),
-        result.message(),
-        gson.toJson(config),
-        gson.toJson(gui));
-  }
-
   @Override
   public String getStatus(String jobId)
       throws TException {
@@ -450,22 +665,20 @@ public class RemoteInterpreterServer
 
     synchronized (interpreterGroup) {
       for (Interpreter intp : interpreterGroup) {
-        for (Job job : intp.getScheduler().getJobsRunning()) {
-          if (jobId.equals(job.getId())) {
-            return job.getStatus().name();
-          }
-        }
-
-        for (Job job : intp.getScheduler().getJobsWaiting()) {
-          if (jobId.equals(job.getId())) {
-            return job.getStatus().name();
-          }
+        Job job = intp.getScheduler().getJob(jobId);
+        if (job != null) {
+          return job.getStatus().name();
         }
       }
     }
     return "Unknown";
   }
 
+  @Override
+  public String getResultChunk(String resultId) throws TException {
+    return resultStore.nextChunk(resultId);
+  }
+
 
 
   @Override
@@ -494,6 +707,15 @@ public class RemoteInterpreterServer
     return eventClient.pollEvent();
   }
 
+  /**
+   * Get available events in one call.
+   * Waits up to maxWaitMs when there is no event.
+   */
+  @Override
+  public List<RemoteInterpreterEvent> getEvents(int maxCount, int maxWaitMs) throws TException {
+    return eventClient.pollEvents(maxCount, maxWaitMs);
+  }
+
   /**
    * called when object is updated in client (web) side.
    * @param name
@@ -639,4 +861,16 @@ public class RemoteInterpreterServer
       }
     }
   }
+
+  private static class CachedContext {
+    final String version;
+    final String config;
+    final String gui;
+
+    CachedContext(String version, String config, String gui) {
+      this.version = version;
+      this.config = config;
+      this.gui = gui;
+    }
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transport between Zeppelin server and interpreter processes.
+ *
+ * THREAD_POOL (default) serves each connection with a dedicated thread of interpreter process.
+ * A client connection held by a long interpret call pins a thread and a pooled socket.
+ *
+ * FRAMED is THREAD_POOL with messages sent as length prefixed frames, so a message is written
+ * to the socket at once.
+ *
+ * NON_BLOCKING serves all connections with a few selector threads and runs the calls
+ * on a worker pool. Idle and waiting connections cost no thread, so a client can keep more
+ * connections open and getProgress, cancel and getEvent calls are not held behind interpret
+ * calls. Messages are framed, so both sides must use the same transport.
+ *
+ * Set system property zeppelin.interpreter.transport or environment variable
+ * ZEPPELIN_INTERPRETER_TRANSPORT to 'framed' or 'nonblocking' to enable them. The same property
+ * in an interpreter setting overrides it for the processes of the setting.
+ * Zeppelin server passes the transport to the interpreter processes it launches.
+ *
+ * With compression (see CompressedFramedTransport), THREAD_POOL and FRAMED use compressed
+ * frames. NON_BLOCKING server reads plain frames only, so it doesn't compress.
+ */
+public enum RemoteInterpreterTransport {
+  THREAD_POOL("threadpool"),
+  FRAMED("framed"),
+  NON_BLOCKING("nonblocking");
+
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterTransport.class);
+  public static final String TRANSPORT_PROPERTY = "zeppelin.interpreter.transport";
+  public static final String TRANSPORT_ENV = "ZEPPELIN_INTERPRETER_TRANSPORT";
+  // results and resources can be large. Don't limit the frame size
+  private static final int MAX_FRAME_SIZE = Integer.MAX_VALUE;
+
+  private final String value;
+
+  RemoteInterpreterTransport(String value) {
+    this.value = value;
+  }
+
+  /**
+   * Wrap client socket for this transport.
+   */
+  public TTransport wrap(TTransport socket, boolean compression) {
+    if (supportsCompression() && compression) {
+      return new CompressedFramedTransport(socket);
+    }
+    if (this == FRAMED || this == NON_BLOCKING) {
+      return new TFramedTransport(socket, MAX_FRAME_SIZE);
+    }
+    return socket;
+  }
+
+  /**
+   * Transport factory of thread pool server for this transport.
+   */
+  public TTransportFactory getServerTransportFactory(boolean compression) {
+    if (supportsCompression() && compression) {
+      return new CompressedFramedTransport.Factory();
+    }
+    if (this == FRAMED) {
+      return new TFramedTransport.Factory(MAX_FRAME_SIZE);
+    }
+    return new TTransportFactory();
+  }
+
+  public boolean supportsCompression() {
+    return this != NON_BLOCKING;
+  }
+
+  public static RemoteInterpreterTransport fromString(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return THREAD_POOL;
+    }
+    for (RemoteInterpreterTransport transport : values()) {
+      if (transport.value.equalsIgnoreCase(value.trim())) {
+        return transport;
+      }
+    }
+    logger.warn("Unknown interpreter transport {}. Use {}", value, THREAD_POOL);
+    return THREAD_POOL;
+  }
+
+  /**
+   * Transport configured by system property, otherwise by environment variable.
+   */
+  public static RemoteInterpreterTransport get() {
+    String value = System.getProperty(TRANSPORT_PROPERTY);
+    if (value == null) {
+      value = System.getenv(TRANSPORT_ENV);
+    }
+    return fromString(value);
+  }
+
+  @Override
+  public String toString() {
+    return value;
+  }
+}
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterLauncher.LaunchedProcess;
+import org.apache.zeppelin.scheduler.ExecutorFactory;
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.apache.zeppelin.scheduler.ManagedExecutor;
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Interpreter processes launched ahead of time.
+ *
+ * Keeps up to 'size' idle processes per launcher, that is per interpreter setting. A
+ * RemoteInterpreterProcess takes one on reference() instead of waiting for a new JVM, and the pool
+ * launches a replacement in background. A launcher is known to the pool after its first use, so
+ * restarting an interpreter or binding it to another note is fast, while the very first start
+ * still waits for the launch. The pool forgets a launcher and kills its idle processes when its
+ * interpreter setting is changed or removed (see evict()), or when no process was taken from it
+ * for the idle ttl.
+ *
+ * Set system property zeppelin.interpreter.warmPool.size or environment variable
+ * ZEPPELIN_INTERPRETER_WARM_POOL_SIZE to a positive number to enable it. Disabled by default,
+ * because each idle process holds the memory of a JVM.
+ * Set system property zeppelin.interpreter.warmPool.idleTtl or environment variable
+ * ZEPPELIN_INTERPRETER_WARM_POOL_IDLE_TTL to change the idle ttl, in milliseconds. 0 never
+ * expires.
+ */
+public class RemoteInterpreterWarmPool {
+  private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterWarmPool.class);
+  public static final String SIZE_PROPERTY = "zeppelin.interpreter.warmPool.size";
+  public static final String SIZE_ENV = "ZEPPELIN_INTERPRETER_WARM_POOL_SIZE";
+  public static final String IDLE_TTL_PROPERTY = "zeppelin.interpreter.warmPool.idleTtl";
+  public static final String IDLE_TTL_ENV = "ZEPPELIN_INTERPRETER_WARM_POOL_IDLE_TTL";
+  public static final long DEFAULT_IDLE_TTL = 60 * 60 * 1000;
+  private static final String EXECUTOR_NAME = "interpreterWarmPool";
+  private static final int LAUNCH_THREADS = 2;
+
+  private static RemoteInterpreterWarmPool _pool;
+  private static Long _poolLock = new Long(0);
+
+  private final int size;
+  private final long idleTtl;
+  private final HashedWheelTimer timer;
+  private final Map<RemoteInterpreterLauncher, List<LaunchedProcess>> idle =
+      new HashMap<RemoteInterpreterLauncher, List<LaunchedProcess>>();
+  private final Map<RemoteInterpreterLauncher, Integer> launching =
+      new HashMap<RemoteInterpreterLauncher, Integer>();
+  // launchers known to the pool, and when a process was last taken from them
+  private final Map<RemoteInterpreterLauncher, Long> lastTaken =
+      new HashMap<RemoteInterpreterLauncher, Long>();
+  // interpreter group that took a process from the launcher
+  private final Map<RemoteInterpreterLauncher, String> owners =
+      new HashMap<RemoteInterpreterLauncher, String>();
+  private boolean expireScheduled = false;
+  private boolean shutdown = false;
+
+  RemoteInterpreterWarmPool(int size) {
+    this(size, DEFAULT_IDLE_TTL, HashedWheelTimer.singleton());
+  }
+
+  RemoteInterpreterWarmPool(int size, long idleTtl, HashedWheelTimer timer) {
+    this.size = size;
+    this.idleTtl = idleTtl;
+    this.timer = timer;
+  }
+
+  public static RemoteInterpreterWarmPool singleton() {
+    if (_pool == null) {
+      synchronized (_poolLock) {
+        if (_pool == null) {
+          _pool = new RemoteInterpreterWarmPool(getConfiguredSize(), getConfiguredIdleTtl(),
+              HashedWheelTimer.singleton());
+          if (_pool.isEnabled()) {
+            logger.info("Keep {} idle interpreter processes per interpreter setting", _pool.size);
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+              @Override
+              public void run() {
+                _pool.shutdown();
+              }
+            });
+          }
+        }
+      }
+    }
+    return _pool;
+  }
+
+  /**
+   * Size configured by system property, otherwise by environment variable.
+   */
+  static int getConfiguredSize() {
+    String value = getConfigured(SIZE_PROPERTY, SIZE_ENV);
+    if (value == null || value.trim().isEmpty()) {
+      return 0;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid interpreter warm pool size {}. Disable warm pool", value);
+      return 0;
+    }
+  }
+
+  /**
+   * Idle ttl configured by system property, otherwise by environment variable.
+   */
+  static long getConfiguredIdleTtl() {
+    String value = getConfigured(IDLE_TTL_PROPERTY, IDLE_TTL_ENV);
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_IDLE_TTL;
+    }
+    try {
+      return Math.max(0, Long.parseLong(value.trim()));
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid interpreter warm pool idle ttl {}. Use {}", value, DEFAULT_IDLE_TTL);
+      return DEFAULT_IDLE_TTL;
+    }
+  }
+
+  private static String getConfigured(String property, String env) {
+    String value = System.getProperty(property);
+    if (value == null) {
+      value = System.getenv(env);
+    }
+    return value;
+  }
+
+  public boolean isEnabled() {
+    return size > 0;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Take an idle running process of the launcher and launch a replacement in background.
+   * @param interpreterGroupId group taking the process. evict() with the same id forgets the
+   *                           launcher. null when it's not evicted by group
+   * @return null when there's no idle process
+   */
+  public LaunchedProcess take(RemoteInterpreterLauncher launcher, String interpreterGroupId) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    LaunchedProcess process = null;
+    synchronized (this) {
+      if (shutdown) {
+        return null;
+      }
+      lastTaken.put(launcher, System.currentTimeMillis());
+      if (interpreterGroupId != null) {
+        owners.put(launcher, interpreterGroupId);
+      }
+      if (!expireScheduled && idleTtl > 0) {
+        expireScheduled = true;
+        scheduleExpire(idleTtl);
+      }
+
+      List<LaunchedProcess> processes = idle.get(launcher);
+      while (processes != null && !processes.isEmpty()) {
+        LaunchedProcess p = processes.remove(0);
+        if (p.isRunning()) {
+          process = p;
+          break;
+        }
+        logger.info("Idle interpreter process of {} exited. Discard", launcher);
+      }
+    }
+    refill(launcher);
+    return process;
+  }
+
+  /**
+   * Number of idle processes of the launcher.
+   */
+  public synchronized int getNumIdle(RemoteInterpreterLauncher launcher) {
+    List<LaunchedProcess> processes = idle.get(launcher);
+    return processes == null ? 0 : processes.size();
+  }
+
+  /**
+   * Launch processes in background until the launcher has 'size' idle or launching ones.
+   */
+  private void refill(final RemoteInterpreterLauncher launcher) {
+    int toLaunch;
+    synchronized (this) {
+      if (shutdown || !lastTaken.containsKey(launcher)) {
+        return;
+      }
+      removeExited(launcher);
+      toLaunch = size - getNumIdle(launcher) - getNumLaunching(launcher);
+      if (toLaunch <= 0) {
+        return;
+      }
+      launching.put(launcher, getNumLaunching(launcher) + toLaunch);
+    }
+
+    for (int i = 0; i < toLaunch; i++) {
+      try {
+        getExecutor().execute(new Runnable() {
+          @Override
+          public void run() {
+            launch(launcher);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        logger.warn("Can't launch idle interpreter process of {}", launcher, e);
+        synchronized (this) {
+          launching.put(launcher, getNumLaunching(launcher) - 1);
+        }
+      }
+    }
+  }
+
+  private void launch(RemoteInterpreterLauncher launcher) {
+    LaunchedProcess process = null;
+    try {
+      process = launcher.launch();
+    } catch (Exception e) {
+      logger.error("Can't launch idle interpreter process of {}", launcher, e);
+    }
+
+    boolean keep = false;
+    synchronized (this) {
+      launching.put(launcher, getNumLaunching(launcher) - 1);
+      // launcher can be forgotten while the process was launching
+      if (process != null && process.isRunning() && !shutdown &&
+          lastTaken.containsKey(launcher)) {
+        List<LaunchedProcess> processes = idle.get(launcher);
+        if (processes == null) {
+          processes = new LinkedList<LaunchedProcess>();
+          idle.put(launcher, processes);
+        }
+        processes.add(process);
+        keep = true;
+      }
+    }
+
+    if (!keep && process != null) {
+      process.destroy();
+    }
+  }
+
+  private int getNumLaunching(RemoteInterpreterLauncher launcher) {
+    Integer n = launching.get(launcher);
+    return n == null ? 0 : n;
+  }
+
+  private void removeExited(RemoteInterpreterLauncher launcher) {
+    List<LaunchedProcess> processes = idle.get(launcher);
+    if (processes == null) {
+      return;
+    }
+    Iterator<LaunchedProcess> it = processes.iterator();
+    while (it.hasNext()) {
+      if (!it.next().isRunning()) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Forget launchers taken by the interpreter group and kill their idle processes. Called when
+   * the interpreter setting is changed or removed, so its launcher won't be used again.
+   */
+  public void evict(String interpreterGroupId) {
+    List<LaunchedProcess> processes = new LinkedList<LaunchedProcess>();
+    synchronized (this) {
+      List<RemoteInterpreterLauncher> launchers = new LinkedList<RemoteInterpreterLauncher>();
+      for (Entry<RemoteInterpreterLauncher, String> e : owners.entrySet()) {
+        if (e.getValue().equals(interpreterGroupId)) {
+          launchers.add(e.getKey());
+        }
+      }
+      for (RemoteInterpreterLauncher launcher : launchers) {
+        processes.addAll(forget(launcher));
+      }
+    }
+    destroy(processes);
+  }
+
+  /**
+   * Forget launchers no process was taken from for the idle ttl and kill their idle processes.
+   */
+  private void expire() {
+    List<LaunchedProcess> processes = new LinkedList<LaunchedProcess>();
+    synchronized (this) {
+      long now = System.currentTimeMillis();
+      long next = idleTtl;
+      List<RemoteInterpreterLauncher> launchers = new LinkedList<RemoteInterpreterLauncher>();
+      for (Entry<RemoteInterpreterLauncher, Long> e : lastTaken.entrySet()) {
+        long unused = now - e.getValue();
+        if (unused >= idleTtl) {
+          launchers.add(e.getKey());
+        } else {
+          next = Math.min(next, idleTtl - unused);
+        }
+      }
+      for (RemoteInterpreterLauncher launcher : launchers) {
+        logger.info("No interpreter process of {} was taken for {} ms. Kill idle ones",
+            launcher, idleTtl);
+        processes.addAll(forget(launcher));
+      }
+
+      if (shutdown || lastTaken.isEmpty()) {
+        expireScheduled = false;
+      } else {
+        scheduleExpire(next);
+      }
+    }
+    destroy(processes);
+  }
+
+  private void scheduleExpire(long delayMs) {
+    timer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        expire();
+      }
+    }, delayMs, null);
+  }
+
+  private List<LaunchedProcess> forget(RemoteInterpreterLauncher launcher) {
+    lastTaken.remove(launcher);
+    owners.remove(launcher);
+    List<LaunchedProcess> processes = idle.remove(launcher);
+    return processes == null ? new LinkedList<LaunchedProcess>() : processes;
+  }
+
+  private void destroy(List<LaunchedProcess> processes) {
+    for (LaunchedProcess p : processes) {
+      p.destroy();
+    }
+  }
+
+  private ManagedExecutor getExecutor() {
+    return ExecutorFactory.singleton().createOrGetThreadPool(EXECUTOR_NAME, LAUNCH_THREADS,
+        ExecutorFactory.DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT);
+  }
+
+  /**
+   * Kill idle processes and stop launching new ones.
+   */
+  public void shutdown() {
+    List<LaunchedProcess> processes = new LinkedList<LaunchedProcess>();
+    synchronized (this) {
+      shutdown = true;
+      for (List<LaunchedProcess> p : idle.values()) {
+        processes.addAll(p);
+      }
+      idle.clear();
+      lastTaken.clear();
+      owners.clear();
+    }
+    destroy(processes);
+  }
+}
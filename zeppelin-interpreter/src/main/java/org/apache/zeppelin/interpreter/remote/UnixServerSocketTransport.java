@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.transport.TServerTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ServerSocketChannel;
+
+/**
+ * Thrift server transport listening on a unix domain socket file, accessible by the owner only.
+ * The file is removed when the transport is closed, or when the JVM exits.
+ */
+public class UnixServerSocketTransport extends TServerTransport {
+  private static final Logger logger = LoggerFactory.getLogger(UnixServerSocketTransport.class);
+
+  private final String path;
+  private final ServerSocketChannel serverChannel;
+
+  public UnixServerSocketTransport(String path) throws TTransportException {
+    this.path = path;
+    try {
+      serverChannel = UnixSocketTransport.bind(path);
+    } catch (IOException e) {
+      throw new TTransportException("Could not listen on " + path, e);
+    }
+    try {
+      UnixSocketTransport.restrictToOwner(path);
+    } catch (IOException e) {
+      close();
+      throw new TTransportException("Could not restrict permissions of " + path, e);
+    }
+    // socket file is left behind otherwise, when the process exits without closing the server
+    new File(path).deleteOnExit();
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public void listen() throws TTransportException {
+    // bound in constructor
+  }
+
+  @Override
+  protected UnixSocketTransport acceptImpl() throws TTransportException {
+    try {
+      return new UnixSocketTransport(serverChannel.accept());
+    } catch (IOException e) {
+      throw new TTransportException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      serverChannel.close();
+    } catch (IOException e) {
+      logger.debug(e.getMessage(), e);
+    }
+    if (!new File(path).delete()) {
+      logger.debug("Can't delete {}", path);
+    }
+  }
+
+  @Override
+  public void interrupt() {
+    close();
+  }
+}
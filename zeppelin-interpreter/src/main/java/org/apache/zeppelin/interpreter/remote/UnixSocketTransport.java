@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.transport.TIOStreamTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.UUID;
+
+/**
+ * Thrift transport over a unix domain socket (JDK 16+).
+ *
+ * Interpreter processes are launched on the same host as Zeppelin server. On a JVM with unix
+ * domain socket channels, an interpreter process also listens on a socket file and reports its
+ * path to Zeppelin server, which then connects through the file instead of loopback TCP.
+ * A call over a unix domain socket skips the TCP stack, so it costs less cpu and latency.
+ *
+ * On by default. Set system property zeppelin.interpreter.unixSocket or environment variable
+ * ZEPPELIN_INTERPRETER_UNIX_SOCKET to false to use TCP only. On a JVM without unix domain socket
+ * channels, and with 'nonblocking' transport, TCP is used.
+ *
+ * Socket files are created in a directory of the user in the temp directory, which only the user
+ * can access. Files left behind by killed processes are removed when a new one is created.
+ */
+public class UnixSocketTransport extends TIOStreamTransport {
+  private static final Logger logger = LoggerFactory.getLogger(UnixSocketTransport.class);
+  public static final String ENABLED_PROPERTY = "zeppelin.interpreter.unixSocket";
+  public static final String ENABLED_ENV = "ZEPPELIN_INTERPRETER_UNIX_SOCKET";
+  private static final int BUFFER_SIZE = 1024;
+  private static final String SOCKET_FILE_PREFIX = "zeppelin-interpreter-";
+  private static final String SOCKET_FILE_SUFFIX = ".sock";
+
+  private static final ProtocolFamily UNIX;
+  private static final Method ADDRESS_OF;
+  private static final Method OPEN_SERVER_CHANNEL;
+  private static final Method OPEN_CHANNEL;
+
+  static {
+    ProtocolFamily unix = null;
+    Method addressOf = null;
+    Method openServerChannel = null;
+    Method openChannel = null;
+    try {
+      unix = StandardProtocolFamily.valueOf("UNIX");
+      addressOf = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+      openServerChannel = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+      openChannel = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+    } catch (IllegalArgumentException | ClassNotFoundException | NoSuchMethodException e) {
+      unix = null;
+    }
+    UNIX = unix;
+    ADDRESS_OF = addressOf;
+    OPEN_SERVER_CHANNEL = openServerChannel;
+    OPEN_CHANNEL = openChannel;
+  }
+
+  private final String path;
+  private SocketChannel channel;
+
+  /**
+   * Transport to connect to the socket file on open()
+   */
+  public UnixSocketTransport(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Transport of a connection accepted by UnixServerSocketTransport
+   */
+  UnixSocketTransport(SocketChannel channel) {
+    this.path = null;
+    setChannel(channel);
+  }
+
+  /**
+   * @return true if the JVM supports unix domain socket channels
+   */
+  public static boolean isSupported() {
+    return UNIX != null;
+  }
+
+  /**
+   * @return false if unix domain socket is turned off by system property or environment variable
+   */
+  public static boolean isRequested() {
+    String value = System.getProperty(ENABLED_PROPERTY);
+    if (value == null) {
+      value = System.getenv(ENABLED_ENV);
+    }
+    return value == null || value.trim().isEmpty() || Boolean.parseBoolean(value.trim());
+  }
+
+  /**
+   * @return true if unix domain socket is not turned off and is supported
+   */
+  public static boolean isEnabled() {
+    return isRequested() && isSupported();
+  }
+
+  /**
+   * @return a new socket file path in the socket directory of the user
+   * @throws IOException when the directory can't be created or made owner-only
+   */
+  public static String newSocketPath() throws IOException {
+    File dir = new File(System.getProperty("java.io.tmpdir"),
+        "zeppelin-interpreter-" + System.getProperty("user.name"));
+    createOwnerOnlyDirectory(dir);
+    removeStaleSocketFiles(dir);
+    return new File(dir, SOCKET_FILE_PREFIX + UUID.randomUUID() + SOCKET_FILE_SUFFIX)
+        .getAbsolutePath();
+  }
+
+  private static void createOwnerOnlyDirectory(File dir) throws IOException {
+    Path path = dir.toPath();
+    if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+      Files.createDirectory(path);
+    }
+    try {
+      // fails when the directory belongs to another user
+      Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rwx------"));
+    } catch (UnsupportedOperationException e) {
+      logger.debug("Can't restrict permissions of {}", dir);
+    }
+  }
+
+  /**
+   * Remove socket files nobody listens on. A killed process doesn't remove its socket file.
+   */
+  private static void removeStaleSocketFiles(File dir) {
+    File[] files = dir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      String name = file.getName();
+      if (!name.startsWith(SOCKET_FILE_PREFIX) || !name.endsWith(SOCKET_FILE_SUFFIX)) {
+        continue;
+      }
+      try {
+        connect(file.getAbsolutePath()).close();
+      } catch (IOException e) {
+        if (file.delete()) {
+          logger.info("Removed stale socket file {}", file);
+        }
+      }
+    }
+  }
+
+  /**
+   * Make the socket file readable and writable by the owner only, so other users can't connect.
+   */
+  static void restrictToOwner(String path) throws IOException {
+    try {
+      Files.setPosixFilePermissions(new File(path).toPath(),
+          PosixFilePermissions.fromString("rw-------"));
+    } catch (UnsupportedOperationException e) {
+      logger.debug("Can't restrict permissions of {}", path);
+    }
+  }
+
+  static ServerSocketChannel bind(String path) throws IOException {
+    ServerSocketChannel serverChannel =
+        (ServerSocketChannel) invoke(OPEN_SERVER_CHANNEL, null, UNIX);
+    try {
+      serverChannel.bind((SocketAddress) invoke(ADDRESS_OF, null, path));
+    } catch (IOException e) {
+      serverChannel.close();
+      throw e;
+    }
+    return serverChannel;
+  }
+
+  private static SocketChannel connect(String path) throws IOException {
+    SocketChannel channel = (SocketChannel) invoke(OPEN_CHANNEL, null, UNIX);
+    try {
+      channel.connect((SocketAddress) invoke(ADDRESS_OF, null, path));
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return channel;
+  }
+
+  private static Object invoke(Method method, Object target, Object arg) throws IOException {
+    if (!isSupported()) {
+      throw new IOException("Unix domain sockets are not supported");
+    }
+    try {
+      return method.invoke(target, arg);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private void setChannel(SocketChannel channel) {
+    this.channel = channel;
+    inputStream_ = new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+    outputStream_ = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return channel != null && channel.isOpen();
+  }
+
+  @Override
+  public void open() throws TTransportException {
+    if (isOpen()) {
+      throw new TTransportException(TTransportException.ALREADY_OPEN, "Socket already connected");
+    }
+    if (path == null) {
+      throw new TTransportException(TTransportException.NOT_OPEN, "Cannot open null path");
+    }
+    try {
+      setChannel(connect(path));
+    } catch (IOException e) {
+      throw new TTransportException(TTransportException.NOT_OPEN, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        logger.debug(e.getMessage(), e);
+      }
+      channel = null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+}
@@ -62,6 +62,7 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
   private static final org.apache.thrift.protocol.TField CONFIG_FIELD_DESC = new org.apache.thrift.protocol.TField("config", org.apache.thrift.protocol.TType.STRING, (short)5);
   private static final org.apache.thrift.protocol.TField GUI_FIELD_DESC = new org.apache.thrift.protocol.TField("gui", org.apache.thrift.protocol.TType.STRING, (short)6);
   private static final org.apache.thrift.protocol.TField RUNNERS_FIELD_DESC = new org.apache.thrift.protocol.TField("runners", org.apache.thrift.protocol.TType.STRING, (short)7);
+  private static final org.apache.thrift.protocol.TField CONTEXT_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("contextVersion", org.apache.thrift.protocol.TType.STRING, (short)8);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -76,6 +77,7 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
   public String config; // required
   public String gui; // required
   public String runners; // required
+  public String contextVersion; // required
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -85,7 +87,8 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     PARAGRAPH_TEXT((short)4, "paragraphText"),
     CONFIG((short)5, "config"),
     GUI((short)6, "gui"),
-    RUNNERS((short)7, "runners");
+    RUNNERS((short)7, "runners"),
+    CONTEXT_VERSION((short)8, "contextVersion");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -114,6 +117,8 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
           return GUI;
         case 7: // RUNNERS
           return RUNNERS;
+        case 8: // CONTEXT_VERSION
+          return CONTEXT_VERSION;
         default:
           return null;
       }
@@ -171,6 +176,8 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     tmpMap.put(_Fields.RUNNERS, new org.apache.thrift.meta_data.FieldMetaData("runners", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.CONTEXT_VERSION, new org.apache.thrift.meta_data.FieldMetaData("contextVersion", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(RemoteInterpreterContext.class, metaDataMap);
   }
@@ -185,7 +192,8 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     String paragraphText,
     String config,
     String gui,
-    String runners)
+    String runners,
+    String contextVersion)
   {
     this();
     this.noteId = noteId;
@@ -195,6 +203,7 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     this.config = config;
     this.gui = gui;
     this.runners = runners;
+    this.contextVersion = contextVersion;
   }
 
   /**
@@ -222,6 +231,9 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     if (other.isSetRunners()) {
       this.runners = other.runners;
     }
+    if (other.isSetContextVersion()) {
+      this.contextVersion = other.contextVersion;
+    }
   }
 
   public RemoteInterpreterContext deepCopy() {
@@ -237,6 +249,7 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     this.config = null;
     this.gui = null;
     this.runners = null;
+    this.contextVersion = null;
   }
 
   public String getNoteId() {
@@ -407,6 +420,30 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     }
   }
 
+  public String getContextVersion() {
+    return this.contextVersion;
+  }
+
+  public RemoteInterpreterContext setContextVersion(String contextVersion) {
+    this.contextVersion = contextVersion;
+    return this;
+  }
+
+  public void unsetContextVersion() {
+    this.contextVersion = null;
+  }
+
+  /** Returns true if field contextVersion is set (has been assigned a value) and false otherwise */
+  public boolean isSetContextVersion() {
+    return this.contextVersion != null;
+  }
+
+  public void setContextVersionIsSet(boolean value) {
+    if (!value) {
+      this.contextVersion = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case NOTE_ID:
@@ -465,6 +502,14 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
       }
       break;
 
+    case CONTEXT_VERSION:
+      if (value == null) {
+        unsetContextVersion();
+      } else {
+        setContextVersion((String)value);
+      }
+      break;
+
     }
   }
 
@@ -491,6 +536,9 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     case RUNNERS:
       return getRunners();
 
+    case CONTEXT_VERSION:
+      return getContextVersion();
+
     }
     throw new IllegalStateException();
   }
@@ -516,6 +564,8 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
       return isSetGui();
     case RUNNERS:
       return isSetRunners();
+    case CONTEXT_VERSION:
+      return isSetContextVersion();
     }
     throw new IllegalStateException();
   }
@@ -596,6 +646,15 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
         return false;
     }
 
+    boolean this_present_contextVersion = true && this.isSetContextVersion();
+    boolean that_present_contextVersion = true && that.isSetContextVersion();
+    if (this_present_contextVersion || that_present_contextVersion) {
+      if (!(this_present_contextVersion && that_present_contextVersion))
+        return false;
+      if (!this.contextVersion.equals(that.contextVersion))
+        return false;
+    }
+
     return true;
   }
 
@@ -638,6 +697,11 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
     if (present_runners)
       list.add(runners);
 
+    boolean present_contextVersion = true && (isSetContextVersion());
+    list.add(present_contextVersion);
+    if (present_contextVersion)
+      list.add(contextVersion);
+
     return list.hashCode();
   }
 
@@ -719,6 +783,16 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetContextVersion()).compareTo(other.isSetContextVersion());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetContextVersion()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.contextVersion, other.contextVersion);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -794,6 +868,14 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
       sb.append(this.runners);
     }
     first = false;
+    if (!first) sb.append(", ");
+    sb.append("contextVersion:");
+    if (this.contextVersion == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.contextVersion);
+    }
+    first = false;
     sb.append(")");
     return sb.toString();
   }
@@ -893,6 +975,14 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 8: // CONTEXT_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.contextVersion = iprot.readString();
+              struct.setContextVersionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -943,6 +1033,11 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
         oprot.writeString(struct.runners);
         oprot.writeFieldEnd();
       }
+      if (struct.contextVersion != null) {
+        oprot.writeFieldBegin(CONTEXT_VERSION_FIELD_DESC);
+        oprot.writeString(struct.contextVersion);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -982,7 +1077,10 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
       if (struct.isSetRunners()) {
         optionals.set(6);
       }
-      oprot.writeBitSet(optionals, 7);
+      if (struct.isSetContextVersion()) {
+        optionals.set(7);
+      }
+      oprot.writeBitSet(optionals, 8);
       if (struct.isSetNoteId()) {
         oprot.writeString(struct.noteId);
       }
@@ -1004,12 +1102,15 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
       if (struct.isSetRunners()) {
         oprot.writeString(struct.runners);
       }
+      if (struct.isSetContextVersion()) {
+        oprot.writeString(struct.contextVersion);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, RemoteInterpreterContext struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(7);
+      BitSet incoming = iprot.readBitSet(8);
       if (incoming.get(0)) {
         struct.noteId = iprot.readString();
         struct.setNoteIdIsSet(true);
@@ -1038,6 +1139,10 @@ public class RemoteInterpreterContext implements org.apache.thrift.TBase<RemoteI
         struct.runners = iprot.readString();
         struct.setRunnersIsSet(true);
       }
+      if (incoming.get(7)) {
+        struct.contextVersion = iprot.readString();
+        struct.setContextVersionIsSet(true);
+      }
     }
   }
 
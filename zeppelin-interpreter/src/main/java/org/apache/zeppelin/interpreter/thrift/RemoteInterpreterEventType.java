@@ -37,7 +37,8 @@ public enum RemoteInterpreterEventType implements org.apache.thrift.TEnum {
   RESOURCE_POOL_GET_ALL(6),
   RESOURCE_GET(7),
   OUTPUT_APPEND(8),
-  OUTPUT_UPDATE(9);
+  OUTPUT_UPDATE(9),
+  JOB_STATUS(10);
 
   private final int value;
 
@@ -76,6 +77,8 @@ public enum RemoteInterpreterEventType implements org.apache.thrift.TEnum {
         return OUTPUT_APPEND;
       case 9:
         return OUTPUT_UPDATE;
+      case 10:
+        return JOB_STATUS;
       default:
         return null;
     }
@@ -60,6 +60,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
   private static final org.apache.thrift.protocol.TField MSG_FIELD_DESC = new org.apache.thrift.protocol.TField("msg", org.apache.thrift.protocol.TType.STRING, (short)3);
   private static final org.apache.thrift.protocol.TField CONFIG_FIELD_DESC = new org.apache.thrift.protocol.TField("config", org.apache.thrift.protocol.TType.STRING, (short)4);
   private static final org.apache.thrift.protocol.TField GUI_FIELD_DESC = new org.apache.thrift.protocol.TField("gui", org.apache.thrift.protocol.TType.STRING, (short)5);
+  private static final org.apache.thrift.protocol.TField RESULT_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("resultId", org.apache.thrift.protocol.TType.STRING, (short)6);
+  private static final org.apache.thrift.protocol.TField CONTEXT_VERSION_FIELD_DESC = new org.apache.thrift.protocol.TField("contextVersion", org.apache.thrift.protocol.TType.STRING, (short)7);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -72,6 +74,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
   public String msg; // required
   public String config; // required
   public String gui; // required
+  public String resultId; // required
+  public String contextVersion; // required
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -79,7 +83,9 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     TYPE((short)2, "type"),
     MSG((short)3, "msg"),
     CONFIG((short)4, "config"),
-    GUI((short)5, "gui");
+    GUI((short)5, "gui"),
+    RESULT_ID((short)6, "resultId"),
+    CONTEXT_VERSION((short)7, "contextVersion");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -104,6 +110,10 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
           return CONFIG;
         case 5: // GUI
           return GUI;
+        case 6: // RESULT_ID
+          return RESULT_ID;
+        case 7: // CONTEXT_VERSION
+          return CONTEXT_VERSION;
         default:
           return null;
       }
@@ -157,6 +167,10 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     tmpMap.put(_Fields.GUI, new org.apache.thrift.meta_data.FieldMetaData("gui", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.RESULT_ID, new org.apache.thrift.meta_data.FieldMetaData("resultId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.CONTEXT_VERSION, new org.apache.thrift.meta_data.FieldMetaData("contextVersion", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(RemoteInterpreterResult.class, metaDataMap);
   }
@@ -169,7 +183,9 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     String type,
     String msg,
     String config,
-    String gui)
+    String gui,
+    String resultId,
+    String contextVersion)
   {
     this();
     this.code = code;
@@ -177,6 +193,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     this.msg = msg;
     this.config = config;
     this.gui = gui;
+    this.resultId = resultId;
+    this.contextVersion = contextVersion;
   }
 
   /**
@@ -198,6 +216,12 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     if (other.isSetGui()) {
       this.gui = other.gui;
     }
+    if (other.isSetResultId()) {
+      this.resultId = other.resultId;
+    }
+    if (other.isSetContextVersion()) {
+      this.contextVersion = other.contextVersion;
+    }
   }
 
   public RemoteInterpreterResult deepCopy() {
@@ -211,6 +235,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     this.msg = null;
     this.config = null;
     this.gui = null;
+    this.resultId = null;
+    this.contextVersion = null;
   }
 
   public String getCode() {
@@ -333,6 +359,54 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     }
   }
 
+  public String getResultId() {
+    return this.resultId;
+  }
+
+  public RemoteInterpreterResult setResultId(String resultId) {
+    this.resultId = resultId;
+    return this;
+  }
+
+  public void unsetResultId() {
+    this.resultId = null;
+  }
+
+  /** Returns true if field resultId is set (has been assigned a value) and false otherwise */
+  public boolean isSetResultId() {
+    return this.resultId != null;
+  }
+
+  public void setResultIdIsSet(boolean value) {
+    if (!value) {
+      this.resultId = null;
+    }
+  }
+
+  public String getContextVersion() {
+    return this.contextVersion;
+  }
+
+  public RemoteInterpreterResult setContextVersion(String contextVersion) {
+    this.contextVersion = contextVersion;
+    return this;
+  }
+
+  public void unsetContextVersion() {
+    this.contextVersion = null;
+  }
+
+  /** Returns true if field contextVersion is set (has been assigned a value) and false otherwise */
+  public boolean isSetContextVersion() {
+    return this.contextVersion != null;
+  }
+
+  public void setContextVersionIsSet(boolean value) {
+    if (!value) {
+      this.contextVersion = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case CODE:
@@ -375,6 +449,22 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       }
       break;
 
+    case RESULT_ID:
+      if (value == null) {
+        unsetResultId();
+      } else {
+        setResultId((String)value);
+      }
+      break;
+
+    case CONTEXT_VERSION:
+      if (value == null) {
+        unsetContextVersion();
+      } else {
+        setContextVersion((String)value);
+      }
+      break;
+
     }
   }
 
@@ -395,6 +485,12 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     case GUI:
       return getGui();
 
+    case RESULT_ID:
+      return getResultId();
+
+    case CONTEXT_VERSION:
+      return getContextVersion();
+
     }
     throw new IllegalStateException();
   }
@@ -416,6 +512,10 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       return isSetConfig();
     case GUI:
       return isSetGui();
+    case RESULT_ID:
+      return isSetResultId();
+    case CONTEXT_VERSION:
+      return isSetContextVersion();
     }
     throw new IllegalStateException();
   }
@@ -478,6 +578,24 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         return false;
     }
 
+    boolean this_present_resultId = true && this.isSetResultId();
+    boolean that_present_resultId = true && that.isSetResultId();
+    if (this_present_resultId || that_present_resultId) {
+      if (!(this_present_resultId && that_present_resultId))
+        return false;
+      if (!this.resultId.equals(that.resultId))
+        return false;
+    }
+
+    boolean this_present_contextVersion = true && this.isSetContextVersion();
+    boolean that_present_contextVersion = true && that.isSetContextVersion();
+    if (this_present_contextVersion || that_present_contextVersion) {
+      if (!(this_present_contextVersion && that_present_contextVersion))
+        return false;
+      if (!this.contextVersion.equals(that.contextVersion))
+        return false;
+    }
+
     return true;
   }
 
@@ -510,6 +628,16 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     if (present_gui)
       list.add(gui);
 
+    boolean present_resultId = true && (isSetResultId());
+    list.add(present_resultId);
+    if (present_resultId)
+      list.add(resultId);
+
+    boolean present_contextVersion = true && (isSetContextVersion());
+    list.add(present_contextVersion);
+    if (present_contextVersion)
+      list.add(contextVersion);
+
     return list.hashCode();
   }
 
@@ -571,6 +699,26 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetResultId()).compareTo(other.isSetResultId());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetResultId()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.resultId, other.resultId);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetContextVersion()).compareTo(other.isSetContextVersion());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetContextVersion()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.contextVersion, other.contextVersion);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -630,6 +778,22 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       sb.append(this.gui);
     }
     first = false;
+    if (!first) sb.append(", ");
+    sb.append("resultId:");
+    if (this.resultId == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.resultId);
+    }
+    first = false;
+    if (!first) sb.append(", ");
+    sb.append("contextVersion:");
+    if (this.contextVersion == null) {
+      sb.append("null");
+    } else {
+      sb.append(this.contextVersion);
+    }
+    first = false;
     sb.append(")");
     return sb.toString();
   }
@@ -713,6 +877,22 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // RESULT_ID
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.resultId = iprot.readString();
+              struct.setResultIdIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // CONTEXT_VERSION
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.contextVersion = iprot.readString();
+              struct.setContextVersionIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -753,6 +933,16 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         oprot.writeString(struct.gui);
         oprot.writeFieldEnd();
       }
+      if (struct.resultId != null) {
+        oprot.writeFieldBegin(RESULT_ID_FIELD_DESC);
+        oprot.writeString(struct.resultId);
+        oprot.writeFieldEnd();
+      }
+      if (struct.contextVersion != null) {
+        oprot.writeFieldBegin(CONTEXT_VERSION_FIELD_DESC);
+        oprot.writeString(struct.contextVersion);
+        oprot.writeFieldEnd();
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -786,7 +976,13 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       if (struct.isSetGui()) {
         optionals.set(4);
       }
-      oprot.writeBitSet(optionals, 5);
+      if (struct.isSetResultId()) {
+        optionals.set(5);
+      }
+      if (struct.isSetContextVersion()) {
+        optionals.set(6);
+      }
+      oprot.writeBitSet(optionals, 7);
       if (struct.isSetCode()) {
         oprot.writeString(struct.code);
       }
@@ -802,12 +998,18 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       if (struct.isSetGui()) {
         oprot.writeString(struct.gui);
       }
+      if (struct.isSetResultId()) {
+        oprot.writeString(struct.resultId);
+      }
+      if (struct.isSetContextVersion()) {
+        oprot.writeString(struct.contextVersion);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, RemoteInterpreterResult struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(5);
+      BitSet incoming = iprot.readBitSet(7);
       if (incoming.get(0)) {
         struct.code = iprot.readString();
         struct.setCodeIsSet(true);
@@ -828,6 +1030,14 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         struct.gui = iprot.readString();
         struct.setGuiIsSet(true);
       }
+      if (incoming.get(5)) {
+        struct.resultId = iprot.readString();
+        struct.setResultIdIsSet(true);
+      }
+      if (incoming.get(6)) {
+        struct.contextVersion = iprot.readString();
+        struct.setContextVersionIsSet(true);
+      }
     }
   }
 
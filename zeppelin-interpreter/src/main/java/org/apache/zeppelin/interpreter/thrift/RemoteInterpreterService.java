@@ -76,8 +76,12 @@ public class RemoteInterpreterService {
 
     public String getStatus(String jobId) throws org.apache.thrift.TException;
 
+    public String getResultChunk(String resultId) throws org.apache.thrift.TException;
+
     public RemoteInterpreterEvent getEvent() throws org.apache.thrift.TException;
 
+    public List<RemoteInterpreterEvent> getEvents(int maxCount, int maxWaitMs) throws org.apache.thrift.TException;
+
     public void resourcePoolResponseGetAll(List<String> resources) throws org.apache.thrift.TException;
 
     public void resourceResponseGet(String resourceId, ByteBuffer object) throws org.apache.thrift.TException;
@@ -116,8 +120,12 @@ public class RemoteInterpreterService {
 
     public void getStatus(String jobId, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
+    public void getResultChunk(String resultId, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
     public void getEvent(org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
+    public void getEvents(int maxCount, int maxWaitMs, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
+
     public void resourcePoolResponseGetAll(List<String> resources, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
 
     public void resourceResponseGet(String resourceId, ByteBuffer object, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException;
@@ -376,6 +384,29 @@ public class RemoteInterpreterService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getStatus failed: unknown result");
     }
 
+    public String getResultChunk(String resultId) throws org.apache.thrift.TException
+    {
+      send_getResultChunk(resultId);
+      return recv_getResultChunk();
+    }
+
+    public void send_getResultChunk(String resultId) throws org.apache.thrift.TException
+    {
+      getResultChunk_args args = new getResultChunk_args();
+      args.setResultId(resultId);
+      sendBase("getResultChunk", args);
+    }
+
+    public String recv_getResultChunk() throws org.apache.thrift.TException
+    {
+      getResultChunk_result result = new getResultChunk_result();
+      receiveBase(result, "getResultChunk");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getResultChunk failed: unknown result");
+    }
+
     public RemoteInterpreterEvent getEvent() throws org.apache.thrift.TException
     {
       send_getEvent();
@@ -398,6 +429,30 @@ public class RemoteInterpreterService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getEvent failed: unknown result");
     }
 
+    public List<RemoteInterpreterEvent> getEvents(int maxCount, int maxWaitMs) throws org.apache.thrift.TException
+    {
+      send_getEvents(maxCount, maxWaitMs);
+      return recv_getEvents();
+    }
+
+    public void send_getEvents(int maxCount, int maxWaitMs) throws org.apache.thrift.TException
+    {
+      getEvents_args args = new getEvents_args();
+      args.setMaxCount(maxCount);
+      args.setMaxWaitMs(maxWaitMs);
+      sendBase("getEvents", args);
+    }
+
+    public List<RemoteInterpreterEvent> recv_getEvents() throws org.apache.thrift.TException
+    {
+      getEvents_result result = new getEvents_result();
+      receiveBase(result, "getEvents");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "getEvents failed: unknown result");
+    }
+
     public void resourcePoolResponseGetAll(List<String> resources) throws org.apache.thrift.TException
     {
       send_resourcePoolResponseGetAll(resources);
@@ -911,6 +966,38 @@ public class RemoteInterpreterService {
       }
     }
 
+    public void getResultChunk(String resultId, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      getResultChunk_call method_call = new getResultChunk_call(resultId, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class getResultChunk_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private String resultId;
+      public getResultChunk_call(String resultId, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.resultId = resultId;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("getResultChunk", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        getResultChunk_args args = new getResultChunk_args();
+        args.setResultId(resultId);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public String getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_getResultChunk();
+      }
+    }
+
     public void getEvent(org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
       checkReady();
       getEvent_call method_call = new getEvent_call(resultHandler, this, ___protocolFactory, ___transport);
@@ -940,6 +1027,41 @@ public class RemoteInterpreterService {
       }
     }
 
+    public void getEvents(int maxCount, int maxWaitMs, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      getEvents_call method_call = new getEvents_call(maxCount, maxWaitMs, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class getEvents_call extends org.apache.thrift.async.TAsyncMethodCall {
+      private int maxCount;
+      private int maxWaitMs;
+      public getEvents_call(int maxCount, int maxWaitMs, org.apache.thrift.async.AsyncMethodCallback resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.maxCount = maxCount;
+        this.maxWaitMs = maxWaitMs;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("getEvents", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        getEvents_args args = new getEvents_args();
+        args.setMaxCount(maxCount);
+        args.setMaxWaitMs(maxWaitMs);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public List<RemoteInterpreterEvent> getResult() throws org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_getEvents();
+      }
+    }
+
     public void resourcePoolResponseGetAll(List<String> resources, org.apache.thrift.async.AsyncMethodCallback resultHandler) throws org.apache.thrift.TException {
       checkReady();
       resourcePoolResponseGetAll_call method_call = new resourcePoolResponseGetAll_call(resources, resultHandler, this, ___protocolFactory, ___transport);
@@ -1211,7 +1333,9 @@ public class RemoteInterpreterService {
       processMap.put("completion", new completion());
       processMap.put("shutdown", new shutdown());
       processMap.put("getStatus", new getStatus());
+      processMap.put("getResultChunk", new getResultChunk());
       processMap.put("getEvent", new getEvent());
+      processMap.put("getEvents", new getEvents());
       processMap.put("resourcePoolResponseGetAll", new resourcePoolResponseGetAll());
       processMap.put("resourceResponseGet", new resourceResponseGet());
       processMap.put("resoucePoolGetAll", new resoucePoolGetAll());
@@ -1423,6 +1547,26 @@ public class RemoteInterpreterService {
       }
     }
 
+    public static class getResultChunk<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getResultChunk_args> {
+      public getResultChunk() {
+        super("getResultChunk");
+      }
+
+      public getResultChunk_args getEmptyArgsInstance() {
+        return new getResultChunk_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public getResultChunk_result getResult(I iface, getResultChunk_args args) throws org.apache.thrift.TException {
+        getResultChunk_result result = new getResultChunk_result();
+        result.success = iface.getResultChunk(args.resultId);
+        return result;
+      }
+    }
+
     public static class getEvent<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getEvent_args> {
       public getEvent() {
         super("getEvent");
@@ -1443,6 +1587,26 @@ public class RemoteInterpreterService {
       }
     }
 
+    public static class getEvents<I extends Iface> extends org.apache.thrift.ProcessFunction<I, getEvents_args> {
+      public getEvents() {
+        super("getEvents");
+      }
+
+      public getEvents_args getEmptyArgsInstance() {
+        return new getEvents_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public getEvents_result getResult(I iface, getEvents_args args) throws org.apache.thrift.TException {
+        getEvents_result result = new getEvents_result();
+        result.success = iface.getEvents(args.maxCount, args.maxWaitMs);
+        return result;
+      }
+    }
+
     public static class resourcePoolResponseGetAll<I extends Iface> extends org.apache.thrift.ProcessFunction<I, resourcePoolResponseGetAll_args> {
       public resourcePoolResponseGetAll() {
         super("resourcePoolResponseGetAll");
@@ -1606,7 +1770,9 @@ public class RemoteInterpreterService {
       processMap.put("completion", new completion());
       processMap.put("shutdown", new shutdown());
       processMap.put("getStatus", new getStatus());
+      processMap.put("getResultChunk", new getResultChunk());
       processMap.put("getEvent", new getEvent());
+      processMap.put("getEvents", new getEvents());
       processMap.put("resourcePoolResponseGetAll", new resourcePoolResponseGetAll());
       processMap.put("resourceResponseGet", new resourceResponseGet());
       processMap.put("resoucePoolGetAll", new resoucePoolGetAll());
@@ -2123,6 +2289,57 @@ public class RemoteInterpreterService {
       }
     }
 
+    public static class getResultChunk<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getResultChunk_args, String> {
+      public getResultChunk() {
+        super("getResultChunk");
+      }
+
+      public getResultChunk_args getEmptyArgsInstance() {
+        return new getResultChunk_args();
+      }
+
+      public AsyncMethodCallback<String> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<String>() { 
+          public void onComplete(String o) {
+            getResultChunk_result result = new getResultChunk_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            getResultChunk_result result = new getResultChunk_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, getResultChunk_args args, org.apache.thrift.async.AsyncMethodCallback<String> resultHandler) throws TException {
+        iface.getResultChunk(args.resultId,resultHandler);
+      }
+    }
+
     public static class getEvent<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getEvent_args, RemoteInterpreterEvent> {
       public getEvent() {
         super("getEvent");
@@ -2174,6 +2391,57 @@ public class RemoteInterpreterService {
       }
     }
 
+    public static class getEvents<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, getEvents_args, List<RemoteInterpreterEvent>> {
+      public getEvents() {
+        super("getEvents");
+      }
+
+      public getEvents_args getEmptyArgsInstance() {
+        return new getEvents_args();
+      }
+
+      public AsyncMethodCallback<List<RemoteInterpreterEvent>> getResultHandler(final AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new AsyncMethodCallback<List<RemoteInterpreterEvent>>() { 
+          public void onComplete(List<RemoteInterpreterEvent> o) {
+            getEvents_result result = new getEvents_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb,result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+              return;
+            } catch (Exception e) {
+              LOGGER.error("Exception writing to internal frame buffer", e);
+            }
+            fb.close();
+          }
+          public void onError(Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TBase msg;
+            getEvents_result result = new getEvents_result();
+            {
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TBase)new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+              return;
+            } catch (Exception ex) {
+              LOGGER.error("Exception writing to internal frame buffer", ex);
+            }
+            fb.close();
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, getEvents_args args, org.apache.thrift.async.AsyncMethodCallback<List<RemoteInterpreterEvent>> resultHandler) throws TException {
+        iface.getEvents(args.maxCount, args.maxWaitMs,resultHandler);
+      }
+    }
+
     public static class resourcePoolResponseGetAll<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, resourcePoolResponseGetAll_args, Void> {
       public resourcePoolResponseGetAll() {
         super("resourcePoolResponseGetAll");
@@ -10029,20 +10297,22 @@ public class RemoteInterpreterService {
 
   }
 
-  public static class getEvent_args implements org.apache.thrift.TBase<getEvent_args, getEvent_args._Fields>, java.io.Serializable, Cloneable, Comparable<getEvent_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvent_args");
+  public static class getResultChunk_args implements org.apache.thrift.TBase<getResultChunk_args, getResultChunk_args._Fields>, java.io.Serializable, Cloneable, Comparable<getResultChunk_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getResultChunk_args");
 
+    private static final org.apache.thrift.protocol.TField RESULT_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("resultId", org.apache.thrift.protocol.TType.STRING, (short)1);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new getEvent_argsStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new getEvent_argsTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getResultChunk_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getResultChunk_argsTupleSchemeFactory());
     }
 
+    public String resultId; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      RESULT_ID((short)1, "resultId");
 
       private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -10057,6 +10327,8 @@ public class RemoteInterpreterService {
        */
       public static _Fields findByThriftId(int fieldId) {
         switch(fieldId) {
+          case 1: // RESULT_ID
+            return RESULT_ID;
           default:
             return null;
         }
@@ -10095,37 +10367,87 @@ public class RemoteInterpreterService {
         return _fieldName;
       }
     }
+
+    // isset id assignments
     public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.RESULT_ID, new org.apache.thrift.meta_data.FieldMetaData("resultId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvent_args.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getResultChunk_args.class, metaDataMap);
     }
 
-    public getEvent_args() {
+    public getResultChunk_args() {
+    }
+
+    public getResultChunk_args(
+      String resultId)
+    {
+      this();
+      this.resultId = resultId;
     }
 
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public getEvent_args(getEvent_args other) {
+    public getResultChunk_args(getResultChunk_args other) {
+      if (other.isSetResultId()) {
+        this.resultId = other.resultId;
+      }
     }
 
-    public getEvent_args deepCopy() {
-      return new getEvent_args(this);
+    public getResultChunk_args deepCopy() {
+      return new getResultChunk_args(this);
     }
 
     @Override
     public void clear() {
+      this.resultId = null;
+    }
+
+    public String getResultId() {
+      return this.resultId;
+    }
+
+    public getResultChunk_args setResultId(String resultId) {
+      this.resultId = resultId;
+      return this;
+    }
+
+    public void unsetResultId() {
+      this.resultId = null;
+    }
+
+    /** Returns true if field resultId is set (has been assigned a value) and false otherwise */
+    public boolean isSetResultId() {
+      return this.resultId != null;
+    }
+
+    public void setResultIdIsSet(boolean value) {
+      if (!value) {
+        this.resultId = null;
+      }
     }
 
     public void setFieldValue(_Fields field, Object value) {
       switch (field) {
+      case RESULT_ID:
+        if (value == null) {
+          unsetResultId();
+        } else {
+          setResultId((String)value);
+        }
+        break;
+
       }
     }
 
     public Object getFieldValue(_Fields field) {
       switch (field) {
+      case RESULT_ID:
+        return getResultId();
+
       }
       throw new IllegalStateException();
     }
@@ -10137,6 +10459,8 @@ public class RemoteInterpreterService {
       }
 
       switch (field) {
+      case RESULT_ID:
+        return isSetResultId();
       }
       throw new IllegalStateException();
     }
@@ -10145,15 +10469,24 @@ public class RemoteInterpreterService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof getEvent_args)
-        return this.equals((getEvent_args)that);
+      if (that instanceof getResultChunk_args)
+        return this.equals((getResultChunk_args)that);
       return false;
     }
 
-    public boolean equals(getEvent_args that) {
+    public boolean equals(getResultChunk_args that) {
       if (that == null)
         return false;
 
+      boolean this_present_resultId = true && this.isSetResultId();
+      boolean that_present_resultId = true && that.isSetResultId();
+      if (this_present_resultId || that_present_resultId) {
+        if (!(this_present_resultId && that_present_resultId))
+          return false;
+        if (!this.resultId.equals(that.resultId))
+          return false;
+      }
+
       return true;
     }
 
@@ -10161,17 +10494,32 @@ public class RemoteInterpreterService {
     public int hashCode() {
       List<Object> list = new ArrayList<Object>();
 
+      boolean present_resultId = true && (isSetResultId());
+      list.add(present_resultId);
+      if (present_resultId)
+        list.add(resultId);
+
       return list.hashCode();
     }
 
     @Override
-    public int compareTo(getEvent_args other) {
+    public int compareTo(getResultChunk_args other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
 
       int lastComparison = 0;
 
+      lastComparison = Boolean.valueOf(isSetResultId()).compareTo(other.isSetResultId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetResultId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.resultId, other.resultId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
       return 0;
     }
 
@@ -10189,9 +10537,16 @@ public class RemoteInterpreterService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("getEvent_args(");
+      StringBuilder sb = new StringBuilder("getResultChunk_args(");
       boolean first = true;
 
+      sb.append("resultId:");
+      if (this.resultId == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.resultId);
+      }
+      first = false;
       sb.append(")");
       return sb.toString();
     }
@@ -10217,15 +10572,15 @@ public class RemoteInterpreterService {
       }
     }
 
-    private static class getEvent_argsStandardSchemeFactory implements SchemeFactory {
-      public getEvent_argsStandardScheme getScheme() {
-        return new getEvent_argsStandardScheme();
+    private static class getResultChunk_argsStandardSchemeFactory implements SchemeFactory {
+      public getResultChunk_argsStandardScheme getScheme() {
+        return new getResultChunk_argsStandardScheme();
       }
     }
 
-    private static class getEvent_argsStandardScheme extends StandardScheme<getEvent_args> {
+    private static class getResultChunk_argsStandardScheme extends StandardScheme<getResultChunk_args> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvent_args struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getResultChunk_args struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10235,6 +10590,14 @@ public class RemoteInterpreterService {
             break;
           }
           switch (schemeField.id) {
+            case 1: // RESULT_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.resultId = iprot.readString();
+                struct.setResultIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
             default:
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
           }
@@ -10246,49 +10609,1500 @@ public class RemoteInterpreterService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvent_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getResultChunk_args struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.resultId != null) {
+          oprot.writeFieldBegin(RESULT_ID_FIELD_DESC);
+          oprot.writeString(struct.resultId);
+          oprot.writeFieldEnd();
+        }
         oprot.writeFieldStop();
         oprot.writeStructEnd();
       }
 
     }
 
-    private static class getEvent_argsTupleSchemeFactory implements SchemeFactory {
-      public getEvent_argsTupleScheme getScheme() {
-        return new getEvent_argsTupleScheme();
+    private static class getResultChunk_argsTupleSchemeFactory implements SchemeFactory {
+      public getResultChunk_argsTupleScheme getScheme() {
+        return new getResultChunk_argsTupleScheme();
       }
     }
 
-    private static class getEvent_argsTupleScheme extends TupleScheme<getEvent_args> {
+    private static class getResultChunk_argsTupleScheme extends TupleScheme<getResultChunk_args> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, getEvent_args struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getResultChunk_args struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
-      }
-
-      @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, getEvent_args struct) throws org.apache.thrift.TException {
+        BitSet optionals = new BitSet();
+        if (struct.isSetResultId()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetResultId()) {
+          oprot.writeString(struct.resultId);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getResultChunk_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.resultId = iprot.readString();
+          struct.setResultIdIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class getResultChunk_result implements org.apache.thrift.TBase<getResultChunk_result, getResultChunk_result._Fields>, java.io.Serializable, Cloneable, Comparable<getResultChunk_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getResultChunk_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRING, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getResultChunk_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getResultChunk_resultTupleSchemeFactory());
+    }
+
+    public String success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getResultChunk_result.class, metaDataMap);
+    }
+
+    public getResultChunk_result() {
+    }
+
+    public getResultChunk_result(
+      String success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getResultChunk_result(getResultChunk_result other) {
+      if (other.isSetSuccess()) {
+        this.success = other.success;
+      }
+    }
+
+    public getResultChunk_result deepCopy() {
+      return new getResultChunk_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public String getSuccess() {
+      return this.success;
+    }
+
+    public getResultChunk_result setSuccess(String success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((String)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getResultChunk_result)
+        return this.equals((getResultChunk_result)that);
+      return false;
+    }
+
+    public boolean equals(getResultChunk_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(getResultChunk_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getResultChunk_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getResultChunk_resultStandardSchemeFactory implements SchemeFactory {
+      public getResultChunk_resultStandardScheme getScheme() {
+        return new getResultChunk_resultStandardScheme();
+      }
+    }
+
+    private static class getResultChunk_resultStandardScheme extends StandardScheme<getResultChunk_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getResultChunk_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.success = iprot.readString();
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getResultChunk_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          oprot.writeString(struct.success);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getResultChunk_resultTupleSchemeFactory implements SchemeFactory {
+      public getResultChunk_resultTupleScheme getScheme() {
+        return new getResultChunk_resultTupleScheme();
+      }
+    }
+
+    private static class getResultChunk_resultTupleScheme extends TupleScheme<getResultChunk_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getResultChunk_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          oprot.writeString(struct.success);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getResultChunk_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = iprot.readString();
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class getEvent_args implements org.apache.thrift.TBase<getEvent_args, getEvent_args._Fields>, java.io.Serializable, Cloneable, Comparable<getEvent_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvent_args");
+
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getEvent_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getEvent_argsTupleSchemeFactory());
+    }
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvent_args.class, metaDataMap);
+    }
+
+    public getEvent_args() {
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getEvent_args(getEvent_args other) {
+    }
+
+    public getEvent_args deepCopy() {
+      return new getEvent_args(this);
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getEvent_args)
+        return this.equals((getEvent_args)that);
+      return false;
+    }
+
+    public boolean equals(getEvent_args that) {
+      if (that == null)
+        return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(getEvent_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getEvent_args(");
+      boolean first = true;
+
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getEvent_argsStandardSchemeFactory implements SchemeFactory {
+      public getEvent_argsStandardScheme getScheme() {
+        return new getEvent_argsStandardScheme();
+      }
+    }
+
+    private static class getEvent_argsStandardScheme extends StandardScheme<getEvent_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvent_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvent_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getEvent_argsTupleSchemeFactory implements SchemeFactory {
+      public getEvent_argsTupleScheme getScheme() {
+        return new getEvent_argsTupleScheme();
+      }
+    }
+
+    private static class getEvent_argsTupleScheme extends TupleScheme<getEvent_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getEvent_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getEvent_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+      }
+    }
+
+  }
+
+  public static class getEvent_result implements org.apache.thrift.TBase<getEvent_result, getEvent_result._Fields>, java.io.Serializable, Cloneable, Comparable<getEvent_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvent_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getEvent_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getEvent_resultTupleSchemeFactory());
+    }
+
+    public RemoteInterpreterEvent success; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, RemoteInterpreterEvent.class)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvent_result.class, metaDataMap);
+    }
+
+    public getEvent_result() {
+    }
+
+    public getEvent_result(
+      RemoteInterpreterEvent success)
+    {
+      this();
+      this.success = success;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getEvent_result(getEvent_result other) {
+      if (other.isSetSuccess()) {
+        this.success = new RemoteInterpreterEvent(other.success);
+      }
+    }
+
+    public getEvent_result deepCopy() {
+      return new getEvent_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+    }
+
+    public RemoteInterpreterEvent getSuccess() {
+      return this.success;
+    }
+
+    public getEvent_result setSuccess(RemoteInterpreterEvent success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((RemoteInterpreterEvent)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getEvent_result)
+        return this.equals((getEvent_result)that);
+      return false;
+    }
+
+    public boolean equals(getEvent_result that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_success = true && (isSetSuccess());
+      list.add(present_success);
+      if (present_success)
+        list.add(success);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(getEvent_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+      }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getEvent_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+      if (success != null) {
+        success.validate();
+      }
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getEvent_resultStandardSchemeFactory implements SchemeFactory {
+      public getEvent_resultStandardScheme getScheme() {
+        return new getEvent_resultStandardScheme();
+      }
+    }
+
+    private static class getEvent_resultStandardScheme extends StandardScheme<getEvent_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvent_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.success = new RemoteInterpreterEvent();
+                struct.success.read(iprot);
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvent_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          struct.success.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getEvent_resultTupleSchemeFactory implements SchemeFactory {
+      public getEvent_resultTupleScheme getScheme() {
+        return new getEvent_resultTupleScheme();
+      }
+    }
+
+    private static class getEvent_resultTupleScheme extends TupleScheme<getEvent_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getEvent_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetSuccess()) {
+          struct.success.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getEvent_result struct) throws org.apache.thrift.TException {
+        TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.success = new RemoteInterpreterEvent();
+          struct.success.read(iprot);
+          struct.setSuccessIsSet(true);
+        }
+      }
+    }
+
+  }
+
+  public static class getEvents_args implements org.apache.thrift.TBase<getEvents_args, getEvents_args._Fields>, java.io.Serializable, Cloneable, Comparable<getEvents_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvents_args");
+
+    private static final org.apache.thrift.protocol.TField MAX_COUNT_FIELD_DESC = new org.apache.thrift.protocol.TField("maxCount", org.apache.thrift.protocol.TType.I32, (short)1);
+    private static final org.apache.thrift.protocol.TField MAX_WAIT_MS_FIELD_DESC = new org.apache.thrift.protocol.TField("maxWaitMs", org.apache.thrift.protocol.TType.I32, (short)2);
+
+    private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
+    static {
+      schemes.put(StandardScheme.class, new getEvents_argsStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getEvents_argsTupleSchemeFactory());
+    }
+
+    public int maxCount; // required
+    public int maxWaitMs; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      MAX_COUNT((short)1, "maxCount"),
+      MAX_WAIT_MS((short)2, "maxWaitMs");
+
+      private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+      static {
+        for (_Fields field : EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // MAX_COUNT
+            return MAX_COUNT;
+          case 2: // MAX_WAIT_MS
+            return MAX_WAIT_MS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      public static _Fields findByName(String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final String _fieldName;
+
+      _Fields(short thriftId, String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __MAXCOUNT_ISSET_ID = 0;
+    private static final int __MAXWAITMS_ISSET_ID = 1;
+    private byte __isset_bitfield = 0;
+    public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.MAX_COUNT, new org.apache.thrift.meta_data.FieldMetaData("maxCount", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.MAX_WAIT_MS, new org.apache.thrift.meta_data.FieldMetaData("maxWaitMs", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      metaDataMap = Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvents_args.class, metaDataMap);
+    }
+
+    public getEvents_args() {
+    }
+
+    public getEvents_args(
+      int maxCount,
+      int maxWaitMs)
+    {
+      this();
+      this.maxCount = maxCount;
+      setMaxCountIsSet(true);
+      this.maxWaitMs = maxWaitMs;
+      setMaxWaitMsIsSet(true);
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public getEvents_args(getEvents_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      this.maxCount = other.maxCount;
+      this.maxWaitMs = other.maxWaitMs;
+    }
+
+    public getEvents_args deepCopy() {
+      return new getEvents_args(this);
+    }
+
+    @Override
+    public void clear() {
+      setMaxCountIsSet(false);
+      this.maxCount = 0;
+      setMaxWaitMsIsSet(false);
+      this.maxWaitMs = 0;
+    }
+
+    public int getMaxCount() {
+      return this.maxCount;
+    }
+
+    public getEvents_args setMaxCount(int maxCount) {
+      this.maxCount = maxCount;
+      setMaxCountIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxCount() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAXCOUNT_ISSET_ID);
+    }
+
+    /** Returns true if field maxCount is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxCount() {
+      return EncodingUtils.testBit(__isset_bitfield, __MAXCOUNT_ISSET_ID);
+    }
+
+    public void setMaxCountIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAXCOUNT_ISSET_ID, value);
+    }
+
+    public int getMaxWaitMs() {
+      return this.maxWaitMs;
+    }
+
+    public getEvents_args setMaxWaitMs(int maxWaitMs) {
+      this.maxWaitMs = maxWaitMs;
+      setMaxWaitMsIsSet(true);
+      return this;
+    }
+
+    public void unsetMaxWaitMs() {
+      __isset_bitfield = EncodingUtils.clearBit(__isset_bitfield, __MAXWAITMS_ISSET_ID);
+    }
+
+    /** Returns true if field maxWaitMs is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxWaitMs() {
+      return EncodingUtils.testBit(__isset_bitfield, __MAXWAITMS_ISSET_ID);
+    }
+
+    public void setMaxWaitMsIsSet(boolean value) {
+      __isset_bitfield = EncodingUtils.setBit(__isset_bitfield, __MAXWAITMS_ISSET_ID, value);
+    }
+
+    public void setFieldValue(_Fields field, Object value) {
+      switch (field) {
+      case MAX_COUNT:
+        if (value == null) {
+          unsetMaxCount();
+        } else {
+          setMaxCount((Integer)value);
+        }
+        break;
+
+      case MAX_WAIT_MS:
+        if (value == null) {
+          unsetMaxWaitMs();
+        } else {
+          setMaxWaitMs((Integer)value);
+        }
+        break;
+
+      }
+    }
+
+    public Object getFieldValue(_Fields field) {
+      switch (field) {
+      case MAX_COUNT:
+        return Integer.valueOf(getMaxCount());
+
+      case MAX_WAIT_MS:
+        return Integer.valueOf(getMaxWaitMs());
+
+      }
+      throw new IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new IllegalArgumentException();
+      }
+
+      switch (field) {
+      case MAX_COUNT:
+        return isSetMaxCount();
+      case MAX_WAIT_MS:
+        return isSetMaxWaitMs();
+      }
+      throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof getEvents_args)
+        return this.equals((getEvents_args)that);
+      return false;
+    }
+
+    public boolean equals(getEvents_args that) {
+      if (that == null)
+        return false;
+
+      boolean this_present_maxCount = true;
+      boolean that_present_maxCount = true;
+      if (this_present_maxCount || that_present_maxCount) {
+        if (!(this_present_maxCount && that_present_maxCount))
+          return false;
+        if (this.maxCount != that.maxCount)
+          return false;
+      }
+
+      boolean this_present_maxWaitMs = true;
+      boolean that_present_maxWaitMs = true;
+      if (this_present_maxWaitMs || that_present_maxWaitMs) {
+        if (!(this_present_maxWaitMs && that_present_maxWaitMs))
+          return false;
+        if (this.maxWaitMs != that.maxWaitMs)
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      List<Object> list = new ArrayList<Object>();
+
+      boolean present_maxCount = true;
+      list.add(present_maxCount);
+      if (present_maxCount)
+        list.add(maxCount);
+
+      boolean present_maxWaitMs = true;
+      list.add(present_maxWaitMs);
+      if (present_maxWaitMs)
+        list.add(maxWaitMs);
+
+      return list.hashCode();
+    }
+
+    @Override
+    public int compareTo(getEvents_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = Boolean.valueOf(isSetMaxCount()).compareTo(other.isSetMaxCount());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxCount()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxCount, other.maxCount);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = Boolean.valueOf(isSetMaxWaitMs()).compareTo(other.isSetMaxWaitMs());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxWaitMs()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxWaitMs, other.maxWaitMs);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      schemes.get(iprot.getScheme()).getScheme().read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      schemes.get(oprot.getScheme()).getScheme().write(oprot, this);
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder("getEvents_args(");
+      boolean first = true;
+
+      sb.append("maxCount:");
+      sb.append(this.maxCount);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxWaitMs:");
+      sb.append(this.maxWaitMs);
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class getEvents_argsStandardSchemeFactory implements SchemeFactory {
+      public getEvents_argsStandardScheme getScheme() {
+        return new getEvents_argsStandardScheme();
+      }
+    }
+
+    private static class getEvents_argsStandardScheme extends StandardScheme<getEvents_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvents_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // MAX_COUNT
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxCount = iprot.readI32();
+                struct.setMaxCountIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MAX_WAIT_MS
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.maxWaitMs = iprot.readI32();
+                struct.setMaxWaitMsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvents_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        oprot.writeFieldBegin(MAX_COUNT_FIELD_DESC);
+        oprot.writeI32(struct.maxCount);
+        oprot.writeFieldEnd();
+        oprot.writeFieldBegin(MAX_WAIT_MS_FIELD_DESC);
+        oprot.writeI32(struct.maxWaitMs);
+        oprot.writeFieldEnd();
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class getEvents_argsTupleSchemeFactory implements SchemeFactory {
+      public getEvents_argsTupleScheme getScheme() {
+        return new getEvents_argsTupleScheme();
+      }
+    }
+
+    private static class getEvents_argsTupleScheme extends TupleScheme<getEvents_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, getEvents_args struct) throws org.apache.thrift.TException {
+        TTupleProtocol oprot = (TTupleProtocol) prot;
+        BitSet optionals = new BitSet();
+        if (struct.isSetMaxCount()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMaxWaitMs()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetMaxCount()) {
+          oprot.writeI32(struct.maxCount);
+        }
+        if (struct.isSetMaxWaitMs()) {
+          oprot.writeI32(struct.maxWaitMs);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, getEvents_args struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
+        BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.maxCount = iprot.readI32();
+          struct.setMaxCountIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.maxWaitMs = iprot.readI32();
+          struct.setMaxWaitMsIsSet(true);
+        }
       }
     }
 
   }
 
-  public static class getEvent_result implements org.apache.thrift.TBase<getEvent_result, getEvent_result._Fields>, java.io.Serializable, Cloneable, Comparable<getEvent_result>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvent_result");
+  public static class getEvents_result implements org.apache.thrift.TBase<getEvents_result, getEvents_result._Fields>, java.io.Serializable, Cloneable, Comparable<getEvents_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("getEvents_result");
 
-    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.STRUCT, (short)0);
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.LIST, (short)0);
 
     private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
     static {
-      schemes.put(StandardScheme.class, new getEvent_resultStandardSchemeFactory());
-      schemes.put(TupleScheme.class, new getEvent_resultTupleSchemeFactory());
+      schemes.put(StandardScheme.class, new getEvents_resultStandardSchemeFactory());
+      schemes.put(TupleScheme.class, new getEvents_resultTupleSchemeFactory());
     }
 
-    public RemoteInterpreterEvent success; // required
+    public List<RemoteInterpreterEvent> success; // required
 
     /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
     public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -10353,16 +12167,17 @@ public class RemoteInterpreterService {
     static {
       Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
       tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
-          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, RemoteInterpreterEvent.class)));
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, RemoteInterpreterEvent.class))));
       metaDataMap = Collections.unmodifiableMap(tmpMap);
-      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvent_result.class, metaDataMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(getEvents_result.class, metaDataMap);
     }
 
-    public getEvent_result() {
+    public getEvents_result() {
     }
 
-    public getEvent_result(
-      RemoteInterpreterEvent success)
+    public getEvents_result(
+      List<RemoteInterpreterEvent> success)
     {
       this();
       this.success = success;
@@ -10371,14 +12186,18 @@ public class RemoteInterpreterService {
     /**
      * Performs a deep copy on <i>other</i>.
      */
-    public getEvent_result(getEvent_result other) {
+    public getEvents_result(getEvents_result other) {
       if (other.isSetSuccess()) {
-        this.success = new RemoteInterpreterEvent(other.success);
+        List<RemoteInterpreterEvent> __this__success = new ArrayList<RemoteInterpreterEvent>(other.success.size());
+        for (RemoteInterpreterEvent other_element : other.success) {
+          __this__success.add(new RemoteInterpreterEvent(other_element));
+        }
+        this.success = __this__success;
       }
     }
 
-    public getEvent_result deepCopy() {
-      return new getEvent_result(this);
+    public getEvents_result deepCopy() {
+      return new getEvents_result(this);
     }
 
     @Override
@@ -10386,11 +12205,26 @@ public class RemoteInterpreterService {
       this.success = null;
     }
 
-    public RemoteInterpreterEvent getSuccess() {
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public java.util.Iterator<RemoteInterpreterEvent> getSuccessIterator() {
+      return (this.success == null) ? null : this.success.iterator();
+    }
+
+    public void addToSuccess(RemoteInterpreterEvent elem) {
+      if (this.success == null) {
+        this.success = new ArrayList<RemoteInterpreterEvent>();
+      }
+      this.success.add(elem);
+    }
+
+    public List<RemoteInterpreterEvent> getSuccess() {
       return this.success;
     }
 
-    public getEvent_result setSuccess(RemoteInterpreterEvent success) {
+    public getEvents_result setSuccess(List<RemoteInterpreterEvent> success) {
       this.success = success;
       return this;
     }
@@ -10416,7 +12250,7 @@ public class RemoteInterpreterService {
         if (value == null) {
           unsetSuccess();
         } else {
-          setSuccess((RemoteInterpreterEvent)value);
+          setSuccess((List<RemoteInterpreterEvent>)value);
         }
         break;
 
@@ -10449,12 +12283,12 @@ public class RemoteInterpreterService {
     public boolean equals(Object that) {
       if (that == null)
         return false;
-      if (that instanceof getEvent_result)
-        return this.equals((getEvent_result)that);
+      if (that instanceof getEvents_result)
+        return this.equals((getEvents_result)that);
       return false;
     }
 
-    public boolean equals(getEvent_result that) {
+    public boolean equals(getEvents_result that) {
       if (that == null)
         return false;
 
@@ -10483,7 +12317,7 @@ public class RemoteInterpreterService {
     }
 
     @Override
-    public int compareTo(getEvent_result other) {
+    public int compareTo(getEvents_result other) {
       if (!getClass().equals(other.getClass())) {
         return getClass().getName().compareTo(other.getClass().getName());
       }
@@ -10517,7 +12351,7 @@ public class RemoteInterpreterService {
 
     @Override
     public String toString() {
-      StringBuilder sb = new StringBuilder("getEvent_result(");
+      StringBuilder sb = new StringBuilder("getEvents_result(");
       boolean first = true;
 
       sb.append("success:");
@@ -10534,9 +12368,6 @@ public class RemoteInterpreterService {
     public void validate() throws org.apache.thrift.TException {
       // check for required fields
       // check for sub-struct validity
-      if (success != null) {
-        success.validate();
-      }
     }
 
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -10555,15 +12386,15 @@ public class RemoteInterpreterService {
       }
     }
 
-    private static class getEvent_resultStandardSchemeFactory implements SchemeFactory {
-      public getEvent_resultStandardScheme getScheme() {
-        return new getEvent_resultStandardScheme();
+    private static class getEvents_resultStandardSchemeFactory implements SchemeFactory {
+      public getEvents_resultStandardScheme getScheme() {
+        return new getEvents_resultStandardScheme();
       }
     }
 
-    private static class getEvent_resultStandardScheme extends StandardScheme<getEvent_result> {
+    private static class getEvents_resultStandardScheme extends StandardScheme<getEvents_result> {
 
-      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvent_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol iprot, getEvents_result struct) throws org.apache.thrift.TException {
         org.apache.thrift.protocol.TField schemeField;
         iprot.readStructBegin();
         while (true)
@@ -10574,9 +12405,19 @@ public class RemoteInterpreterService {
           }
           switch (schemeField.id) {
             case 0: // SUCCESS
-              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
-                struct.success = new RemoteInterpreterEvent();
-                struct.success.read(iprot);
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list34 = iprot.readListBegin();
+                  struct.success = new ArrayList<RemoteInterpreterEvent>(_list34.size);
+                  RemoteInterpreterEvent _elem35;
+                  for (int _i36 = 0; _i36 < _list34.size; ++_i36)
+                  {
+                    _elem35 = new RemoteInterpreterEvent();
+                    _elem35.read(iprot);
+                    struct.success.add(_elem35);
+                  }
+                  iprot.readListEnd();
+                }
                 struct.setSuccessIsSet(true);
               } else { 
                 org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
@@ -10593,13 +12434,20 @@ public class RemoteInterpreterService {
         struct.validate();
       }
 
-      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvent_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol oprot, getEvents_result struct) throws org.apache.thrift.TException {
         struct.validate();
 
         oprot.writeStructBegin(STRUCT_DESC);
         if (struct.success != null) {
           oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
-          struct.success.write(oprot);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.success.size()));
+            for (RemoteInterpreterEvent _iter37 : struct.success)
+            {
+              _iter37.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
           oprot.writeFieldEnd();
         }
         oprot.writeFieldStop();
@@ -10608,16 +12456,16 @@ public class RemoteInterpreterService {
 
     }
 
-    private static class getEvent_resultTupleSchemeFactory implements SchemeFactory {
-      public getEvent_resultTupleScheme getScheme() {
-        return new getEvent_resultTupleScheme();
+    private static class getEvents_resultTupleSchemeFactory implements SchemeFactory {
+      public getEvents_resultTupleScheme getScheme() {
+        return new getEvents_resultTupleScheme();
       }
     }
 
-    private static class getEvent_resultTupleScheme extends TupleScheme<getEvent_result> {
+    private static class getEvents_resultTupleScheme extends TupleScheme<getEvents_result> {
 
       @Override
-      public void write(org.apache.thrift.protocol.TProtocol prot, getEvent_result struct) throws org.apache.thrift.TException {
+      public void write(org.apache.thrift.protocol.TProtocol prot, getEvents_result struct) throws org.apache.thrift.TException {
         TTupleProtocol oprot = (TTupleProtocol) prot;
         BitSet optionals = new BitSet();
         if (struct.isSetSuccess()) {
@@ -10625,17 +12473,32 @@ public class RemoteInterpreterService {
         }
         oprot.writeBitSet(optionals, 1);
         if (struct.isSetSuccess()) {
-          struct.success.write(oprot);
+          {
+            oprot.writeI32(struct.success.size());
+            for (RemoteInterpreterEvent _iter38 : struct.success)
+            {
+              _iter38.write(oprot);
+            }
+          }
         }
       }
 
       @Override
-      public void read(org.apache.thrift.protocol.TProtocol prot, getEvent_result struct) throws org.apache.thrift.TException {
+      public void read(org.apache.thrift.protocol.TProtocol prot, getEvents_result struct) throws org.apache.thrift.TException {
         TTupleProtocol iprot = (TTupleProtocol) prot;
         BitSet incoming = iprot.readBitSet(1);
         if (incoming.get(0)) {
-          struct.success = new RemoteInterpreterEvent();
-          struct.success.read(iprot);
+          {
+            org.apache.thrift.protocol.TList _list39 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.success = new ArrayList<RemoteInterpreterEvent>(_list39.size);
+            RemoteInterpreterEvent _elem40;
+            for (int _i41 = 0; _i41 < _list39.size; ++_i41)
+            {
+              _elem40 = new RemoteInterpreterEvent();
+              _elem40.read(iprot);
+              struct.success.add(_elem40);
+            }
+          }
           struct.setSuccessIsSet(true);
         }
       }
@@ -21,6 +21,7 @@ package org.apache.zeppelin.resource;
  */
 public class RemoteResource extends Resource {
   ResourcePoolConnector resourcePoolConnector;
+  ResourceLocation location;
 
   RemoteResource(ResourceId resourceId, Object r) {
     super(resourceId, r);
@@ -52,4 +53,16 @@ public class RemoteResource extends Resource {
   public void setResourcePoolConnector(ResourcePoolConnector resourcePoolConnector) {
     this.resourcePoolConnector = resourcePoolConnector;
   }
+
+  /**
+   * @return location of the process holding the resource. null when it can be read only
+   * through Zeppelin server
+   */
+  public ResourceLocation getLocation() {
+    return location;
+  }
+
+  public void setLocation(ResourceLocation location) {
+    this.location = location;
+  }
 }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.resource;
+
+/**
+ * Where a remote resource can be read from directly.
+ * Zeppelin server only tells the location, and the interpreter process that needs the resource
+ * reads it from the owning process without passing the data through Zeppelin server.
+ */
+public class ResourceLocation {
+  private final String host;
+  private final int port;
+  private final String transport;
+  private final String protocol;
+  private final boolean compression;
+
+  public ResourceLocation(String host, int port, String transport, String protocol,
+      boolean compression) {
+    this.host = host;
+    this.port = port;
+    this.transport = transport;
+    this.protocol = protocol;
+    this.compression = compression;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public String getTransport() {
+    return transport;
+  }
+
+  public String getProtocol() {
+    return protocol;
+  }
+
+  public boolean isCompression() {
+    return compression;
+  }
+
+  @Override
+  public String toString() {
+    return host + ":" + port;
+  }
+}
@@ -0,0 +1,563 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.zeppelin.scheduler.Job.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of signal driven schedulers.
+ *
+ * There is no dispatch loop thread per scheduler. Jobs are handed to the executor
+ * by the thread that submits a job, or by the worker thread that just freed a slot.
+ * So an idle scheduler does not hold any thread, and a job starts as soon as
+ * a slot is available.
+ *
+ * Size of the waiting queue can be limited with a QueueLimit. Waiting jobs whose listener
+ * implements JobQueueListener are told their position in the queue.
+ *
+ * Duplicate submissions of the same code (see Job.getCoalesceKey()) run once.
+ * A duplicate is attached to the waiting, or optionally running, job and ends with its result.
+ */
+public abstract class AbstractScheduler implements Scheduler {
+  private static final Logger logger = LoggerFactory.getLogger(AbstractScheduler.class);
+  public static final String ATTACH_TO_RUNNING_PROPERTY = "zeppelin.scheduler.attachToRunning";
+
+  // waiting jobs by job id, in submission order
+  final Map<String, Job> queue = new LinkedHashMap<String, Job>();
+  final List<Job> running = new LinkedList<Job>();
+  // waiting and running jobs by job id. read without lock
+  private final Map<String, Job> jobIndex = new ConcurrentHashMap<String, Job>();
+  final ExecutorService executor;
+  final SchedulerListener listener;
+  final SchedulerMetrics metrics = new SchedulerMetrics();
+  volatile boolean terminate = false;
+  private final String name;
+  private int maxConcurrency;
+  private volatile QueueLimit queueLimit = QueueLimit.UNLIMITED;
+  private volatile boolean attachToRunning = false;
+  // duplicate jobs by the waiting or running job they're attached to
+  private final Map<Job, List<Job>> attached = new IdentityHashMap<Job, List<Job>>();
+
+  public AbstractScheduler(String name, ExecutorService executor, SchedulerListener listener,
+      int maxConcurrency) {
+    this.name = name;
+    this.executor = executor;
+    this.listener = listener;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Collection<Job> getJobsWaiting() {
+    List<Job> ret = new LinkedList<Job>();
+    synchronized (queue) {
+      ret.addAll(queue.values());
+    }
+    return ret;
+  }
+
+  @Override
+  public Collection<Job> getJobsRunning() {
+    List<Job> ret = new LinkedList<Job>();
+    synchronized (queue) {
+      for (Job job : running) {
+        ret.add(job);
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Submit a job. A job id has at most one waiting job.
+   * Submitting a job that is already waiting does nothing. A different job of the same id
+   * and coalesce key is attached to the waiting one, and a job of a different coalesce key
+   * replaces the waiting one, which is aborted.
+   * A new job submitted while the waiting queue is full is handled by the policy of
+   * the queue limit.
+   */
+  @Override
+  public void submit(Job job) {
+    String key = job.getCoalesceKey();
+    if (attachToRunning && key != null && jobIndex.get(job.getId()) == job
+        && job.isRunning() && key.equals(job.coalesceKey)) {
+      // same code is running. caller gets result of the run
+      metrics.jobCoalesced();
+      return;
+    }
+
+    job.setStatus(Status.PENDING);
+    Job replaced;
+    Job shed = null;
+    boolean refused = false;
+    synchronized (queue) {
+      replaced = queue.get(job.getId());
+      if (replaced == job) {
+        // e.g. a paragraph run again before it started. runs once, with its current code
+        job.coalesceKey = key;
+        metrics.jobCoalesced();
+        return;
+      }
+      if (attach(job, key, replaced)) {
+        return;
+      }
+      if (replaced == null && queueLimit.isFull(queue.size())) {
+        switch (queueLimit.getPolicy()) {
+            case SHED_OLDEST:
+              shed = queue.values().iterator().next();
+              queue.remove(shed.getId());
+              shed.queuePosition = 0;
+              metrics.jobShed();
+              reindex(shed.getId());
+              break;
+            case BLOCK:
+              refused = !awaitRoom();
+              // a job of the same id may be submitted while waiting
+              replaced = queue.get(job.getId());
+              if (replaced == job || (!refused && attach(job, key, replaced))) {
+                return;
+              }
+              break;
+            default:
+              refused = true;
+        }
+      }
+      if (!refused) {
+        job.coalesceKey = key;
+        job.timeSubmitted = (replaced == null) ? System.nanoTime() : replaced.timeSubmitted;
+        queue.put(job.getId(), job);
+        if (replaced == null) {
+          metrics.jobSubmitted();
+        } else {
+          metrics.jobReplaced();
+        }
+        if (!jobIndex.containsKey(job.getId()) || jobIndex.get(job.getId()) == replaced) {
+          jobIndex.put(job.getId(), job);
+        }
+      }
+    }
+
+    if (refused) {
+      metrics.jobRefused();
+      logger.warn("Scheduler " + name + " refused job " + job.getId() + ". queue is full");
+      job.setException(new RejectedExecutionException("Queue of scheduler " + name
+          + " is full. " + queueLimit.getMaxQueue() + " jobs are waiting"));
+      job.setStatus(Status.ERROR);
+      return;
+    }
+    if (shed != null) {
+      logger.warn("Scheduler " + name + " dropped waiting job " + shed.getId()
+          + ". queue is full");
+      shed.setException(new RejectedExecutionException("Dropped from the queue of scheduler "
+          + name + " to make room for newer jobs"));
+      shed.setStatus(Status.ERROR);
+      completeAttached(shed, Status.ERROR);
+    }
+    if (replaced != null) {
+      replaced.setStatus(Status.ABORT);
+      completeAttached(replaced, Status.ABORT);
+    }
+    dispatch();
+  }
+
+  /**
+   * Attach the job to the waiting job, or the running job if enabled, of the same id and
+   * coalesce key. Called with the queue lock held.
+   * @return true if attached
+   */
+  private boolean attach(Job job, String key, Job waiting) {
+    if (key == null) {
+      return false;
+    }
+    Job target = waiting;
+    if (target == null && attachToRunning) {
+      target = jobIndex.get(job.getId());
+    }
+    if (target == null || target == job || !key.equals(target.coalesceKey)) {
+      return false;
+    }
+
+    List<Job> jobs = attached.get(target);
+    if (jobs == null) {
+      jobs = new LinkedList<Job>();
+      attached.put(target, jobs);
+    }
+    jobs.add(job);
+    metrics.jobCoalesced();
+    return true;
+  }
+
+  /**
+   * End jobs attached to the job with the result of the job.
+   */
+  private void completeAttached(Job job, Status status) {
+    List<Job> jobs;
+    synchronized (queue) {
+      jobs = attached.remove(job);
+    }
+    if (jobs == null) {
+      return;
+    }
+    for (Job attachedJob : jobs) {
+      attachedJob.setResult(job.getReturn());
+      if (job.getException() != null) {
+        attachedJob.setException(job.getException());
+      }
+      attachedJob.setStatus(status);
+    }
+  }
+
+  /**
+   * Wait until the waiting queue has room, up to the block timeout of the queue limit.
+   * Called with the queue lock held.
+   * @return false if timed out
+   */
+  private boolean awaitRoom() {
+    long deadline = System.nanoTime() + queueLimit.getBlockTimeoutMs() * 1000000;
+    while (!terminate && queueLimit.isFull(queue.size())) {
+      long remainingMs = (deadline - System.nanoTime()) / 1000000;
+      if (remainingMs <= 0) {
+        return false;
+      }
+      try {
+        queue.wait(remainingMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Job removeFromWaitingQueue(String jobId) {
+    Job job;
+    synchronized (queue) {
+      job = queue.remove(jobId);
+      if (job != null) {
+        job.queuePosition = 0;
+        metrics.jobRemoved();
+        reindex(jobId);
+        queue.notifyAll();
+      }
+    }
+    if (job != null) {
+      completeAttached(job, Status.ABORT);
+    }
+    reportQueuePositions();
+    return job;
+  }
+
+  @Override
+  public Job getJob(String jobId) {
+    return jobIndex.get(jobId);
+  }
+
+  /**
+   * Update index of the job id after a job of the id left the scheduler.
+   * Running job is preferred to waiting one. Called with the queue lock held.
+   */
+  private void reindex(String jobId) {
+    for (Job job : running) {
+      if (job.getId().equals(jobId)) {
+        jobIndex.put(jobId, job);
+        return;
+      }
+    }
+    Job waiting = queue.get(jobId);
+    if (waiting != null) {
+      jobIndex.put(jobId, waiting);
+    } else {
+      jobIndex.remove(jobId);
+    }
+  }
+
+  @Override
+  public SchedulerMetrics getMetrics() {
+    return metrics;
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    synchronized (queue) {
+      this.maxConcurrency = maxConcurrency;
+    }
+    dispatch();
+  }
+
+  public QueueLimit getQueueLimit() {
+    return queueLimit;
+  }
+
+  /**
+   * Change limit of the waiting queue. Jobs already waiting are kept.
+   */
+  public void setQueueLimit(QueueLimit queueLimit) {
+    synchronized (queue) {
+      this.queueLimit = queueLimit;
+      queue.notifyAll();
+    }
+  }
+
+  public boolean isAttachToRunning() {
+    return attachToRunning;
+  }
+
+  /**
+   * @param attachToRunning attach a job to the running job of the same id and coalesce key,
+   *                        instead of running it again
+   */
+  public void setAttachToRunning(boolean attachToRunning) {
+    this.attachToRunning = attachToRunning;
+  }
+
+  @Override
+  public void stop() {
+    terminate = true;
+    synchronized (queue) {
+      queue.notifyAll();
+    }
+  }
+
+  /**
+   * Move jobs from the waiting queue to the executor while there're free slots.
+   * Called whenever something happens that may free a slot.
+   */
+  protected void dispatch() {
+    List<Job> jobs = new LinkedList<Job>();
+    List<Runnable> runners = new LinkedList<Runnable>();
+    synchronized (queue) {
+      while (!terminate && !queue.isEmpty() && canDispatch()) {
+        Job job = nextJob();
+        if (job == null) {
+          break;
+        }
+        queue.remove(job.getId());
+        job.queuePosition = 0;
+        job.timeDispatched = System.nanoTime();
+        job.pollGroup = getPollGroup();
+        metrics.jobDispatched((job.timeDispatched - job.timeSubmitted) / 1000000);
+        running.add(job);
+        jobs.add(job);
+        runners.add(createJobRunner(job));
+      }
+      if (!jobs.isEmpty()) {
+        queue.notifyAll();
+      }
+    }
+
+    // hand over to the executor outside of the lock
+    Iterator<Job> jobIt = jobs.iterator();
+    for (Runnable runner : runners) {
+      Job job = jobIt.next();
+      try {
+        executor.execute(runner);
+      } catch (RejectedExecutionException e) {
+        logger.error("Scheduler " + name + " can't execute job " + job.getId(), e);
+        jobRejected(job, e);
+      }
+    }
+    reportQueuePositions();
+  }
+
+  /**
+   * Tell waiting jobs whose position changed their new position.
+   * Position follows submission order, so it's approximate for schedulers
+   * that pick jobs in a different order.
+   */
+  private void reportQueuePositions() {
+    List<Job> changed = new LinkedList<Job>();
+    List<Integer> positions = new LinkedList<Integer>();
+    synchronized (queue) {
+      int position = 0;
+      for (Job job : queue.values()) {
+        position++;
+        if (job.queuePosition != position) {
+          job.queuePosition = position;
+          if (job.getListener() instanceof JobQueueListener) {
+            changed.add(job);
+            positions.add(position);
+          }
+        }
+      }
+    }
+
+    Iterator<Integer> positionIt = positions.iterator();
+    for (Job job : changed) {
+      int position = positionIt.next();
+      try {
+        ((JobQueueListener) job.getListener()).onQueuePositionChange(job, position,
+            estimateWaitMs(position));
+      } catch (RuntimeException e) {
+        logger.error("Can't report queue position of job " + job.getId(), e);
+      }
+    }
+  }
+
+  /**
+   * Estimate wait time from the mean run time of finished jobs.
+   * @return -1 if no job finished yet
+   */
+  long estimateWaitMs(int position) {
+    Histogram runTime = metrics.getRunTime();
+    if (runTime.getCount() == 0) {
+      return -1;
+    }
+    // jobs ahead of this one run maxConcurrency at a time
+    int slots = Math.max(1, maxConcurrency);
+    return (long) (runTime.getMean() * ((position - 1) / slots + 1));
+  }
+
+  /**
+   * Called with the queue lock held.
+   * @return true if one more job can be moved from the queue to the executor
+   */
+  protected boolean canDispatch() {
+    return running.size() < maxConcurrency;
+  }
+
+  /**
+   * Called with the queue lock held.
+   * @return job in the waiting queue to run next. null if no job can run now
+   */
+  protected Job nextJob() {
+    return queue.values().iterator().next();
+  }
+
+  /**
+   * @return key to batch progress and status polls of jobs of this scheduler
+   */
+  protected Object getPollGroup() {
+    return this;
+  }
+
+  /**
+   * Called with the queue lock held, when job is moved from waiting to running.
+   */
+  protected Runnable createJobRunner(Job job) {
+    return new LocalJobRunner(job);
+  }
+
+  /**
+   * Should be called once a job dispatched by this scheduler is done.
+   */
+  protected void jobFinished(Job job) {
+    synchronized (queue) {
+      if (removeRunning(job)) {
+        metrics.jobFinished(job.getStatus(), (System.nanoTime() - job.timeDispatched) / 1000000);
+        reindex(job.getId());
+      }
+    }
+    completeAttached(job, job.getStatus());
+    dispatch();
+  }
+
+  /**
+   * Called when the executor rejected a dispatched job. The job ends with ERROR status,
+   * instead of staying in PENDING status forever.
+   */
+  protected void jobRejected(Job job, RejectedExecutionException e) {
+    synchronized (queue) {
+      if (removeRunning(job)) {
+        metrics.jobRejected();
+        reindex(job.getId());
+      }
+    }
+    job.setException(e);
+    job.setStatus(Status.ERROR);
+    completeAttached(job, Status.ERROR);
+  }
+
+  // remove by identity. jobs of the same id are equal
+  private boolean removeRunning(Job job) {
+    Iterator<Job> it = running.iterator();
+    while (it.hasNext()) {
+      if (it.next() == job) {
+        it.remove();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Runs a job in the local JVM.
+   */
+  class LocalJobRunner implements Runnable {
+    final Job job;
+
+    LocalJobRunner(Job job) {
+      this.job = job;
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (job.isAborted()) {
+          job.setStatus(Status.ABORT);
+          job.aborted = false;
+          return;
+        }
+
+        Scheduler scheduler = AbstractScheduler.this;
+        job.setStatus(Status.RUNNING);
+        if (listener != null) {
+          listener.jobStarted(scheduler, job);
+        }
+        job.run();
+        if (job.isAborted()) {
+          job.setStatus(Status.ABORT);
+        } else {
+          if (job.getException() != null) {
+            job.setStatus(Status.ERROR);
+          } else {
+            job.setStatus(Status.FINISHED);
+          }
+        }
+
+        if (listener != null) {
+          listener.jobFinished(scheduler, job);
+        }
+
+        // reset aborted flag to allow retry
+        job.aborted = false;
+      } finally {
+        jobFinished(job);
+      }
+    }
+  }
+}
@@ -14,21 +14,40 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package org.apache.zeppelin.scheduler;
 
-import java.util.HashMap;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- *
+ * Creates and keeps named executors.
+ * Every executor has bounded number of threads and bounded queue, named threads,
+ * and exposes its utilization through JMX.
  */
 public class ExecutorFactory {
+  private static final Logger logger = LoggerFactory.getLogger(ExecutorFactory.class);
+  public static final int DEFAULT_MAX_THREADS = 100;
+  public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
   private static ExecutorFactory _executor;
   private static Long _executorLock = new Long(0);
 
-  Map<String, ExecutorService> executor = new HashMap<String, ExecutorService>();
+  Map<String, ManagedExecutor> executor = new LinkedHashMap<String, ManagedExecutor>();
 
   public ExecutorFactory() {
 
@@ -45,39 +64,116 @@ public class ExecutorFactory {
     return _executor;
   }
 
-  public ExecutorService getDefaultExecutor() {
+  public ManagedExecutor getDefaultExecutor() {
     return createOrGet("default");
   }
 
-  public ExecutorService createOrGet(String name) {
-    return createOrGet(name, 100);
+  public ManagedExecutor createOrGet(String name) {
+    return createOrGet(name, DEFAULT_MAX_THREADS);
   }
 
-  public ExecutorService createOrGet(String name, int numThread) {
+  public ManagedExecutor createOrGet(String name, int numThread) {
+    return createOrGetThreadPool(name, numThread, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT);
+  }
+
+  /**
+   * Thread pool for long running tasks, like jobs of schedulers.
+   * In virtual thread mode, each task runs on a new virtual thread instead.
+   * Returns existing executor as is when there's one of the name.
+   */
+  public ManagedExecutor createOrGetThreadPool(String name, int maxThreads, int queueCapacity,
+      RejectionPolicy rejectionPolicy) {
     synchronized (executor) {
       if (!executor.containsKey(name)) {
-        executor.put(name, Executors.newScheduledThreadPool(numThread));
+        if (VirtualThreads.isEnabled()) {
+          add(new VirtualThreadExecutor(name, VirtualThreads.newVirtualThreadFactory(name),
+              maxThreads, queueCapacity, rejectionPolicy));
+        } else {
+          add(new ManagedThreadPoolExecutor(name, maxThreads, queueCapacity, rejectionPolicy));
+        }
       }
       return executor.get(name);
     }
   }
 
+  /**
+   * Work stealing pool for many short tasks, like callbacks.
+   * Returns existing executor as is when there's one of the name.
+   */
+  public ManagedExecutor createOrGetWorkStealing(String name, int parallelism,
+      int queueCapacity, RejectionPolicy rejectionPolicy) {
+    synchronized (executor) {
+      if (!executor.containsKey(name)) {
+        add(new WorkStealingExecutor(name, parallelism, queueCapacity, rejectionPolicy));
+      }
+      return executor.get(name);
+    }
+  }
+
+  private void add(ManagedExecutor e) {
+    executor.put(e.getName(), e);
+    registerMBean(e);
+  }
+
+  public ManagedExecutor get(String name) {
+    synchronized (executor) {
+      return executor.get(name);
+    }
+  }
+
+  public Collection<ManagedExecutor> list() {
+    synchronized (executor) {
+      return new LinkedList<ManagedExecutor>(executor.values());
+    }
+  }
+
   public void shutdown(String name) {
     synchronized (executor) {
-      if (executor.containsKey(name)) {
-        ExecutorService e = executor.get(name);
+      ManagedExecutor e = executor.remove(name);
+      if (e != null) {
         e.shutdown();
-        executor.remove(name);
+        unregisterMBean(e);
       }
     }
   }
 
-
   public void shutdownAll() {
     synchronized (executor) {
-      for (String name : executor.keySet()){
+      List<String> names = new LinkedList<String>(executor.keySet());
+      for (String name : names) {
         shutdown(name);
       }
     }
   }
+
+  private ObjectName objectName(ManagedExecutor e) throws MalformedObjectNameException {
+    return new ObjectName("org.apache.zeppelin:type=Executor,name="
+        + ObjectName.quote(e.getName()));
+  }
+
+  private void registerMBean(ManagedExecutor e) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = objectName(e);
+      if (server.isRegistered(name)) {
+        // executor of the same name created by another factory
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(new StandardMBean(e, ManagedExecutorMBean.class), name);
+    } catch (JMException ex) {
+      logger.warn("Can't register executor " + e.getName(), ex);
+    }
+  }
+
+  private void unregisterMBean(ManagedExecutor e) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = objectName(e);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException ex) {
+      logger.warn("Can't unregister executor " + e.getName(), ex);
+    }
+  }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * FairShareScheduler runs submitted job concurrently, sharing slots among tenants
+ * (note and user of the job) by weighted fair queuing.
+ *
+ * Enable it for an interpreter setting with the property zeppelin.scheduler=fair.
+ * See WeightedFairQueue for other properties.
+ */
+public class FairShareScheduler extends AbstractScheduler {
+  private final WeightedFairQueue fairQueue;
+
+  public FairShareScheduler(String name, ExecutorService executor, SchedulerListener listener,
+      int maxConcurrency, WeightedFairQueue fairQueue) {
+    super(name, executor, listener, maxConcurrency);
+    this.fairQueue = fairQueue;
+  }
+
+  @Override
+  protected Job nextJob() {
+    return fairQueue.next(queue.values());
+  }
+
+  @Override
+  protected void jobFinished(Job job) {
+    synchronized (queue) {
+      fairQueue.finished(job);
+    }
+    super.jobFinished(job);
+  }
+
+  @Override
+  protected void jobRejected(Job job, RejectedExecutionException e) {
+    synchronized (queue) {
+      fairQueue.finished(job);
+    }
+    super.jobRejected(job, e);
+  }
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer for many short periodic tasks, like polling progress and status of jobs.
+ *
+ * One thread advances a wheel of buckets every tick, instead of a sleeping thread per task.
+ * Expired tasks run on an executor. Tasks of the same batch key that expire in the same tick
+ * run one after another in a single executor task. For example, polls of jobs on the same
+ * interpreter process share a thread and a connection.
+ *
+ * The thread parks while no task is scheduled, and schedule() wakes it up.
+ */
+public class HashedWheelTimer {
+  private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+  public static final long DEFAULT_TICK_MSEC = 50;
+  public static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private static HashedWheelTimer singleton;
+  private static final Object singletonLock = new Object();
+
+  private final long tickNanos;
+  private final List<Timeout>[] wheel;
+  private final int mask;
+  private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<Timeout>();
+  private final Executor executor;
+  private final Thread thread;
+  private final long startTime;
+  private volatile boolean stopped = false;
+  // set while the thread is parked on an empty wheel
+  private volatile boolean idle = false;
+  private long tick = 0;
+  // timeouts in the wheel. timer thread only
+  private int pending = 0;
+
+  /**
+   * Shared timer for job pollers.
+   */
+  public static HashedWheelTimer singleton() {
+    synchronized (singletonLock) {
+      if (singleton == null) {
+        singleton = new HashedWheelTimer("jobPoller", DEFAULT_TICK_MSEC, DEFAULT_WHEEL_SIZE,
+            ExecutorFactory.singleton().createOrGetThreadPool("jobPoller", 10,
+                ExecutorFactory.DEFAULT_QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS));
+      }
+      return singleton;
+    }
+  }
+
+  /**
+   * @param wheelSize number of buckets. rounded up to a power of 2
+   */
+  @SuppressWarnings("unchecked")
+  public HashedWheelTimer(String name, long tickMs, int wheelSize, Executor executor) {
+    int size = 1;
+    while (size < wheelSize) {
+      size <<= 1;
+    }
+    this.wheel = new List[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new LinkedList<Timeout>();
+    }
+    this.mask = size - 1;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+    this.executor = executor;
+    this.startTime = System.nanoTime();
+
+    thread = new NamedThreadFactory(name + "Timer").newThread(new Runnable() {
+      @Override
+      public void run() {
+        HashedWheelTimer.this.run();
+      }
+    });
+    thread.start();
+  }
+
+  /**
+   * Run the task once after the delay.
+   *
+   * @param batchKey tasks of the same key expired together run in a single executor task.
+   *                 null to run alone
+   */
+  public Timeout schedule(Runnable task, long delayMs, Object batchKey) {
+    if (stopped) {
+      throw new IllegalStateException("Timer stopped");
+    }
+    long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delayMs);
+    Timeout timeout = new Timeout(task, deadline, batchKey);
+    newTimeouts.add(timeout);
+    if (idle) {
+      LockSupport.unpark(thread);
+    }
+    return timeout;
+  }
+
+  public void stop() {
+    stopped = true;
+    thread.interrupt();
+  }
+
+  boolean isIdle() {
+    return idle;
+  }
+
+  private void run() {
+    while (!stopped) {
+      if (pending == 0 && newTimeouts.isEmpty()) {
+        parkUntilScheduled();
+        continue;
+      }
+
+      long deadline = tickNanos * (tick + 1);
+      long sleepNanos = deadline - (System.nanoTime() - startTime);
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          continue;
+        }
+      }
+
+      transferNewTimeouts();
+      List<Timeout> expired = expire(wheel[(int) (tick & mask)]);
+      tick++;
+      if (!expired.isEmpty()) {
+        runBatches(expired);
+      }
+    }
+  }
+
+  /**
+   * Park until schedule() adds a timeout. Ticks of the parked time are skipped, as the wheel is
+   * empty.
+   */
+  private void parkUntilScheduled() {
+    idle = true;
+    // schedule() may have added one before it saw idle
+    while (newTimeouts.isEmpty() && !stopped) {
+      LockSupport.park(this);
+    }
+    idle = false;
+    tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+  }
+
+  private void transferNewTimeouts() {
+    Timeout timeout;
+    while ((timeout = newTimeouts.poll()) != null) {
+      if (timeout.cancelled) {
+        continue;
+      }
+      long expireTick = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (expireTick - tick) / wheel.length;
+      wheel[(int) (expireTick & mask)].add(timeout);
+      pending++;
+    }
+  }
+
+  private List<Timeout> expire(List<Timeout> bucket) {
+    List<Timeout> expired = new LinkedList<Timeout>();
+    Iterator<Timeout> it = bucket.iterator();
+    while (it.hasNext()) {
+      Timeout timeout = it.next();
+      if (timeout.cancelled) {
+        it.remove();
+        pending--;
+      } else if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+      } else {
+        it.remove();
+        pending--;
+        expired.add(timeout);
+      }
+    }
+    return expired;
+  }
+
+  private void runBatches(List<Timeout> expired) {
+    Map<Object, List<Timeout>> batches = new LinkedHashMap<Object, List<Timeout>>();
+    for (Timeout timeout : expired) {
+      // timeout without key is a batch by itself
+      Object key = (timeout.batchKey == null) ? timeout : timeout.batchKey;
+      List<Timeout> batch = batches.get(key);
+      if (batch == null) {
+        batch = new LinkedList<Timeout>();
+        batches.put(key, batch);
+      }
+      batch.add(timeout);
+    }
+
+    for (final List<Timeout> batch : batches.values()) {
+      Runnable runner = new Runnable() {
+        @Override
+        public void run() {
+          for (Timeout timeout : batch) {
+            timeout.expire();
+          }
+        }
+      };
+      try {
+        executor.execute(runner);
+      } catch (RejectedExecutionException e) {
+        // executor is shutdown. keep the timer thread alive
+        runner.run();
+      }
+    }
+  }
+
+  /**
+   * Handle of a scheduled task.
+   */
+  public static class Timeout {
+    private final Runnable task;
+    private final long deadline;
+    private final Object batchKey;
+    private volatile boolean cancelled = false;
+    private long remainingRounds;
+
+    Timeout(Runnable task, long deadline, Object batchKey) {
+      this.task = task;
+      this.deadline = deadline;
+      this.batchKey = batchKey;
+    }
+
+    /**
+     * Task does not run once cancelled. A task already running keeps running.
+     */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    private void expire() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (Exception e) {
+        logger.error("Timer task failed", e);
+      }
+    }
+  }
+}
@@ -81,6 +81,15 @@ public abstract class Job {
   static Logger LOGGER = LoggerFactory.getLogger(Job.class);
 
   transient boolean aborted = false;
+  // System.nanoTime() when submitted to and dispatched by a scheduler
+  transient long timeSubmitted;
+  transient long timeDispatched;
+  // polls of jobs in the same group are batched. set by the scheduler
+  transient Object pollGroup;
+  // position in the waiting queue of the scheduler. 0 if not waiting
+  transient volatile int queuePosition;
+  // coalesce key when submitted
+  transient String coalesceKey;
 
   String errorMessage;
   private transient Throwable exception;
@@ -154,6 +163,14 @@ public abstract class Job {
     return listener;
   }
 
+  /**
+   * @return position in the waiting queue of the scheduler, 1 for the job to run next.
+   *         0 if the job is not waiting
+   */
+  public int getQueuePosition() {
+    return queuePosition;
+  }
+
   public boolean isTerminated() {
     return !this.status.isReady() && !this.status.isRunning() && !this.status.isPending();
   }
@@ -222,6 +239,22 @@ public abstract class Job {
     this.jobName = jobName;
   }
 
+  /**
+   * Jobs with the same tenant share a slot in fair share scheduling.
+   * @return tenant key of this job. null when job does not belong to any tenant.
+   */
+  public String getTenant() {
+    return null;
+  }
+
+  /**
+   * Scheduler runs submissions of a job id with the same coalesce key once.
+   * @return key of the code this job runs, e.g. hash of the script. null to always run
+   */
+  public String getCoalesceKey() {
+    return null;
+  }
+
   public abstract int progress();
 
   public abstract Map<String, Object> info();
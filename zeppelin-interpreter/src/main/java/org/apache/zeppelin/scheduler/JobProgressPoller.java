@@ -21,48 +21,85 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * TODO(moon) : add description.
+ * Polls progress of a running job and updates the job listener.
+ *
+ * Polls run on the shared HashedWheelTimer, not on a thread per job. While progress
+ * does not change, the interval doubles up to MAX_BACKOFF times the base interval.
+ * It goes back to the base interval once progress changes.
  */
-public class JobProgressPoller extends Thread {
+public class JobProgressPoller implements Runnable {
   public static final long DEFAULT_INTERVAL_MSEC = 500;
+  public static final int MAX_BACKOFF = 8;
   Logger logger = LoggerFactory.getLogger(JobProgressPoller.class);
-  private Job job;
+  private final Job job;
+  private final HashedWheelTimer timer;
   private long intervalMs;
-  boolean terminate = false;
+  private long currentIntervalMs;
+  private int lastProgress = -1;
+  volatile boolean terminate = false;
+  private volatile HashedWheelTimer.Timeout timeout;
 
   public JobProgressPoller(Job job, long intervalMs) {
+    this(job, intervalMs, HashedWheelTimer.singleton());
+  }
+
+  JobProgressPoller(Job job, long intervalMs, HashedWheelTimer timer) {
     this.job = job;
     this.intervalMs = intervalMs;
+    this.timer = timer;
   }
 
-  @Override
-  public void run() {
+  public void start() {
     if (intervalMs < 0) {
       return;
     } else if (intervalMs == 0) {
       intervalMs = DEFAULT_INTERVAL_MSEC;
     }
+    currentIntervalMs = intervalMs;
+    schedule();
+  }
+
+  private void schedule() {
+    if (!terminate) {
+      timeout = timer.schedule(this, currentIntervalMs, job.pollGroup);
+    }
+  }
+
+  @Override
+  public void run() {
+    if (terminate) {
+      return;
+    }
 
-    while (terminate == false) {
-      JobListener listener = job.getListener();
-      if (listener != null) {
-        try {
-          if (job.isRunning()) {
-            listener.onProgressUpdate(job, job.progress());
+    JobListener listener = job.getListener();
+    if (listener != null) {
+      try {
+        if (job.isRunning()) {
+          int progress = job.progress();
+          if (progress != lastProgress) {
+            lastProgress = progress;
+            currentIntervalMs = intervalMs;
+            listener.onProgressUpdate(job, progress);
+          } else {
+            currentIntervalMs = Math.min(currentIntervalMs * 2, intervalMs * MAX_BACKOFF);
           }
-        } catch (Exception e) {
-          logger.error("Can not get or update progress", e);
         }
-      }
-      try {
-        Thread.sleep(intervalMs);
-      } catch (InterruptedException e) {
-        logger.error("Exception in JobProgressPoller while run Thread.sleep", e);
+      } catch (Exception e) {
+        logger.error("Can not get or update progress", e);
       }
     }
+    schedule();
   }
 
   public void terminate() {
     terminate = true;
+    HashedWheelTimer.Timeout t = timeout;
+    if (t != null) {
+      t.cancel();
+    }
+  }
+
+  long getCurrentIntervalMs() {
+    return currentIntervalMs;
   }
 }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executor created and tracked by ExecutorFactory.
+ * Threads are named after the executor, the number of threads and queued tasks are bounded.
+ */
+public interface ManagedExecutor extends ExecutorService, ManagedExecutorMBean {
+  /**
+   * What to do with a task submitted when the executor is full.
+   */
+  public static enum RejectionPolicy {
+    // throw RejectedExecutionException
+    ABORT,
+    // run the task in the thread that submits it
+    CALLER_RUNS,
+    // drop the task
+    DISCARD,
+    // drop the oldest queued task and retry
+    DISCARD_OLDEST
+  }
+
+  RejectionPolicy getRejectionPolicy();
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread pool with bounded threads and queue.
+ * Threads are created on demand and terminated after idle for a minute.
+ */
+public class ManagedThreadPoolExecutor extends ThreadPoolExecutor implements ManagedExecutor {
+  static final long KEEP_ALIVE_SEC = 60;
+
+  private final String name;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+  private final AtomicLong rejected = new AtomicLong();
+
+  public ManagedThreadPoolExecutor(String name, int maxThreads, int queueCapacity,
+      RejectionPolicy rejectionPolicy) {
+    super(maxThreads, maxThreads, KEEP_ALIVE_SEC, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(queueCapacity), new NamedThreadFactory(name));
+    this.name = name;
+    this.queueCapacity = queueCapacity;
+    this.rejectionPolicy = rejectionPolicy;
+    allowCoreThreadTimeOut(true);
+    setRejectedExecutionHandler(new CountingHandler(handlerOf(rejectionPolicy)));
+  }
+
+  private static RejectedExecutionHandler handlerOf(RejectionPolicy policy) {
+    switch (policy) {
+        case CALLER_RUNS:
+          return new CallerRunsPolicy();
+        case DISCARD:
+          return new DiscardPolicy();
+        case DISCARD_OLDEST:
+          return new DiscardOldestPolicy();
+        default:
+          return new AbortPolicy();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public RejectionPolicy getRejectionPolicy() {
+    return rejectionPolicy;
+  }
+
+  @Override
+  public int getMaxThreads() {
+    return getMaximumPoolSize();
+  }
+
+  @Override
+  public synchronized void resize(int maxThreads) {
+    if (maxThreads <= 0) {
+      throw new IllegalArgumentException("maxThreads should be positive");
+    }
+    // keep core <= max in every step
+    if (maxThreads > getMaximumPoolSize()) {
+      setMaximumPoolSize(maxThreads);
+      setCorePoolSize(maxThreads);
+    } else {
+      setCorePoolSize(maxThreads);
+      setMaximumPoolSize(maxThreads);
+    }
+  }
+
+  @Override
+  public int getActiveThreads() {
+    return getActiveCount();
+  }
+
+  @Override
+  public int getQueueSize() {
+    return getQueue().size();
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public long getCompletedTasks() {
+    return getCompletedTaskCount();
+  }
+
+  @Override
+  public long getRejectedTasks() {
+    return rejected.get();
+  }
+
+  @Override
+  public double getUtilization() {
+    return (double) getActiveCount() / getMaximumPoolSize();
+  }
+
+  private class CountingHandler implements RejectedExecutionHandler {
+    private final RejectedExecutionHandler handler;
+
+    CountingHandler(RejectedExecutionHandler handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+      rejected.incrementAndGet();
+      handler.rejectedExecution(r, executor);
+    }
+  }
+}
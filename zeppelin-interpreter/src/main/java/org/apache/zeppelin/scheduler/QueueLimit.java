@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control of a scheduler's waiting queue.
+ * Limits number of waiting jobs, so a burst of submissions can't pile up jobs in heap.
+ * Queues are unlimited unless zeppelin.scheduler.maxQueue is set.
+ */
+public class QueueLimit {
+  private static final Logger logger = LoggerFactory.getLogger(QueueLimit.class);
+
+  public static final String MAX_QUEUE_PROPERTY = "zeppelin.scheduler.maxQueue";
+  public static final String POLICY_PROPERTY = "zeppelin.scheduler.queue.policy";
+  public static final String BLOCK_TIMEOUT_PROPERTY = "zeppelin.scheduler.queue.blockTimeout";
+  public static final int DEFAULT_MAX_QUEUE = 0;
+  public static final long DEFAULT_BLOCK_TIMEOUT_MS = 30 * 1000;
+
+  public static final QueueLimit UNLIMITED = new QueueLimit(0, Policy.REJECT, 0);
+
+  /**
+   * What to do with a job submitted when the queue is full.
+   */
+  public static enum Policy {
+    // job ends with ERROR status
+    REJECT("reject"),
+    // oldest waiting job ends with ERROR status, to make room for the new one
+    SHED_OLDEST("shedOldest"),
+    // submitting thread waits for room up to the block timeout, and then rejects
+    BLOCK("block");
+
+    private final String value;
+
+    Policy(String value) {
+      this.value = value;
+    }
+
+    public static Policy fromString(String value) {
+      for (Policy policy : values()) {
+        if (policy.value.equalsIgnoreCase(value) || policy.name().equalsIgnoreCase(value)) {
+          return policy;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  private final int maxQueue;
+  private final Policy policy;
+  private final long blockTimeoutMs;
+
+  /**
+   * @param maxQueue max number of waiting jobs. 0 for unlimited
+   * @param policy what to do when the queue is full
+   * @param blockTimeoutMs max time to wait for room, with Policy.BLOCK
+   */
+  public QueueLimit(int maxQueue, Policy policy, long blockTimeoutMs) {
+    this.maxQueue = maxQueue;
+    this.policy = policy;
+    this.blockTimeoutMs = blockTimeoutMs;
+  }
+
+  /**
+   * Create from interpreter properties. Queue is unlimited unless configured otherwise.
+   */
+  public static QueueLimit fromProperties(Properties property) {
+    int maxQueue = SchedulerProperties.getInt(property, MAX_QUEUE_PROPERTY, DEFAULT_MAX_QUEUE);
+    Policy policy = Policy.REJECT;
+    String policyValue = (property == null) ? null : property.getProperty(POLICY_PROPERTY);
+    if (policyValue != null && !policyValue.trim().isEmpty()) {
+      policy = Policy.fromString(policyValue.trim());
+      if (policy == null) {
+        logger.warn("Invalid " + POLICY_PROPERTY + " '" + policyValue + "'. Use "
+            + Policy.REJECT);
+        policy = Policy.REJECT;
+      }
+    }
+    long blockTimeoutMs = SchedulerProperties.getLong(property, BLOCK_TIMEOUT_PROPERTY,
+        DEFAULT_BLOCK_TIMEOUT_MS);
+    return new QueueLimit(maxQueue, policy, blockTimeoutMs);
+  }
+
+  public int getMaxQueue() {
+    return maxQueue;
+  }
+
+  public Policy getPolicy() {
+    return policy;
+  }
+
+  public long getBlockTimeoutMs() {
+    return blockTimeoutMs;
+  }
+
+  boolean isFull(int queueSize) {
+    return maxQueue > 0 && queueSize >= maxQueue;
+  }
+
+  @Override
+  public String toString() {
+    return (maxQueue > 0 ? Integer.toString(maxQueue) : "unlimited") + " " + policy;
+  }
+}
@@ -17,278 +17,129 @@
 
 package org.apache.zeppelin.scheduler;
 
-import org.apache.thrift.TException;
 import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterResult.Code;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcess;
-import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+import org.apache.zeppelin.interpreter.remote.RemoteJobStatusListener;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * RemoteScheduler runs in ZeppelinServer and proxies Scheduler running on RemoteInterpreter
  */
-public class RemoteScheduler implements Scheduler {
+public class RemoteScheduler extends AbstractScheduler {
   Logger logger = LoggerFactory.getLogger(RemoteScheduler.class);
 
-  List<Job> queue = new LinkedList<Job>();
-  List<Job> running = new LinkedList<Job>();
-  private ExecutorService executor;
-  private SchedulerListener listener;
-  boolean terminate = false;
-  private String name;
-  private int maxConcurrency;
   private RemoteInterpreterProcess interpreterProcess;
+  private WeightedFairQueue fairQueue;
+
+  // job dispatched but not yet submitted to the remote. next job waits for it.
+  private JobRunner jobInSubmission;
 
   public RemoteScheduler(String name, ExecutorService executor,
       RemoteInterpreterProcess interpreterProcess, SchedulerListener listener,
       int maxConcurrency) {
-    this.name = name;
-    this.executor = executor;
-    this.listener = listener;
+    this(name, executor, interpreterProcess, listener, maxConcurrency, null);
+  }
+
+  /**
+   * @param fairQueue order of submitting jobs to the remote process. null for FIFO
+   */
+  public RemoteScheduler(String name, ExecutorService executor,
+      RemoteInterpreterProcess interpreterProcess, SchedulerListener listener,
+      int maxConcurrency, WeightedFairQueue fairQueue) {
+    super(name, executor, listener, maxConcurrency);
     this.interpreterProcess = interpreterProcess;
-    this.maxConcurrency = maxConcurrency;
+    this.fairQueue = fairQueue;
   }
 
   @Override
-  public void run() {
-    while (terminate == false) {
-      Job job = null;
-
-      synchronized (queue) {
-        if (running.size() >= maxConcurrency || queue.isEmpty() == true) {
-          try {
-            queue.wait(500);
-          } catch (InterruptedException e) {
-            logger.error("Exception in RemoteScheduler while run queue.wait", e);
-          }
-          continue;
-        }
-
-        job = queue.remove(0);
-        running.add(job);
-      }
-
-      // run
-      Scheduler scheduler = this;
-      JobRunner jobRunner = new JobRunner(scheduler, job);
-      executor.execute(jobRunner);
-
-      // wait until it is submitted to the remote
-      while (!jobRunner.isJobSubmittedInRemote()) {
-        synchronized (queue) {
-          try {
-            queue.wait(500);
-          } catch (InterruptedException e) {
-            logger.error("Exception in RemoteScheduler while jobRunner.isJobSubmittedInRemote " +
-                "queue.wait", e);
-          }
-        }
-      }
+  public void submit(Job job) {
+    if (terminate) {
+      throw new RuntimeException("Scheduler already terminated");
     }
+    super.submit(job);
   }
 
   @Override
-  public String getName() {
-    return name;
+  protected boolean canDispatch() {
+    // keep submission order in the remote scheduler
+    return jobInSubmission == null && super.canDispatch();
   }
 
   @Override
-  public Collection<Job> getJobsWaiting() {
-    List<Job> ret = new LinkedList<Job>();
-    synchronized (queue) {
-      for (Job job : queue) {
-        ret.add(job);
-      }
+  protected Job nextJob() {
+    if (fairQueue == null) {
+      return super.nextJob();
     }
-    return ret;
+    return fairQueue.next(queue.values());
   }
 
   @Override
-  public Job removeFromWaitingQueue(String jobId) {
-    synchronized (queue) {
-      Iterator<Job> it = queue.iterator();
-      while (it.hasNext()) {
-        Job job = it.next();
-        if (job.getId().equals(jobId)) {
-          it.remove();
-          return job;
-        }
-      }
-    }
-    return null;
+  protected Runnable createJobRunner(Job job) {
+    jobInSubmission = new JobRunner(this, job);
+    return jobInSubmission;
   }
 
   @Override
-  public Collection<Job> getJobsRunning() {
-    List<Job> ret = new LinkedList<Job>();
+  protected void jobFinished(Job job) {
     synchronized (queue) {
-      for (Job job : running) {
-        ret.add(job);
+      if (jobInSubmission != null && jobInSubmission.job == job) {
+        jobInSubmission = null;
+      }
+      if (fairQueue != null) {
+        fairQueue.finished(job);
       }
     }
-    return ret;
+    super.jobFinished(job);
   }
 
   @Override
-  public void submit(Job job) {
-    if (terminate) {
-      throw new RuntimeException("Scheduler already terminated");
-    }
-    job.setStatus(Status.PENDING);
-
+  protected void jobRejected(Job job, RejectedExecutionException e) {
     synchronized (queue) {
-      queue.add(job);
-      queue.notify();
-    }
-  }
-
-  public void setMaxConcurrency(int maxConcurrency) {
-    this.maxConcurrency = maxConcurrency;
-    synchronized (queue) {
-      queue.notify();
-    }
-  }
-
-  /**
-   * Role of the class is get status info from remote process from PENDING to
-   * RUNNING status.
-   */
-  private class JobStatusPoller extends Thread {
-    private long initialPeriodMsec;
-    private long initialPeriodCheckIntervalMsec;
-    private long checkIntervalMsec;
-    private boolean terminate;
-    private JobListener listener;
-    private Job job;
-    Status lastStatus;
-
-    public JobStatusPoller(long initialPeriodMsec,
-        long initialPeriodCheckIntervalMsec, long checkIntervalMsec, Job job,
-        JobListener listener) {
-      this.initialPeriodMsec = initialPeriodMsec;
-      this.initialPeriodCheckIntervalMsec = initialPeriodCheckIntervalMsec;
-      this.checkIntervalMsec = checkIntervalMsec;
-      this.job = job;
-      this.listener = listener;
-      this.terminate = false;
-    }
-
-    @Override
-    public void run() {
-      long started = System.currentTimeMillis();
-      while (terminate == false) {
-        long current = System.currentTimeMillis();
-        long interval;
-        if (current - started < initialPeriodMsec) {
-          interval = initialPeriodCheckIntervalMsec;
-        } else {
-          interval = checkIntervalMsec;
-        }
-
-        synchronized (this) {
-          try {
-            this.wait(interval);
-          } catch (InterruptedException e) {
-            logger.error("Exception in RemoteScheduler while run this.wait", e);
-          }
-        }
-
-        if (terminate) {
-          // terminated by shutdown
-          break;
-        }
-
-        Status newStatus = getStatus();
-        if (newStatus == null) { // unknown
-          continue;
-        }
-
-        if (newStatus != Status.READY && newStatus != Status.PENDING) {
-          // we don't need more
-          break;
-        }
+      if (jobInSubmission != null && jobInSubmission.job == job) {
+        jobInSubmission = null;
       }
-      terminate = true;
-    }
-
-    public void shutdown() {
-      terminate = true;
-      synchronized (this) {
-        this.notify();
+      if (fairQueue != null) {
+        fairQueue.finished(job);
       }
     }
+    super.jobRejected(job, e);
+  }
 
-
-    private Status getLastStatus() {
-      if (terminate == true) {
-        if (lastStatus != Status.FINISHED &&
-            lastStatus != Status.ERROR &&
-            lastStatus != Status.ABORT) {
-          return Status.FINISHED;
-        } else {
-          return (lastStatus == null) ? Status.FINISHED : lastStatus;
-        }
-      } else {
-        return (lastStatus == null) ? Status.FINISHED : lastStatus;
+  private void jobSubmittedInRemote(JobRunner jobRunner) {
+    synchronized (queue) {
+      if (jobInSubmission != jobRunner) {
+        return;
       }
+      jobInSubmission = null;
     }
+    dispatch();
+  }
 
-    public synchronized Job.Status getStatus() {
-      if (interpreterProcess.referenceCount() <= 0) {
-        return getLastStatus();
-      }
-
-      Client client;
-      try {
-        client = interpreterProcess.getClient();
-      } catch (Exception e) {
-        logger.error("Can't get status information", e);
-        lastStatus = Status.ERROR;
-        return Status.ERROR;
-      }
-
-      boolean broken = false;
-      try {
-        String statusStr = client.getStatus(job.getId());
-        if ("Unknown".equals(statusStr)) {
-          // not found this job in the remote schedulers.
-          // maybe not submitted, maybe already finished
-          //Status status = getLastStatus();
-          listener.afterStatusChange(job, null, null);
-          return job.getStatus();
-        }
-        Status status = Status.valueOf(statusStr);
-        lastStatus = status;
-        listener.afterStatusChange(job, null, status);
-        return status;
-      } catch (TException e) {
-        broken = true;
-        logger.error("Can't get status information", e);
-        lastStatus = Status.ERROR;
-        return Status.ERROR;
-      } catch (Exception e) {
-        logger.error("Unknown status", e);
-        lastStatus = Status.ERROR;
-        return Status.ERROR;
-      } finally {
-        interpreterProcess.releaseClient(client, broken);
-      }
-    }
+  @Override
+  protected Object getPollGroup() {
+    // polls of all jobs on the interpreter process are batched
+    return interpreterProcess;
   }
 
-  private class JobRunner implements Runnable, JobListener {
+  /**
+   * Runs a job, and follows status of the job pushed by the remote process.
+   */
+  private class JobRunner implements Runnable, JobListener, RemoteJobStatusListener {
     private Scheduler scheduler;
     private Job job;
-    private boolean jobExecuted;
-    boolean jobSubmittedRemotely;
+    private volatile boolean jobExecuted;
+    volatile boolean jobSubmittedRemotely;
+    // serializes pushed status and final status.
+    // not a monitor, which pins the carrier of a virtual thread while blocked
+    private final ReentrantLock statusLock = new ReentrantLock();
+    private boolean statusFinal = false;
 
     public JobRunner(Scheduler scheduler, Job job) {
       this.scheduler = scheduler;
@@ -301,49 +152,53 @@ public class RemoteScheduler implements Scheduler {
       return jobSubmittedRemotely;
     }
 
+    private void setJobSubmittedInRemote() {
+      if (!jobSubmittedRemotely) {
+        jobSubmittedRemotely = true;
+        jobSubmittedInRemote(this);
+      }
+    }
+
     @Override
     public void run() {
+      try {
+        runJob();
+      } finally {
+        jobFinished(job);
+      }
+    }
+
+    private void runJob() {
       if (job.isAborted()) {
         job.setStatus(Status.ABORT);
         job.aborted = false;
-
-        synchronized (queue) {
-          running.remove(job);
-          queue.notify();
-        }
-        jobSubmittedRemotely = true;
-
+        setJobSubmittedInRemote();
         return;
       }
 
-      JobStatusPoller jobStatusPoller = new JobStatusPoller(1500, 100, 500,
-          job, this);
-      jobStatusPoller.start();
+      interpreterProcess.addJobStatusListener(job.getId(), this);
 
       if (listener != null) {
         listener.jobStarted(scheduler, job);
       }
-      job.run();
-
-      jobExecuted = true;
-      jobSubmittedRemotely = true;
-
-      jobStatusPoller.shutdown();
       try {
-        jobStatusPoller.join();
-      } catch (InterruptedException e) {
-        logger.error("JobStatusPoller interrupted", e);
+        job.run();
+      } finally {
+        interpreterProcess.removeJobStatusListener(job.getId(), this);
       }
 
+      jobExecuted = true;
+      setJobSubmittedInRemote();
+
+      // the job is gone in the remote process once job.run() returned.
       // set job status based on result.
-      Status lastStatus = jobStatusPoller.getStatus();
-      Object jobResult = job.getReturn();
-      if (jobResult != null && jobResult instanceof InterpreterResult) {
-        if (((InterpreterResult) jobResult).code() == Code.ERROR) {
-          lastStatus = Status.ERROR;
-        }
+      statusLock.lock();
+      try {
+        statusFinal = true;
+        afterStatusChange(job, null, null);
+      } finally {
+        statusLock.unlock();
       }
-      job.setStatus(lastStatus);
 
       if (listener != null) {
         listener.jobFinished(scheduler, job);
@@ -351,10 +206,17 @@ public class RemoteScheduler implements Scheduler {
 
       // reset aborted flag to allow retry
       job.aborted = false;
+    }
 
-      synchronized (queue) {
-        running.remove(job);
-        queue.notify();
+    @Override
+    public void onJobStatusChange(String jobId, Status status) {
+      statusLock.lock();
+      try {
+        if (!statusFinal) {
+          afterStatusChange(job, null, status);
+        }
+      } finally {
+        statusLock.unlock();
       }
     }
 
@@ -370,7 +232,7 @@ public class RemoteScheduler implements Scheduler {
     public void afterStatusChange(Job job, Status before, Status after) {
       if (after == null) { // unknown. maybe before sumitted remotely, maybe already finished.
         if (jobExecuted) {
-          jobSubmittedRemotely = true;
+          setJobSubmittedInRemote();
           Object jobResult = job.getReturn();
           if (job.isAborted()) {
             job.setStatus(Status.ABORT);
@@ -395,26 +257,16 @@ public class RemoteScheduler implements Scheduler {
           // so not updating the remoteStatus
           return;
         } else if (after == Status.RUNNING) {
-          jobSubmittedRemotely = true;
+          setJobSubmittedInRemote();
         }
       } else {
-        jobSubmittedRemotely = true;
+        setJobSubmittedInRemote();
       }
 
-      // status polled by status poller
+      // status pushed by the remote process
       if (job.getStatus() != after) {
         job.setStatus(after);
       }
     }
   }
-
-  @Override
-  public void stop() {
-    terminate = true;
-    synchronized (queue) {
-      queue.notify();
-    }
-
-  }
-
 }
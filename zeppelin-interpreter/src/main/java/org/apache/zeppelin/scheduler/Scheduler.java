@@ -22,7 +22,7 @@ import java.util.Collection;
 /**
  * Interface for scheduler
  */
-public interface Scheduler extends Runnable {
+public interface Scheduler {
   public String getName();
 
   public Collection<Job> getJobsWaiting();
@@ -33,5 +33,12 @@ public interface Scheduler extends Runnable {
 
   public Job removeFromWaitingQueue(String jobId);
 
+  /**
+   * @return waiting or running job of the id. null if not found
+   */
+  public Job getJob(String jobId);
+
+  public SchedulerMetrics getMetrics();
+
   public void stop();
 }
@@ -17,6 +17,7 @@
 
 package org.apache.zeppelin.scheduler;
 
+import java.lang.management.ManagementFactory;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -24,6 +25,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +39,8 @@ import org.slf4j.LoggerFactory;
  */
 public class SchedulerFactory implements SchedulerListener {
   private static final Logger logger = LoggerFactory.getLogger(SchedulerFactory.class);
+  static final int MAX_THREADS = 100;
+  static final int MAX_VIRTUAL_THREADS = 10000;
   ExecutorService executor;
   Map<String, Scheduler> schedulers = new LinkedHashMap<String, Scheduler>();
 
@@ -55,7 +63,9 @@ public class SchedulerFactory implements SchedulerListener {
   }
 
   public SchedulerFactory() throws Exception {
-    executor = ExecutorFactory.singleton().createOrGet("schedulerFactory", 100);
+    // virtual threads are cheap. job concurrency is limited by each scheduler
+    int maxThreads = VirtualThreads.isEnabled() ? MAX_VIRTUAL_THREADS : MAX_THREADS;
+    executor = ExecutorFactory.singleton().createOrGet("schedulerFactory", maxThreads);
   }
 
   public void destroy() {
@@ -67,7 +77,7 @@ public class SchedulerFactory implements SchedulerListener {
       if (schedulers.containsKey(name) == false) {
         Scheduler s = new FIFOScheduler(name, executor, this);
         schedulers.put(name, s);
-        executor.execute(s);
+        registerMetrics(s);
       }
       return schedulers.get(name);
     }
@@ -78,7 +88,19 @@ public class SchedulerFactory implements SchedulerListener {
       if (schedulers.containsKey(name) == false) {
         Scheduler s = new ParallelScheduler(name, executor, this, maxConcurrency);
         schedulers.put(name, s);
-        executor.execute(s);
+        registerMetrics(s);
+      }
+      return schedulers.get(name);
+    }
+  }
+
+  public Scheduler createOrGetFairShareScheduler(String name, int maxConcurrency,
+      WeightedFairQueue fairQueue) {
+    synchronized (schedulers) {
+      if (schedulers.containsKey(name) == false) {
+        Scheduler s = new FairShareScheduler(name, executor, this, maxConcurrency, fairQueue);
+        schedulers.put(name, s);
+        registerMetrics(s);
       }
       return schedulers.get(name);
     }
@@ -88,6 +110,17 @@ public class SchedulerFactory implements SchedulerListener {
       String name,
       RemoteInterpreterProcess interpreterProcess,
       int maxConcurrency) {
+    return createOrGetRemoteScheduler(name, interpreterProcess, maxConcurrency, null);
+  }
+
+  /**
+   * @param fairQueue order of submitting jobs to the remote process. null for FIFO
+   */
+  public Scheduler createOrGetRemoteScheduler(
+      String name,
+      RemoteInterpreterProcess interpreterProcess,
+      int maxConcurrency,
+      WeightedFairQueue fairQueue) {
 
     synchronized (schedulers) {
       if (schedulers.containsKey(name) == false) {
@@ -96,9 +129,10 @@ public class SchedulerFactory implements SchedulerListener {
             executor,
             interpreterProcess,
             this,
-            maxConcurrency);
+            maxConcurrency,
+            fairQueue);
         schedulers.put(name, s);
-        executor.execute(s);
+        registerMetrics(s);
       }
       return schedulers.get(name);
     }
@@ -109,6 +143,7 @@ public class SchedulerFactory implements SchedulerListener {
       Scheduler s = schedulers.remove(name);
       if (s != null) {
         s.stop();
+        unregisterMetrics(s);
       }
     }
     return null;
@@ -124,6 +159,46 @@ public class SchedulerFactory implements SchedulerListener {
     return s;
   }
 
+  public Scheduler getScheduler(String name) {
+    synchronized (schedulers) {
+      return schedulers.get(name);
+    }
+  }
+
+  private ObjectName metricsObjectName(Scheduler scheduler) throws MalformedObjectNameException {
+    return new ObjectName("org.apache.zeppelin:type=Scheduler,name="
+        + ObjectName.quote(scheduler.getName()));
+  }
+
+  /**
+   * Expose metrics of the scheduler through JMX.
+   */
+  private void registerMetrics(Scheduler scheduler) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = metricsObjectName(scheduler);
+      if (server.isRegistered(name)) {
+        // scheduler of the same name created by another factory
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(scheduler.getMetrics(), name);
+    } catch (JMException e) {
+      logger.warn("Can't register metrics of scheduler " + scheduler.getName(), e);
+    }
+  }
+
+  private void unregisterMetrics(Scheduler scheduler) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = metricsObjectName(scheduler);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      logger.warn("Can't unregister metrics of scheduler " + scheduler.getName(), e);
+    }
+  }
+
   @Override
   public void jobStarted(Scheduler scheduler, Job job) {
     logger.info("Job " + job.getJobName() + " started by scheduler " + scheduler.getName());
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.zeppelin.scheduler.Job.Status;
+
+/**
+ * Counters and histograms of a scheduler.
+ * Updated by the scheduler as jobs move, so reading them doesn't copy the queue.
+ *
+ * Each submitted job is waiting, running, or counted once by the status it ended with, so
+ * submitted = waiting + running + finished + errors + aborted. Errors include rejected and shed
+ * jobs, and aborted include jobs removed or replaced before running. Refused and coalesced
+ * jobs are not submitted.
+ */
+public class SchedulerMetrics implements SchedulerMetricsMBean {
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicInteger maxWaiting = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong finished = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong aborted = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong refused = new AtomicLong();
+  private final AtomicLong shed = new AtomicLong();
+  private final AtomicLong coalesced = new AtomicLong();
+  private final Histogram waitTime = new Histogram();
+  private final Histogram runTime = new Histogram();
+
+  void jobSubmitted() {
+    submitted.incrementAndGet();
+    int w = waiting.incrementAndGet();
+    int current = maxWaiting.get();
+    while (w > current && !maxWaiting.compareAndSet(current, w)) {
+      current = maxWaiting.get();
+    }
+  }
+
+  /**
+   * Job removed from the waiting queue without running.
+   */
+  void jobRemoved() {
+    waiting.decrementAndGet();
+    aborted.incrementAndGet();
+  }
+
+  /**
+   * Submitted job took the place of a waiting job of the same id, which is aborted.
+   */
+  void jobReplaced() {
+    submitted.incrementAndGet();
+    aborted.incrementAndGet();
+  }
+
+  void jobDispatched(long waitTimeMs) {
+    waiting.decrementAndGet();
+    running.incrementAndGet();
+    waitTime.record(waitTimeMs);
+  }
+
+  void jobFinished(Status status, long runTimeMs) {
+    running.decrementAndGet();
+    runTime.record(runTimeMs);
+    if (status == Status.ERROR) {
+      errors.incrementAndGet();
+    } else if (status == Status.ABORT) {
+      aborted.incrementAndGet();
+    } else {
+      finished.incrementAndGet();
+    }
+  }
+
+  /**
+   * Dispatched job that couldn't run.
+   */
+  void jobRejected() {
+    running.decrementAndGet();
+    rejected.incrementAndGet();
+    errors.incrementAndGet();
+  }
+
+  /**
+   * Submitted job not admitted because the queue is full.
+   */
+  void jobRefused() {
+    refused.incrementAndGet();
+  }
+
+  /**
+   * Waiting job dropped to make room for a new one.
+   */
+  void jobShed() {
+    waiting.decrementAndGet();
+    shed.incrementAndGet();
+    errors.incrementAndGet();
+  }
+
+  /**
+   * Submitted job attached to a duplicate instead of running.
+   */
+  void jobCoalesced() {
+    coalesced.incrementAndGet();
+  }
+
+  @Override
+  public int getWaiting() {
+    return waiting.get();
+  }
+
+  @Override
+  public int getMaxWaiting() {
+    return maxWaiting.get();
+  }
+
+  @Override
+  public int getRunning() {
+    return running.get();
+  }
+
+  @Override
+  public long getSubmitted() {
+    return submitted.get();
+  }
+
+  @Override
+  public long getFinished() {
+    return finished.get();
+  }
+
+  @Override
+  public long getErrors() {
+    return errors.get();
+  }
+
+  @Override
+  public long getAborted() {
+    return aborted.get();
+  }
+
+  @Override
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  @Override
+  public long getRefused() {
+    return refused.get();
+  }
+
+  @Override
+  public long getShed() {
+    return shed.get();
+  }
+
+  @Override
+  public long getCoalesced() {
+    return coalesced.get();
+  }
+
+  public Histogram getWaitTime() {
+    return waitTime;
+  }
+
+  public Histogram getRunTime() {
+    return runTime;
+  }
+
+  @Override
+  public double getWaitTimeMean() {
+    return waitTime.getMean();
+  }
+
+  @Override
+  public long getWaitTime50thPercentile() {
+    return waitTime.getPercentile(50);
+  }
+
+  @Override
+  public long getWaitTime99thPercentile() {
+    return waitTime.getPercentile(99);
+  }
+
+  @Override
+  public long getWaitTimeMax() {
+    return waitTime.getMax();
+  }
+
+  @Override
+  public double getRunTimeMean() {
+    return runTime.getMean();
+  }
+
+  @Override
+  public long getRunTime50thPercentile() {
+    return runTime.getPercentile(50);
+  }
+
+  @Override
+  public long getRunTime99thPercentile() {
+    return runTime.getPercentile(99);
+  }
+
+  @Override
+  public long getRunTimeMax() {
+    return runTime.getMax();
+  }
+
+  public Map<String, Object> toMap() {
+    Map<String, Object> m = new LinkedHashMap<String, Object>();
+    m.put("waiting", getWaiting());
+    m.put("maxWaiting", getMaxWaiting());
+    m.put("running", getRunning());
+    m.put("submitted", getSubmitted());
+    m.put("finished", getFinished());
+    m.put("errors", getErrors());
+    m.put("aborted", getAborted());
+    m.put("rejected", getRejected());
+    m.put("refused", getRefused());
+    m.put("shed", getShed());
+    m.put("coalesced", getCoalesced());
+    m.put("waitTime", toMap(waitTime));
+    m.put("runTime", toMap(runTime));
+    return m;
+  }
+
+  private static Map<String, Object> toMap(Histogram h) {
+    Map<String, Object> m = new LinkedHashMap<String, Object>();
+    m.put("count", h.getCount());
+    m.put("mean", h.getMean());
+    m.put("p50", h.getPercentile(50));
+    m.put("p90", h.getPercentile(90));
+    m.put("p99", h.getPercentile(99));
+    m.put("max", h.getMax());
+    return m;
+  }
+}
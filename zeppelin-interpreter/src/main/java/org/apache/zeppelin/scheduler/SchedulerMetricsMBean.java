@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+/**
+ * JMX interface of SchedulerMetrics. Times are in milliseconds.
+ */
+public interface SchedulerMetricsMBean {
+  int getWaiting();
+
+  int getMaxWaiting();
+
+  int getRunning();
+
+  long getSubmitted();
+
+  long getFinished();
+
+  long getErrors();
+
+  long getAborted();
+
+  long getRejected();
+
+  long getRefused();
+
+  long getShed();
+
+  long getCoalesced();
+
+  double getWaitTimeMean();
+
+  long getWaitTime50thPercentile();
+
+  long getWaitTime99thPercentile();
+
+  long getWaitTimeMax();
+
+  double getRunTimeMean();
+
+  long getRunTime50thPercentile();
+
+  long getRunTime99thPercentile();
+
+  long getRunTimeMax();
+}
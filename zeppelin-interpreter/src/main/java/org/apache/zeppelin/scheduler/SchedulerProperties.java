@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads scheduler settings from interpreter properties.
+ * An invalid value is logged and the default is used.
+ */
+public class SchedulerProperties {
+  private static final Logger logger = LoggerFactory.getLogger(SchedulerProperties.class);
+
+  private SchedulerProperties() {
+  }
+
+  public static int getInt(Properties property, String key, int defaultValue) {
+    String value = getValue(property, key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid value '" + value + "' of " + key + ", use " + defaultValue);
+      return defaultValue;
+    }
+  }
+
+  public static long getLong(Properties property, String key, long defaultValue) {
+    String value = getValue(property, key);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      logger.warn("Invalid value '" + value + "' of " + key + ", use " + defaultValue);
+      return defaultValue;
+    }
+  }
+
+  private static String getValue(Properties property, String key) {
+    String value = (property == null) ? null : property.getProperty(key);
+    return (value == null || value.trim().isEmpty()) ? null : value.trim();
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that starts a new thread for each task instead of pooling threads.
+ * Meant for virtual threads, which are cheap to create and should not be pooled.
+ *
+ * Number of concurrent tasks is bounded by maxThreads. Tasks beyond that wait in a bounded queue
+ * and run on the thread of a finishing task, so the contract is the same as the thread pool.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService implements ManagedExecutor {
+  private final String name;
+  private final ThreadFactory threadFactory;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+  private final LinkedList<Runnable> queue = new LinkedList<Runnable>();
+  private final Set<Thread> threads =
+      Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+  private int maxThreads;
+  private int active;
+  private long completed;
+  private long rejected;
+  private boolean shutdown = false;
+
+  public VirtualThreadExecutor(String name, ThreadFactory threadFactory, int maxThreads,
+      int queueCapacity, RejectionPolicy rejectionPolicy) {
+    this.name = name;
+    this.threadFactory = threadFactory;
+    this.maxThreads = maxThreads;
+    this.queueCapacity = queueCapacity;
+    this.rejectionPolicy = rejectionPolicy;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command == null) {
+      throw new NullPointerException();
+    }
+
+    synchronized (this) {
+      if (shutdown) {
+        throw new RejectedExecutionException("Executor " + name + " is shutdown");
+      }
+      if (active < maxThreads) {
+        active++;
+        start(command);
+        return;
+      }
+      if (queue.size() < queueCapacity) {
+        queue.add(command);
+        return;
+      }
+      rejected++;
+      if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST && !queue.isEmpty()) {
+        queue.poll();
+        queue.add(command);
+        return;
+      }
+    }
+
+    switch (rejectionPolicy) {
+        case CALLER_RUNS:
+          command.run();
+          break;
+        case DISCARD:
+        case DISCARD_OLDEST:
+          break;
+        default:
+          throw new RejectedExecutionException("Executor " + name + " is full");
+    }
+  }
+
+  // called with lock held
+  private void start(final Runnable first) {
+    Thread t = threadFactory.newThread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Runnable task = first;
+          while (task != null) {
+            try {
+              task.run();
+            } finally {
+              task = taskDone();
+            }
+          }
+        } finally {
+          threads.remove(Thread.currentThread());
+        }
+      }
+    });
+    threads.add(t);
+    t.start();
+  }
+
+  /**
+   * @return next task to run on the current thread. null when the thread should exit
+   */
+  private synchronized Runnable taskDone() {
+    completed++;
+    Runnable next = (active <= maxThreads) ? queue.poll() : null;
+    if (next == null) {
+      active--;
+      if (shutdown && active == 0) {
+        notifyAll();
+      }
+    }
+    return next;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public RejectionPolicy getRejectionPolicy() {
+    return rejectionPolicy;
+  }
+
+  @Override
+  public synchronized int getMaxThreads() {
+    return maxThreads;
+  }
+
+  @Override
+  public synchronized void resize(int maxThreads) {
+    if (maxThreads <= 0) {
+      throw new IllegalArgumentException("maxThreads should be positive");
+    }
+    this.maxThreads = maxThreads;
+    while (active < maxThreads && !queue.isEmpty()) {
+      active++;
+      start(queue.poll());
+    }
+  }
+
+  @Override
+  public synchronized int getActiveThreads() {
+    return active;
+  }
+
+  @Override
+  public int getPoolSize() {
+    return threads.size();
+  }
+
+  @Override
+  public synchronized int getQueueSize() {
+    return queue.size();
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public synchronized long getCompletedTasks() {
+    return completed;
+  }
+
+  @Override
+  public synchronized long getRejectedTasks() {
+    return rejected;
+  }
+
+  @Override
+  public synchronized double getUtilization() {
+    return (double) active / maxThreads;
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    shutdown = true;
+    if (active == 0) {
+      notifyAll();
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> notStarted;
+    synchronized (this) {
+      shutdown();
+      notStarted = new LinkedList<Runnable>(queue);
+      queue.clear();
+    }
+    for (Thread t : threads) {
+      t.interrupt();
+    }
+    return notStarted;
+  }
+
+  @Override
+  public synchronized boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public synchronized boolean isTerminated() {
+    return shutdown && active == 0;
+  }
+
+  @Override
+  public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Virtual thread (JDK 21+) support.
+ *
+ * Jobs and pollers spend most of their time blocked on thrift calls or JDBC.
+ * With virtual thread mode, they run on virtual threads instead of platform threads,
+ * so thousands of concurrent jobs can share a small number of carrier threads.
+ *
+ * The mode is off by default. Enable it with system property zeppelin.scheduler.virtualThreads
+ * or environment variable ZEPPELIN_SCHEDULER_VIRTUAL_THREADS set to true.
+ * On a JVM without virtual threads, platform threads are used.
+ */
+public class VirtualThreads {
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+  public static final String ENABLED_PROPERTY = "zeppelin.scheduler.virtualThreads";
+  public static final String ENABLED_ENV = "ZEPPELIN_SCHEDULER_VIRTUAL_THREADS";
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+  private static final boolean ENABLED;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method factory = null;
+    try {
+      Class<?> builder = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builder.getMethod("name", String.class, long.class);
+      factory = builder.getMethod("factory");
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = name;
+    BUILDER_FACTORY = factory;
+
+    boolean requested = isRequested(System.getProperty(ENABLED_PROPERTY))
+        || isRequested(System.getenv(ENABLED_ENV));
+    if (requested && OF_VIRTUAL == null) {
+      logger.warn("Virtual threads are not supported by this JVM. Use platform threads");
+    }
+    ENABLED = requested && OF_VIRTUAL != null;
+    if (ENABLED) {
+      logger.info("Run scheduler jobs on virtual threads");
+    }
+  }
+
+  private VirtualThreads() {
+  }
+
+  private static boolean isRequested(String value) {
+    return value != null && Boolean.parseBoolean(value.trim());
+  }
+
+  /**
+   * @return true if the JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * @return true if virtual thread mode is requested and supported
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Factory of virtual threads named [prefix]-[n].
+   * @throws UnsupportedOperationException if the JVM does not support virtual threads
+   */
+  public static ThreadFactory newVirtualThreadFactory(String prefix) {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads are not supported");
+    }
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = BUILDER_NAME.invoke(builder, prefix + "-", 1L);
+      return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new UnsupportedOperationException("Can't create virtual thread factory", e);
+    }
+  }
+
+  /**
+   * @return virtual thread factory in virtual thread mode. Otherwise, daemon thread factory
+   */
+  public static ThreadFactory newThreadFactory(String prefix) {
+    if (isEnabled()) {
+      return newVirtualThreadFactory(prefix);
+    }
+    return new NamedThreadFactory(prefix);
+  }
+}
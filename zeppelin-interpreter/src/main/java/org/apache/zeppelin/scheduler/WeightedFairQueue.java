@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the next job to run using weighted fair queuing across tenants (see Job.getTenant()).
+ *
+ * Each tenant has a virtual finish time which advances by the run time of its jobs divided
+ * by its weight. The waiting tenant with the smallest virtual time runs next. So a tenant that
+ * submits many long jobs can't starve tenants that submit a few short ones.
+ *
+ * Not thread safe. Scheduler calls it with its queue lock held.
+ */
+public class WeightedFairQueue {
+  public static final String SCHEDULER_PROPERTY = "zeppelin.scheduler";
+  public static final String FAIR = "fair";
+  public static final String WEIGHTS_PROPERTY = "zeppelin.scheduler.fair.weights";
+  public static final String MAX_CONCURRENCY_PROPERTY = "zeppelin.scheduler.fair.maxConcurrency";
+  public static final String MAX_CONCURRENCY_PER_TENANT_PROPERTY =
+      "zeppelin.scheduler.fair.maxConcurrencyPerTenant";
+
+  static final String DEFAULT_TENANT = "";
+  static final int DEFAULT_WEIGHT = 1;
+  // cost of a job of a tenant that never finished a job, in msec
+  static final double INITIAL_JOB_COST = 1000;
+
+  private static final Logger logger = LoggerFactory.getLogger(WeightedFairQueue.class);
+
+  private final Map<String, Integer> weights;
+  private final int maxConcurrencyPerTenant;
+  private final Map<String, Tenant> tenants = new HashMap<String, Tenant>();
+  // by identity, as jobs of the same id are equal
+  private final Map<Job, Double> charged = new IdentityHashMap<Job, Double>();
+  private final Map<Job, Long> started = new IdentityHashMap<Job, Long>();
+  private double virtualTime = 0;
+
+  /**
+   * @param weights weight by tenant key, or by a ':' separated part of tenant key.
+   *                tenant not listed has weight 1.
+   * @param maxConcurrencyPerTenant max number of running jobs of a tenant. 0 for unlimited.
+   */
+  public WeightedFairQueue(Map<String, Integer> weights, int maxConcurrencyPerTenant) {
+    this.weights = new HashMap<String, Integer>(weights);
+    this.maxConcurrencyPerTenant = maxConcurrencyPerTenant;
+  }
+
+  /**
+   * Create from interpreter properties.
+   * @return null if fair share scheduling is not enabled in the properties
+   */
+  public static WeightedFairQueue fromProperties(Properties property) {
+    if (!isEnabled(property)) {
+      return null;
+    }
+
+    Map<String, Integer> weights = new HashMap<String, Integer>();
+    String weightsValue = property.getProperty(WEIGHTS_PROPERTY);
+    if (weightsValue != null) {
+      for (String entry : weightsValue.split(",")) {
+        int sep = entry.lastIndexOf('=');
+        if (sep <= 0) {
+          continue;
+        }
+        try {
+          weights.put(entry.substring(0, sep).trim(),
+              Integer.parseInt(entry.substring(sep + 1).trim()));
+        } catch (NumberFormatException e) {
+          logger.warn("Invalid weight '" + entry + "' in " + WEIGHTS_PROPERTY);
+        }
+      }
+    }
+
+    return new WeightedFairQueue(weights,
+        SchedulerProperties.getInt(property, MAX_CONCURRENCY_PER_TENANT_PROPERTY, 0));
+  }
+
+  public static boolean isEnabled(Properties property) {
+    return property != null && FAIR.equalsIgnoreCase(property.getProperty(SCHEDULER_PROPERTY));
+  }
+
+  /**
+   * Select next job to run from the waiting jobs. Selected job is accounted as started.
+   * Jobs of the same tenant run in submission order.
+   * @return null if queue is empty or all waiting tenants reached their concurrency limit
+   */
+  public Job next(Collection<Job> queue) {
+    Job selected = null;
+    double selectedStart = 0;
+    Set<String> visited = new HashSet<String>();
+
+    for (Job job : queue) {
+      String key = tenantOf(job);
+      if (!visited.add(key)) {
+        // only the first waiting job of each tenant is candidate
+        continue;
+      }
+
+      Tenant tenant = tenants.get(key);
+      if (tenant != null && maxConcurrencyPerTenant > 0
+          && tenant.running >= maxConcurrencyPerTenant) {
+        continue;
+      }
+
+      double start = (tenant == null) ? virtualTime : Math.max(tenant.finish, virtualTime);
+      if (selected == null || start < selectedStart) {
+        selected = job;
+        selectedStart = start;
+      }
+    }
+
+    if (selected == null) {
+      return null;
+    }
+
+    jobStarted(selected, selectedStart);
+    return selected;
+  }
+
+  private void jobStarted(Job job, double start) {
+    String key = tenantOf(job);
+    Tenant tenant = tenants.get(key);
+    if (tenant == null) {
+      tenant = new Tenant(getWeight(key));
+      tenants.put(key, tenant);
+    }
+
+    // charge estimated cost now, so next selections see it while the job is running
+    double cost = tenant.averageCost / tenant.weight;
+    virtualTime = start;
+    tenant.finish = start + cost;
+    tenant.running++;
+    charged.put(job, cost);
+    started.put(job, System.currentTimeMillis());
+  }
+
+  /**
+   * Should be called when a job returned by next() is finished.
+   */
+  public void finished(Job job) {
+    Double cost = charged.remove(job);
+    Long startTime = started.remove(job);
+    if (cost == null || startTime == null) {
+      return;
+    }
+
+    String key = tenantOf(job);
+    Tenant tenant = tenants.get(key);
+    if (tenant == null) {
+      return;
+    }
+
+    // correct the estimation with the actual run time
+    double actual = Math.max(1, System.currentTimeMillis() - startTime);
+    tenant.finish += actual / tenant.weight - cost;
+    tenant.averageCost = (tenant.averageCost + actual) / 2;
+    tenant.running--;
+
+    // forget idle tenants that virtual time has caught up with.
+    // they'd start from virtual time anyway.
+    Iterator<Tenant> it = tenants.values().iterator();
+    while (it.hasNext()) {
+      Tenant t = it.next();
+      if (t.running <= 0 && t.finish <= virtualTime) {
+        it.remove();
+      }
+    }
+  }
+
+  int getRunning(String tenant) {
+    Tenant t = tenants.get(tenant);
+    return (t == null) ? 0 : t.running;
+  }
+
+  int getWeight(String tenant) {
+    Integer weight = weights.get(tenant);
+    if (weight == null) {
+      for (String part : tenant.split(":")) {
+        weight = weights.get(part);
+        if (weight != null) {
+          break;
+        }
+      }
+    }
+    if (weight == null || weight <= 0) {
+      return DEFAULT_WEIGHT;
+    }
+    return weight;
+  }
+
+  private static String tenantOf(Job job) {
+    String tenant = job.getTenant();
+    return (tenant == null) ? DEFAULT_TENANT : tenant;
+  }
+
+  private static class Tenant {
+    final int weight;
+    double finish = 0;
+    double averageCost = INITIAL_JOB_COST;
+    int running = 0;
+
+    Tenant(int weight) {
+      this.weight = weight;
+    }
+  }
+}
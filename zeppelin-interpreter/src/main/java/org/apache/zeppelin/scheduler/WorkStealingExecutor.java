@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Work stealing executor for short tasks, backed by ForkJoinPool in async (FIFO) mode.
+ * Workers are created on demand up to the parallelism and terminate when idle.
+ *
+ * ForkJoinPool queues are unbounded, so number of submitted but not finished tasks is
+ * bounded here. Queued tasks can't be removed from ForkJoinPool, so DISCARD_OLDEST marks the
+ * oldest task not started yet as discarded, and the task does nothing when a worker takes it.
+ */
+public class WorkStealingExecutor extends AbstractExecutorService implements ManagedExecutor {
+  private final String name;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+  private final NamedThreadFactory threadFactory;
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private volatile ForkJoinPool pool;
+  private volatile boolean shutdown = false;
+  // pools replaced by resize(), until they terminate
+  private final List<ForkJoinPool> retiredPools = new LinkedList<ForkJoinPool>();
+  // tasks in submission order, for DISCARD_OLDEST only. started ones are removed lazily
+  private final ConcurrentLinkedQueue<Task> queued = new ConcurrentLinkedQueue<Task>();
+
+  public WorkStealingExecutor(String name, int parallelism, int queueCapacity,
+      RejectionPolicy rejectionPolicy) {
+    this.name = name;
+    this.queueCapacity = queueCapacity;
+    this.rejectionPolicy = rejectionPolicy;
+    this.threadFactory = new NamedThreadFactory(name);
+    this.pool = createPool(parallelism);
+  }
+
+  private ForkJoinPool createPool(int parallelism) {
+    return new ForkJoinPool(parallelism, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+      @Override
+      public ForkJoinWorkerThread newThread(ForkJoinPool p) {
+        ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+        t.setName(threadFactory.nextName());
+        return t;
+      }
+    }, null, true);
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor " + name + " is shutdown");
+    }
+
+    int bound = queueCapacity + getMaxThreads();
+    int n;
+    do {
+      n = pending.get();
+      if (n >= bound) {
+        reject(command);
+        return;
+      }
+    } while (!pending.compareAndSet(n, n + 1));
+
+    Task task = new Task(command);
+    if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST) {
+      queued.add(task);
+    }
+    ForkJoinPool p = pool;
+    while (true) {
+      try {
+        p.execute(task);
+        return;
+      } catch (RejectedExecutionException e) {
+        // resize() shut down the pool after it was read. retry on the new pool
+        ForkJoinPool current = pool;
+        if (shutdown || current == p) {
+          if (task.discard()) {
+            pending.decrementAndGet();
+          }
+          throw e;
+        }
+        p = current;
+      }
+    }
+  }
+
+  private void reject(Runnable command) {
+    rejected.incrementAndGet();
+    switch (rejectionPolicy) {
+        case CALLER_RUNS:
+          command.run();
+          break;
+        case DISCARD:
+          break;
+        case DISCARD_OLDEST:
+          // like ThreadPoolExecutor, drop the command when there's no queued task to discard
+          if (discardOldest()) {
+            execute(command);
+          }
+          break;
+        default:
+          throw new RejectedExecutionException("Executor " + name + " is full");
+    }
+  }
+
+  private boolean discardOldest() {
+    Task task;
+    while ((task = queued.poll()) != null) {
+      if (task.discard()) {
+        pending.decrementAndGet();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Remove started tasks from the head of the queue. Tasks mostly start in submission order,
+   * so the queue holds about the tasks not started yet.
+   */
+  private void removeStarted() {
+    Task head;
+    while ((head = queued.peek()) != null && !head.isNew()) {
+      queued.remove(head);
+    }
+  }
+
+  private class Task implements Runnable {
+    private static final int NEW = 0;
+    private static final int STARTED = 1;
+    private static final int DISCARDED = 2;
+
+    private final Runnable command;
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    Task(Runnable command) {
+      this.command = command;
+    }
+
+    boolean isNew() {
+      return state.get() == NEW;
+    }
+
+    /**
+     * @return true when the task was not started and won't be
+     */
+    boolean discard() {
+      return state.compareAndSet(NEW, DISCARDED);
+    }
+
+    @Override
+    public void run() {
+      if (!state.compareAndSet(NEW, STARTED)) {
+        return;
+      }
+      if (rejectionPolicy == RejectionPolicy.DISCARD_OLDEST) {
+        removeStarted();
+      }
+      active.incrementAndGet();
+      try {
+        command.run();
+      } finally {
+        active.decrementAndGet();
+        pending.decrementAndGet();
+        completed.incrementAndGet();
+      }
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public RejectionPolicy getRejectionPolicy() {
+    return rejectionPolicy;
+  }
+
+  @Override
+  public int getMaxThreads() {
+    return pool.getParallelism();
+  }
+
+  /**
+   * Parallelism of ForkJoinPool is fixed. So new tasks go to a new pool,
+   * while the old pool finishes tasks already submitted.
+   */
+  @Override
+  public synchronized void resize(int maxThreads) {
+    if (maxThreads <= 0) {
+      throw new IllegalArgumentException("maxThreads should be positive");
+    }
+    if (shutdown || maxThreads == pool.getParallelism()) {
+      return;
+    }
+    ForkJoinPool old = pool;
+    pool = createPool(maxThreads);
+    old.shutdown();
+    retiredPools.add(old);
+    purgeRetiredPools();
+  }
+
+  private void purgeRetiredPools() {
+    synchronized (retiredPools) {
+      Iterator<ForkJoinPool> it = retiredPools.iterator();
+      while (it.hasNext()) {
+        if (it.next().isTerminated()) {
+          it.remove();
+        }
+      }
+    }
+  }
+
+  @Override
+  public int getActiveThreads() {
+    return active.get();
+  }
+
+  @Override
+  public int getPoolSize() {
+    return pool.getPoolSize();
+  }
+
+  @Override
+  public int getQueueSize() {
+    return Math.max(0, pending.get() - getActiveThreads());
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public long getCompletedTasks() {
+    return completed.get();
+  }
+
+  @Override
+  public long getRejectedTasks() {
+    return rejected.get();
+  }
+
+  @Override
+  public double getUtilization() {
+    return (double) getActiveThreads() / getMaxThreads();
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    shutdown = true;
+    pool.shutdown();
+  }
+
+  @Override
+  public synchronized List<Runnable> shutdownNow() {
+    shutdown = true;
+    synchronized (retiredPools) {
+      for (ForkJoinPool p : retiredPools) {
+        p.shutdownNow();
+      }
+    }
+    return pool.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    purgeRetiredPools();
+    synchronized (retiredPools) {
+      return shutdown && pool.isTerminated() && retiredPools.isEmpty();
+    }
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    List<ForkJoinPool> pools = new LinkedList<ForkJoinPool>();
+    synchronized (retiredPools) {
+      pools.addAll(retiredPools);
+    }
+    pools.add(pool);
+    for (ForkJoinPool p : pools) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0 || !p.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -24,17 +24,20 @@ struct RemoteInterpreterContext {
   2: string paragraphId,
   3: string paragraphTitle,
   4: string paragraphText,
-  5: string config,   // json serialized config
-  6: string gui,      // json serialized gui
-  7: string runners   // json serialized runner
+  5: string config,   // json serialized config. not set for a running paragraph, or when unchanged
+  6: string gui,      // json serialized gui. not set for a running paragraph, or when unchanged
+  7: string runners,  // json serialized runner. not set for a running paragraph
+  8: string contextVersion  // version of config and gui. interpreter caches them by paragraph
 }
 
 struct RemoteInterpreterResult {
   1: string code,
   2: string type,
   3: string msg,
-  4: string config,   // json serialized config
-  5: string gui       // json serialized gui
+  4: string config,   // json serialized config. not set when unchanged
+  5: string gui,      // json serialized gui. not set when unchanged
+  6: string resultId, // set when msg holds only the first chunk. fetch the rest with getResultChunk
+  7: string contextVersion  // not set when config and gui were left out and not cached. not run
 }
 
 enum RemoteInterpreterEventType {
@@ -46,7 +49,8 @@ enum RemoteInterpreterEventType {
   RESOURCE_POOL_GET_ALL = 6,
   RESOURCE_GET = 7
   OUTPUT_APPEND = 8,
-  OUTPUT_UPDATE = 9
+  OUTPUT_UPDATE = 9,
+  JOB_STATUS = 10
 }
 
 struct RemoteInterpreterEvent {
@@ -67,8 +71,12 @@ service RemoteInterpreterService {
   void shutdown();
 
   string getStatus(1:string jobId);
+  // next chunk of a large result. empty string when all chunks are fetched
+  string getResultChunk(1: string resultId);
 
   RemoteInterpreterEvent getEvent();
+  // get available events at once. waits up to maxWaitMs when there is no event
+  list<RemoteInterpreterEvent> getEvents(1: i32 maxCount, 2: i32 maxWaitMs);
 
   // as a response, ZeppelinServer send list of resources to Interpreter process
   void resourcePoolResponseGetAll(1: list<string> resources);
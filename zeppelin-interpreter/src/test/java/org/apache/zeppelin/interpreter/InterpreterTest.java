@@ -18,10 +18,14 @@
 package org.apache.zeppelin.interpreter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.util.List;
 import java.util.Properties;
 
 import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterA;
+import org.apache.zeppelin.scheduler.AbstractScheduler;
+import org.apache.zeppelin.scheduler.QueueLimit;
 import org.junit.Test;
 
 public class InterpreterTest {
@@ -60,4 +64,56 @@ public class InterpreterTest {
     assertEquals("v2", intp.getProperty("p2"));
   }
 
+  @Test
+  public void testSchedulerConfiguredOnce() {
+    Properties p = new Properties();
+    p.put(QueueLimit.MAX_QUEUE_PROPERTY, "5");
+    Interpreter intp = new Interpreter(p) {
+      @Override
+      public void open() {
+      }
+
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public InterpreterResult interpret(String st, InterpreterContext context) {
+        return null;
+      }
+
+      @Override
+      public void cancel(InterpreterContext context) {
+      }
+
+      @Override
+      public FormType getFormType() {
+        return FormType.NONE;
+      }
+
+      @Override
+      public int getProgress(InterpreterContext context) {
+        return 0;
+      }
+
+      @Override
+      public List<String> completion(String buf, int cursor) {
+        return null;
+      }
+    };
+
+    AbstractScheduler scheduler = (AbstractScheduler) intp.getScheduler();
+    assertEquals(5, scheduler.getQueueLimit().getMaxQueue());
+
+    // properties apply when the scheduler is created
+    p.put(QueueLimit.MAX_QUEUE_PROPERTY, "10");
+    assertSame(scheduler, intp.getScheduler());
+    assertEquals(5, scheduler.getQueueLimit().getMaxQueue());
+    intp.destroy();
+  }
+
+  @Test
+  public void testQueueIsUnlimitedByDefault() {
+    assertEquals(0, QueueLimit.fromProperties(new Properties()).getMaxQueue());
+  }
 }
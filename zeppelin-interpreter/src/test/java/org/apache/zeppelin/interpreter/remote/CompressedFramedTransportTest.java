@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterResult;
+import org.junit.Test;
+
+public class CompressedFramedTransportTest {
+
+  private RemoteInterpreterResult createResult(int rows) {
+    StringBuilder table = new StringBuilder("%table name\tvalue\n");
+    for (int i = 0; i < rows; i++) {
+      table.append("name").append(i).append('\t').append(i * 31).append('\n');
+    }
+    return new RemoteInterpreterResult("SUCCESS", "TABLE", table.toString(), "{}", "{}", null,
+        null);
+  }
+
+  private RemoteInterpreterResult roundTrip(RemoteInterpreterResult result,
+      RemoteInterpreterProtocol protocolType, TMemoryBuffer wire) throws Exception {
+    CompressedFramedTransport out = new CompressedFramedTransport(wire);
+    TProtocol oprot = protocolType.getFactory().getProtocol(out);
+    result.write(oprot);
+    out.flush();
+
+    CompressedFramedTransport in = new CompressedFramedTransport(wire);
+    TProtocol iprot = protocolType.getFactory().getProtocol(in);
+    RemoteInterpreterResult read = new RemoteInterpreterResult();
+    read.read(iprot);
+    return read;
+  }
+
+  @Test
+  public void testSmallMessageIsNotCompressed() throws Exception {
+    RemoteInterpreterResult result = new RemoteInterpreterResult("SUCCESS", "TEXT", "hello",
+        "{}", "{}", null, null);
+    TMemoryBuffer wire = new TMemoryBuffer(1024);
+    CompressedFramedTransport out = new CompressedFramedTransport(wire);
+    result.write(RemoteInterpreterProtocol.BINARY.getFactory().getProtocol(out));
+    out.flush();
+    int written = wire.length();
+
+    TMemoryBuffer plain = new TMemoryBuffer(1024);
+    result.write(RemoteInterpreterProtocol.BINARY.getFactory().getProtocol(plain));
+    // only header is added
+    assertEquals(plain.length() + 9, written);
+
+    assertEquals(result, roundTrip(result, RemoteInterpreterProtocol.BINARY,
+        new TMemoryBuffer(1024)));
+  }
+
+  @Test
+  public void testLargeMessageIsCompressed() throws Exception {
+    RemoteInterpreterResult result = createResult(10000);
+    for (RemoteInterpreterProtocol protocol : RemoteInterpreterProtocol.values()) {
+      TMemoryBuffer wire = new TMemoryBuffer(1024);
+      CompressedFramedTransport out = new CompressedFramedTransport(wire);
+      result.write(protocol.getFactory().getProtocol(out));
+      out.flush();
+      assertTrue(wire.length() < result.getMsg().length() / 2);
+
+      assertEquals(result, roundTrip(result, protocol, new TMemoryBuffer(1024)));
+    }
+  }
+
+  @Test
+  public void testMultipleFrames() throws Exception {
+    TMemoryBuffer wire = new TMemoryBuffer(1024);
+    CompressedFramedTransport out = new CompressedFramedTransport(wire);
+    TProtocol oprot = RemoteInterpreterProtocol.COMPACT.getFactory().getProtocol(out);
+    RemoteInterpreterResult large = createResult(1000);
+    RemoteInterpreterResult small = createResult(1);
+    large.write(oprot);
+    out.flush();
+    small.write(oprot);
+    out.flush();
+
+    CompressedFramedTransport in = new CompressedFramedTransport(wire);
+    TProtocol iprot = RemoteInterpreterProtocol.COMPACT.getFactory().getProtocol(in);
+    RemoteInterpreterResult read = new RemoteInterpreterResult();
+    read.read(iprot);
+    assertEquals(large, read);
+    read = new RemoteInterpreterResult();
+    read.read(iprot);
+    assertEquals(small, read);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.zeppelin.display.GUI;
+import org.junit.Test;
+
+public class InterpreterContextSnapshotTest {
+
+  @Test
+  public void testConfig() {
+    Map<String, Object> graph = new HashMap<String, Object>();
+    graph.put("mode", "table");
+    Map<String, Object> config = new HashMap<String, Object>();
+    config.put("graph", graph);
+    InterpreterContextSnapshot snapshot = new InterpreterContextSnapshot(config, new GUI());
+    assertFalse(snapshot.isConfigChanged(config));
+
+    // nested value changed in place
+    graph.put("mode", "lineChart");
+    assertTrue(snapshot.isConfigChanged(config));
+  }
+
+  @Test
+  public void testGui() {
+    GUI gui = new GUI();
+    gui.input("name", "a");
+    InterpreterContextSnapshot snapshot = new InterpreterContextSnapshot(
+        new HashMap<String, Object>(), gui);
+    assertFalse(snapshot.isGuiChanged(gui));
+
+    // form defined again, with another default
+    gui.input("name", "b");
+    assertTrue(snapshot.isGuiChanged(gui));
+
+    snapshot = new InterpreterContextSnapshot(new HashMap<String, Object>(), gui);
+    gui.getParams().put("name", "c");
+    assertTrue(snapshot.isGuiChanged(gui));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class RemoteInterpreterCallbackTest {
+  // failure of the notifying thread, asserted in the test thread
+  private final AtomicReference<IOException> notifyError = new AtomicReference<IOException>();
+
+  /**
+   * Notify the callback from another thread, like an interpreter process does.
+   */
+  private Thread notifyReady(final RemoteInterpreterCallback callback, final int port,
+      final String socketPath) {
+    Thread process = new Thread() {
+      @Override
+      public void run() {
+        try {
+          RemoteInterpreterCallback.notifyReady(callback.getPort(), port, socketPath);
+        } catch (IOException e) {
+          notifyError.set(e);
+        }
+      }
+    };
+    process.start();
+    return process;
+  }
+
+  @Test
+  public void testAwaitPort() throws Exception {
+    RemoteInterpreterCallback callback = new RemoteInterpreterCallback();
+    Thread process = notifyReady(callback, 12345, null);
+    assertEquals(12345, callback.awaitPort(10 * 1000));
+    process.join();
+    assertNull(notifyError.get());
+  }
+
+  @Test
+  public void testAwaitSocketPath() throws Exception {
+    RemoteInterpreterCallback callback = new RemoteInterpreterCallback();
+    Thread process = notifyReady(callback, 12345, "/tmp/intp.sock");
+    assertEquals(12345, callback.awaitPort(10 * 1000));
+    assertEquals("/tmp/intp.sock", callback.getSocketPath());
+    process.join();
+    assertNull(notifyError.get());
+  }
+
+  @Test
+  public void testAwaitPortTimeout() throws IOException {
+    RemoteInterpreterCallback callback = new RemoteInterpreterCallback();
+    assertEquals(-1, callback.awaitPort(300));
+  }
+
+  @Test
+  public void testCloseStopsWaiting() throws IOException {
+    final RemoteInterpreterCallback callback = new RemoteInterpreterCallback();
+    Thread exit = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+        }
+        callback.close();
+      }
+    };
+    exit.start();
+    long start = System.currentTimeMillis();
+    assertEquals(-1, callback.awaitPort(10 * 1000));
+    assertTrue(System.currentTimeMillis() - start < 5 * 1000);
+  }
+}
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.google.gson.Gson;
+import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterA;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEvent;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEventType;
+import org.apache.zeppelin.resource.RemoteResource;
+import org.apache.zeppelin.resource.ResourceLocation;
+import org.apache.zeppelin.resource.ResourceSet;
+import org.apache.zeppelin.scheduler.Job.Status;
+import org.junit.Test;
+
+public class RemoteInterpreterEventClientTest {
+
+  @Test
+  public void testJobStatusEvent() {
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    eventClient.onJobStatusChange("job1", Status.RUNNING);
+
+    RemoteInterpreterEvent event = eventClient.pollEvent();
+    assertEquals(RemoteInterpreterEventType.JOB_STATUS, event.getType());
+    assertTrue(event.getData().contains("job1"));
+    assertTrue(event.getData().contains("RUNNING"));
+  }
+
+  @Test
+  public void testPollEvents() {
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    for (int i = 0; i < 5; i++) {
+      eventClient.onInterpreterOutputAppend("note", "paragraph", "line" + i);
+    }
+
+    List<RemoteInterpreterEvent> events = eventClient.pollEvents(3, 1000);
+    assertEquals(3, events.size());
+    assertTrue(events.get(0).getData().contains("line0"));
+    assertTrue(events.get(2).getData().contains("line2"));
+
+    events = eventClient.pollEvents(10, 1000);
+    assertEquals(2, events.size());
+    assertTrue(events.get(1).getData().contains("line4"));
+
+    // no event. returns empty list after maxWaitMs
+    long start = System.currentTimeMillis();
+    assertEquals(0, eventClient.pollEvents(10, 100).size());
+    assertTrue(System.currentTimeMillis() - start >= 90);
+  }
+
+  @Test
+  public void testLongPoll() throws InterruptedException {
+    final RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    Thread sender = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+        }
+        eventClient.onJobStatusChange("job1", Status.RUNNING);
+      }
+    };
+    sender.start();
+
+    // held until the event arrives
+    long start = System.currentTimeMillis();
+    List<RemoteInterpreterEvent> events = eventClient.pollEvents(10, 10 * 1000);
+    assertEquals(1, events.size());
+    assertTrue(System.currentTimeMillis() - start < 5 * 1000);
+    sender.join();
+
+    // close releases held call
+    Thread closer = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(200);
+        } catch (InterruptedException e) {
+        }
+        eventClient.close();
+      }
+    };
+    closer.start();
+    start = System.currentTimeMillis();
+    assertEquals(0, eventClient.pollEvents(10, 10 * 1000).size());
+    assertTrue(System.currentTimeMillis() - start < 5 * 1000);
+    closer.join();
+  }
+
+  @Test
+  public void testEventCounts() {
+    final List<String> outputs = new LinkedList<String>();
+    RemoteInterpreterEventPoller poller = new RemoteInterpreterEventPoller(
+        new RemoteInterpreterProcessListener() {
+          @Override
+          public void onOutputAppend(String noteId, String paragraphId, String output) {
+            outputs.add(output);
+          }
+
+          @Override
+          public void onOutputUpdated(String noteId, String paragraphId, String output) {
+          }
+        });
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    eventClient.onInterpreterOutputAppend("note", "paragraph", "line1");
+    eventClient.onInterpreterOutputAppend("note", "paragraph", "line2");
+
+    for (RemoteInterpreterEvent event : eventClient.pollEvents(10, 0)) {
+      poller.handleEvent(event);
+    }
+    assertEquals(2, outputs.size());
+    assertEquals("line2", outputs.get(1));
+    assertEquals(2L, (long) poller.getEventCounts().get(RemoteInterpreterEventType.OUTPUT_APPEND));
+    assertEquals(0L, (long) poller.getEventCounts().get(RemoteInterpreterEventType.NO_OP));
+  }
+
+  @Test
+  public void testOutputRingBuffer() {
+    final List<String> outputs = new LinkedList<String>();
+    RemoteInterpreterEventPoller poller = new RemoteInterpreterEventPoller(
+        new RemoteInterpreterProcessListener() {
+          @Override
+          public void onOutputAppend(String noteId, String paragraphId, String output) {
+            outputs.add(output);
+          }
+
+          @Override
+          public void onOutputUpdated(String noteId, String paragraphId, String output) {
+          }
+        });
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient(1024,
+        RemoteInterpreterOutputBuffer.WRITE_TIMEOUT);
+    eventClient.openOutputBuffer("note", "paragraph");
+    for (int i = 0; i < 5; i++) {
+      eventClient.onInterpreterOutputAppend("note", "paragraph", ("line" + i + "\n").getBytes());
+    }
+    eventClient.closeOutputBuffer("note", "paragraph");
+
+    // watermarks of the lines and close are sent in a single event
+    List<RemoteInterpreterEvent> events = eventClient.pollEvents(10, 0);
+    assertEquals(1, events.size());
+    String path = (String) new Gson().fromJson(events.get(0).getData(), HashMap.class).get("path");
+    assertTrue(new File(path).exists());
+
+    poller.handleEvent(events.get(0));
+    assertEquals(1, outputs.size());
+    assertEquals("line0\nline1\nline2\nline3\nline4\n", outputs.get(0));
+    assertFalse(new File(path).exists());
+
+    // closed. output is sent in events
+    eventClient.onInterpreterOutputAppend("note", "paragraph", "line5\n".getBytes());
+    events = eventClient.pollEvents(10, 0);
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).getData().contains("line5"));
+  }
+
+  @Test
+  public void testFullOutputRingFallsBackToEvents() {
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient(4, 100);
+    eventClient.openOutputBuffer("note", "paragraph");
+
+    // nobody reads the ring. rest of the output goes in an event after the timeout
+    long start = System.currentTimeMillis();
+    eventClient.onInterpreterOutputAppend("note", "paragraph", "abcdefgh".getBytes());
+    assertTrue(System.currentTimeMillis() - start < 5 * 1000);
+    List<RemoteInterpreterEvent> events = eventClient.pollEvents(10, 0);
+    assertEquals(2, events.size());
+    assertTrue(events.get(0).getData().contains("\"watermark\":\"4\""));
+    assertTrue(events.get(1).getData().contains("efgh"));
+
+    // ring is given up. no more waiting
+    eventClient.onInterpreterOutputAppend("note", "paragraph", "ijkl".getBytes());
+    events = eventClient.pollEvents(10, 0);
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).getData().contains("ijkl"));
+
+    // close doesn't wait for anything either
+    eventClient.closeOutputBuffer("note", "paragraph");
+    events = eventClient.pollEvents(10, 0);
+    assertTrue(events.get(0).getData().contains("\"close\":\"true\""));
+    String path = (String) new Gson().fromJson(events.get(0).getData(), HashMap.class).get("path");
+    new File(path).delete();
+  }
+
+  @Test
+  public void testJobStatusListener() {
+    RemoteInterpreterProcess process = new RemoteInterpreterProcess("runner", "dir", "repo",
+        new HashMap<String, String>(), 10 * 1000, null);
+    final List<Status> received = new LinkedList<Status>();
+    RemoteJobStatusListener listener = new RemoteJobStatusListener() {
+      @Override
+      public void onJobStatusChange(String jobId, Status status) {
+        received.add(status);
+      }
+    };
+
+    process.addJobStatusListener("job1", listener);
+    process.onJobStatusChange("job1", Status.RUNNING);
+    process.onJobStatusChange("job2", Status.RUNNING);
+    assertEquals(1, received.size());
+
+    process.removeJobStatusListener("job1", listener);
+    process.onJobStatusChange("job1", Status.FINISHED);
+    assertEquals(1, received.size());
+  }
+
+  @Test
+  public void testReadResourceFromOwningProcess() throws Exception {
+    RemoteInterpreterServer owner = new RemoteInterpreterServer(
+        RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces());
+    owner.start();
+    long start = System.currentTimeMillis();
+    while (!owner.isRunning() && System.currentTimeMillis() - start < 10 * 1000) {
+      Thread.sleep(100);
+    }
+
+    try {
+      owner.createInterpreter("owner", MockInterpreterA.class.getName(),
+          new HashMap<String, String>());
+      owner.resourcePool.put("key1", "value1");
+
+      // Zeppelin server lists the resource with location of the owning process
+      Gson gson = new Gson();
+      ResourceLocation location = new ResourceLocation("localhost", owner.getPort(),
+          RemoteInterpreterTransport.get().toString(), RemoteInterpreterProtocol.get().toString(),
+          false);
+      List<String> resources = new LinkedList<String>();
+      for (String res : owner.resoucePoolGetAll()) {
+        RemoteResource resource = gson.fromJson(res, RemoteResource.class);
+        resource.setLocation(location);
+        resources.add(gson.toJson(resource));
+      }
+
+      RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+      eventClient.putResponseGetAllResources(resources);
+      ResourceSet resourceSet = eventClient.getAllResources();
+      assertEquals(1, resourceSet.size());
+      assertEquals("value1", resourceSet.get(0).get());
+      // read again on the pooled connection
+      assertEquals("value1", resourceSet.get(0).get());
+
+      // no RESOURCE_GET event is sent to Zeppelin server
+      List<RemoteInterpreterEvent> events = eventClient.pollEvents(10, 0);
+      assertEquals(1, events.size());
+      assertEquals(RemoteInterpreterEventType.RESOURCE_POOL_GET_ALL, events.get(0).getType());
+      eventClient.close();
+    } finally {
+      owner.shutdown();
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.Test;
+
+public class RemoteInterpreterOutputBufferTest {
+
+  @Test
+  public void testWrapAround() throws IOException {
+    RemoteInterpreterOutputBuffer writer = RemoteInterpreterOutputBuffer.create(8);
+    RemoteInterpreterOutputBuffer reader = RemoteInterpreterOutputBuffer.open(writer.getPath());
+    assertEquals(8, reader.getCapacity());
+
+    assertEquals(6, writer.write("abcdef".getBytes(), 0, 6));
+    assertEquals("abcdef", new String(reader.read(writer.getWritePosition())));
+
+    // wraps around the end of the ring
+    assertEquals(5, writer.write("ghijk".getBytes(), 0, 5));
+    assertEquals(11, writer.getWritePosition());
+    assertEquals("ghijk", new String(reader.read(11)));
+    assertEquals(0, reader.read(11).length);
+    reader.delete();
+  }
+
+  @Test
+  public void testFullRing() throws IOException {
+    RemoteInterpreterOutputBuffer writer = RemoteInterpreterOutputBuffer.create(4);
+    RemoteInterpreterOutputBuffer reader = RemoteInterpreterOutputBuffer.open(writer.getPath());
+
+    assertEquals(4, writer.write("abcdef".getBytes(), 0, 6));
+    assertEquals(0, writer.write("ef".getBytes(), 0, 2));
+
+    // reading frees the space
+    assertEquals("abcd", new String(reader.read(writer.getWritePosition())));
+    assertEquals(2, writer.write("ef".getBytes(), 0, 2));
+    assertEquals("ef", new String(reader.read(writer.getWritePosition())));
+
+    File file = new File(writer.getPath());
+    assertTrue(file.exists());
+    reader.delete();
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void testCharacterIsNotSplit() throws IOException {
+    RemoteInterpreterOutputBuffer writer = RemoteInterpreterOutputBuffer.create(4);
+    RemoteInterpreterOutputBuffer reader = RemoteInterpreterOutputBuffer.open(writer.getPath());
+
+    // U+20AC takes three bytes. it doesn't fit after abc
+    byte[] utf8 = "abc\u20ac".getBytes(StandardCharsets.UTF_8);
+    assertEquals(3, writer.write(utf8, 0, utf8.length));
+    assertEquals("abc", new String(reader.read(writer.getWritePosition()), StandardCharsets.UTF_8));
+    assertEquals(3, writer.write(utf8, 3, utf8.length - 3));
+    assertEquals("\u20ac",
+        new String(reader.read(writer.getWritePosition()), StandardCharsets.UTF_8));
+    reader.delete();
+  }
+
+  @Test
+  public void testOpenRejectsOtherFiles() throws IOException {
+    File other = File.createTempFile("other-", ".ring");
+    try {
+      RemoteInterpreterOutputBuffer.open(other.getAbsolutePath());
+      fail();
+    } catch (IOException e) {
+      // expected
+    } finally {
+      other.delete();
+    }
+
+    try {
+      RemoteInterpreterOutputBuffer.open("/etc/zeppelin-output-1.ring");
+      fail();
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testRingIsOwnerOnly() throws IOException {
+    RemoteInterpreterOutputBuffer writer = RemoteInterpreterOutputBuffer.create(4);
+    try {
+      assertEquals(PosixFilePermissions.fromString("rw-------"),
+          Files.getPosixFilePermissions(new File(writer.getPath()).toPath()));
+    } finally {
+      writer.close();
+      writer.delete();
+    }
+  }
+
+  @Test
+  public void testStaleRingIsRemoved() throws IOException {
+    File tmpDir = new File(System.getProperty("java.io.tmpdir"));
+    RemoteInterpreterOutputBuffer writer = RemoteInterpreterOutputBuffer.create(4);
+    File file = new File(writer.getPath());
+
+    // writer holds the ring
+    RemoteInterpreterOutputBuffer.removeStaleRings(tmpDir, 0);
+    assertTrue(file.exists());
+    // recently closed ring may be still read
+    writer.close();
+    RemoteInterpreterOutputBuffer.removeStaleRings(tmpDir, 60 * 1000);
+    assertTrue(file.exists());
+
+    // nobody removed the closed ring
+    RemoteInterpreterOutputBuffer.removeStaleRings(tmpDir, 0);
+    assertFalse(file.exists());
+  }
+}
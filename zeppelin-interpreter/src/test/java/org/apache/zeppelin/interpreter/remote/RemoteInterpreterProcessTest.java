@@ -66,4 +66,19 @@ public class RemoteInterpreterProcessTest {
 
     rip.dereference();
   }
+
+  @Test
+  public void testConfiguredMaxConnections() {
+    try {
+      System.setProperty(RemoteInterpreterProcess.MAX_CONNECTIONS_PROPERTY, "8");
+      assertEquals(8, RemoteInterpreterProcess.getConfiguredMaxConnections());
+      System.setProperty(RemoteInterpreterProcess.MAX_CONNECTIONS_PROPERTY, "0");
+      assertEquals(1, RemoteInterpreterProcess.getConfiguredMaxConnections());
+      System.setProperty(RemoteInterpreterProcess.MAX_CONNECTIONS_PROPERTY, "unlimited");
+      assertEquals(RemoteInterpreterProcess.DEFAULT_MAX_CONNECTIONS,
+          RemoteInterpreterProcess.getConfiguredMaxConnections());
+    } finally {
+      System.clearProperty(RemoteInterpreterProcess.MAX_CONNECTIONS_PROPERTY);
+    }
+  }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.zeppelin.interpreter.remote;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TFramedTransport;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TTransport;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterResult;
+
+/**
+ * Compares protocols and transports writing and reading RemoteInterpreterResult.
+ *
+ * Not a unit test. Run main() to print wire size, throughput and cpu time per combination.
+ */
+public class RemoteInterpreterProtocolBenchmark {
+  private static final int[] ROWS = {10, 1000, 100000};
+  private static final long BYTES_PER_RUN = 200L * 1024 * 1024;
+
+  enum Framing {
+    PLAIN, FRAMED, COMPRESSED
+  }
+
+  public static void main(String[] args) throws Exception {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    System.out.println(String.format("%-8s %-8s %-10s %12s %12s %10s %10s",
+        "rows", "protocol", "framing", "result(B)", "wire(B)", "MB/s", "cpu(ms)"));
+
+    for (int rows : ROWS) {
+      RemoteInterpreterResult result = createResult(rows);
+      int resultSize = result.getMsg().length();
+      int iterations = (int) Math.max(10, BYTES_PER_RUN / resultSize);
+
+      for (RemoteInterpreterProtocol protocol : RemoteInterpreterProtocol.values()) {
+        for (Framing framing : Framing.values()) {
+          // warm up
+          run(result, protocol, framing, iterations / 10 + 1);
+
+          long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+          long start = System.nanoTime();
+          int wireSize = run(result, protocol, framing, iterations);
+          long elapsed = System.nanoTime() - start;
+          long cpu = threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+
+          double mbPerSec = (double) resultSize * iterations / (1024 * 1024)
+              / (elapsed / 1000000000.0);
+          System.out.println(String.format("%-8d %-8s %-10s %12d %12d %10.1f %10d",
+              rows, protocol, framing, resultSize, wireSize, mbPerSec, cpu / 1000000));
+        }
+      }
+    }
+  }
+
+  static RemoteInterpreterResult createResult(int rows) {
+    StringBuilder table = new StringBuilder("%table id\tname\tvalue\n");
+    for (int i = 0; i < rows; i++) {
+      table.append(i).append("\tname").append(i % 100).append('\t').append(i * 0.37).append('\n');
+    }
+    return new RemoteInterpreterResult("SUCCESS", "TABLE", table.toString(), "{}", "{}", null,
+        null);
+  }
+
+  /**
+   * Write and read the result.
+   * @return bytes on the wire of one result
+   */
+  static int run(RemoteInterpreterResult result, RemoteInterpreterProtocol protocol,
+      Framing framing, int iterations) throws Exception {
+    int wireSize = 0;
+    for (int i = 0; i < iterations; i++) {
+      TMemoryBuffer wire = new TMemoryBuffer(result.getMsg().length() + 1024);
+      TTransport out = wrap(wire, framing);
+      result.write(protocol.getFactory().getProtocol(out));
+      out.flush();
+      wireSize = wire.length();
+
+      TProtocol iprot = protocol.getFactory().getProtocol(wrap(wire, framing));
+      RemoteInterpreterResult read = new RemoteInterpreterResult();
+      read.read(iprot);
+    }
+    return wireSize;
+  }
+
+  private static TTransport wrap(TMemoryBuffer wire, Framing framing) {
+    switch (framing) {
+        case FRAMED:
+          return new TFramedTransport(wire, Integer.MAX_VALUE);
+        case COMPRESSED:
+          return new CompressedFramedTransport(wire);
+        default:
+          return wire;
+    }
+  }
+}
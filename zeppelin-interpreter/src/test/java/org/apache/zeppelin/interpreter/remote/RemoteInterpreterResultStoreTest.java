@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.junit.Test;
+
+public class RemoteInterpreterResultStoreTest {
+
+  @Test
+  public void testChunks() {
+    RemoteInterpreterResultStore store = new RemoteInterpreterResultStore(4);
+    assertFalse(store.isLarge("abcd"));
+    assertTrue(store.isLarge("abcdefghij"));
+
+    String id = store.put("abcdefghij");
+    assertEquals(1, store.size());
+    assertEquals("abcd", store.nextChunk(id));
+    assertEquals("efgh", store.nextChunk(id));
+    assertEquals("ij", store.nextChunk(id));
+    assertEquals("", store.nextChunk(id));
+    assertEquals(0, store.size());
+
+    // unknown id
+    assertEquals("", store.nextChunk(id));
+  }
+
+  @Test
+  public void testSurrogatePairIsNotSplit() {
+    RemoteInterpreterResultStore store = new RemoteInterpreterResultStore(4);
+    // U+1F600 takes two chars
+    String msg = "abc😀def";
+    String id = store.put(msg);
+    StringBuilder fetched = new StringBuilder();
+    String chunk;
+    while (!(chunk = store.nextChunk(id)).isEmpty()) {
+      assertFalse(Character.isHighSurrogate(chunk.charAt(chunk.length() - 1)));
+      fetched.append(chunk);
+    }
+    assertEquals(msg, fetched.toString());
+  }
+
+  @Test
+  public void testAbandonedResultExpires() throws InterruptedException {
+    RemoteInterpreterResultStore store = new RemoteInterpreterResultStore(4, 100,
+        HashedWheelTimer.singleton());
+    String id = store.put("abcdefghij");
+    assertEquals("abcd", store.nextChunk(id));
+
+    // not fetched anymore. dropped without another put
+    long start = System.currentTimeMillis();
+    while (store.size() > 0 && System.currentTimeMillis() - start < 5000) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, store.size());
+    assertEquals("", store.nextChunk(id));
+  }
+
+  @Test
+  public void testDisabled() {
+    RemoteInterpreterResultStore store = new RemoteInterpreterResultStore(0);
+    assertFalse(store.isLarge("abcdefghij"));
+  }
+}
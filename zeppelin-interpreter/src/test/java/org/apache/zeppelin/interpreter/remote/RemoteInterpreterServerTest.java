@@ -18,10 +18,19 @@
 package org.apache.zeppelin.interpreter.remote;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
 
 import org.apache.thrift.TException;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterServer;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterUtils;
 import org.junit.After;
@@ -72,5 +81,141 @@ public class RemoteInterpreterServerTest {
     assertEquals(false, running);
   }
 
+  @Test
+  public void testNonBlockingTransport() throws Exception {
+    System.setProperty(RemoteInterpreterTransport.TRANSPORT_PROPERTY, "nonblocking");
+    RemoteInterpreterServer server;
+    try {
+      server = new RemoteInterpreterServer(
+          RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces());
+    } finally {
+      System.clearProperty(RemoteInterpreterTransport.TRANSPORT_PROPERTY);
+    }
+    server.start();
+    long startTime = System.currentTimeMillis();
+    while (System.currentTimeMillis() - startTime < 10 * 1000 && !server.isRunning()) {
+      Thread.sleep(200);
+    }
+    assertEquals(true, server.isRunning());
+
+    ClientFactory factory = new ClientFactory("localhost", server.getPort(),
+        RemoteInterpreterTransport.NON_BLOCKING);
+    Client client1 = factory.create();
+    Client client2 = factory.create();
+    assertEquals("Unknown", client1.getStatus("job"));
+    assertEquals("Unknown", client2.getStatus("job"));
+    assertEquals("Unknown", client1.getStatus("job"));
+
+    server.shutdown();
+  }
+
+  @Test
+  public void testCompactProtocolWithCompression() throws Exception {
+    System.setProperty(RemoteInterpreterTransport.TRANSPORT_PROPERTY, "framed");
+    System.setProperty(RemoteInterpreterProtocol.PROTOCOL_PROPERTY, "compact");
+    System.setProperty(CompressedFramedTransport.COMPRESSION_PROPERTY, "true");
+    RemoteInterpreterServer server;
+    try {
+      server = new RemoteInterpreterServer(
+          RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces());
+    } finally {
+      System.clearProperty(RemoteInterpreterTransport.TRANSPORT_PROPERTY);
+      System.clearProperty(RemoteInterpreterProtocol.PROTOCOL_PROPERTY);
+      System.clearProperty(CompressedFramedTransport.COMPRESSION_PROPERTY);
+    }
+    server.start();
+    long startTime = System.currentTimeMillis();
+    while (System.currentTimeMillis() - startTime < 10 * 1000 && !server.isRunning()) {
+      Thread.sleep(200);
+    }
+    assertEquals(true, server.isRunning());
+
+    ClientFactory factory = new ClientFactory("localhost", server.getPort(),
+        RemoteInterpreterTransport.FRAMED, RemoteInterpreterProtocol.COMPACT, true);
+    Client client = factory.create();
+    assertEquals("Unknown", client.getStatus("job"));
+    assertEquals(0, client.getEvents(10, 0).size());
+    // thread pool server waits for open connections on shutdown
+    factory.destroyObject(factory.wrap(client));
+
+    server.shutdown();
+  }
+
+  @Test
+  public void testUnixSocket() throws Exception {
+    assumeTrue(UnixSocketTransport.isSupported());
+    RemoteInterpreterServer server = new RemoteInterpreterServer(
+        RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces());
+    String path = server.getSocketPath();
+    assertNotNull(path);
+    server.start();
+    long startTime = System.currentTimeMillis();
+    while (System.currentTimeMillis() - startTime < 10 * 1000 && !server.isRunning()) {
+      Thread.sleep(200);
+    }
+    assertEquals(true, server.isRunning());
+
+    ClientFactory factory = new ClientFactory("localhost", server.getPort(),
+        RemoteInterpreterTransport.THREAD_POOL, RemoteInterpreterProtocol.BINARY, false, 0, path);
+    Client client = factory.create();
+    assertTrue(factory.clientSocketMap.get(client) instanceof UnixSocketTransport);
+    assertEquals("Unknown", client.getStatus("job"));
+    factory.destroyObject(factory.wrap(client));
+
+    // only the owner can connect
+    assertEquals(PosixFilePermissions.fromString("rw-------"),
+        Files.getPosixFilePermissions(new File(path).toPath()));
+    assertEquals(PosixFilePermissions.fromString("rwx------"),
+        Files.getPosixFilePermissions(new File(path).getParentFile().toPath()));
+
+    server.shutdown();
+    assertFalse(new File(path).exists());
+  }
+
+  @Test
+  public void testStaleUnixSocketFileIsRemoved() throws Exception {
+    assumeTrue(UnixSocketTransport.isSupported());
+    // killed process leaves its socket file behind
+    String stale = UnixSocketTransport.newSocketPath();
+    UnixSocketTransport.bind(stale).close();
+    assertTrue(new File(stale).exists());
+
+    // socket file of a live server is kept
+    UnixServerSocketTransport live =
+        new UnixServerSocketTransport(UnixSocketTransport.newSocketPath());
+    try {
+      UnixSocketTransport.newSocketPath();
+      assertFalse(new File(stale).exists());
+      assertTrue(new File(live.getPath()).exists());
+    } finally {
+      live.close();
+    }
+  }
+
+  @Test
+  public void testUnixSocketDisabled() throws Exception {
+    System.setProperty(UnixSocketTransport.ENABLED_PROPERTY, "false");
+    try {
+      RemoteInterpreterServer server = new RemoteInterpreterServer(
+          RemoteInterpreterUtils.findRandomAvailablePortOnAllLocalInterfaces());
+      assertNull(server.getSocketPath());
+    } finally {
+      System.clearProperty(UnixSocketTransport.ENABLED_PROPERTY);
+    }
+  }
+
+  @Test
+  public void testTransportFromString() {
+    assertEquals(RemoteInterpreterTransport.THREAD_POOL,
+        RemoteInterpreterTransport.fromString(null));
+    assertEquals(RemoteInterpreterTransport.NON_BLOCKING,
+        RemoteInterpreterTransport.fromString("NonBlocking"));
+    assertEquals(RemoteInterpreterTransport.THREAD_POOL,
+        RemoteInterpreterTransport.fromString("unknown"));
+    assertEquals(RemoteInterpreterProtocol.COMPACT,
+        RemoteInterpreterProtocol.fromString("compact"));
+    assertEquals(RemoteInterpreterProtocol.BINARY, RemoteInterpreterProtocol.fromString(null));
+  }
+
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterA;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+
+/**
+ * Compares loopback TCP and unix domain socket between Zeppelin server and an interpreter process.
+ *
+ * Not a unit test. Run main() on JDK 16+ to print latency of small calls and throughput of a
+ * large resource read, over each socket.
+ */
+public class RemoteInterpreterSocketBenchmark {
+  private static final int CALLS = 20000;
+  private static final int RESOURCE_SIZE = 16 * 1024 * 1024;
+  private static final int READS = 50;
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) throws Exception {
+    if (!UnixSocketTransport.isSupported()) {
+      System.out.println("Unix domain sockets are not supported by this JVM");
+      return;
+    }
+
+    RemoteInterpreterServer server = new RemoteInterpreterServer(0);
+    server.start();
+    while (!server.isRunning()) {
+      Thread.sleep(100);
+    }
+    server.createInterpreter("benchmark", MockInterpreterA.class.getName(),
+        new HashMap<String, String>());
+    byte[] data = new byte[RESOURCE_SIZE];
+    Arrays.fill(data, (byte) 'a');
+    server.resourcePool.put("data", data);
+
+    System.out.println(String.format("%-8s %14s %14s", "socket", "latency(us)", "MB/s"));
+    ClientFactory tcp = new ClientFactory("localhost", server.getPort(),
+        RemoteInterpreterTransport.get(), RemoteInterpreterProtocol.get(), false);
+    ClientFactory unix = new ClientFactory("localhost", server.getPort(),
+        RemoteInterpreterTransport.get(), RemoteInterpreterProtocol.get(), false, 0,
+        server.getSocketPath());
+    try {
+      // alternate, so both get the same JIT warm up
+      for (int i = 0; i < ROUNDS; i++) {
+        run("tcp", tcp);
+        run("unix", unix);
+      }
+    } finally {
+      server.shutdown();
+    }
+  }
+
+  private static void run(String name, ClientFactory factory) throws Exception {
+    Client client = factory.create();
+    try {
+      // warm up
+      calls(client, CALLS / 10);
+      reads(client, READS / 10 + 1);
+
+      long start = System.nanoTime();
+      calls(client, CALLS);
+      double latencyUs = (System.nanoTime() - start) / 1000.0 / CALLS;
+
+      start = System.nanoTime();
+      reads(client, READS);
+      double mbPerSec = (double) RESOURCE_SIZE * READS / (1024 * 1024)
+          / ((System.nanoTime() - start) / 1000000000.0);
+
+      System.out.println(String.format("%-8s %14.1f %14.1f", name, latencyUs, mbPerSec));
+    } finally {
+      factory.destroyObject(factory.wrap(client));
+    }
+  }
+
+  private static void calls(Client client, int n) throws Exception {
+    for (int i = 0; i < n; i++) {
+      client.getStatus("job");
+    }
+  }
+
+  private static void reads(Client client, int n) throws Exception {
+    for (int i = 0; i < n; i++) {
+      client.resourceGet("data");
+    }
+  }
+}
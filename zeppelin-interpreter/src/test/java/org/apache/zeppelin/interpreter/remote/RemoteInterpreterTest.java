@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
 import org.apache.thrift.transport.TTransportException;
 import org.apache.zeppelin.display.AngularObjectRegistry;
 import org.apache.zeppelin.display.GUI;
@@ -37,6 +39,9 @@ import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterResult.Code;
 import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterA;
 import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterB;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterContext;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterResult;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.resource.LocalResourcePool;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
@@ -139,6 +144,198 @@ public class RemoteInterpreterTest {
 
   }
 
+  private InterpreterContext createContext(String paragraphId, Map<String, Object> config) {
+    return new InterpreterContext(
+        "note",
+        paragraphId,
+        "title",
+        "text",
+        config,
+        new GUI(),
+        new AngularObjectRegistry(intpGroup.getId(), null),
+        new LocalResourcePool("pool1"),
+        new LinkedList<InterpreterContextRunner>(), null);
+  }
+
+  @Test
+  public void testProgressOfRunningParagraphUsesRunningContext() throws InterruptedException {
+    Properties p = new Properties();
+    final RemoteInterpreter intpA = createMockInterpreterA(p);
+    intpGroup.add(intpA);
+    intpA.setInterpreterGroup(intpGroup);
+    intpA.open();
+
+    Map<String, Object> config = new HashMap<String, Object>();
+    config.put("progress", 50);
+    final InterpreterContext runningContext = createContext("p1", config);
+    Thread run = new Thread() {
+      @Override
+      public void run() {
+        intpA.interpret("1500", runningContext);
+      }
+    };
+    run.start();
+    Thread.sleep(700);
+
+    // config, gui and runners are not sent for the running paragraph.
+    // interpreter gets the context of the running interpret call
+    InterpreterContext progressContext = createContext("p1", new HashMap<String, Object>());
+    assertEquals(50, intpA.getProgress(progressContext));
+
+    run.join();
+    assertEquals(0, intpA.getProgress(progressContext));
+    // config is not changed by the interpreter
+    assertEquals(50, ((Number) runningContext.getConfig().get("progress")).intValue());
+
+    intpA.close();
+  }
+
+  @Test
+  public void testControlCallsDontWaitForBusyConnections() throws Exception {
+    Properties p = new Properties();
+    final RemoteInterpreter intpA = createMockInterpreterA(p);
+    intpGroup.add(intpA);
+    intpA.setInterpreterGroup(intpGroup);
+    intpA.open();
+
+    // hold all connections, like long running paragraphs do.
+    // pool allows only the connection held here
+    RemoteInterpreterProcess process = intpA.getInterpreterProcess();
+    Client busy = process.getClient();
+    process.setMaxPoolSize(-1);
+
+    try {
+      final InterpreterContext context = createContext("p1", new HashMap<String, Object>());
+      final List<Integer> progress = new LinkedList<Integer>();
+      Thread control = new Thread() {
+        @Override
+        public void run() {
+          intpA.cancel(context);
+          progress.add(intpA.getProgress(context));
+        }
+      };
+      control.start();
+      control.join(5 * 1000);
+      assertEquals(1, progress.size());
+      assertEquals(0, process.getNumActiveControlClient());
+    } finally {
+      process.releaseClient(busy);
+      process.setMaxPoolSize(10);
+    }
+    intpA.close();
+  }
+
+  @Test
+  public void testLargeResultIsFetchedInChunks() {
+    env.put(RemoteInterpreterResultStore.CHUNK_SIZE_ENV, "16");
+    Properties p = new Properties();
+    RemoteInterpreter intpA = createMockInterpreterA(p);
+    intpGroup.add(intpA);
+    intpA.setInterpreterGroup(intpGroup);
+    intpA.open();
+
+    // MockInterpreterA sleeps for the number in the statement and returns it as the result
+    StringBuilder st = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      st.append('0');
+    }
+    st.append('1');
+    InterpreterResult ret = intpA.interpret(st.toString(), createContext("p1",
+        new HashMap<String, Object>()));
+    assertEquals(Code.SUCCESS, ret.code());
+    assertEquals(st.toString(), ret.message());
+
+    // small result is sent at once
+    ret = intpA.interpret("1", createContext("p1", new HashMap<String, Object>()));
+    assertEquals("1", ret.message());
+
+    intpA.close();
+  }
+
+  @Test
+  public void testUnchangedConfigAndGuiAreNotSentAgain() throws TException {
+    RemoteInterpreter intpA = createMockInterpreterA(new Properties());
+    Map<String, Object> config = new HashMap<String, Object>();
+    for (int i = 0; i < 100; i++) {
+      config.put("key" + i, "value" + i);
+    }
+    InterpreterContext context = createContext("p1", config);
+    TSerializer serializer = new TSerializer();
+
+    RemoteInterpreterContext first = intpA.convertForInterpret(context);
+    assertNotNull(first.getConfig());
+    assertNotNull(first.getGui());
+    assertNotNull(first.getContextVersion());
+
+    RemoteInterpreterContext second = intpA.convertForInterpret(context);
+    assertNull(second.getConfig());
+    assertNull(second.getGui());
+    assertEquals(first.getContextVersion(), second.getContextVersion());
+    assertTrue(serializer.serialize(second).length < serializer.serialize(first).length / 10);
+
+    // changed config is sent again, with a new version
+    config.put("key0", "changed");
+    RemoteInterpreterContext third = intpA.convertForInterpret(context);
+    assertNotNull(third.getConfig());
+    assertFalse(first.getContextVersion().equals(third.getContextVersion()));
+
+    // without a paragraph id, nothing is cached
+    assertNotNull(intpA.convertForInterpret(createContext(null, config)).getConfig());
+    assertNotNull(intpA.convertForInterpret(createContext(null, config)).getConfig());
+  }
+
+  @Test
+  public void testInterpretUsesCachedConfigAndGui() throws Exception {
+    final RemoteInterpreter intpA = createMockInterpreterA(new Properties());
+    intpGroup.add(intpA);
+    intpA.setInterpreterGroup(intpGroup);
+    intpA.open();
+
+    Map<String, Object> config = new HashMap<String, Object>();
+    config.put("progress", 50);
+    final InterpreterContext context = createContext("p1", config);
+    assertEquals(Code.SUCCESS, intpA.interpret("1", context).code());
+
+    // second call leaves config out. interpreter process uses the cached one
+    Thread run = new Thread() {
+      @Override
+      public void run() {
+        intpA.interpret("1500", context);
+      }
+    };
+    run.start();
+    Thread.sleep(700);
+    assertEquals(50, intpA.getProgress(createContext("p1", new HashMap<String, Object>())));
+    run.join();
+
+    // version the interpreter process doesn't know is not run, and is reported as a miss
+    RemoteInterpreterProcess process = intpA.getInterpreterProcess();
+    Client client = process.getClient();
+    try {
+      RemoteInterpreterContext unknown = intpA.convertForInterpret(context);
+      unknown.setConfig(null);
+      unknown.setGui(null);
+      unknown.setContextVersion("unknown");
+      RemoteInterpreterResult result =
+          client.interpret(MockInterpreterA.class.getName(), "1", unknown);
+      assertNull(result.getContextVersion());
+      assertEquals(Code.ERROR.name(), result.getCode());
+    } finally {
+      process.releaseClient(client);
+    }
+
+    // another interpreter of the process replaces the cached version of the paragraph.
+    // on the miss, client sends config and gui again
+    RemoteInterpreter other = createMockInterpreterA(new Properties());
+    intpGroup.add(other);
+    other.setInterpreterGroup(intpGroup);
+    other.open();
+    assertEquals(Code.SUCCESS, other.interpret("1", context).code());
+    assertEquals(Code.SUCCESS, intpA.interpret("1", context).code());
+    other.close();
+    intpA.close();
+  }
+
   @Test
   public void testRemoteInterperterErrorStatus() throws TTransportException, IOException {
     Properties p = new Properties();
@@ -351,7 +548,9 @@ public class RemoteInterpreterTest {
     Scheduler scheduler = intpA.getScheduler();
     for (int i = 0; i < concurrency; i++) {
       final String jobId = Integer.toString(i);
-      scheduler.submit(new Job(jobId, Integer.toString(i), null, 200) {
+      // each job runs 100ms in the remote process. a job submitted while previous one
+      // is running finishes 100ms after it, so completion order is not up to thread timing
+      scheduler.submit(new Job(jobId, Integer.toString(100 + i), null, 200) {
 
         @Override
         public int progress() {
@@ -400,7 +599,7 @@ public class RemoteInterpreterTest {
 
     int i = 0;
     for (String result : results) {
-      assertEquals(Integer.toString(i++), result);
+      assertEquals(Integer.toString(100 + i++), result);
     }
     assertEquals(concurrency, i);
 
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterLauncher.LaunchedProcess;
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemoteInterpreterWarmPoolTest {
+  private RemoteInterpreterWarmPool pool;
+  private RemoteInterpreterLauncher launcher;
+
+  @Before
+  public void setUp() {
+    pool = new RemoteInterpreterWarmPool(1);
+    launcher = new RemoteInterpreterLauncher(
+        "../bin/interpreter.sh", "nonexists", "fakeRepo", new HashMap<String, String>(),
+        10 * 1000);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  private void waitForIdle(RemoteInterpreterLauncher launcher) throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (pool.getNumIdle(launcher) == 0 && System.currentTimeMillis() - start < 20 * 1000) {
+      Thread.sleep(100);
+    }
+  }
+
+  @Test
+  public void testTakeLaunchesReplacement() throws InterruptedException {
+    // launcher is not known to the pool yet
+    assertNull(pool.take(launcher, "group"));
+    waitForIdle(launcher);
+    assertEquals(1, pool.getNumIdle(launcher));
+
+    // equal launcher takes the idle process
+    LaunchedProcess process = pool.take(new RemoteInterpreterLauncher(
+        "../bin/interpreter.sh", "nonexists", "fakeRepo", new HashMap<String, String>(),
+        10 * 1000), "group");
+    assertNotNull(process);
+    assertTrue(process.isRunning());
+    assertTrue(RemoteInterpreterUtils.checkIfRemoteEndpointAccessible(
+        "localhost", process.getPort()));
+
+    // replacement is launched in background
+    waitForIdle(launcher);
+    assertEquals(1, pool.getNumIdle(launcher));
+
+    process.destroy();
+  }
+
+  @Test
+  public void testShutdownKillsIdleProcesses() throws InterruptedException {
+    assertNull(pool.take(launcher, "group"));
+    waitForIdle(launcher);
+    LaunchedProcess process = pool.take(launcher, "group");
+    assertNotNull(process);
+    process.destroy();
+
+    waitForIdle(launcher);
+    pool.shutdown();
+    assertEquals(0, pool.getNumIdle(launcher));
+    assertNull(pool.take(launcher, "group"));
+  }
+
+  @Test
+  public void testEvictKillsIdleProcesses() throws InterruptedException {
+    assertNull(pool.take(launcher, "group"));
+    waitForIdle(launcher);
+    assertEquals(1, pool.getNumIdle(launcher));
+
+    pool.evict("otherGroup");
+    assertEquals(1, pool.getNumIdle(launcher));
+
+    pool.evict("group");
+    assertEquals(0, pool.getNumIdle(launcher));
+    // forgotten launcher is not refilled
+    Thread.sleep(1000);
+    assertEquals(0, pool.getNumIdle(launcher));
+  }
+
+  @Test
+  public void testIdleProcessesExpire() throws InterruptedException {
+    pool.shutdown();
+    pool = new RemoteInterpreterWarmPool(1, 5 * 1000, HashedWheelTimer.singleton());
+    assertNull(pool.take(launcher, "group"));
+    waitForIdle(launcher);
+    assertEquals(1, pool.getNumIdle(launcher));
+
+    // launcher is forgotten once no process was taken from it for the ttl
+    long start = System.currentTimeMillis();
+    while (pool.getNumIdle(launcher) > 0 && System.currentTimeMillis() - start < 20 * 1000) {
+      Thread.sleep(100);
+    }
+    assertEquals(0, pool.getNumIdle(launcher));
+  }
+
+  @Test
+  public void testDisabledPool() {
+    RemoteInterpreterWarmPool disabled = new RemoteInterpreterWarmPool(0);
+    assertFalse(disabled.isEnabled());
+    assertNull(disabled.take(launcher, "group"));
+    assertEquals(0, disabled.getNumIdle(launcher));
+  }
+}
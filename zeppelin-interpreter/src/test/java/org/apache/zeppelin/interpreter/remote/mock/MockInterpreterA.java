@@ -82,7 +82,8 @@ public class MockInterpreterA extends Interpreter {
 
   @Override
   public int getProgress(InterpreterContext context) {
-    return 0;
+    Object progress = context.getConfig().get("progress");
+    return progress == null ? 0 : ((Number) progress).intValue();
   }
 
   @Override
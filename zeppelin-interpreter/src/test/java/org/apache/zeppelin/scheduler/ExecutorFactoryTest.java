@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
+
+public class ExecutorFactoryTest extends TestCase {
+  private ExecutorFactory factory;
+
+  @Override
+  public void setUp() {
+    factory = new ExecutorFactory();
+  }
+
+  @Override
+  public void tearDown() {
+    factory.shutdownAll();
+  }
+
+  public void testCreateOrGet() {
+    ManagedExecutor e = factory.createOrGet("test", 2);
+    assertSame(e, factory.createOrGet("test"));
+    assertSame(e, factory.get("test"));
+    assertEquals(2, e.getMaxThreads());
+    assertEquals(1, factory.list().size());
+
+    factory.shutdown("test");
+    assertTrue(e.isShutdown());
+    assertNull(factory.get("test"));
+  }
+
+  public void testShutdownAll() {
+    ManagedExecutor e1 = factory.createOrGet("test1", 1);
+    ManagedExecutor e2 = factory.createOrGetWorkStealing("test2", 1, 10, RejectionPolicy.ABORT);
+    factory.shutdownAll();
+    assertTrue(e1.isShutdown());
+    assertTrue(e2.isShutdown());
+    assertEquals(0, factory.list().size());
+  }
+
+  public void testThreadName() throws InterruptedException {
+    final String[] threadName = new String[1];
+    ManagedExecutor e = factory.createOrGet("named", 1);
+    final CountDownLatch done = new CountDownLatch(1);
+    e.execute(new Runnable() {
+      @Override
+      public void run() {
+        threadName[0] = Thread.currentThread().getName();
+        done.countDown();
+      }
+    });
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertTrue(threadName[0].startsWith("named-"));
+  }
+
+  public void testThreadPoolRejection() throws InterruptedException {
+    ManagedExecutor e = factory.createOrGetThreadPool("bounded", 1, 1, RejectionPolicy.ABORT);
+    CountDownLatch block = new CountDownLatch(1);
+    e.execute(new BlockingTask(block));   // running
+    e.execute(new BlockingTask(block));   // queued
+    try {
+      e.execute(new BlockingTask(block));
+      fail("should be rejected");
+    } catch (RejectedExecutionException ex) {
+      // expected
+    }
+    assertEquals(1, e.getRejectedTasks());
+    block.countDown();
+  }
+
+  public void testResize() throws InterruptedException {
+    ManagedExecutor e = factory.createOrGetThreadPool("resize", 1, 10, RejectionPolicy.ABORT);
+    CountDownLatch block = new CountDownLatch(1);
+    e.execute(new BlockingTask(block));
+    e.execute(new BlockingTask(block));
+    Thread.sleep(100);
+    assertEquals(1, e.getActiveThreads());
+    assertEquals(1, e.getQueueSize());
+
+    e.resize(2);
+    assertEquals(2, e.getMaxThreads());
+    // queued task starts once a new task arrives and a thread is added for it
+    e.execute(new BlockingTask(block));
+    Thread.sleep(100);
+    assertEquals(2, e.getActiveThreads());
+    assertEquals(1.0, e.getUtilization(), 0.001);
+    block.countDown();
+  }
+
+  public void testWorkStealingBound() throws InterruptedException {
+    ManagedExecutor e = factory.createOrGetWorkStealing("stealing", 1, 1,
+        RejectionPolicy.CALLER_RUNS);
+    CountDownLatch block = new CountDownLatch(1);
+    e.execute(new BlockingTask(block));   // running
+    e.execute(new BlockingTask(block));   // queued
+
+    // runs in this thread, because executor is full
+    final AtomicInteger ranInCaller = new AtomicInteger();
+    final Thread caller = Thread.currentThread();
+    e.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (Thread.currentThread() == caller) {
+          ranInCaller.incrementAndGet();
+        }
+      }
+    });
+    assertEquals(1, ranInCaller.get());
+    assertEquals(1, e.getRejectedTasks());
+
+    block.countDown();
+    long start = System.currentTimeMillis();
+    while (e.getCompletedTasks() < 2 && System.currentTimeMillis() - start < 10000) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, e.getCompletedTasks());
+  }
+
+  public void testWorkStealingDiscardOldest() throws InterruptedException {
+    ManagedExecutor e = factory.createOrGetWorkStealing("discardOldest", 1, 1,
+        RejectionPolicy.DISCARD_OLDEST);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch block = new CountDownLatch(1);
+    e.execute(new Runnable() {
+      @Override
+      public void run() {
+        started.countDown();
+        try {
+          block.await();
+        } catch (InterruptedException ex) {
+          // exit
+        }
+      }
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    final AtomicInteger ran = new AtomicInteger();
+    e.execute(new Runnable() {   // queued, then discarded
+      @Override
+      public void run() {
+        ran.addAndGet(1);
+      }
+    });
+    e.execute(new Runnable() {   // executor is full
+      @Override
+      public void run() {
+        ran.addAndGet(10);
+      }
+    });
+    assertEquals(1, e.getRejectedTasks());
+
+    block.countDown();
+    long start = System.currentTimeMillis();
+    while (e.getCompletedTasks() < 2 && System.currentTimeMillis() - start < 10000) {
+      Thread.sleep(10);
+    }
+    assertEquals(2, e.getCompletedTasks());
+    assertEquals(10, ran.get());
+  }
+
+  public void testWorkStealingExecuteWhileResize() throws InterruptedException {
+    final ManagedExecutor e = factory.createOrGetWorkStealing("resizing", 1, 100000,
+        RejectionPolicy.ABORT);
+    final AtomicInteger failures = new AtomicInteger();
+    Thread[] submitters = new Thread[4];
+    for (int i = 0; i < submitters.length; i++) {
+      submitters[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 5000; j++) {
+            try {
+              e.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+              });
+            } catch (RejectedExecutionException ex) {
+              failures.incrementAndGet();
+            }
+          }
+        }
+      };
+      submitters[i].start();
+    }
+    for (int i = 0; i < 200; i++) {
+      e.resize(i % 2 + 1);
+    }
+    for (Thread t : submitters) {
+      t.join();
+    }
+    assertEquals(0, failures.get());
+
+    long start = System.currentTimeMillis();
+    while (e.getCompletedTasks() < 20000 && System.currentTimeMillis() - start < 10000) {
+      Thread.sleep(10);
+    }
+    assertEquals(20000, e.getCompletedTasks());
+  }
+
+  private static class BlockingTask implements Runnable {
+    private final CountDownLatch latch;
+
+    BlockingTask(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void run() {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        // exit
+      }
+    }
+  }
+}
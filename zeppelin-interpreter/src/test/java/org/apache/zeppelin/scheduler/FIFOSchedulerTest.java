@@ -17,6 +17,10 @@
 
 package org.apache.zeppelin.scheduler;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Scheduler;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
@@ -114,4 +118,304 @@ public class FIFOSchedulerTest extends TestCase {
 	    assertTrue((500 > (Long)job1.getReturn()));
 	    assertEquals(null, job2.getReturn());
 	  }
-}
\ No newline at end of file
+
+  public void testDispatchNextJobWhenSlotFrees() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+
+    Job job1 = new SleepingJob("job1", null, 50);
+    Job job2 = new SleepingJob("job2", null, 50);
+    Job job3 = new SleepingJob("job3", null, 50);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+
+    // jobs run back to back without idle polling between them
+    Thread.sleep(400);
+
+    assertEquals(Status.FINISHED, job1.getStatus());
+    assertEquals(Status.FINISHED, job2.getStatus());
+    assertEquals(Status.FINISHED, job3.getStatus());
+    assertEquals(0, s.getJobsRunning().size());
+    assertEquals(0, s.getJobsWaiting().size());
+  }
+
+  public void testMetrics() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+    SchedulerMetrics metrics = s.getMetrics();
+    long submitted = metrics.getSubmitted();
+    long finished = metrics.getFinished();
+    long errors = metrics.getErrors();
+    long aborted = metrics.getAborted();
+
+    Job job1 = new SleepingJob("job1", null, 200);
+    Job job2 = new SleepingJob("job2", null, 200);
+    Job job3 = new SleepingJob("job3", null, 200);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+    Thread.sleep(100);
+
+    assertEquals(submitted + 3, metrics.getSubmitted());
+    assertEquals(1, metrics.getRunning());
+    assertEquals(2, metrics.getWaiting());
+
+    s.removeFromWaitingQueue(job3.getId());
+    assertEquals(1, metrics.getWaiting());
+    assertEquals(aborted + 1, metrics.getAborted());
+
+    // replaces and aborts the waiting job2
+    s.submit(new SleepingJob(job2.getId(), "job2", null, 200));
+    assertEquals(submitted + 4, metrics.getSubmitted());
+    assertEquals(1, metrics.getWaiting());
+    assertEquals(aborted + 2, metrics.getAborted());
+
+    Thread.sleep(500);
+    assertEquals(0, metrics.getRunning());
+    assertEquals(0, metrics.getWaiting());
+    assertEquals(finished + 2, metrics.getFinished());
+    // every submitted job is counted once by how it ended
+    assertEquals(metrics.getSubmitted() - submitted,
+        (metrics.getFinished() - finished) + (metrics.getErrors() - errors)
+        + (metrics.getAborted() - aborted));
+    assertTrue(metrics.getRunTime().getMax() >= 200);
+    assertTrue(metrics.getWaitTime().getMax() >= 100);
+  }
+
+  public void testGetJob() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+
+    Job job1 = new SleepingJob("job1", null, 300);
+    Job job2 = new SleepingJob("job2", null, 300);
+
+    s.submit(job1);
+    s.submit(job2);
+    Thread.sleep(100);
+
+    assertSame(job1, s.getJob(job1.getId()));
+    assertSame(job2, s.getJob(job2.getId()));
+    assertNull(s.getJob("unknown"));
+
+    assertSame(job2, s.removeFromWaitingQueue(job2.getId()));
+    assertNull(s.getJob(job2.getId()));
+
+    Thread.sleep(400);
+    assertNull(s.getJob(job1.getId()));
+  }
+
+  public void testSubmitSameJobIdWhileWaiting() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+
+    Job job1 = new SleepingJob("job1", null, 300);
+    Job job2 = new SleepingJob("job2", null, 100);
+    Job job2Again = new SleepingJob(job2.getId(), "job2", null, 100);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job2);
+    Thread.sleep(100);
+    assertEquals(1, s.getJobsWaiting().size());
+
+    // newer job replaces the waiting one
+    s.submit(job2Again);
+    assertEquals(1, s.getJobsWaiting().size());
+    assertEquals(Status.ABORT, job2.getStatus());
+    assertSame(job2Again, s.getJob(job2.getId()));
+
+    Thread.sleep(500);
+    assertEquals(Status.FINISHED, job2Again.getStatus());
+    assertNull(job2.getReturn());
+  }
+
+  public void testQueueLimitReject() throws InterruptedException {
+    AbstractScheduler s = (AbstractScheduler) schedulerSvc.createOrGetFIFOScheduler("test");
+    s.setQueueLimit(new QueueLimit(1, QueueLimit.Policy.REJECT, 0));
+
+    Job job1 = new SleepingJob("job1", null, 200);
+    Job job2 = new SleepingJob("job2", null, 100);
+    Job job3 = new SleepingJob("job3", null, 100);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+
+    assertEquals(Status.ERROR, job3.getStatus());
+    assertTrue(job3.getException() instanceof RejectedExecutionException);
+    assertEquals(1, s.getJobsWaiting().size());
+    assertEquals(1, s.getMetrics().getRefused());
+
+    Thread.sleep(500);
+    assertEquals(Status.FINISHED, job2.getStatus());
+  }
+
+  public void testQueueLimitShedOldest() throws InterruptedException {
+    AbstractScheduler s = (AbstractScheduler) schedulerSvc.createOrGetFIFOScheduler("test");
+    s.setQueueLimit(new QueueLimit(1, QueueLimit.Policy.SHED_OLDEST, 0));
+
+    Job job1 = new SleepingJob("job1", null, 200);
+    Job job2 = new SleepingJob("job2", null, 100);
+    Job job3 = new SleepingJob("job3", null, 100);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+
+    assertEquals(Status.ERROR, job2.getStatus());
+    assertNull(s.getJob(job2.getId()));
+    assertEquals(1, s.getMetrics().getShed());
+
+    Thread.sleep(500);
+    assertEquals(Status.FINISHED, job3.getStatus());
+  }
+
+  public void testQueueLimitBlock() throws InterruptedException {
+    AbstractScheduler s = (AbstractScheduler) schedulerSvc.createOrGetFIFOScheduler("test");
+    s.setQueueLimit(new QueueLimit(1, QueueLimit.Policy.BLOCK, 1000));
+
+    Job job1 = new SleepingJob("job1", null, 200);
+    Job job2 = new SleepingJob("job2", null, 100);
+    Job job3 = new SleepingJob("job3", null, 100);
+
+    s.submit(job1);
+    s.submit(job2);
+    // waits until job1 finishes and job2 leaves the queue
+    long start = System.currentTimeMillis();
+    s.submit(job3);
+    assertTrue(System.currentTimeMillis() - start >= 150);
+    assertEquals(Status.PENDING, job3.getStatus());
+
+    // times out
+    s.setQueueLimit(new QueueLimit(1, QueueLimit.Policy.BLOCK, 50));
+    Job job4 = new SleepingJob("job4", null, 100);
+    s.submit(job4);
+    assertEquals(Status.ERROR, job4.getStatus());
+
+    Thread.sleep(400);
+    assertEquals(Status.FINISHED, job3.getStatus());
+  }
+
+  public void testQueuePosition() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+    QueuePositionListener listener = new QueuePositionListener();
+
+    Job job1 = new SleepingJob("job1", listener, 100);
+    Job job2 = new SleepingJob("job2", listener, 100);
+    Job job3 = new SleepingJob("job3", listener, 100);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+    assertEquals(0, job1.getQueuePosition());
+    assertEquals(1, job2.getQueuePosition());
+    assertEquals(2, job3.getQueuePosition());
+    assertEquals(new Integer(2), listener.positions.get(job3.getId()));
+
+    Thread.sleep(150);
+    assertEquals(0, job2.getQueuePosition());
+    assertEquals(1, job3.getQueuePosition());
+    assertEquals(new Integer(1), listener.positions.get(job3.getId()));
+    // one job finished, so wait time can be estimated
+    assertTrue(listener.estimatedWaitMs.get(job3.getId()) >= 100);
+  }
+
+  public void testCoalesceWaitingDuplicate() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFIFOScheduler("test");
+    long coalesced = s.getMetrics().getCoalesced();
+
+    Job job1 = new SleepingJob("job1", null, 200);
+    Job job2 = new CoalescingJob("job2", "job2", "code");
+    Job job2Again = new CoalescingJob(job2.getId(), "job2", "code");
+    Job job2Changed = new CoalescingJob(job2.getId(), "job2", "changed code");
+
+    s.submit(job1);
+    s.submit(job2);
+    // same code. attached to the waiting job
+    s.submit(job2Again);
+    assertEquals(1, s.getJobsWaiting().size());
+    assertSame(job2, s.getJob(job2.getId()));
+    assertEquals(Status.PENDING, job2.getStatus());
+    assertEquals(Status.PENDING, job2Again.getStatus());
+    assertEquals(coalesced + 1, s.getMetrics().getCoalesced());
+    // the waiting job itself
+    s.submit(job2);
+    assertEquals(1, s.getJobsWaiting().size());
+    assertEquals(coalesced + 2, s.getMetrics().getCoalesced());
+
+    Thread.sleep(500);
+    assertEquals(Status.FINISHED, job2.getStatus());
+    assertEquals(Status.FINISHED, job2Again.getStatus());
+    assertEquals(job2.getReturn(), job2Again.getReturn());
+
+    // different code replaces the waiting job
+    Job job3 = new SleepingJob("job3", null, 200);
+    s.submit(job3);
+    s.submit(job2);
+    s.submit(job2Changed);
+    assertEquals(Status.ABORT, job2.getStatus());
+    assertSame(job2Changed, s.getJob(job2.getId()));
+  }
+
+  public void testAttachToRunning() throws InterruptedException {
+    AbstractScheduler s = (AbstractScheduler) schedulerSvc.createOrGetFIFOScheduler("test");
+    s.setAttachToRunning(true);
+
+    Job job1 = new CoalescingJob("job1", "job1", "code");
+    Job job1Again = new CoalescingJob(job1.getId(), "job1", "code");
+
+    s.submit(job1);
+    Thread.sleep(100);
+    assertEquals(Status.RUNNING, job1.getStatus());
+
+    // resubmitting the running job doesn't run it again
+    s.submit(job1);
+    assertEquals(Status.RUNNING, job1.getStatus());
+    assertEquals(0, s.getJobsWaiting().size());
+
+    s.submit(job1Again);
+    assertEquals(0, s.getJobsWaiting().size());
+    assertEquals(Status.PENDING, job1Again.getStatus());
+
+    Thread.sleep(300);
+    assertEquals(Status.FINISHED, job1.getStatus());
+    assertEquals(Status.FINISHED, job1Again.getStatus());
+    assertEquals(job1.getReturn(), job1Again.getReturn());
+  }
+
+  private static class CoalescingJob extends SleepingJob {
+    private final String code;
+
+    CoalescingJob(String jobId, String jobName, String code) {
+      super(jobId, jobName, null, 200);
+      this.code = code;
+    }
+
+    @Override
+    public String getCoalesceKey() {
+      return code;
+    }
+  }
+
+  private static class QueuePositionListener implements JobListener, JobQueueListener {
+    final Map<String, Integer> positions = new ConcurrentHashMap<String, Integer>();
+    final Map<String, Long> estimatedWaitMs = new ConcurrentHashMap<String, Long>();
+
+    @Override
+    public void onQueuePositionChange(Job job, int position, long estimatedWaitMs) {
+      positions.put(job.getId(), position);
+      this.estimatedWaitMs.put(job.getId(), estimatedWaitMs);
+    }
+
+    @Override
+    public void onProgressUpdate(Job job, int progress) {
+    }
+
+    @Override
+    public void beforeStatusChange(Job job, Status before, Status after) {
+    }
+
+    @Override
+    public void afterStatusChange(Job job, Status before, Status after) {
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.zeppelin.scheduler.Job.Status;
+
+import junit.framework.TestCase;
+
+public class FairShareSchedulerTest extends TestCase {
+
+  private SchedulerFactory schedulerSvc;
+
+  @Override
+  public void setUp() throws Exception {
+    schedulerSvc = new SchedulerFactory();
+  }
+
+  @Override
+  public void tearDown() {
+
+  }
+
+  public void testTenantIsNotStarvedByBatch() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFairShareScheduler("test", 1,
+        new WeightedFairQueue(new HashMap<String, Integer>(), 0));
+
+    Job batch1 = new TenantJob("batch1", "user1:note1", 200);
+    Job batch2 = new TenantJob("batch2", "user1:note1", 200);
+    Job batch3 = new TenantJob("batch3", "user1:note1", 200);
+    Job interactive = new TenantJob("interactive", "user2:note2", 200);
+
+    s.submit(batch1);
+    s.submit(batch2);
+    s.submit(batch3);
+    s.submit(interactive);
+
+    // interactive job runs right after the first batch job, instead of waiting all of them
+    Thread.sleep(300);
+    assertEquals(Status.FINISHED, batch1.getStatus());
+    assertEquals(Status.RUNNING, interactive.getStatus());
+    assertEquals(Status.PENDING, batch2.getStatus());
+    assertEquals(Status.PENDING, batch3.getStatus());
+  }
+
+  public void testMaxConcurrencyPerTenant() throws InterruptedException {
+    Scheduler s = schedulerSvc.createOrGetFairShareScheduler("test", 3,
+        new WeightedFairQueue(new HashMap<String, Integer>(), 1));
+
+    Job job1 = new TenantJob("job1", "user1:note1", 300);
+    Job job2 = new TenantJob("job2", "user1:note1", 300);
+    Job job3 = new TenantJob("job3", "user2:note2", 300);
+
+    s.submit(job1);
+    s.submit(job2);
+    s.submit(job3);
+    Thread.sleep(100);
+
+    assertEquals(Status.RUNNING, job1.getStatus());
+    assertEquals(Status.PENDING, job2.getStatus());
+    assertEquals(Status.RUNNING, job3.getStatus());
+    assertEquals(2, s.getJobsRunning().size());
+    assertEquals(1, s.getJobsWaiting().size());
+
+    Thread.sleep(400);
+    assertEquals(Status.RUNNING, job2.getStatus());
+  }
+
+  public void testWeight() {
+    Map<String, Integer> weights = new HashMap<String, Integer>();
+    weights.put("user1", 3);
+    weights.put("note2", 2);
+    weights.put("user3:note3", 5);
+    WeightedFairQueue queue = new WeightedFairQueue(weights, 0);
+
+    assertEquals(3, queue.getWeight("user1:note1"));
+    assertEquals(2, queue.getWeight("user2:note2"));
+    assertEquals(5, queue.getWeight("user3:note3"));
+    assertEquals(1, queue.getWeight("user4:note4"));
+  }
+
+  public void testFromProperties() {
+    Properties p = new Properties();
+    assertNull(WeightedFairQueue.fromProperties(p));
+
+    p.put(WeightedFairQueue.SCHEDULER_PROPERTY, "fair");
+    p.put(WeightedFairQueue.WEIGHTS_PROPERTY, "user1=3, note2=2, wrong=x");
+    WeightedFairQueue queue = WeightedFairQueue.fromProperties(p);
+    assertNotNull(queue);
+    assertEquals(3, queue.getWeight("user1:note1"));
+    assertEquals(2, queue.getWeight("user2:note2"));
+    assertEquals(1, queue.getWeight("wrong"));
+  }
+
+  private static class TenantJob extends SleepingJob {
+    private String tenant;
+
+    public TenantJob(String jobName, String tenant, int time) {
+      super(jobName, null, time);
+      this.tenant = tenant;
+    }
+
+    @Override
+    public String getTenant() {
+      return tenant;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.zeppelin.scheduler.Job.Status;
+
+public class HashedWheelTimerTest extends TestCase {
+  private ExecutorService executor;
+  private HashedWheelTimer timer;
+
+  @Override
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    // small wheel to test timeouts longer than a round
+    timer = new HashedWheelTimer("test", 10, 8, executor);
+  }
+
+  @Override
+  public void tearDown() {
+    timer.stop();
+    executor.shutdown();
+  }
+
+  public void testSchedule() throws InterruptedException {
+    final CountDownLatch fired = new CountDownLatch(1);
+    long start = System.currentTimeMillis();
+    timer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        fired.countDown();
+      }
+    }, 200, null);
+    assertTrue(fired.await(10, TimeUnit.SECONDS));
+    assertTrue(System.currentTimeMillis() - start >= 190);
+  }
+
+  public void testParksWhenEmpty() throws InterruptedException {
+    waitIdle();
+    assertTrue(timer.isIdle());
+
+    // wakes up on schedule, and parks again once the task ran
+    final CountDownLatch fired = new CountDownLatch(1);
+    timer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        fired.countDown();
+      }
+    }, 30, null);
+    assertTrue(fired.await(10, TimeUnit.SECONDS));
+    waitIdle();
+    assertTrue(timer.isIdle());
+  }
+
+  private void waitIdle() throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (!timer.isIdle() && System.currentTimeMillis() - start < 10 * 1000) {
+      Thread.sleep(10);
+    }
+  }
+
+  public void testCancel() throws InterruptedException {
+    final AtomicInteger count = new AtomicInteger();
+    HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+      @Override
+      public void run() {
+        count.incrementAndGet();
+      }
+    }, 50, null);
+    timeout.cancel();
+    Thread.sleep(200);
+    assertEquals(0, count.get());
+  }
+
+  public void testBatch() throws InterruptedException {
+    final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+    final CountDownLatch fired = new CountDownLatch(10);
+    Object key = new Object();
+    for (int i = 0; i < 10; i++) {
+      timer.schedule(new Runnable() {
+        @Override
+        public void run() {
+          threads.add(Thread.currentThread());
+          fired.countDown();
+        }
+      }, 50, key);
+    }
+    assertTrue(fired.await(10, TimeUnit.SECONDS));
+    // expired in the same tick, and run in a single task
+    assertEquals(1, threads.size());
+  }
+
+  public void testProgressPollerBackoff() throws InterruptedException {
+    final AtomicInteger updates = new AtomicInteger();
+    Job job = new Job("job", new JobListener() {
+      @Override
+      public void onProgressUpdate(Job job, int progress) {
+        updates.incrementAndGet();
+      }
+
+      @Override
+      public void beforeStatusChange(Job job, Status before, Status after) {
+      }
+
+      @Override
+      public void afterStatusChange(Job job, Status before, Status after) {
+      }
+    }) {
+      @Override
+      public int progress() {
+        return 10;
+      }
+
+      @Override
+      public Map<String, Object> info() {
+        return null;
+      }
+
+      @Override
+      protected Object jobRun() throws Throwable {
+        return null;
+      }
+
+      @Override
+      protected boolean jobAbort() {
+        return false;
+      }
+    };
+    job.setStatus(Status.RUNNING);
+
+    JobProgressPoller poller = new JobProgressPoller(job, 20, timer);
+    poller.start();
+    Thread.sleep(1000);
+    poller.terminate();
+
+    // progress does not change
+    assertEquals(1, updates.get());
+    assertEquals(20 * JobProgressPoller.MAX_BACKOFF, poller.getCurrentIntervalMs());
+  }
+}
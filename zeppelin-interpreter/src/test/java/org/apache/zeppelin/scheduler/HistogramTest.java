@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import junit.framework.TestCase;
+
+public class HistogramTest extends TestCase {
+
+  public void testBucket() {
+    for (long v = 0; v < 100000; v++) {
+      int index = Histogram.bucketIndex(v);
+      assertTrue(Histogram.bucketLowerBound(index) <= v);
+      assertTrue(Histogram.bucketUpperBound(index) >= v);
+    }
+    int index = Histogram.bucketIndex(Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, Histogram.bucketUpperBound(index));
+  }
+
+  public void testPercentile() {
+    Histogram h = new Histogram();
+    assertEquals(0, h.getPercentile(50));
+
+    for (int i = 1; i <= 1000; i++) {
+      h.record(i);
+    }
+
+    assertEquals(1000, h.getCount());
+    assertEquals(1000, h.getMax());
+    assertEquals(500.5, h.getMean(), 0.001);
+    assertWithin(500, h.getPercentile(50));
+    assertWithin(990, h.getPercentile(99));
+    assertEquals(1000, h.getPercentile(100));
+  }
+
+  private void assertWithin(long expected, long actual) {
+    assertTrue("expected " + expected + " but " + actual,
+        Math.abs(actual - expected) <= expected / 8);
+  }
+}
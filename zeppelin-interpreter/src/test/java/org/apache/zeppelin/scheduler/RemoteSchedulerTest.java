@@ -165,9 +165,11 @@ public class RemoteSchedulerTest implements RemoteInterpreterProcessListener {
 
     intpA.open();
 
+    // jobs are dispatched as soon as a slot is free.
+    // limit concurrency so job2 stays in the waiting queue while job1 is running
     Scheduler scheduler = schedulerSvc.createOrGetRemoteScheduler("test",
         intpA.getInterpreterProcess(),
-        10);
+        1);
 
     Job job1 = new Job("jobId1", "jobName1", null, 200) {
       InterpreterContext context = new InterpreterContext(
@@ -260,7 +262,7 @@ public class RemoteSchedulerTest implements RemoteInterpreterProcessListener {
     job2.abort();
 
     cycles = 0;
-    while (!job1.isTerminated() && cycles < MAX_WAIT_CYCLES) {
+    while (!(job1.isTerminated() && job2.isTerminated()) && cycles < MAX_WAIT_CYCLES) {
       Thread.sleep(TICK_WAIT);
       cycles++;
     }
@@ -40,6 +40,12 @@ public class SleepingJob extends Job{
 		this.time = time;
 		count = 0;
 	}
+
+	public SleepingJob(String jobId, String jobName, JobListener listener, int time){
+		super(jobId, jobName, listener, JobProgressPoller.DEFAULT_INTERVAL_MSEC);
+		this.time = time;
+		count = 0;
+	}
 	@Override
   public Object jobRun() {
 		start = System.currentTimeMillis();
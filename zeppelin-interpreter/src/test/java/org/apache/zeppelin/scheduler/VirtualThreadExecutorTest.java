@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.scheduler;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.apache.zeppelin.scheduler.ManagedExecutor.RejectionPolicy;
+
+public class VirtualThreadExecutorTest extends TestCase {
+  private VirtualThreadExecutor executor;
+
+  @Override
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private ThreadFactory threadFactory() {
+    // platform threads when the JVM does not support virtual threads
+    if (VirtualThreads.isSupported()) {
+      return VirtualThreads.newVirtualThreadFactory("test");
+    }
+    return new NamedThreadFactory("test");
+  }
+
+  public void testBoundedConcurrency() throws InterruptedException {
+    executor = new VirtualThreadExecutor("test", threadFactory(), 2, 1, RejectionPolicy.ABORT);
+    CountDownLatch block = new CountDownLatch(1);
+    final AtomicInteger done = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      executor.execute(new BlockingTask(block, done));
+    }
+    assertEquals(2, executor.getActiveThreads());
+    assertEquals(1, executor.getQueueSize());
+    assertEquals(1.0, executor.getUtilization(), 0.001);
+
+    try {
+      executor.execute(new BlockingTask(block, done));
+      fail("should be rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+    assertEquals(1, executor.getRejectedTasks());
+
+    // queued task runs after a running one finishes
+    block.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(3, done.get());
+    assertEquals(3, executor.getCompletedTasks());
+    assertEquals(0, executor.getActiveThreads());
+  }
+
+  public void testResize() throws InterruptedException {
+    executor = new VirtualThreadExecutor("test", threadFactory(), 1, 10, RejectionPolicy.ABORT);
+    CountDownLatch block = new CountDownLatch(1);
+    AtomicInteger done = new AtomicInteger();
+    executor.execute(new BlockingTask(block, done));
+    executor.execute(new BlockingTask(block, done));
+    assertEquals(1, executor.getActiveThreads());
+
+    executor.resize(2);
+    assertEquals(2, executor.getActiveThreads());
+    assertEquals(0, executor.getQueueSize());
+    block.countDown();
+  }
+
+  public void testCallerRuns() {
+    executor = new VirtualThreadExecutor("test", threadFactory(), 1, 0,
+        RejectionPolicy.CALLER_RUNS);
+    CountDownLatch block = new CountDownLatch(1);
+    AtomicInteger done = new AtomicInteger();
+    executor.execute(new BlockingTask(block, done));
+
+    final Thread caller = Thread.currentThread();
+    final AtomicInteger ranInCaller = new AtomicInteger();
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        if (Thread.currentThread() == caller) {
+          ranInCaller.incrementAndGet();
+        }
+      }
+    });
+    assertEquals(1, ranInCaller.get());
+    block.countDown();
+  }
+
+  public void testVirtualThreadFactory() throws Exception {
+    if (!VirtualThreads.isSupported()) {
+      try {
+        VirtualThreads.newVirtualThreadFactory("test");
+        fail("should not be supported");
+      } catch (UnsupportedOperationException e) {
+        // expected
+      }
+      return;
+    }
+
+    Thread t = VirtualThreads.newVirtualThreadFactory("test").newThread(new Runnable() {
+      @Override
+      public void run() {
+      }
+    });
+    Method isVirtual = Thread.class.getMethod("isVirtual");
+    assertTrue((Boolean) isVirtual.invoke(t));
+    assertEquals("test-1", t.getName());
+  }
+
+  private static class BlockingTask implements Runnable {
+    private final CountDownLatch latch;
+    private final AtomicInteger done;
+
+    BlockingTask(CountDownLatch latch, AtomicInteger done) {
+      this.latch = latch;
+      this.done = done;
+    }
+
+    @Override
+    public void run() {
+      try {
+        latch.await();
+        done.incrementAndGet();
+      } catch (InterruptedException e) {
+        // exit
+      }
+    }
+  }
+}
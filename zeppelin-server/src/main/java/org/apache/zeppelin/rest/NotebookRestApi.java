@@ -46,6 +46,7 @@ import org.apache.zeppelin.rest.message.RunParagraphWithParametersRequest;
 import org.apache.zeppelin.search.SearchService;
 import org.apache.zeppelin.server.JsonResponse;
 import org.apache.zeppelin.socket.NotebookServer;
+import org.apache.zeppelin.utils.SecurityUtils;
 import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -387,7 +388,11 @@ public class NotebookRestApi {
     if (note == null) {
       return new JsonResponse<>(Status.NOT_FOUND, "note not found.").build();
     }
-    
+
+    String principal = SecurityUtils.getPrincipal();
+    for (Paragraph p : note.getParagraphs()) {
+      p.setUser(principal);
+    }
     note.runAll();
     return new JsonResponse<>(Status.OK).build();
   }
@@ -473,6 +478,7 @@ public class NotebookRestApi {
       }
     }
 
+    paragraph.setUser(SecurityUtils.getPrincipal());
     note.run(paragraph.getId());
     return new JsonResponse<>(Status.OK).build();
   }
@@ -501,6 +507,42 @@ public class NotebookRestApi {
     p.abort();
     return new JsonResponse<>(Status.OK).build();
   }
+
+  /**
+   * Clear paragraph result cache REST API
+   * @param
+   * @return JSON with status.OK
+   */
+  @DELETE
+  @Path("cache")
+  public Response clearResultCache() {
+    LOG.info("clear paragraph result cache");
+    notebook.getResultCache().invalidateAll();
+    return new JsonResponse<>(Status.OK).build();
+  }
+
+  /**
+   * Invalidate cached result of a paragraph REST API
+   * @param
+   * @return JSON with status.OK
+   */
+  @DELETE
+  @Path("cache/{notebookId}/{paragraphId}")
+  public Response invalidateParagraphResult(@PathParam("notebookId") String notebookId,
+                                            @PathParam("paragraphId") String paragraphId) {
+    LOG.info("invalidate cached result of paragraph {} {}", notebookId, paragraphId);
+    Note note = notebook.getNote(notebookId);
+    if (note == null) {
+      return new JsonResponse<>(Status.NOT_FOUND, "note not found.").build();
+    }
+
+    Paragraph p = note.getParagraph(paragraphId);
+    if (p == null) {
+      return new JsonResponse<>(Status.NOT_FOUND, "paragraph not found.").build();
+    }
+    p.invalidateCachedResult();
+    return new JsonResponse<>(Status.OK).build();
+  }
     
   /**
    * Register cron job REST API
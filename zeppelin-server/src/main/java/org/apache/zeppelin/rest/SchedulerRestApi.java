@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.rest;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.apache.zeppelin.scheduler.AbstractScheduler;
+import org.apache.zeppelin.scheduler.ExecutorFactory;
+import org.apache.zeppelin.scheduler.ManagedExecutor;
+import org.apache.zeppelin.scheduler.Scheduler;
+import org.apache.zeppelin.scheduler.SchedulerFactory;
+import org.apache.zeppelin.server.JsonResponse;
+
+/**
+ * Scheduler Rest API. Exposes queue depth, wait time and run time of schedulers,
+ * and utilization of executors running them
+ */
+@Path("/scheduler")
+@Produces("application/json")
+public class SchedulerRestApi {
+
+  private SchedulerFactory schedulerFactory;
+
+  public SchedulerRestApi() {}
+
+  public SchedulerRestApi(SchedulerFactory schedulerFactory) {
+    this.schedulerFactory = schedulerFactory;
+  }
+
+  /**
+   * List metrics of all schedulers
+   */
+  @GET
+  @Path("metrics")
+  public Response listMetrics() {
+    List<Map<String, Object>> metrics = new LinkedList<>();
+    for (Scheduler scheduler : schedulerFactory.listScheduler(null)) {
+      metrics.add(toMetrics(scheduler));
+    }
+    return new JsonResponse<>(Status.OK, "", metrics).build();
+  }
+
+  /**
+   * Metrics of a scheduler
+   */
+  @GET
+  @Path("metrics/{name}")
+  public Response getMetrics(@PathParam("name") String name) {
+    Scheduler scheduler = schedulerFactory.getScheduler(name);
+    if (scheduler == null) {
+      return new JsonResponse<>(Status.NOT_FOUND, "scheduler not found.").build();
+    }
+    return new JsonResponse<>(Status.OK, "", toMetrics(scheduler)).build();
+  }
+
+  /**
+   * List thread pools and their utilization
+   */
+  @GET
+  @Path("executors")
+  public Response listExecutors() {
+    List<Map<String, Object>> executors = new LinkedList<>();
+    for (ManagedExecutor e : ExecutorFactory.singleton().list()) {
+      Map<String, Object> m = new LinkedHashMap<>();
+      m.put("name", e.getName());
+      m.put("type", e.getClass().getSimpleName());
+      m.put("rejectionPolicy", e.getRejectionPolicy().name());
+      m.put("maxThreads", e.getMaxThreads());
+      m.put("poolSize", e.getPoolSize());
+      m.put("activeThreads", e.getActiveThreads());
+      m.put("queueSize", e.getQueueSize());
+      m.put("queueCapacity", e.getQueueCapacity());
+      m.put("completedTasks", e.getCompletedTasks());
+      m.put("rejectedTasks", e.getRejectedTasks());
+      m.put("utilization", e.getUtilization());
+      executors.add(m);
+    }
+    return new JsonResponse<>(Status.OK, "", executors).build();
+  }
+
+  private Map<String, Object> toMetrics(Scheduler scheduler) {
+    Map<String, Object> m = new LinkedHashMap<>();
+    m.put("name", scheduler.getName());
+    m.put("type", scheduler.getClass().getSimpleName());
+    if (scheduler instanceof AbstractScheduler) {
+      m.put("maxConcurrency", ((AbstractScheduler) scheduler).getMaxConcurrency());
+    }
+    m.put("metrics", scheduler.getMetrics().toMap());
+    return m;
+  }
+}
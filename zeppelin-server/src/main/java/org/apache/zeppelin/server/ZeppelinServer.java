@@ -289,6 +289,9 @@ public class ZeppelinServer extends Application {
     ConfigurationsRestApi settingsApi = new ConfigurationsRestApi(notebook);
     singletons.add(settingsApi);
 
+    SchedulerRestApi schedulerApi = new SchedulerRestApi(SchedulerFactory.singleton());
+    singletons.add(schedulerApi);
+
     return singletons;
   }
 }
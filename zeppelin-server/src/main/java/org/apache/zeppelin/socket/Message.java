@@ -43,6 +43,11 @@ public class Message {
               // @param id paragraph id
               // @param progress percentage progress
 
+    QUEUE_POSITION, // [s-c] position of pending paragraph in the scheduler queue
+                    // @param id paragraph id
+                    // @param position 1 for the paragraph to run next
+                    // @param estimatedWaitMs estimated wait time. -1 if unknown
+
     NEW_NOTE, // [c-s] create new notebook
     DEL_NOTE, // [c-s] delete notebook
               // @param id note id
@@ -38,6 +38,7 @@ import org.apache.zeppelin.notebook.*;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.apache.zeppelin.scheduler.JobListener;
+import org.apache.zeppelin.scheduler.JobQueueListener;
 import org.apache.zeppelin.server.ZeppelinServer;
 import org.apache.zeppelin.socket.Message.OP;
 import org.apache.zeppelin.ticket.TicketContainer;
@@ -699,6 +700,7 @@ public class NotebookServer extends WebSocketServlet implements
     Map<String, Object> config = (Map<String, Object>) fromMessage
        .get("config");
     p.setConfig(config);
+    p.setUser(fromMessage.principal);
     // if it's the last paragraph, let's add a new one
     boolean isTheLastParagraph = note.getLastParagraph().getId()
         .equals(p.getId());
@@ -772,7 +774,7 @@ public class NotebookServer extends WebSocketServlet implements
    * Need description here.
    *
    */
-  public static class ParagraphListenerImpl implements ParagraphJobListener {
+  public static class ParagraphListenerImpl implements ParagraphJobListener, JobQueueListener {
     private NotebookServer notebookServer;
     private Note note;
 
@@ -789,6 +791,14 @@ public class NotebookServer extends WebSocketServlet implements
               job.progress()));
     }
 
+    @Override
+    public void onQueuePositionChange(Job job, int position, long estimatedWaitMs) {
+      notebookServer.broadcast(
+          note.id(),
+          new Message(OP.QUEUE_POSITION).put("id", job.getId()).put("position", position)
+              .put("estimatedWaitMs", estimatedWaitMs));
+    }
+
     @Override
     public void beforeStatusChange(Job job, Status before, Status after) {
     }
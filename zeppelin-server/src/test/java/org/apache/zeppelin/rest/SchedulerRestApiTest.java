@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.rest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.zeppelin.scheduler.SchedulerFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import static org.junit.Assert.*;
+
+public class SchedulerRestApiTest extends AbstractTestRestApi {
+  Gson gson = new Gson();
+
+  @BeforeClass
+  public static void init() throws Exception {
+    AbstractTestRestApi.startUp();
+  }
+
+  @AfterClass
+  public static void destroy() throws Exception {
+    AbstractTestRestApi.shutDown();
+  }
+
+  @Test
+  public void testListMetrics() throws IOException {
+    SchedulerFactory.singleton().createOrGetFIFOScheduler("schedulerRestApiTest");
+
+    GetMethod get = httpGet("/scheduler/metrics");
+    assertThat(get, isAllowed());
+    Map<String, Object> resp = gson.fromJson(get.getResponseBodyAsString(),
+        new TypeToken<Map<String, Object>>(){}.getType());
+    List<Map<String, Object>> body = (List<Map<String, Object>>) resp.get("body");
+
+    boolean found = false;
+    for (Map<String, Object> scheduler : body) {
+      if ("schedulerRestApiTest".equals(scheduler.get("name"))) {
+        found = true;
+        assertEquals("FIFOScheduler", scheduler.get("type"));
+        assertEquals(1.0, scheduler.get("maxConcurrency"));
+      }
+    }
+    assertTrue(found);
+    get.releaseConnection();
+    SchedulerFactory.singleton().removeScheduler("schedulerRestApiTest");
+  }
+
+  @Test
+  public void testGetMetrics() throws IOException {
+    SchedulerFactory.singleton().createOrGetFIFOScheduler("schedulerRestApiTest");
+
+    GetMethod get = httpGet("/scheduler/metrics/schedulerRestApiTest");
+    assertThat(get, isAllowed());
+    Map<String, Object> resp = gson.fromJson(get.getResponseBodyAsString(),
+        new TypeToken<Map<String, Object>>(){}.getType());
+    Map<String, Object> body = (Map<String, Object>) resp.get("body");
+    Map<String, Object> metrics = (Map<String, Object>) body.get("metrics");
+    assertEquals(0.0, metrics.get("waiting"));
+    assertEquals(0.0, metrics.get("running"));
+    assertTrue(metrics.containsKey("waitTime"));
+    assertTrue(metrics.containsKey("runTime"));
+    get.releaseConnection();
+    SchedulerFactory.singleton().removeScheduler("schedulerRestApiTest");
+
+    get = httpGet("/scheduler/metrics/schedulerRestApiTest");
+    assertThat(get, isNotFound());
+    get.releaseConnection();
+  }
+}
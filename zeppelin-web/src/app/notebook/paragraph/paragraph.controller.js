@@ -428,6 +428,13 @@ angular.module('zeppelinWebApp')
     commitParagraph($scope.paragraph.title, $scope.paragraph.text, newConfig, newParams);
   };
 
+  $scope.toggleResultCache = function () {
+    var newParams = angular.copy($scope.paragraph.settings.params);
+    var newConfig = angular.copy($scope.paragraph.config);
+    newConfig.resultCache = !newConfig.resultCache;
+    commitParagraph($scope.paragraph.title, $scope.paragraph.text, newConfig, newParams);
+  };
+
   $scope.run = function() {
     var editorValue = $scope.editor.getValue();
     if (editorValue) {
@@ -914,6 +921,17 @@ angular.module('zeppelinWebApp')
     }
   });
 
+  $scope.getQueueWaitSeconds = function() {
+    return Math.ceil($scope.queueWaitMs / 1000);
+  };
+
+  $scope.$on('updateQueuePosition', function(event, data) {
+    if (data.id === $scope.paragraph.id) {
+      $scope.queuePosition = data.position;
+      $scope.queueWaitMs = data.estimatedWaitMs;
+    }
+  });
+
   $scope.$on('keyEvent', function(event, keyEvent) {
     if ($scope.paragraphFocused) {
 
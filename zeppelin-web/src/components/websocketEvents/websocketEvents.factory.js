@@ -60,6 +60,8 @@ angular.module('zeppelinWebApp').factory('websocketEvents', function($rootScope,
       $rootScope.$broadcast('updateParagraphOutput', data);      
     } else if (op === 'PROGRESS') {
       $rootScope.$broadcast('updateProgress', data);
+    } else if (op === 'QUEUE_POSITION') {
+      $rootScope.$broadcast('updateQueuePosition', data);
     } else if (op === 'COMPLETION_LIST') {
       $rootScope.$broadcast('completionList', data);
     } else if (op === 'ANGULAR_OBJECT_UPDATE') {
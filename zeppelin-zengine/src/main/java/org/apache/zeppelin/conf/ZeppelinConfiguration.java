@@ -476,6 +476,18 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     ZEPPELIN_INTERPRETER_REMOTE_RUNNER("zeppelin.interpreter.remoterunner", "bin/interpreter.sh"),
     // Decide when new note is created, interpreter settings will be binded automatically or not.
     ZEPPELIN_NOTEBOOK_AUTO_INTERPRETER_BINDING("zeppelin.notebook.autoInterpreterBinding", true),
+    // results of paragraphs with 'resultCache' config. max number of results and ttl in msec
+    ZEPPELIN_NOTEBOOK_RESULT_CACHE_SIZE("zeppelin.notebook.resultCache.size", 1000),
+    ZEPPELIN_NOTEBOOK_RESULT_CACHE_TTL("zeppelin.notebook.resultCache.ttl", 300000L),
+    // cron of notes. max delay of start in msec, max number of running notes in total and
+    // per interpreter setting (0 for unlimited), 'skip' or 'coalesce' a fire while
+    // previous run of the note is in progress, and max duration of a run in msec (0 for unlimited)
+    ZEPPELIN_NOTEBOOK_CRON_JITTER("zeppelin.notebook.cron.jitter", 0),
+    ZEPPELIN_NOTEBOOK_CRON_MAX_CONCURRENT("zeppelin.notebook.cron.maxConcurrent", 10),
+    ZEPPELIN_NOTEBOOK_CRON_MAX_CONCURRENT_PER_INTERPRETER(
+        "zeppelin.notebook.cron.maxConcurrentPerInterpreter", 0),
+    ZEPPELIN_NOTEBOOK_CRON_MISFIRE("zeppelin.notebook.cron.misfire", "coalesce"),
+    ZEPPELIN_NOTEBOOK_CRON_RUN_TIMEOUT("zeppelin.notebook.cron.runTimeout", 3600000L),
     ZEPPELIN_CONF_DIR("zeppelin.conf.dir", "conf"),
     ZEPPELIN_DEP_LOCALREPO("zeppelin.dep.localrepo", "local-repo"),
     // Allows a way to specify a ',' separated list of allowed origins for rest and websockets
@@ -33,6 +33,8 @@ import org.apache.zeppelin.interpreter.Interpreter.RegisteredInterpreter;
 import org.apache.zeppelin.interpreter.remote.RemoteAngularObjectRegistry;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreter;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcessListener;
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterWarmPool;
+import org.apache.zeppelin.notebook.ParagraphResultCache;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.slf4j.Logger;
@@ -74,6 +76,7 @@ public class InterpreterFactory {
 
   AngularObjectRegistryListener angularObjectRegistryListener;
   private final RemoteInterpreterProcessListener remoteInterpreterProcessListener;
+  private ParagraphResultCache resultCache;
 
   private DependencyResolver depResolver;
 
@@ -466,6 +469,8 @@ public class InterpreterFactory {
         InterpreterSetting intp = interpreterSettings.get(id);
         intp.getInterpreterGroup().close();
         intp.getInterpreterGroup().destroy();
+        RemoteInterpreterWarmPool.singleton().evict(id);
+        invalidateResultCache(id);
 
         interpreterSettings.remove(id);
         for (List<String> settings : interpreterBindings.values()) {
@@ -578,6 +583,9 @@ public class InterpreterFactory {
 
         intpsetting.getInterpreterGroup().close();
         intpsetting.getInterpreterGroup().destroy();
+        // idle processes were launched with the old properties
+        RemoteInterpreterWarmPool.singleton().evict(id);
+        invalidateResultCache(id);
 
         intpsetting.setOption(option);
         intpsetting.setDependencies(dependencies);
@@ -605,6 +613,7 @@ public class InterpreterFactory {
 
         intpsetting.getInterpreterGroup().close();
         intpsetting.getInterpreterGroup().destroy();
+        invalidateResultCache(id);
 
         InterpreterGroup interpreterGroup = createInterpreterGroup(
             intpsetting.id(),
@@ -617,15 +626,31 @@ public class InterpreterFactory {
     }
   }
 
+  /**
+   * Set the cache of paragraph results, to remove results of a setting when it restarts,
+   * changes or is removed.
+   */
+  public void setResultCache(ParagraphResultCache resultCache) {
+    this.resultCache = resultCache;
+  }
+
+  private void invalidateResultCache(String settingId) {
+    if (resultCache != null) {
+      resultCache.invalidateSetting(settingId);
+    }
+  }
+
   private void stopJobAllInterpreter(InterpreterSetting intpsetting) {
     if (intpsetting != null) {
       for (Interpreter intp : intpsetting.getInterpreterGroup()) {
-        for (Job job : intp.getScheduler().getJobsRunning()) {
+        // abort waiting jobs first. a job can be dispatched as soon as a running job finishes,
+        // so it is either in the waiting snapshot or in the running snapshot taken after.
+        for (Job job : intp.getScheduler().getJobsWaiting()) {
           job.abort();
           job.setStatus(Status.ABORT);
           logger.info("Job " + job.getJobName() + " aborted ");
         }
-        for (Job job : intp.getScheduler().getJobsWaiting()) {
+        for (Job job : intp.getScheduler().getJobsRunning()) {
           job.abort();
           job.setStatus(Status.ABORT);
           logger.info("Job " + job.getJobName() + " aborted ");
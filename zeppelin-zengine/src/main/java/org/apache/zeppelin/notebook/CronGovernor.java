@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.zeppelin.interpreter.Interpreter;
+import org.apache.zeppelin.interpreter.InterpreterSetting;
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides when a cron fire of a note actually runs the note.
+ *
+ * Start of each note is delayed by up to the jitter, so notes of the same cron expression
+ * don't start on the same second. Number of notes running by cron is limited globally and
+ * per interpreter setting. A note that can't start waits in fire order.
+ * When a note fires while its previous run is still waiting or running, the fire is skipped,
+ * or coalesced into a single run after the current one, by the misfire policy.
+ * A run taking longer than the run timeout is canceled, so it doesn't hold its slot forever.
+ */
+public class CronGovernor {
+  private static final Logger logger = LoggerFactory.getLogger(CronGovernor.class);
+
+  /**
+   * What to do when a note fires while its previous run is in progress.
+   */
+  public static enum MisfirePolicy {
+    // drop the fire
+    SKIP("skip"),
+    // run once more after the current run. more fires in the meantime are dropped
+    COALESCE("coalesce");
+
+    private final String value;
+
+    MisfirePolicy(String value) {
+      this.value = value;
+    }
+
+    public static MisfirePolicy fromString(String value) {
+      for (MisfirePolicy policy : values()) {
+        if (policy.value.equalsIgnoreCase(value) || policy.name().equalsIgnoreCase(value)) {
+          return policy;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  private final Notebook notebook;
+  private final ExecutorService executor;
+  private final HashedWheelTimer timer;
+  private final long jitterMs;
+  private final int maxConcurrent;
+  private final int maxConcurrentPerSetting;
+  private final MisfirePolicy misfirePolicy;
+  private final long runTimeoutMs;
+
+  // all guarded by this
+  private final Set<String> running = new HashSet<String>();
+  private final Map<String, Integer> runningPerSetting = new HashMap<String, Integer>();
+  // interpreter setting ids used by the note, by note id. in fire order
+  private final Map<String, Set<String>> waiting = new LinkedHashMap<String, Set<String>>();
+  private final Set<String> rerun = new HashSet<String>();
+  private long skipped = 0;
+
+  /**
+   * @param jitterMs max delay of a fire. 0 to start immediately
+   * @param maxConcurrent max number of notes running by cron
+   * @param maxConcurrentPerSetting max number of notes running by cron using the same
+   *                                interpreter setting. 0 for unlimited
+   * @param runTimeoutMs max duration of a run. 0 for unlimited
+   */
+  public CronGovernor(Notebook notebook, ExecutorService executor, HashedWheelTimer timer,
+      long jitterMs, int maxConcurrent, int maxConcurrentPerSetting,
+      MisfirePolicy misfirePolicy, long runTimeoutMs) {
+    this.notebook = notebook;
+    this.executor = executor;
+    this.timer = timer;
+    this.jitterMs = jitterMs;
+    this.maxConcurrent = maxConcurrent;
+    this.maxConcurrentPerSetting = maxConcurrentPerSetting;
+    this.misfirePolicy = misfirePolicy;
+    this.runTimeoutMs = runTimeoutMs;
+  }
+
+  /**
+   * Called when cron trigger of the note fires.
+   */
+  public void fire(final String noteId) {
+    long delayMs = getJitterMs(noteId);
+    if (delayMs > 0) {
+      timer.schedule(new Runnable() {
+        @Override
+        public void run() {
+          admit(noteId);
+        }
+      }, delayMs, null);
+    } else {
+      admit(noteId);
+    }
+  }
+
+  /**
+   * Delay of the note's fires. Fixed per note, so notes spread evenly over the jitter
+   * and a note keeps its interval.
+   */
+  long getJitterMs(String noteId) {
+    if (jitterMs <= 0) {
+      return 0;
+    }
+    return (noteId.hashCode() & Integer.MAX_VALUE) % jitterMs;
+  }
+
+  private void admit(String noteId) {
+    Set<String> settingIds = getInterpreterSettingIds(noteId);
+    if (settingIds == null) {
+      // note is removed
+      return;
+    }
+
+    synchronized (this) {
+      if (running.contains(noteId) || waiting.containsKey(noteId)) {
+        if (misfirePolicy == MisfirePolicy.COALESCE && running.contains(noteId)) {
+          rerun.add(noteId);
+        } else if (misfirePolicy == MisfirePolicy.SKIP) {
+          skipped++;
+          logger.info("Skip cron of note " + noteId + ". previous run is in progress");
+        }
+        return;
+      }
+      waiting.put(noteId, settingIds);
+    }
+    dispatch();
+  }
+
+  /**
+   * Start waiting notes in fire order while limits allow.
+   */
+  private void dispatch() {
+    List<String> noteIds = new LinkedList<String>();
+    List<Set<String>> settings = new LinkedList<Set<String>>();
+    synchronized (this) {
+      Iterator<Map.Entry<String, Set<String>>> it = waiting.entrySet().iterator();
+      while (it.hasNext() && running.size() < maxConcurrent) {
+        Map.Entry<String, Set<String>> entry = it.next();
+        if (!canRun(entry.getValue())) {
+          continue;
+        }
+        it.remove();
+        running.add(entry.getKey());
+        for (String settingId : entry.getValue()) {
+          Integer n = runningPerSetting.get(settingId);
+          runningPerSetting.put(settingId, (n == null) ? 1 : n + 1);
+        }
+        noteIds.add(entry.getKey());
+        settings.add(entry.getValue());
+      }
+    }
+
+    Iterator<Set<String>> settingsIt = settings.iterator();
+    for (final String noteId : noteIds) {
+      final Set<String> settingIds = settingsIt.next();
+      Runnable runner = new Runnable() {
+        @Override
+        public void run() {
+          try {
+            runNote(noteId);
+          } catch (RuntimeException e) {
+            logger.error("Cron of note " + noteId + " failed", e);
+          } finally {
+            finished(noteId, settingIds);
+          }
+        }
+      };
+      try {
+        executor.execute(runner);
+      } catch (RejectedExecutionException e) {
+        logger.error("Can't run cron of note " + noteId, e);
+        finished(noteId, settingIds);
+      }
+    }
+  }
+
+  // called with lock held
+  private boolean canRun(Set<String> settingIds) {
+    if (maxConcurrentPerSetting <= 0) {
+      return true;
+    }
+    for (String settingId : settingIds) {
+      Integer n = runningPerSetting.get(settingId);
+      if (n != null && n >= maxConcurrentPerSetting) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void finished(String noteId, Set<String> settingIds) {
+    synchronized (this) {
+      running.remove(noteId);
+      for (String settingId : settingIds) {
+        Integer n = runningPerSetting.remove(settingId);
+        if (n != null && n > 1) {
+          runningPerSetting.put(settingId, n - 1);
+        }
+      }
+      if (rerun.remove(noteId)) {
+        waiting.put(noteId, settingIds);
+      }
+    }
+    dispatch();
+  }
+
+  /**
+   * @return ids of interpreter settings used by paragraphs of the note. null if no such note
+   */
+  Set<String> getInterpreterSettingIds(String noteId) {
+    Note note = notebook.getNote(noteId);
+    if (note == null) {
+      return null;
+    }
+    Set<String> settingIds = new HashSet<String>();
+    for (Paragraph p : note.getParagraphs()) {
+      Interpreter repl;
+      try {
+        repl = p.getRepl(p.getRequiredReplName());
+      } catch (RuntimeException e) {
+        // paragraph will fail on run
+        continue;
+      }
+      String settingId = (repl == null) ? null : p.getInterpreterSettingId(repl);
+      if (settingId != null) {
+        settingIds.add(settingId);
+      }
+    }
+    return settingIds;
+  }
+
+  /**
+   * Run all paragraphs of the note, and wait until they're done.
+   */
+  void runNote(String noteId) {
+    Note note = notebook.getNote(noteId);
+    if (note == null) {
+      return;
+    }
+    awaitRun(noteId, note.getParagraphs(), note.runAll());
+
+    boolean releaseResource = false;
+    try {
+      Map<String, Object> config = note.getConfig();
+      if (config != null && config.containsKey("releaseresource")) {
+        releaseResource = (boolean) note.getConfig().get("releaseresource");
+      }
+    } catch (ClassCastException e) {
+      logger.error(e.getMessage(), e);
+    }
+    if (releaseResource) {
+      for (InterpreterSetting setting : note.getNoteReplLoader().getInterpreterSettings()) {
+        notebook.getInterpreterFactory().restart(setting.id());
+      }
+    }
+  }
+
+  /**
+   * Wait until the run is done, up to the run timeout. On timeout, paragraphs not started are
+   * skipped and running ones are aborted.
+   * @return true if the run is done
+   */
+  boolean awaitRun(String noteId, List<Paragraph> paragraphs, NoteRun run) {
+    try {
+      if (runTimeoutMs <= 0) {
+        run.waitForCompletion();
+        return true;
+      }
+      if (run.waitForCompletion(runTimeoutMs)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      logger.error(e.toString(), e);
+      Thread.currentThread().interrupt();
+      return false;
+    }
+
+    logger.warn("Cron of note " + noteId + " didn't finish in " + runTimeoutMs
+        + " ms. cancel it");
+    run.cancel();
+    for (Paragraph p : paragraphs) {
+      if (p.getStatus().isRunning()) {
+        p.abort();
+      }
+    }
+    return false;
+  }
+
+  public synchronized int getRunning() {
+    return running.size();
+  }
+
+  public synchronized int getWaiting() {
+    return waiting.size();
+  }
+
+  public synchronized long getSkipped() {
+    return skipped;
+  }
+}
@@ -67,6 +67,7 @@ public class Note implements Serializable, JobListener {
   private transient JobListenerFactory jobListenerFactory;
   private transient NotebookRepo repo;
   private transient SearchService index;
+  private transient ParagraphResultCache resultCache;
   private transient ScheduledFuture delayedPersist;
 
   /**
@@ -143,6 +144,14 @@ public class Note implements Serializable, JobListener {
     this.index = index;
   }
 
+  public ParagraphResultCache getResultCache() {
+    return resultCache;
+  }
+
+  public void setResultCache(ParagraphResultCache resultCache) {
+    this.resultCache = resultCache;
+  }
+
   @SuppressWarnings("rawtypes")
   public Map<String, List<AngularObject>> getAngularObjects() {
     return angularObjects;
@@ -344,17 +353,23 @@ public class Note implements Serializable, JobListener {
   }
 
   /**
-   * Run all paragraphs sequentially.
+   * Run all paragraphs. A paragraph runs after the paragraphs it depends on.
+   * Independent paragraphs on different interpreters run concurrently.
+   * See NoteRun for dependencies, and 'runAllPolicy' note config for failure handling.
+   *
+   * @return handle to wait for the paragraphs
    */
-  public void runAll() {
+  public NoteRun runAll() {
+    NoteRun run;
     synchronized (paragraphs) {
       for (Paragraph p : paragraphs) {
         p.setNoteReplLoader(replLoader);
         p.setListener(jobListenerFactory.getParagraphJobListener(this));
-        Interpreter intp = replLoader.get(p.getRequiredReplName());
-        intp.getScheduler().submit(p);
       }
+      run = new NoteRun(paragraphs, replLoader, NoteRun.Policy.fromConfig(getConfig()));
     }
+    run.start();
+    return run;
   }
 
   /**
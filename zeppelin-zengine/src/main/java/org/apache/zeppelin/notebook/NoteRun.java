@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.zeppelin.interpreter.Interpreter;
+import org.apache.zeppelin.interpreter.InterpreterException;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
+import org.apache.zeppelin.interpreter.InterpreterResult;
+import org.apache.zeppelin.scheduler.Job;
+import org.apache.zeppelin.scheduler.Job.Status;
+import org.apache.zeppelin.scheduler.JobQueueListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A run of all paragraphs of a note.
+ *
+ * Paragraphs form a DAG, and a paragraph is submitted to its interpreter's scheduler
+ * once all paragraphs it depends on are terminated. A paragraph depends on
+ *  - paragraphs listed in 'dependsOn' paragraph config
+ *  - last previous paragraph that 'produces' a name the paragraph 'consumes'.
+ *    Names are of resource pool entries or angular objects
+ *
+ * Only previous paragraphs can be a dependency, so the graph has no cycle.
+ * Paragraphs of the same interpreter group share the interpreter state, so they are
+ * submitted in the note order and the scheduler of the interpreter keeps the order.
+ * Independent branches on different interpreter groups run concurrently.
+ */
+public class NoteRun {
+  private static final Logger logger = LoggerFactory.getLogger(NoteRun.class);
+
+  public static final String POLICY_CONFIG = "runAllPolicy";
+  public static final String DEPENDS_ON_CONFIG = "dependsOn";
+  public static final String PRODUCES_CONFIG = "produces";
+  public static final String CONSUMES_CONFIG = "consumes";
+
+  /**
+   * What to do when a paragraph fails.
+   */
+  public static enum Policy {
+    // run all paragraphs
+    CONTINUE_ON_ERROR("continueOnError"),
+    // do not run more paragraphs after a paragraph failed
+    FAIL_FAST("failFast");
+
+    private final String configValue;
+
+    Policy(String configValue) {
+      this.configValue = configValue;
+    }
+
+    public String getConfigValue() {
+      return configValue;
+    }
+
+    public static Policy fromConfig(Map<String, Object> config) {
+      Object value = (config == null) ? null : config.get(POLICY_CONFIG);
+      for (Policy p : values()) {
+        if (p.configValue.equals(value)) {
+          return p;
+        }
+      }
+      return CONTINUE_ON_ERROR;
+    }
+  }
+
+  private final Policy policy;
+  private final List<Node> nodes = new LinkedList<Node>();
+  private int remaining;
+  private boolean failed = false;
+  private boolean canceled = false;
+
+  NoteRun(List<Paragraph> paragraphs, NoteInterpreterLoader replLoader, Policy policy) {
+    this.policy = policy;
+
+    Map<String, Node> byId = new HashMap<String, Node>();
+    Map<Object, Node> lastOfGroup = new IdentityHashMap<Object, Node>();
+    Map<String, Node> lastProducer = new HashMap<String, Node>();
+
+    for (Paragraph p : paragraphs) {
+      Interpreter intp = replLoader.get(p.getRequiredReplName());
+      if (intp == null) {
+        throw new InterpreterException("Interpreter " + p.getRequiredReplName() + " not found");
+      }
+      Node node = new Node(p, intp);
+
+      Object group = (intp.getInterpreterGroup() != null) ? intp.getInterpreterGroup() : intp;
+      Node previous = lastOfGroup.get(group);
+      if (previous != null) {
+        previous.nextInGroup = node;
+        node.previousInGroup = previous;
+      }
+      lastOfGroup.put(group, node);
+
+      for (String id : names(p.getConfig().get(DEPENDS_ON_CONFIG))) {
+        if (byId.containsKey(id)) {
+          node.dependOn(byId.get(id));
+        } else {
+          logger.warn("Paragraph " + p.getId() + " depends on " + id
+              + ", which is not a previous paragraph. ignored");
+        }
+      }
+      for (String name : names(p.getConfig().get(CONSUMES_CONFIG))) {
+        node.dependOn(lastProducer.get(name));
+      }
+      for (String name : names(p.getConfig().get(PRODUCES_CONFIG))) {
+        lastProducer.put(name, node);
+      }
+
+      byId.put(p.getId(), node);
+      nodes.add(node);
+    }
+    remaining = nodes.size();
+  }
+
+  /**
+   * @param value list, or comma separated string
+   */
+  private static Collection<String> names(Object value) {
+    List<String> names = new LinkedList<String>();
+    if (value instanceof Collection) {
+      for (Object o : (Collection<?>) value) {
+        if (o != null) {
+          names.add(o.toString().trim());
+        }
+      }
+    } else if (value instanceof String) {
+      for (String s : ((String) value).split(",")) {
+        if (s.trim().length() > 0) {
+          names.add(s.trim());
+        }
+      }
+    }
+    return names;
+  }
+
+  /**
+   * Submit paragraphs without dependency.
+   */
+  void start() {
+    List<Node> ready = new LinkedList<Node>();
+    synchronized (this) {
+      for (Node node : nodes) {
+        node.paragraph.setListener(new CompletionListener(node,
+            (ParagraphJobListener) node.paragraph.getListener()));
+      }
+      for (Node node : nodes) {
+        collectReady(node, ready);
+      }
+      if (nodes.isEmpty()) {
+        notifyAll();
+      }
+    }
+    submit(ready);
+  }
+
+  /**
+   * Mark the node and following nodes of the same group submitted, while they're ready.
+   * Called with lock held.
+   */
+  private void collectReady(Node node, List<Node> ready) {
+    while (node != null && !isStopped() && !node.submitted && node.waitingFor == 0
+        && (node.previousInGroup == null || node.previousInGroup.submitted)) {
+      node.submitted = true;
+      ready.add(node);
+      node = node.nextInGroup;
+    }
+  }
+
+  private void submit(List<Node> ready) {
+    for (Node node : ready) {
+      try {
+        node.interpreter.getScheduler().submit(node.paragraph);
+      } catch (RuntimeException e) {
+        // for example scheduler of a restarted interpreter. paragraph won't terminate by itself
+        logger.error("Can't submit paragraph " + node.paragraph.getId(), e);
+        node.paragraph.setReturn(new InterpreterResult(InterpreterResult.Code.ERROR,
+            e.getMessage()), e);
+        node.paragraph.setStatus(Status.ERROR);
+        terminated(node);
+      }
+    }
+  }
+
+  private void terminated(Node node) {
+    List<Node> ready = new LinkedList<Node>();
+    List<Node> toAbort = null;
+    synchronized (this) {
+      boolean wasStopped = isStopped();
+      if (isFailed(node.paragraph)) {
+        failed = true;
+      }
+      if (!node.terminated) {
+        node.terminated = true;
+        remaining--;
+        for (Node dependent : node.dependents) {
+          dependent.waitingFor--;
+          collectReady(dependent, ready);
+        }
+      }
+      if (!wasStopped && isStopped()) {
+        toAbort = stop();
+      }
+      if (remaining == 0) {
+        notifyAll();
+      }
+    }
+    submit(ready);
+    if (toAbort != null) {
+      abortWaiting(toAbort);
+    }
+  }
+
+  /**
+   * Skip paragraphs not submitted yet. Called with lock held.
+   * @return paragraphs submitted and not terminated
+   */
+  private List<Node> stop() {
+    List<Node> submitted = new LinkedList<Node>();
+    for (Node n : nodes) {
+      if (n.terminated) {
+        continue;
+      }
+      if (n.submitted) {
+        submitted.add(n);
+      } else {
+        // will never be terminated
+        n.terminated = true;
+        remaining--;
+      }
+    }
+    return submitted;
+  }
+
+  /**
+   * Take paragraphs out of the waiting queue of their scheduler. Running ones keep running.
+   */
+  private void abortWaiting(List<Node> submitted) {
+    for (Node n : submitted) {
+      Job removed = n.interpreter.getScheduler().removeFromWaitingQueue(n.paragraph.getId());
+      if (removed == n.paragraph) {
+        n.paragraph.setStatus(Status.ABORT);
+      }
+    }
+  }
+
+  private boolean isStopped() {
+    return canceled || (failed && policy == Policy.FAIL_FAST);
+  }
+
+  private static boolean isFailed(Paragraph p) {
+    if (p.getStatus() == Status.ERROR || p.getStatus() == Status.ABORT) {
+      return true;
+    }
+    Object result = p.getReturn();
+    return result instanceof InterpreterResult
+        && ((InterpreterResult) result).code() == InterpreterResult.Code.ERROR;
+  }
+
+  public Policy getPolicy() {
+    return policy;
+  }
+
+  /**
+   * Do not run more paragraphs. Paragraphs already running keep running.
+   */
+  public void cancel() {
+    List<Node> toAbort = null;
+    synchronized (this) {
+      if (isStopped()) {
+        return;
+      }
+      canceled = true;
+      toAbort = stop();
+      if (remaining == 0) {
+        notifyAll();
+      }
+    }
+    abortWaiting(toAbort);
+  }
+
+  /**
+   * @return true if any paragraph failed
+   */
+  public synchronized boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * @return true if all submitted paragraphs are terminated, and no more paragraph to submit
+   */
+  public synchronized boolean isDone() {
+    return remaining == 0;
+  }
+
+  public synchronized void waitForCompletion() throws InterruptedException {
+    while (remaining > 0) {
+      wait();
+    }
+  }
+
+  /**
+   * @param timeout in milliseconds
+   * @return true if done within the timeout
+   */
+  public boolean waitForCompletion(long timeout) throws InterruptedException {
+    return waitForCompletion(timeout, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return true if done within the timeout
+   */
+  public synchronized boolean waitForCompletion(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (remaining > 0) {
+      long left = deadline - System.nanoTime();
+      if (left <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, left);
+    }
+    return true;
+  }
+
+  private static class Node {
+    final Paragraph paragraph;
+    final Interpreter interpreter;
+    final List<Node> dependents = new LinkedList<Node>();
+    Node previousInGroup;
+    Node nextInGroup;
+    int waitingFor = 0;
+    boolean submitted = false;
+    boolean terminated = false;
+
+    Node(Paragraph paragraph, Interpreter interpreter) {
+      this.paragraph = paragraph;
+      this.interpreter = interpreter;
+    }
+
+    void dependOn(Node node) {
+      if (node == null || node == this || node.dependents.contains(this)) {
+        return;
+      }
+      node.dependents.add(this);
+      waitingFor++;
+    }
+  }
+
+  /**
+   * Delegates to the listener of the paragraph, and signals termination of the paragraph.
+   */
+  private class CompletionListener implements ParagraphJobListener, JobQueueListener {
+    private final Node node;
+    private final ParagraphJobListener listener;
+
+    CompletionListener(Node node, ParagraphJobListener listener) {
+      this.node = node;
+      this.listener = listener;
+    }
+
+    @Override
+    public void onOutputAppend(Paragraph paragraph, InterpreterOutput out, String output) {
+      if (listener != null) {
+        listener.onOutputAppend(paragraph, out, output);
+      }
+    }
+
+    @Override
+    public void onOutputUpdate(Paragraph paragraph, InterpreterOutput out, String output) {
+      if (listener != null) {
+        listener.onOutputUpdate(paragraph, out, output);
+      }
+    }
+
+    @Override
+    public void onProgressUpdate(Job job, int progress) {
+      if (listener != null) {
+        listener.onProgressUpdate(job, progress);
+      }
+    }
+
+    @Override
+    public void onQueuePositionChange(Job job, int position, long estimatedWaitMs) {
+      if (listener instanceof JobQueueListener) {
+        ((JobQueueListener) listener).onQueuePositionChange(job, position, estimatedWaitMs);
+      }
+    }
+
+    @Override
+    public void beforeStatusChange(Job job, Status before, Status after) {
+      if (listener != null) {
+        listener.beforeStatusChange(job, before, after);
+      }
+    }
+
+    @Override
+    public void afterStatusChange(Job job, Status before, Status after) {
+      if (listener != null) {
+        listener.afterStatusChange(job, before, after);
+      }
+      if (after == Status.FINISHED || after == Status.ERROR || after == Status.ABORT) {
+        terminated(node);
+      }
+    }
+  }
+}
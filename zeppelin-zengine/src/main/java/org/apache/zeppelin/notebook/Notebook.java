@@ -40,6 +40,8 @@ import org.apache.zeppelin.interpreter.InterpreterSetting;
 import org.apache.zeppelin.interpreter.remote.RemoteAngularObjectRegistry;
 import org.apache.zeppelin.notebook.repo.NotebookRepo;
 import org.apache.zeppelin.notebook.repo.NotebookRepoSync;
+import org.apache.zeppelin.scheduler.ExecutorFactory;
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
 import org.apache.zeppelin.search.SearchService;
 import org.quartz.CronScheduleBuilder;
@@ -76,6 +78,8 @@ public class Notebook {
   private JobListenerFactory jobListenerFactory;
   private NotebookRepo notebookRepo;
   private SearchService notebookIndex;
+  private ParagraphResultCache resultCache;
+  private CronGovernor cronGovernor;
 
   /**
    * Main constructor \w manual Dependency Injection
@@ -100,6 +104,13 @@ public class Notebook {
     this.replFactory = replFactory;
     this.jobListenerFactory = jobListenerFactory;
     this.notebookIndex = notebookIndex;
+    this.resultCache = new ParagraphResultCache(
+        conf.getInt(ConfVars.ZEPPELIN_NOTEBOOK_RESULT_CACHE_SIZE),
+        conf.getLong(ConfVars.ZEPPELIN_NOTEBOOK_RESULT_CACHE_TTL));
+    if (replFactory != null) {
+      replFactory.setResultCache(resultCache);
+    }
+    this.cronGovernor = createCronGovernor(conf);
     quertzSchedFact = new org.quartz.impl.StdSchedulerFactory();
     quartzSched = quertzSchedFact.getScheduler();
     quartzSched.start();
@@ -142,6 +153,7 @@ public class Notebook {
   public Note createNote(List<String> interpreterIds) throws IOException {
     NoteInterpreterLoader intpLoader = new NoteInterpreterLoader(replFactory);
     Note note = new Note(notebookRepo, intpLoader, jobListenerFactory, notebookIndex);
+    note.setResultCache(resultCache);
     intpLoader.setNoteId(note.id());
     synchronized (notes) {
       notes.put(note.id(), note);
@@ -328,6 +340,7 @@ public class Notebook {
 
     note.setJobListenerFactory(jobListenerFactory);
     note.setNotebookRepo(notebookRepo);
+    note.setResultCache(resultCache);
 
     Map<String, SnapshotAngularObject> angularObjectSnapshot = new HashMap<>();
 
@@ -462,6 +475,10 @@ public class Notebook {
     }
   }
 
+  public ParagraphResultCache getResultCache() {
+    return resultCache;
+  }
+
   public JobListenerFactory getJobListenerFactory() {
     return jobListenerFactory;
   }
@@ -470,8 +487,31 @@ public class Notebook {
     this.jobListenerFactory = jobListenerFactory;
   }
 
+  private CronGovernor createCronGovernor(ZeppelinConfiguration conf) {
+    CronGovernor.MisfirePolicy misfirePolicy = CronGovernor.MisfirePolicy.fromString(
+        conf.getString(ConfVars.ZEPPELIN_NOTEBOOK_CRON_MISFIRE));
+    if (misfirePolicy == null) {
+      logger.warn("Invalid " + ConfVars.ZEPPELIN_NOTEBOOK_CRON_MISFIRE.getVarName() + ". Use "
+          + CronGovernor.MisfirePolicy.COALESCE);
+      misfirePolicy = CronGovernor.MisfirePolicy.COALESCE;
+    }
+    int maxConcurrent = Math.max(1, conf.getInt(ConfVars.ZEPPELIN_NOTEBOOK_CRON_MAX_CONCURRENT));
+    return new CronGovernor(this,
+        ExecutorFactory.singleton().createOrGet("cronGovernor", maxConcurrent),
+        HashedWheelTimer.singleton(),
+        conf.getInt(ConfVars.ZEPPELIN_NOTEBOOK_CRON_JITTER),
+        maxConcurrent,
+        conf.getInt(ConfVars.ZEPPELIN_NOTEBOOK_CRON_MAX_CONCURRENT_PER_INTERPRETER),
+        misfirePolicy,
+        conf.getLong(ConfVars.ZEPPELIN_NOTEBOOK_CRON_RUN_TIMEOUT));
+  }
+
+  public CronGovernor getCronGovernor() {
+    return cronGovernor;
+  }
+
   /**
-   * Cron task for the note.
+   * Cron task for the note. Hands the fire over to the cron governor, which runs the note.
    */
   public static class CronJob implements org.quartz.Job {
     public static Notebook notebook;
@@ -480,31 +520,7 @@ public class Notebook {
     public void execute(JobExecutionContext context) throws JobExecutionException {
 
       String noteId = context.getJobDetail().getJobDataMap().getString("noteId");
-      Note note = notebook.getNote(noteId);
-      note.runAll();
-    
-      while (!note.getLastParagraph().isTerminated()) {
-        try {
-          Thread.sleep(1000);
-        } catch (InterruptedException e) {
-          logger.error(e.toString(), e);
-        }
-      }
-      
-      boolean releaseResource = false;
-      try {
-        Map<String, Object> config = note.getConfig();
-        if (config != null && config.containsKey("releaseresource")) {
-          releaseResource = (boolean) note.getConfig().get("releaseresource");
-        }
-      } catch (ClassCastException e) {
-        logger.error(e.getMessage(), e);
-      }
-      if (releaseResource) {
-        for (InterpreterSetting setting : note.getNoteReplLoader().getInterpreterSettings()) {
-          notebook.getInterpreterFactory().restart(setting.id());
-        }
-      }      
+      notebook.getCronGovernor().fire(noteId);
     }
   }
 
@@ -31,6 +31,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -42,6 +46,7 @@ public class Paragraph extends Job implements Serializable, Cloneable {
 
   private transient NoteInterpreterLoader replLoader;
   private transient Note note;
+  private transient String user;  // principal who runs this paragraph
 
   String title;
   String text;
@@ -91,6 +96,40 @@ public class Paragraph extends Job implements Serializable, Cloneable {
     return note;
   }
 
+  public String getUser() {
+    return user;
+  }
+
+  public void setUser(String user) {
+    this.user = user;
+  }
+
+  /**
+   * Paragraphs are shared fairly per user and note, when interpreter uses fair share scheduling.
+   */
+  @Override
+  public String getTenant() {
+    String noteId = (note == null) ? "" : note.id();
+    return ((user == null) ? "anonymous" : user) + ":" + noteId;
+  }
+
+  /**
+   * Paragraph runs the same code when note, paragraph, text and form values are the same.
+   */
+  @Override
+  public String getCoalesceKey() {
+    String noteId = (note == null) ? "" : note.id();
+    String code = text + "\n" + settings.getParams();
+    String hash;
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      hash = new BigInteger(1, digest.digest(code.getBytes("UTF-8"))).toString(16);
+    } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+      hash = code;
+    }
+    return noteId + ":" + getId() + ":" + hash;
+  }
+
   public String getRequiredReplName() {
     return getRequiredReplName(text);
   }
@@ -195,6 +234,22 @@ public class Paragraph extends Job implements Serializable, Cloneable {
       throw new RuntimeException("Can not find interpreter for " + getRequiredReplName());
     }
 
+    String cacheKey = null;
+    String settingId = null;
+    ParagraphResultCache resultCache = getResultCache();
+    if (resultCache != null) {
+      settingId = getInterpreterSettingId(repl);
+    }
+    // results of an unknown setting can't be invalidated when the setting changes
+    if (settingId != null) {
+      cacheKey = getResultCacheKey(settingId);
+      InterpreterResult cached = resultCache.get(cacheKey);
+      if (cached != null) {
+        logger().debug("paragraph {} result from cache", getId());
+        return cached;
+      }
+    }
+
     String script = getScriptBody();
     // inject form
     if (repl.getFormType() == FormType.NATIVE) {
@@ -227,22 +282,76 @@ public class Paragraph extends Job implements Serializable, Cloneable {
         message = new String(interpreterOutput);
       }
 
+      InterpreterResult result;
       if (message.isEmpty()) {
-        return ret;
+        result = ret;
       } else {
         String interpreterResultMessage = ret.message();
         if (interpreterResultMessage != null && !interpreterResultMessage.isEmpty()) {
           message += interpreterResultMessage;
-          return new InterpreterResult(ret.code(), ret.type(), message);
+          result = new InterpreterResult(ret.code(), ret.type(), message);
         } else {
-          return new InterpreterResult(ret.code(), outputType, message);
+          result = new InterpreterResult(ret.code(), outputType, message);
         }
       }
+
+      if (cacheKey != null && result.code() == Code.SUCCESS) {
+        resultCache.put(cacheKey, settingId, result);
+      }
+      return result;
     } finally {
       InterpreterContext.remove();
     }
   }
 
+  /**
+   * @return result cache when this paragraph caches its result. null otherwise
+   */
+  private ParagraphResultCache getResultCache() {
+    ParagraphResultCache resultCache = (note == null) ? null : note.getResultCache();
+    if (resultCache == null || !resultCache.isEnabled()) {
+      return null;
+    }
+    Object enabled = (config == null) ? null : config.get(ParagraphResultCache.PARAGRAPH_CONFIG);
+    if (enabled == null || !Boolean.parseBoolean(enabled.toString())) {
+      return null;
+    }
+    return resultCache;
+  }
+
+  private String getResultCacheKey(String settingId) {
+    // doesn't ask interpreter its form type, so a cache hit doesn't touch the interpreter
+    String script = Input.getSimpleQuery(settings.getParams(), getScriptBody());
+    return ParagraphResultCache.key(settingId, script, settings.getParams());
+  }
+
+  /**
+   * @return id of the interpreter setting the interpreter belongs to. null if unknown
+   */
+  String getInterpreterSettingId(Interpreter repl) {
+    for (InterpreterSetting setting : getNoteReplLoader().getInterpreterSettings()) {
+      if (setting.getInterpreterGroup().contains(repl)) {
+        return setting.id();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove cached result of the current text and params of this paragraph.
+   */
+  public void invalidateCachedResult() {
+    ParagraphResultCache resultCache = (note == null) ? null : note.getResultCache();
+    Interpreter repl = getRepl(getRequiredReplName());
+    if (resultCache == null || repl == null) {
+      return;
+    }
+    String settingId = getInterpreterSettingId(repl);
+    if (settingId != null) {
+      resultCache.invalidate(getResultCacheKey(settingId));
+    }
+  }
+
   @Override
   protected boolean jobAbort() {
     Interpreter repl = getRepl(getRequiredReplName());
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.zeppelin.interpreter.InterpreterResult;
+
+/**
+ * Results of paragraphs by interpreter setting, script and form params.
+ * Paragraphs with config 'resultCache' true return the cached result of the same script
+ * instead of running it again, until the result expires or is invalidated.
+ *
+ * Least recently used result is evicted when the cache is full.
+ */
+public class ParagraphResultCache {
+  public static final String PARAGRAPH_CONFIG = "resultCache";
+
+  private final int maxEntries;
+  private final long ttlMs;
+  private final LinkedHashMap<String, Entry> entries;
+
+  /**
+   * @param maxEntries max number of results. 0 disables the cache
+   * @param ttlMs time in milliseconds a result is used
+   */
+  public ParagraphResultCache(final int maxEntries, long ttlMs) {
+    this.maxEntries = maxEntries;
+    this.ttlMs = ttlMs;
+    this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  public boolean isEnabled() {
+    return maxEntries > 0 && ttlMs > 0;
+  }
+
+  /**
+   * @param settingId id of the interpreter setting which runs the script
+   * @param script script with form params substituted
+   * @param params form params
+   */
+  public static String key(String settingId, String script, Map<String, Object> params) {
+    // sorted, so the same params make the same key
+    String code = settingId + "\n" + script + "\n" + new TreeMap<String, Object>(params);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return new BigInteger(1, digest.digest(code.getBytes("UTF-8"))).toString(16);
+    } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+      return code;
+    }
+  }
+
+  /**
+   * @return cached result. null if not cached or expired
+   */
+  public synchronized InterpreterResult get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired()) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.result;
+  }
+
+  public synchronized void put(String key, String settingId, InterpreterResult result) {
+    if (!isEnabled()) {
+      return;
+    }
+    entries.put(key, new Entry(settingId, result, System.currentTimeMillis() + ttlMs));
+  }
+
+  public synchronized void invalidate(String key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Remove results of an interpreter setting.
+   */
+  public synchronized void invalidateSetting(String settingId) {
+    Iterator<Entry> it = entries.values().iterator();
+    while (it.hasNext()) {
+      if (it.next().settingId.equals(settingId)) {
+        it.remove();
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private static class Entry {
+    final String settingId;
+    final InterpreterResult result;
+    final long expireAt;
+
+    Entry(String settingId, InterpreterResult result, long expireAt) {
+      this.settingId = settingId;
+      this.result = result;
+      this.expireAt = expireAt;
+    }
+
+    boolean isExpired() {
+      return System.currentTimeMillis() >= expireAt;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.zeppelin.interpreter.Interpreter;
+import org.apache.zeppelin.notebook.CronGovernor.MisfirePolicy;
+import org.apache.zeppelin.scheduler.HashedWheelTimer;
+import org.apache.zeppelin.scheduler.Scheduler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CronGovernorTest {
+  private ExecutorService executor;
+  private HashedWheelTimer timer;
+  private CountDownLatch release;
+  private List<String> runs;
+  private Map<String, Set<String>> settings;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    timer = new HashedWheelTimer("cronGovernorTest", 10, 64, executor);
+    release = new CountDownLatch(1);
+    runs = new CopyOnWriteArrayList<String>();
+    settings = new HashMap<String, Set<String>>();
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    timer.stop();
+    executor.shutdown();
+  }
+
+  private CronGovernor createGovernor(long jitterMs, int maxConcurrent,
+      int maxConcurrentPerSetting, MisfirePolicy misfirePolicy) {
+    return new CronGovernor(null, executor, timer, jitterMs, maxConcurrent,
+        maxConcurrentPerSetting, misfirePolicy, 0) {
+      @Override
+      Set<String> getInterpreterSettingIds(String noteId) {
+        Set<String> ids = settings.get(noteId);
+        return (ids == null) ? Collections.<String>emptySet() : ids;
+      }
+
+      @Override
+      void runNote(String noteId) {
+        runs.add(noteId);
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+  }
+
+  private void waitFor(CronGovernor governor, int running, int waiting)
+      throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while ((governor.getRunning() != running || governor.getWaiting() != waiting)
+        && System.currentTimeMillis() - start < 5000) {
+      Thread.sleep(10);
+    }
+    assertEquals(running, governor.getRunning());
+    assertEquals(waiting, governor.getWaiting());
+  }
+
+  @Test
+  public void testMaxConcurrent() throws InterruptedException {
+    CronGovernor governor = createGovernor(0, 2, 0, MisfirePolicy.SKIP);
+    governor.fire("note1");
+    governor.fire("note2");
+    governor.fire("note3");
+    waitFor(governor, 2, 1);
+
+    release.countDown();
+    waitFor(governor, 0, 0);
+    assertEquals(3, runs.size());
+  }
+
+  @Test
+  public void testMaxConcurrentPerSetting() throws InterruptedException {
+    settings.put("note1", Collections.singleton("setting1"));
+    settings.put("note2", Collections.singleton("setting1"));
+    settings.put("note3", Collections.singleton("setting2"));
+    CronGovernor governor = createGovernor(0, 10, 1, MisfirePolicy.SKIP);
+
+    governor.fire("note1");
+    governor.fire("note2");
+    governor.fire("note3");
+    waitFor(governor, 2, 1);
+    while (runs.size() < 2) {
+      Thread.sleep(10);
+    }
+    assertTrue(runs.contains("note1"));
+    assertTrue(runs.contains("note3"));
+
+    release.countDown();
+    waitFor(governor, 0, 0);
+    assertEquals("note2", runs.get(2));
+  }
+
+  @Test
+  public void testMisfireSkip() throws InterruptedException {
+    CronGovernor governor = createGovernor(0, 10, 0, MisfirePolicy.SKIP);
+    governor.fire("note1");
+    waitFor(governor, 1, 0);
+    governor.fire("note1");
+    governor.fire("note1");
+    assertEquals(2, governor.getSkipped());
+
+    release.countDown();
+    waitFor(governor, 0, 0);
+    assertEquals(1, runs.size());
+  }
+
+  @Test
+  public void testMisfireCoalesce() throws InterruptedException {
+    CronGovernor governor = createGovernor(0, 10, 0, MisfirePolicy.COALESCE);
+    governor.fire("note1");
+    waitFor(governor, 1, 0);
+    governor.fire("note1");
+    governor.fire("note1");
+
+    release.countDown();
+    waitFor(governor, 0, 0);
+    // fires during the run are coalesced into one more run
+    assertEquals(2, runs.size());
+  }
+
+  @Test
+  public void testJitter() throws InterruptedException {
+    CronGovernor governor = createGovernor(300, 10, 0, MisfirePolicy.SKIP);
+    long jitter = governor.getJitterMs("note1");
+    assertTrue(jitter >= 0 && jitter < 300);
+    assertEquals(jitter, governor.getJitterMs("note1"));
+
+    release.countDown();
+    long start = System.nanoTime();
+    governor.fire("note1");
+    while (runs.isEmpty() && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5) {
+      Thread.sleep(5);
+    }
+    assertEquals(1, runs.size());
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= jitter - 20);
+  }
+
+  @Test
+  public void testRunTimeout() throws InterruptedException {
+    // paragraphs submitted to a scheduler that never runs them
+    Interpreter intp = mock(Interpreter.class);
+    when(intp.getScheduler()).thenReturn(mock(Scheduler.class));
+    NoteInterpreterLoader loader = mock(NoteInterpreterLoader.class);
+    when(loader.get(any(String.class))).thenReturn(intp);
+    Paragraph p = new Paragraph(null, null, loader);
+    p.setText("p1");
+    NoteRun run = new NoteRun(Collections.singletonList(p), loader,
+        NoteRun.Policy.CONTINUE_ON_ERROR);
+    run.start();
+
+    CronGovernor governor = new CronGovernor(null, executor, timer, 0, 10, 0,
+        MisfirePolicy.SKIP, 100);
+    long start = System.currentTimeMillis();
+    assertFalse(governor.awaitRun("note1", Collections.singletonList(p), run));
+    assertTrue(System.currentTimeMillis() - start < 5000);
+  }
+}
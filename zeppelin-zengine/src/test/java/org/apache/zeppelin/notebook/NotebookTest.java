@@ -18,28 +18,38 @@
 package org.apache.zeppelin.notebook;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
 import org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars;
 import org.apache.zeppelin.dep.DependencyResolver;
 import org.apache.zeppelin.display.AngularObjectRegistry;
+import org.apache.zeppelin.interpreter.Interpreter;
 import org.apache.zeppelin.interpreter.InterpreterFactory;
 import org.apache.zeppelin.interpreter.InterpreterOption;
 import org.apache.zeppelin.interpreter.InterpreterOutput;
+import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterSetting;
 import org.apache.zeppelin.interpreter.mock.MockInterpreter1;
 import org.apache.zeppelin.interpreter.mock.MockInterpreter2;
@@ -48,6 +58,7 @@ import org.apache.zeppelin.notebook.repo.VFSNotebookRepo;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.apache.zeppelin.scheduler.JobListener;
+import org.apache.zeppelin.scheduler.Scheduler;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
 import org.apache.zeppelin.search.SearchService;
 import org.junit.After;
@@ -220,6 +231,128 @@ public class NotebookTest implements JobListenerFactory{
     assertEquals("repl1: p2", p2.getResult().message());
   }
 
+  @Test
+  public void testResultCache() throws IOException {
+    Note note = notebook.createNote();
+    note.getNoteReplLoader().setInterpreters(factory.getDefaultInterpreterSettingList());
+    Paragraph p1 = note.addParagraph();
+    p1.setText("cached ${name=a}");
+    p1.getConfig().put(ParagraphResultCache.PARAGRAPH_CONFIG, true);
+
+    note.run(p1.getId());
+    while (p1.isTerminated() == false || p1.getResult() == null) Thread.yield();
+    InterpreterResult result = p1.getResult();
+    assertEquals("repl1: cached a", result.message());
+
+    // same script and params. result from cache
+    note.run(p1.getId());
+    while (p1.isTerminated() == false) Thread.yield();
+    assertSame(result, p1.getResult());
+
+    // different params
+    p1.settings.getParams().put("name", "b");
+    note.run(p1.getId());
+    while (p1.isTerminated() == false) Thread.yield();
+    assertEquals("repl1: cached b", p1.getResult().message());
+
+    p1.settings.getParams().put("name", "a");
+    p1.invalidateCachedResult();
+    note.run(p1.getId());
+    while (p1.isTerminated() == false) Thread.yield();
+    assertNotSame(result, p1.getResult());
+    assertEquals("repl1: cached a", p1.getResult().message());
+
+    // restarting the interpreter setting removes its results
+    assertTrue(notebook.getResultCache().size() > 0);
+    factory.restart(note.getNoteReplLoader().getInterpreterSettings().get(0).id());
+    assertEquals(0, notebook.getResultCache().size());
+  }
+
+  @Test
+  public void testRunAllDependency() throws IOException, InterruptedException {
+    Note note = notebook.createNote();
+    note.getNoteReplLoader().setInterpreters(factory.getDefaultInterpreterSettingList());
+    Paragraph p1 = note.addParagraph();
+    p1.setText("p1");
+    Paragraph p2 = note.addParagraph();
+    p2.setText("%mock2 p2");
+    p2.getConfig().put("dependsOn", Arrays.asList(p1.getId()));
+    Paragraph p3 = note.addParagraph();
+    p3.setText("%mock2 p3");
+    p3.getConfig().put("produces", "a");
+    Paragraph p4 = note.addParagraph();
+    p4.setText("p4");
+    p4.getConfig().put("consumes", "a");
+
+    NoteRun run = note.runAll();
+    assertTrue(run.waitForCompletion(10, TimeUnit.SECONDS));
+    assertFalse(run.isFailed());
+    assertEquals("repl2: p2", p2.getResult().message());
+    // dependsOn
+    assertFalse(p2.getDateStarted().before(p1.getDateFinished()));
+    // same interpreter group
+    assertFalse(p3.getDateStarted().before(p2.getDateFinished()));
+    // produces and consumes
+    assertFalse(p4.getDateStarted().before(p3.getDateFinished()));
+  }
+
+  @Test
+  public void testRunAllPolicy() throws IOException, InterruptedException {
+    Note note = notebook.createNote();
+    note.getNoteReplLoader().setInterpreters(factory.getDefaultInterpreterSettingList());
+    Paragraph p1 = note.addParagraph();
+    p1.setText("fail");
+    Paragraph p2 = note.addParagraph();
+    p2.setText("p2");
+
+    // continue on error by default
+    NoteRun run = note.runAll();
+    assertEquals(NoteRun.Policy.CONTINUE_ON_ERROR, run.getPolicy());
+    assertTrue(run.waitForCompletion(10, TimeUnit.SECONDS));
+    assertTrue(run.isFailed());
+    assertEquals("repl1: p2", p2.getResult().message());
+
+    // fail fast
+    Paragraph p3 = note.addParagraph();
+    p3.setText("p3");
+    note.getConfig().put("runAllPolicy", "failFast");
+    run = note.runAll();
+    assertEquals(NoteRun.Policy.FAIL_FAST, run.getPolicy());
+    assertTrue(run.waitForCompletion(10, TimeUnit.SECONDS));
+    assertTrue(run.isFailed());
+    // taken out of the scheduler
+    assertEquals(Status.ABORT, p2.getStatus());
+    assertEquals(Status.ABORT, p3.getStatus());
+    assertNull(p3.getResult());
+  }
+
+  @Test
+  public void testRunAllSubmitFailure() throws IOException, InterruptedException {
+    // scheduler of a restarted interpreter refuses jobs
+    Scheduler scheduler = mock(Scheduler.class);
+    doThrow(new RuntimeException("Scheduler already terminated"))
+        .when(scheduler).submit(any(Job.class));
+    Interpreter intp = mock(Interpreter.class);
+    when(intp.getScheduler()).thenReturn(scheduler);
+    NoteInterpreterLoader loader = mock(NoteInterpreterLoader.class);
+    when(loader.get(any(String.class))).thenReturn(intp);
+
+    Note note = notebook.createNote();
+    Paragraph p1 = new Paragraph(note, null, loader);
+    p1.setText("p1");
+    Paragraph p2 = new Paragraph(note, null, loader);
+    p2.setText("p2");
+    p2.getConfig().put("dependsOn", Arrays.asList(p1.getId()));
+
+    NoteRun run = new NoteRun(Arrays.asList(p1, p2), loader, NoteRun.Policy.CONTINUE_ON_ERROR);
+    run.start();
+    assertTrue(run.waitForCompletion(10 * 1000));
+    assertTrue(run.isFailed());
+    assertEquals(Status.ERROR, p1.getStatus());
+    assertEquals("Scheduler already terminated", p1.getResult().message());
+    assertEquals(Status.ERROR, p2.getStatus());
+  }
+
   @Test
   public void testSchedule() throws InterruptedException, IOException{
     // create a note and a paragraph
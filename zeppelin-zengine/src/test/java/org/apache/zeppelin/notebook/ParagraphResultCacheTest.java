@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.zeppelin.interpreter.InterpreterResult;
+import org.apache.zeppelin.interpreter.InterpreterResult.Code;
+import org.junit.Test;
+
+public class ParagraphResultCacheTest {
+
+  @Test
+  public void testKey() {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("a", "1");
+    String key = ParagraphResultCache.key("setting1", "select 1", params);
+    assertEquals(key, ParagraphResultCache.key("setting1", "select 1", params));
+    assertNotEquals(key, ParagraphResultCache.key("setting2", "select 1", params));
+    assertNotEquals(key, ParagraphResultCache.key("setting1", "select 2", params));
+
+    params.put("a", "2");
+    assertNotEquals(key, ParagraphResultCache.key("setting1", "select 1", params));
+  }
+
+  @Test
+  public void testLruEviction() {
+    ParagraphResultCache cache = new ParagraphResultCache(2, 60 * 1000);
+    InterpreterResult r1 = new InterpreterResult(Code.SUCCESS, "1");
+    InterpreterResult r2 = new InterpreterResult(Code.SUCCESS, "2");
+    InterpreterResult r3 = new InterpreterResult(Code.SUCCESS, "3");
+
+    cache.put("k1", "s", r1);
+    cache.put("k2", "s", r2);
+    // k1 is used more recently than k2
+    assertSame(r1, cache.get("k1"));
+    cache.put("k3", "s", r3);
+
+    assertEquals(2, cache.size());
+    assertSame(r1, cache.get("k1"));
+    assertNull(cache.get("k2"));
+    assertSame(r3, cache.get("k3"));
+  }
+
+  @Test
+  public void testExpire() throws InterruptedException {
+    ParagraphResultCache cache = new ParagraphResultCache(10, 100);
+    cache.put("k1", "s", new InterpreterResult(Code.SUCCESS, "1"));
+    Thread.sleep(200);
+    assertNull(cache.get("k1"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testInvalidate() {
+    ParagraphResultCache cache = new ParagraphResultCache(10, 60 * 1000);
+    cache.put("k1", "s1", new InterpreterResult(Code.SUCCESS, "1"));
+    cache.put("k2", "s1", new InterpreterResult(Code.SUCCESS, "2"));
+    cache.put("k3", "s2", new InterpreterResult(Code.SUCCESS, "3"));
+
+    cache.invalidate("k1");
+    assertNull(cache.get("k1"));
+
+    cache.invalidateSetting("s1");
+    assertNull(cache.get("k2"));
+    assertEquals(1, cache.size());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testDisabled() {
+    ParagraphResultCache cache = new ParagraphResultCache(0, 60 * 1000);
+    assertFalse(cache.isEnabled());
+    cache.put("k1", "s", new InterpreterResult(Code.SUCCESS, "1"));
+    assertNull(cache.get("k1"));
+  }
+}
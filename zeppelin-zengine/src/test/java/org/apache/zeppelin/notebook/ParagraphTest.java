@@ -20,6 +20,8 @@ package org.apache.zeppelin.notebook;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ParagraphTest {
   @Test
@@ -35,4 +37,19 @@ public class ParagraphTest {
     String text = "12345678";
     assertEquals(text, Paragraph.getScriptBody(text));
   }
+
+  @Test
+  public void coalesceKey() {
+    Paragraph p1 = new Paragraph(null, null, null);
+    p1.setText("%spark sc.version");
+    String key = p1.getCoalesceKey();
+    assertTrue(key.startsWith(":" + p1.getId() + ":"));
+    assertEquals(key, p1.getCoalesceKey());
+
+    p1.settings.getParams().put("name", "value");
+    assertNotEquals(key, p1.getCoalesceKey());
+    p1.settings.getParams().clear();
+    p1.setText("%spark sc.appName");
+    assertNotEquals(key, p1.getCoalesceKey());
+  }
 }